@@ -0,0 +1,151 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client;
+
+import alluxio.Configuration;
+import alluxio.PropertyKey;
+import alluxio.metrics.MetricsSystem;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.google.common.base.Preconditions;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A pool of the heap buffers of the client streams, shared by all the streams of the process. The
+ * buffers are pooled by their capacity, so a buffer is only reused by the streams which need a
+ * buffer of the same size. At most {@link PropertyKey#USER_FILE_BUFFER_POOL_SIZE_BYTES} bytes of
+ * released buffers are kept; the buffers released when the pool is full are left to the garbage
+ * collector.
+ *
+ * A released buffer may be handed out to another stream right away, so a stream must not access
+ * a buffer after releasing it.
+ */
+@ThreadSafe
+public final class BufferPool {
+  private static BufferPool sBufferPool;
+
+  /** The maximum number of bytes of released buffers to keep. */
+  private final long mMaxPooledBytes;
+  /** The released buffers, by capacity. */
+  private final ConcurrentMap<Integer, Queue<ByteBuffer>> mBuffers = new ConcurrentHashMap<>();
+  /** The number of bytes of the released buffers. */
+  private final AtomicLong mPooledBytes = new AtomicLong();
+
+  /**
+   * @return the buffer pool of the process, created with the configured size on the first call
+   */
+  public static synchronized BufferPool get() {
+    if (sBufferPool == null) {
+      sBufferPool =
+          new BufferPool(Configuration.getBytes(PropertyKey.USER_FILE_BUFFER_POOL_SIZE_BYTES));
+      Metrics.registerGauges(sBufferPool);
+    }
+    return sBufferPool;
+  }
+
+  /**
+   * Creates a new instance of {@link BufferPool}.
+   *
+   * @param maxPooledBytes the maximum number of bytes of released buffers to keep, 0 to disable
+   *        pooling
+   */
+  public BufferPool(long maxPooledBytes) {
+    Preconditions.checkArgument(maxPooledBytes >= 0, "maxPooledBytes must be non-negative");
+    mMaxPooledBytes = maxPooledBytes;
+  }
+
+  /**
+   * Acquires a cleared heap buffer, reusing a released buffer of the same capacity if there is
+   * one. The array of the buffer starts at its offset 0.
+   *
+   * @param capacity the capacity of the buffer
+   * @return the buffer
+   */
+  public ByteBuffer acquire(int capacity) {
+    Queue<ByteBuffer> buffers = mBuffers.get(capacity);
+    ByteBuffer buffer = buffers == null ? null : buffers.poll();
+    if (buffer == null) {
+      Metrics.BUFFER_POOL_MISSES.inc();
+      return ByteBuffer.allocate(capacity);
+    }
+    mPooledBytes.addAndGet(-capacity);
+    Metrics.BUFFER_POOL_HITS.inc();
+    buffer.clear();
+    return buffer;
+  }
+
+  /**
+   * Releases a buffer acquired from this pool, so that it can be reused.
+   *
+   * @param buffer the buffer to release
+   */
+  public void release(ByteBuffer buffer) {
+    int capacity = buffer.capacity();
+    if (capacity == 0 || !buffer.hasArray() || buffer.arrayOffset() != 0) {
+      return;
+    }
+    long pooledBytes;
+    do {
+      pooledBytes = mPooledBytes.get();
+      if (pooledBytes + capacity > mMaxPooledBytes) {
+        return;
+      }
+    } while (!mPooledBytes.compareAndSet(pooledBytes, pooledBytes + capacity));
+    Queue<ByteBuffer> buffers = mBuffers.get(capacity);
+    if (buffers == null) {
+      buffers = new ConcurrentLinkedQueue<>();
+      Queue<ByteBuffer> existing = mBuffers.putIfAbsent(capacity, buffers);
+      if (existing != null) {
+        buffers = existing;
+      }
+    }
+    buffers.offer(buffer);
+  }
+
+  /**
+   * @return the number of bytes of the released buffers kept by the pool
+   */
+  public long getPooledBytes() {
+    return mPooledBytes.get();
+  }
+
+  /**
+   * Class that contains metrics about {@link BufferPool}.
+   */
+  @ThreadSafe
+  private static final class Metrics {
+    private static final Counter BUFFER_POOL_HITS = MetricsSystem.clientCounter("BufferPoolHits");
+    private static final Counter BUFFER_POOL_MISSES =
+        MetricsSystem.clientCounter("BufferPoolMisses");
+
+    private static void registerGauges(final BufferPool pool) {
+      MetricsSystem.registerGaugeIfAbsent(MetricsSystem.getClientMetricName("BufferPoolBytes"),
+          new Gauge<Long>() {
+            @Override
+            public Long getValue() {
+              return pool.getPooledBytes();
+            }
+          });
+    }
+
+    private Metrics() {} // prevent instantiation
+  }
+}
@@ -68,4 +68,11 @@ public interface RemoteBlockWriter extends Closeable {
    * @throws IOException when the operation fails
    */
   void write(byte[] bytes, int offset, int length) throws IOException;
+
+  /**
+   * Waits until the data server has written all the data written to the remote block so far.
+   *
+   * @throws IOException when any of the writes failed
+   */
+  void flush() throws IOException;
 }
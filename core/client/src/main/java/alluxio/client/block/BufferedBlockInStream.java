@@ -13,6 +13,7 @@ package alluxio.client.block;
 
 import alluxio.Configuration;
 import alluxio.PropertyKey;
+import alluxio.client.BufferPool;
 import alluxio.exception.PreconditionMessage;
 import alluxio.util.io.BufferUtils;
 
@@ -44,7 +45,7 @@ public abstract class BufferedBlockInStream extends BlockInStream {
   /** The size in bytes of the block. */
   protected final long mBlockSize;
 
-  /** Internal buffer to improve small read performance. */
+  /** Internal buffer to improve small read performance, acquired from the {@link BufferPool}. */
   protected ByteBuffer mBuffer;
   /** Flag indicating if the stream is closed, can only go from false to true. */
   protected boolean mClosed;
@@ -200,15 +201,28 @@ public abstract class BufferedBlockInStream extends BlockInStream {
 
   /**
    * Initializes the internal buffer based on the user's specified size. Any reads above half
-   * this size will not be buffered.
+   * this size will not be buffered. This is called from the constructor, so implementations must
+   * not depend on the state of inheriting classes.
    *
-   * @return a heap buffer of user configured size
+   * @return a heap buffer of user configured size from the {@link BufferPool}
    */
-  private ByteBuffer allocateBuffer() {
-    return ByteBuffer.allocate(
+  protected ByteBuffer allocateBuffer() {
+    return BufferPool.get().acquire(
         (int) Configuration.getBytes(PropertyKey.USER_BLOCK_REMOTE_READ_BUFFER_SIZE_BYTES));
   }
 
+  /**
+   * Returns the buffer to the {@link BufferPool}, if it is a heap buffer. Implementing classes
+   * which keep the buffer allocated by {@link #allocateBuffer()} must call this once the stream
+   * is closed, since the buffer may be handed out to another stream right away.
+   */
+  protected void releaseBuffer() {
+    if (mBuffer != null && !mBuffer.isDirect()) {
+      BufferPool.get().release(mBuffer);
+    }
+    mBuffer = null;
+  }
+
   /**
    * Convenience method to ensure the stream is not closed.
    */
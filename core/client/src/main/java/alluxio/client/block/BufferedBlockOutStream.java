@@ -13,6 +13,7 @@ package alluxio.client.block;
 
 import alluxio.Configuration;
 import alluxio.PropertyKey;
+import alluxio.client.BufferPool;
 import alluxio.client.Cancelable;
 import alluxio.exception.PreconditionMessage;
 import alluxio.util.io.BufferUtils;
@@ -45,8 +46,11 @@ public abstract class BufferedBlockOutStream extends OutputStream implements Can
   protected final long mBlockSize;
   /** Block store context. */
   protected final BlockStoreContext mContext;
-  /** Java heap buffer to store writes before flushing them to the backing store. */
-  protected final ByteBuffer mBuffer;
+  /**
+   * Java heap buffer to store writes before flushing them to the backing store, acquired from the
+   * {@link BufferPool}.
+   */
+  protected ByteBuffer mBuffer;
 
   /** If the stream is closed, this can only go from false to true. */
   protected boolean mClosed;
@@ -98,6 +102,7 @@ public abstract class BufferedBlockOutStream extends OutputStream implements Can
     if (len == 0) {
       return;
     }
+    checkIfClosed();
 
     // Write the non-empty buffer if the new write will overflow it.
     if (mBuffer.position() > 0 && mBuffer.position() + len > mBuffer.limit()) {
@@ -139,9 +144,21 @@ public abstract class BufferedBlockOutStream extends OutputStream implements Can
   protected abstract void unBufferedWrite(byte[] b, int off, int len) throws IOException;
 
   /**
-   * @return a newly allocated byte buffer of the user defined default size
+   * Returns the buffer to the {@link BufferPool}. Implementing classes must call this once the
+   * stream is closed or canceled, since the buffer may be handed out to another stream right away.
+   */
+  protected void releaseBuffer() {
+    if (mBuffer != null) {
+      BufferPool.get().release(mBuffer);
+      mBuffer = null;
+    }
+  }
+
+  /**
+   * @return a byte buffer of the user defined default size from the {@link BufferPool}
    */
   private ByteBuffer allocateBuffer() {
-    return ByteBuffer.allocate((int) Configuration.getBytes(PropertyKey.USER_FILE_BUFFER_BYTES));
+    return BufferPool.get()
+        .acquire((int) Configuration.getBytes(PropertyKey.USER_FILE_BUFFER_BYTES));
   }
 }
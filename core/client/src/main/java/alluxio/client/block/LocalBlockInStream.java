@@ -11,6 +11,8 @@
 
 package alluxio.client.block;
 
+import alluxio.Configuration;
+import alluxio.PropertyKey;
 import alluxio.exception.ExceptionMessage;
 import alluxio.metrics.MetricsSystem;
 import alluxio.util.io.BufferUtils;
@@ -30,6 +32,10 @@ import javax.annotation.concurrent.ThreadSafe;
 /**
  * This class provides a streaming API to read a block in Alluxio. The data will be directly read
  * from the local machine's storage.
+ *
+ * If {@link PropertyKey#USER_BLOCK_LOCAL_READ_MMAP_ENABLED} is set, the whole block is mapped once
+ * when the stream is opened and all reads are served from that mapping, without an intermediate
+ * read buffer or a new mapping per read.
  */
 @NotThreadSafe
 public final class LocalBlockInStream extends BufferedBlockInStream {
@@ -41,6 +47,8 @@ public final class LocalBlockInStream extends BufferedBlockInStream {
   private final BlockStoreContext mContext;
   /** The file reader to read a local block. */
   private final LocalFileBlockReader mReader;
+  /** The mapping of the whole block, or null if reads map the block on demand. */
+  private final ByteBuffer mMappedBlock;
 
   /**
    * Creates a new local block input stream.
@@ -65,6 +73,23 @@ public final class LocalBlockInStream extends BufferedBlockInStream {
       }
       mReader = new LocalFileBlockReader(result.getBlockPath());
       mCloser.register(mReader);
+      boolean mmapEnabled =
+          Configuration.getBoolean(PropertyKey.USER_BLOCK_LOCAL_READ_MMAP_ENABLED);
+      if (mmapEnabled && mReader.getLength() <= Integer.MAX_VALUE) {
+        mMappedBlock = mReader.read(0, mReader.getLength());
+        // Start with an empty view of the mapping which has the capacity of a read buffer, since
+        // the capacity determines how much is buffered and when reads bypass the buffer.
+        int bufferSize = (int) Math.min(mMappedBlock.capacity(),
+            Configuration.getBytes(PropertyKey.USER_BLOCK_REMOTE_READ_BUFFER_SIZE_BYTES));
+        mBuffer = viewOfMappedBlock(0, bufferSize);
+        mBuffer.limit(0);
+      } else {
+        mMappedBlock = null;
+        if (mmapEnabled) {
+          // A single mapping cannot cover blocks of 2GB or more, fall back to a read buffer.
+          mBuffer = allocateUnpooledBuffer();
+        }
+      }
     } catch (IOException e) {
       mCloser.close();
       throw e;
@@ -91,14 +116,41 @@ public final class LocalBlockInStream extends BufferedBlockInStream {
     } finally {
       mClosed = true;
       mCloser.close();
-      if (mBuffer != null && mBuffer.isDirect()) {
+      if (mMappedBlock != null) {
+        // mBuffer is a view of the mapped block, so only the mapping itself needs to be unmapped.
+        BufferUtils.cleanDirectBuffer(mMappedBlock);
+      } else if (mBuffer != null && mBuffer.isDirect()) {
         BufferUtils.cleanDirectBuffer(mBuffer);
       }
     }
   }
 
+  @Override
+  protected ByteBuffer allocateBuffer() {
+    if (Configuration.getBoolean(PropertyKey.USER_BLOCK_LOCAL_READ_MMAP_ENABLED)) {
+      // The buffer is replaced by a view of the mapped block once the block is locked.
+      return ByteBuffer.allocate(0);
+    }
+    return allocateUnpooledBuffer();
+  }
+
+  /**
+   * The buffer of a local stream is replaced by the buffers read from the block on the first
+   * buffered read, so it is not worth taking from the {@link alluxio.client.BufferPool}.
+   *
+   * @return a heap buffer of user configured size
+   */
+  private static ByteBuffer allocateUnpooledBuffer() {
+    return ByteBuffer.allocate(
+        (int) Configuration.getBytes(PropertyKey.USER_BLOCK_REMOTE_READ_BUFFER_SIZE_BYTES));
+  }
+
   @Override
   protected void bufferedRead(int len) throws IOException {
+    if (mMappedBlock != null) {
+      mBuffer = viewOfMappedBlock(getPosition(), len);
+      return;
+    }
     if (mBuffer.isDirect()) { // Buffer may not be direct on initialization
       BufferUtils.cleanDirectBuffer(mBuffer);
     }
@@ -107,12 +159,28 @@ public final class LocalBlockInStream extends BufferedBlockInStream {
 
   @Override
   public int directRead(byte[] b, int off, int len) throws IOException {
+    if (mMappedBlock != null) {
+      viewOfMappedBlock(getPosition(), len).get(b, off, len);
+      return len;
+    }
     ByteBuffer buf = mReader.read(getPosition(), len);
     buf.get(b, off, len);
     BufferUtils.cleanDirectBuffer(buf);
     return len;
   }
 
+  /**
+   * @param pos the position in the block the view should start at
+   * @param len the number of bytes the view should contain
+   * @return a view of the mapped block starting at pos, with a capacity of len bytes
+   */
+  private ByteBuffer viewOfMappedBlock(long pos, int len) {
+    ByteBuffer view = mMappedBlock.duplicate();
+    view.position((int) pos);
+    view.limit((int) pos + len);
+    return view.slice();
+  }
+
   @Override
   protected void incrementBytesReadMetric(int bytes) {
     Metrics.BYTES_READ_LOCAL.inc(bytes);
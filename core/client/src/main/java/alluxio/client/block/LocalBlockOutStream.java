@@ -88,6 +88,7 @@ public final class LocalBlockOutStream extends BufferedBlockOutStream {
     } finally {
       mClosed = true;
       mCloser.close();
+      releaseBuffer();
     }
   }
 
@@ -109,6 +110,7 @@ public final class LocalBlockOutStream extends BufferedBlockOutStream {
     } finally {
       mClosed = true;
       mCloser.close();
+      releaseBuffer();
     }
   }
 
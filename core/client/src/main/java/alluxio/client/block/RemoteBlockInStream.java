@@ -11,7 +11,11 @@
 
 package alluxio.client.block;
 
+import alluxio.Configuration;
+import alluxio.PropertyKey;
 import alluxio.client.RemoteBlockReader;
+import alluxio.client.netty.NettyBlockReadStream;
+import alluxio.client.netty.NettyRemoteBlockReader;
 import alluxio.exception.ExceptionMessage;
 import alluxio.metrics.MetricsSystem;
 import alluxio.wire.LockBlockResult;
@@ -30,6 +34,12 @@ import javax.annotation.concurrent.ThreadSafe;
 /**
  * This class provides a streaming API to read a block in Alluxio. The data will be transferred
  * through an Alluxio worker's dataserver to the client.
+ *
+ * If {@link PropertyKey#USER_BLOCK_REMOTE_READ_STREAMING_ENABLED} is set, the rest of the block is
+ * streamed from the dataserver with a single request, which is reissued only after a seek.
+ * Otherwise each read is a separate request to the dataserver, made by the reader of
+ * {@link PropertyKey#USER_BLOCK_REMOTE_READER_CLASS}. Since the stream is read over Netty,
+ * streaming is only used with the {@link NettyRemoteBlockReader}.
  */
 @NotThreadSafe
 public final class RemoteBlockInStream extends BufferedBlockInStream {
@@ -46,6 +56,11 @@ public final class RemoteBlockInStream extends BufferedBlockInStream {
   private final BlockWorkerClient mBlockWorkerClient;
   /** The block store context which provides block worker clients. */
   private final BlockStoreContext mContext;
+  /** Whether to stream the block with a single request instead of a request per read. */
+  private final boolean mStreamingEnabled;
+
+  /** The stream of the rest of the block, null if it is not opened yet. */
+  private NettyBlockReadStream mReadStream;
 
   /**
    * Creates a new remote block input stream.
@@ -65,6 +80,10 @@ public final class RemoteBlockInStream extends BufferedBlockInStream {
 
     mContext = context;
     mCloser = Closer.create();
+    mStreamingEnabled =
+        Configuration.getBoolean(PropertyKey.USER_BLOCK_REMOTE_READ_STREAMING_ENABLED)
+        && NettyRemoteBlockReader.class.equals(
+            Configuration.getClass(PropertyKey.USER_BLOCK_REMOTE_READER_CLASS));
 
     try {
       mBlockWorkerClient = mCloser.register(mContext.createWorkerClient(workerNetAddress));
@@ -95,10 +114,12 @@ public final class RemoteBlockInStream extends BufferedBlockInStream {
       Metrics.BLOCKS_READ_REMOTE.inc();
     }
     try {
+      closeReadStream();
       mBlockWorkerClient.unlockBlock(mBlockId);
     } finally {
       mClosed = true;
       mCloser.close();
+      releaseBuffer();
     }
   }
 
@@ -144,6 +165,9 @@ public final class RemoteBlockInStream extends BufferedBlockInStream {
     // We read at most len bytes, but if mPos + len exceeds the length of the block, we only
     // read up to the end of the block.
     int toRead = (int) Math.min(len, remaining());
+    if (mStreamingEnabled) {
+      return readFromStream(b, off, toRead);
+    }
     int bytesLeft = toRead;
     while (bytesLeft > 0) {
       // TODO(calvin): Fix needing to recreate reader each time.
@@ -159,6 +183,52 @@ public final class RemoteBlockInStream extends BufferedBlockInStream {
     return toRead;
   }
 
+  /**
+   * Reads a portion of the block from the stream of the rest of the block. The stream is reopened
+   * at the current position if it is not there, e.g. after a seek.
+   *
+   * @param b the byte array to write the data to
+   * @param off the offset in the array to write to
+   * @param len the length of data to write into the array, must be within the block
+   * @return the number of bytes successfully read
+   * @throws IOException if an error occurs reading the data
+   */
+  private int readFromStream(byte[] b, int off, int len) throws IOException {
+    if (mReadStream == null || mReadStream.getPosition() != getPosition()) {
+      closeReadStream();
+      mReadStream = new NettyBlockReadStream(mWorkerInetSocketAddress, mBlockId, getPosition(),
+          remaining(), mLockId, mBlockWorkerClient.getSessionId());
+    }
+    int bytesRead = 0;
+    try {
+      while (bytesRead < len) {
+        bytesRead += mReadStream.read(b, off + bytesRead, len - bytesRead);
+      }
+    } catch (IOException e) {
+      // The stream cannot be continued after a failure, it is reopened by the next read.
+      try {
+        closeReadStream();
+      } catch (IOException ce) {
+        e.addSuppressed(ce);
+      }
+      throw e;
+    }
+    return len;
+  }
+
+  /**
+   * Closes the stream of the rest of the block, if it is opened.
+   *
+   * @throws IOException if the stream cannot be closed
+   */
+  private void closeReadStream() throws IOException {
+    if (mReadStream != null) {
+      NettyBlockReadStream readStream = mReadStream;
+      mReadStream = null;
+      readStream.close();
+    }
+  }
+
   /**
    * Class that contains metrics about RemoteBlockInStream.
    */
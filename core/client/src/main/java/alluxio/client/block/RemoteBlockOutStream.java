@@ -73,6 +73,7 @@ public final class RemoteBlockOutStream extends BufferedBlockOutStream {
     } finally {
       mClosed = true;
       mCloser.close();
+      releaseBuffer();
     }
   }
 
@@ -84,6 +85,7 @@ public final class RemoteBlockOutStream extends BufferedBlockOutStream {
 
     try {
       flush();
+      mRemoteWriter.flush();
       if (mFlushedBytes > 0) {
         try {
           mBlockWorkerClient.cacheBlock(mBlockId);
@@ -101,6 +103,7 @@ public final class RemoteBlockOutStream extends BufferedBlockOutStream {
     } finally {
       mClosed = true;
       mCloser.close();
+      releaseBuffer();
     }
   }
 
@@ -15,6 +15,7 @@ import alluxio.Constants;
 import alluxio.exception.ExceptionMessage;
 import alluxio.exception.PreconditionMessage;
 import alluxio.metrics.MetricsSystem;
+import alluxio.underfs.options.OpenOptions;
 
 import com.codahale.metrics.Counter;
 import com.google.common.base.Preconditions;
@@ -59,10 +60,11 @@ public final class UnderStoreBlockInStream extends BlockInStream {
    */
   public interface UnderStoreStreamFactory extends AutoCloseable {
     /**
-     * @return an input stream to under storage
+     * @param options the options for opening the stream, including the offset to start at
+     * @return an input stream to under storage, positioned at the requested offset
      * @throws IOException if an IO exception occurs
      */
-    InputStream create() throws IOException;
+    InputStream create(OpenOptions options) throws IOException;
 
     /**
      * Closes the factory, releasing any resources it was holding.
@@ -192,13 +194,9 @@ public final class UnderStoreBlockInStream extends BlockInStream {
     Preconditions.checkArgument(pos >= 0, PreconditionMessage.ERR_SEEK_NEGATIVE.toString(), pos);
     Preconditions.checkArgument(pos <= mLength,
         PreconditionMessage.ERR_SEEK_PAST_END_OF_BLOCK.toString(), pos);
-    mUnderStoreStream = mUnderStoreStreamFactory.create();
-    long streamStart = mInitPos + pos;
-    // The stream is at the beginning of the file, so skip to the correct absolute position.
-    if (streamStart != 0 && streamStart != mUnderStoreStream.skip(streamStart)) {
-      mUnderStoreStream.close();
-      throw new IOException(ExceptionMessage.FAILED_SKIP.getMessage(pos));
-    }
+    // Open the stream directly at the correct absolute position.
+    mUnderStoreStream =
+        mUnderStoreStreamFactory.create(new OpenOptions().setOffset(mInitPos + pos));
     // Set the current block position to the specified block position.
     mPos = pos;
   }
@@ -33,7 +33,9 @@ import alluxio.exception.ExceptionMessage;
 import alluxio.exception.FileAlreadyExistsException;
 import alluxio.exception.FileDoesNotExistException;
 import alluxio.exception.InvalidPathException;
+import alluxio.wire.LoadMetadataType;
 
+import com.google.common.base.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -81,6 +83,7 @@ public class BaseFileSystem implements FileSystem {
       LOG.debug("Created directory " + path.getPath());
     } finally {
       mFileSystemContext.releaseMasterClient(masterClient);
+      mFileSystemContext.getMetadataCache().invalidate(path);
     }
   }
 
@@ -99,6 +102,7 @@ public class BaseFileSystem implements FileSystem {
       LOG.debug("Created file " + path.getPath());
     } finally {
       mFileSystemContext.releaseMasterClient(masterClient);
+      mFileSystemContext.getMetadataCache().invalidate(path);
     }
     return new FileOutStream(path, options.toOutStreamOptions());
   }
@@ -118,6 +122,7 @@ public class BaseFileSystem implements FileSystem {
       LOG.debug("Deleted file " + path.getName());
     } finally {
       mFileSystemContext.releaseMasterClient(masterClient);
+      mFileSystemContext.getMetadataCache().invalidateTree(path);
     }
   }
 
@@ -130,15 +135,12 @@ public class BaseFileSystem implements FileSystem {
   @Override
   public boolean exists(AlluxioURI path, ExistsOptions options)
       throws InvalidPathException, IOException, AlluxioException {
-    FileSystemMasterClient masterClient = mFileSystemContext.acquireMasterClient();
     try {
       // TODO(calvin): Make this more efficient
-      masterClient.getStatus(path);
+      getStatus(path);
       return true;
-    } catch (FileDoesNotExistException | InvalidPathException e) {
+    } catch (FileDoesNotExistException e) {
       return false;
-    } finally {
-      mFileSystemContext.releaseMasterClient(masterClient);
     }
   }
 
@@ -157,6 +159,7 @@ public class BaseFileSystem implements FileSystem {
       LOG.debug("Freed file " + path.getPath());
     } finally {
       mFileSystemContext.releaseMasterClient(masterClient);
+      mFileSystemContext.getMetadataCache().invalidateTree(path);
     }
   }
 
@@ -169,10 +172,22 @@ public class BaseFileSystem implements FileSystem {
   @Override
   public URIStatus getStatus(AlluxioURI path, GetStatusOptions options)
       throws FileDoesNotExistException, IOException, AlluxioException {
+    MetadataCache cache = mFileSystemContext.getMetadataCache();
+    Optional<URIStatus> cached = cache.getStatus(path);
+    if (cached != null) {
+      if (!cached.isPresent()) {
+        throw new FileDoesNotExistException(ExceptionMessage.PATH_DOES_NOT_EXIST.getMessage(path));
+      }
+      return cached.get();
+    }
+    long version = cache.getVersion();
     FileSystemMasterClient masterClient = mFileSystemContext.acquireMasterClient();
     try {
-      return masterClient.getStatus(path);
+      URIStatus status = masterClient.getStatus(path);
+      cache.putStatus(path, status, version);
+      return status;
     } catch (FileDoesNotExistException | InvalidPathException e) {
+      cache.putNotFound(path, version);
       throw new FileDoesNotExistException(ExceptionMessage.PATH_DOES_NOT_EXIST.getMessage(path));
     } finally {
       mFileSystemContext.releaseMasterClient(masterClient);
@@ -188,10 +203,21 @@ public class BaseFileSystem implements FileSystem {
   @Override
   public List<URIStatus> listStatus(AlluxioURI path, ListStatusOptions options)
       throws FileDoesNotExistException, IOException, AlluxioException {
+    MetadataCache cache = mFileSystemContext.getMetadataCache();
+    // Loading the metadata of the directory from the under storage every time bypasses the cache.
+    if (options.getLoadMetadataType() != LoadMetadataType.Always) {
+      List<URIStatus> cached = cache.listStatus(path);
+      if (cached != null) {
+        return cached;
+      }
+    }
+    long version = cache.getVersion();
     FileSystemMasterClient masterClient = mFileSystemContext.acquireMasterClient();
     // TODO(calvin): Fix the exception handling in the master
     try {
-      return masterClient.listStatus(path, options);
+      List<URIStatus> statuses = masterClient.listStatus(path, options);
+      cache.putListing(path, statuses, version);
+      return statuses;
     } catch (FileDoesNotExistException e) {
       throw new FileDoesNotExistException(ExceptionMessage.PATH_DOES_NOT_EXIST.getMessage(path));
     } finally {
@@ -226,6 +252,7 @@ public class BaseFileSystem implements FileSystem {
       LOG.debug("loaded metadata {} with options {}", path.getParent(), options);
     } finally {
       mFileSystemContext.releaseMasterClient(masterClient);
+      mFileSystemContext.getMetadataCache().invalidateTree(path);
     }
   }
 
@@ -245,6 +272,7 @@ public class BaseFileSystem implements FileSystem {
       LOG.info("Mount " + ufsPath.toString() + " to " + alluxioPath.getPath());
     } finally {
       mFileSystemContext.releaseMasterClient(masterClient);
+      mFileSystemContext.getMetadataCache().invalidateTree(alluxioPath);
     }
   }
 
@@ -281,6 +309,8 @@ public class BaseFileSystem implements FileSystem {
       LOG.debug("Renamed file " + src.getPath() + " to " + dst.getPath());
     } finally {
       mFileSystemContext.releaseMasterClient(masterClient);
+      mFileSystemContext.getMetadataCache().invalidateTree(src);
+      mFileSystemContext.getMetadataCache().invalidateTree(dst);
     }
   }
 
@@ -299,6 +329,7 @@ public class BaseFileSystem implements FileSystem {
       LOG.debug("Set attributes for path {} with options {}", path.getPath(), options);
     } finally {
       mFileSystemContext.releaseMasterClient(masterClient);
+      mFileSystemContext.getMetadataCache().invalidateTree(path);
     }
   }
 
@@ -316,6 +347,7 @@ public class BaseFileSystem implements FileSystem {
       LOG.info("Unmount " + path);
     } finally {
       mFileSystemContext.releaseMasterClient(masterClient);
+      mFileSystemContext.getMetadataCache().invalidateTree(path);
     }
   }
 }
@@ -0,0 +1,213 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file;
+
+import alluxio.Configuration;
+import alluxio.Constants;
+import alluxio.PropertyKey;
+import alluxio.client.block.BlockInStream;
+import alluxio.metrics.MetricsSystem;
+import alluxio.util.ThreadFactoryUtils;
+
+import com.codahale.metrics.Counter;
+import com.google.common.util.concurrent.Uninterruptibles;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.NotThreadSafe;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Opens the {@link BlockInStream}s of the blocks a {@link FileInStream} is going to read in the
+ * background, so that a sequential read does not wait for the block to be looked up, locked on the
+ * worker or opened in the under storage at every block boundary.
+ *
+ * The streams which are opened but never taken, e.g. because the file stream seeks elsewhere, are
+ * closed when they are discarded.
+ */
+@NotThreadSafe
+final class BlockInStreamPrefetcher implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(Constants.LOGGER_TYPE);
+  private static final ExecutorService PREFETCH_POOL = Executors.newFixedThreadPool(
+      Configuration.getInt(PropertyKey.USER_FILE_READ_AHEAD_THREADS),
+      ThreadFactoryUtils.build("block-prefetch-%d", true));
+
+  /** Mapping from block id to the prefetch of the stream of the block. */
+  private final Map<Long, Prefetch> mPrefetches = new HashMap<>();
+
+  /**
+   * Creates a new instance of {@link BlockInStreamPrefetcher}.
+   */
+  BlockInStreamPrefetcher() {}
+
+  /**
+   * Starts to open the stream of a block in the background, unless it is already prefetched.
+   *
+   * @param blockId the block id
+   * @param opener the opener of the stream of the block
+   */
+  void prefetch(long blockId, Callable<BlockInStream> opener) {
+    if (mPrefetches.containsKey(blockId)) {
+      return;
+    }
+    Prefetch prefetch = new Prefetch(blockId, opener);
+    prefetch.mFuture = PREFETCH_POOL.submit(prefetch);
+    mPrefetches.put(blockId, prefetch);
+  }
+
+  /**
+   * Takes the prefetched stream of a block, waiting for it to be opened.
+   *
+   * @param blockId the block id
+   * @return the stream of the block, or null if the block is not prefetched or its stream could not
+   *         be opened
+   */
+  BlockInStream take(long blockId) {
+    Prefetch prefetch = mPrefetches.remove(blockId);
+    if (prefetch == null) {
+      return null;
+    }
+    try {
+      Uninterruptibles.getUninterruptibly(prefetch.mFuture);
+    } catch (ExecutionException e) {
+      LOG.debug("Failed to prefetch the stream of block {}", blockId, e.getCause());
+      return null;
+    }
+    BlockInStream stream = prefetch.take();
+    if (stream != null) {
+      Metrics.READ_AHEAD_HITS.inc();
+    }
+    return stream;
+  }
+
+  /**
+   * Discards all the prefetched streams, closing the streams which are opened.
+   */
+  void discardAll() {
+    for (Prefetch prefetch : mPrefetches.values()) {
+      prefetch.discard();
+    }
+    mPrefetches.clear();
+  }
+
+  @Override
+  public void close() {
+    discardAll();
+  }
+
+  /**
+   * Opens the stream of a block, and keeps it until it is taken or discarded.
+   */
+  @ThreadSafe
+  private static final class Prefetch implements Callable<Void> {
+    private final long mBlockId;
+    private final Callable<BlockInStream> mOpener;
+    /** The future of the prefetch, set before the prefetch is visible to other methods. */
+    private Future<Void> mFuture;
+    @GuardedBy("this")
+    private BlockInStream mStream;
+    @GuardedBy("this")
+    private boolean mDiscarded;
+
+    /**
+     * Creates a new instance of {@link Prefetch}.
+     *
+     * @param blockId the block id
+     * @param opener the opener of the stream of the block
+     */
+    Prefetch(long blockId, Callable<BlockInStream> opener) {
+      mBlockId = blockId;
+      mOpener = opener;
+    }
+
+    @Override
+    public Void call() throws Exception {
+      synchronized (this) {
+        if (mDiscarded) {
+          return null;
+        }
+      }
+      BlockInStream stream = mOpener.call();
+      synchronized (this) {
+        if (!mDiscarded) {
+          mStream = stream;
+          return null;
+        }
+      }
+      // The prefetch was discarded while the stream was opened.
+      closeWasted(stream);
+      return null;
+    }
+
+    /**
+     * @return the opened stream, which is not closed by {@link #discard()} anymore
+     */
+    synchronized BlockInStream take() {
+      BlockInStream stream = mStream;
+      mStream = null;
+      return stream;
+    }
+
+    /**
+     * Closes the stream if it is opened, or lets the prefetch close it once it is opened.
+     */
+    void discard() {
+      BlockInStream stream;
+      synchronized (this) {
+        mDiscarded = true;
+        stream = mStream;
+        mStream = null;
+      }
+      if (stream != null) {
+        closeWasted(stream);
+      }
+    }
+
+    private void closeWasted(BlockInStream stream) {
+      Metrics.READ_AHEAD_BLOCKS_WASTED.inc();
+      Metrics.READ_AHEAD_BYTES_WASTED.inc(stream.remaining());
+      try {
+        stream.close();
+      } catch (IOException e) {
+        LOG.warn("Failed to close the prefetched stream of block {}", mBlockId, e);
+      }
+    }
+  }
+
+  /**
+   * Class that contains metrics about the read-ahead of {@link FileInStream}.
+   */
+  @ThreadSafe
+  private static final class Metrics {
+    /** The number of block streams taken from a prefetch. */
+    private static final Counter READ_AHEAD_HITS = MetricsSystem.clientCounter("ReadAheadHits");
+    /** The number of prefetched block streams which are closed without being read. */
+    private static final Counter READ_AHEAD_BLOCKS_WASTED =
+        MetricsSystem.clientCounter("ReadAheadBlocksWasted");
+    /** The number of bytes of the prefetched block streams which are closed without being read. */
+    private static final Counter READ_AHEAD_BYTES_WASTED =
+        MetricsSystem.clientCounter("ReadAheadBytesWasted");
+
+    private Metrics() {} // prevent instantiation
+  }
+}
@@ -17,6 +17,7 @@ import alluxio.PropertyKey;
 import alluxio.annotation.PublicApi;
 import alluxio.client.AlluxioStorageType;
 import alluxio.client.BoundedStream;
+import alluxio.client.BufferPool;
 import alluxio.client.Seekable;
 import alluxio.client.block.BlockInStream;
 import alluxio.client.block.BufferedBlockOutStream;
@@ -40,6 +41,9 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.Callable;
 
 import javax.annotation.concurrent.NotThreadSafe;
 
@@ -91,8 +95,16 @@ public class FileInStream extends InputStream implements BoundedStream, Seekable
   /** The blockId used in the block streams. */
   private long mStreamBlockId;
 
-  /** The read buffer in file seek. This is used in {@link #readCurrentBlockToEnd()}. */
-  private byte[] mSeekBuffer;
+  /**
+   * The size of the read buffer in file seek. The buffer is acquired from the {@link BufferPool}
+   * by {@link #readCurrentBlockToPos(long)} only while it reads.
+   */
+  private final int mSeekBufferSizeBytes;
+
+  /** The number of blocks to open ahead of the current block when the file is read sequentially. */
+  private final int mReadAheadBlocks;
+  /** Opens the streams of the blocks read ahead, null if read-ahead is disabled. */
+  private final BlockInStreamPrefetcher mPrefetcher;
 
   /**
    * Creates a new file input stream.
@@ -130,8 +142,9 @@ public class FileInStream extends InputStream implements BoundedStream, Seekable
       Preconditions.checkNotNull(options.getLocationPolicy(),
           PreconditionMessage.FILE_WRITE_LOCATION_POLICY_UNSPECIFIED);
     }
-    int seekBufferSizeBytes = Math.max((int) options.getSeekBufferSizeBytes(), 1);
-    mSeekBuffer = new byte[seekBufferSizeBytes];
+    mSeekBufferSizeBytes = Math.max((int) options.getSeekBufferSizeBytes(), 1);
+    mReadAheadBlocks = options.getReadAheadBlocks();
+    mPrefetcher = mReadAheadBlocks > 0 ? new BlockInStreamPrefetcher() : null;
     LOG.debug("Init FileInStream with options {}", options);
   }
 
@@ -148,6 +161,9 @@ public class FileInStream extends InputStream implements BoundedStream, Seekable
       mCurrentBlockInStream.close();
     }
     closeOrCancelCacheStream();
+    if (mPrefetcher != null) {
+      mPrefetcher.close();
+    }
     mClosed = true;
   }
 
@@ -490,12 +506,18 @@ public class FileInStream extends InputStream implements BoundedStream, Seekable
   /**
    * Update {@link #mCurrentBlockInStream} to be in-sync with mPos's block. The new block
    * stream created with be at position 0.
+   * If read-ahead is enabled and the previous block was read to its end, the stream is taken from
+   * the blocks read ahead if possible, and the streams of the following blocks are opened in the
+   * background. Otherwise the blocks read ahead are discarded.
    * This function is only called in {@link #updateStreams()}.
    *
    * @param blockId cached result of {@link #getCurrentBlockId()}
    * @throws IOException if the next {@link BlockInStream} cannot be obtained
    */
   private void updateBlockInStream(long blockId) throws IOException {
+    // The file is read sequentially if the previous block was read to its end.
+    boolean sequential = mCurrentBlockInStream != null && mCurrentBlockInStream.remaining() == 0
+        && mPos % mBlockSize == 0;
     if (mCurrentBlockInStream != null) {
       mCurrentBlockInStream.close();
       mCurrentBlockInStream = null;
@@ -505,6 +527,49 @@ public class FileInStream extends InputStream implements BoundedStream, Seekable
     if (blockId < 0) {
       return;
     }
+    if (mPrefetcher == null) {
+      mCurrentBlockInStream = openBlockInStream(blockId);
+      return;
+    }
+    if (!sequential) {
+      mPrefetcher.discardAll();
+    }
+    mCurrentBlockInStream = mPrefetcher.take(blockId);
+    if (mCurrentBlockInStream == null) {
+      mCurrentBlockInStream = openBlockInStream(blockId);
+    }
+    if (sequential) {
+      readAhead();
+    }
+  }
+
+  /**
+   * Starts to open the streams of the blocks following the current block in the background.
+   */
+  private void readAhead() {
+    List<Long> blockIds = mStatus.getBlockIds();
+    int index = (int) (mPos / mBlockSize);
+    for (int i = index + 1; i <= index + mReadAheadBlocks && i < blockIds.size(); i++) {
+      final long blockId = blockIds.get(i);
+      mPrefetcher.prefetch(blockId, new Callable<BlockInStream>() {
+        @Override
+        public BlockInStream call() throws IOException {
+          return openBlockInStream(blockId);
+        }
+      });
+    }
+  }
+
+  /**
+   * Opens the stream of a block, from Alluxio storage if the block is stored in Alluxio, or from
+   * the under storage otherwise. This may be called by the threads reading ahead, so it must not
+   * modify the state of the stream.
+   *
+   * @param blockId the block id
+   * @return the stream of the block, at position 0
+   * @throws IOException if the stream cannot be opened
+   */
+  private BlockInStream openBlockInStream(long blockId) throws IOException {
     try {
       if (mAlluxioStorageType.isPromote()) {
         try {
@@ -514,7 +579,7 @@ public class FileInStream extends InputStream implements BoundedStream, Seekable
           LOG.warn("Promotion of block with ID {} failed.", blockId, e);
         }
       }
-      mCurrentBlockInStream = mContext.getAlluxioBlockStore().getInStream(blockId);
+      return mContext.getAlluxioBlockStore().getInStream(blockId);
     } catch (IOException e) {
       LOG.debug("Failed to get BlockInStream for block with ID {}, using UFS instead. {}", blockId,
           e);
@@ -524,8 +589,8 @@ public class FileInStream extends InputStream implements BoundedStream, Seekable
         throw e;
       }
       long blockStart = BlockId.getSequenceNumber(blockId) * mBlockSize;
-      mCurrentBlockInStream =
-          createUnderStoreBlockInStream(blockStart, getBlockSize(blockStart), mStatus.getUfsPath());
+      return createUnderStoreBlockInStream(blockStart, getBlockSize(blockStart),
+          mStatus.getUfsPath());
     }
   }
 
@@ -621,12 +686,18 @@ public class FileInStream extends InputStream implements BoundedStream, Seekable
       return;
     }
 
-    do {
-      // Account for the last read which might be less than mSeekBufferSizeBytes bytes.
-      int bytesRead = read(mSeekBuffer, 0, (int) Math.min(mSeekBuffer.length, len));
-      Preconditions.checkState(bytesRead > 0, PreconditionMessage.ERR_UNEXPECTED_EOF);
-      len -= bytesRead;
-    } while (len > 0);
+    ByteBuffer seekBuffer = BufferPool.get().acquire(mSeekBufferSizeBytes);
+    try {
+      do {
+        // Account for the last read which might be less than mSeekBufferSizeBytes bytes.
+        int bytesRead =
+            read(seekBuffer.array(), 0, (int) Math.min(mSeekBufferSizeBytes, len));
+        Preconditions.checkState(bytesRead > 0, PreconditionMessage.ERR_UNEXPECTED_EOF);
+        len -= bytesRead;
+      } while (len > 0);
+    } finally {
+      BufferPool.get().release(seekBuffer);
+    }
   }
 
   /**
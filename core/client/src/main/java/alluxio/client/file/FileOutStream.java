@@ -243,6 +243,7 @@ public class FileOutStream extends AbstractOutStream {
         throw new IOException(e);
       } finally {
         mContext.releaseMasterClient(masterClient);
+        mContext.getMetadataCache().invalidate(mUri);
       }
     }
 
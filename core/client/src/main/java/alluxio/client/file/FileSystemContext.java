@@ -11,6 +11,8 @@
 
 package alluxio.client.file;
 
+import alluxio.Configuration;
+import alluxio.PropertyKey;
 import alluxio.client.ClientContext;
 import alluxio.client.block.AlluxioBlockStore;
 import alluxio.client.block.BlockMasterClient;
@@ -49,6 +51,7 @@ public enum FileSystemContext {
 
   private FileSystemMasterClientPool mFileSystemMasterClientPool;
   private AlluxioBlockStore mAlluxioBlockStore;
+  private MetadataCache mMetadataCache;
 
   /** A list of valid workers, if there is a local worker, only the local worker addresses. */
   @GuardedBy("mWorkerAddressesLock")
@@ -63,6 +66,7 @@ public enum FileSystemContext {
     mFileSystemMasterClientPool = new FileSystemMasterClientPool(ClientContext.getMasterAddress());
     mBlockStoreContext = BlockStoreContext.get();
     mAlluxioBlockStore = new AlluxioBlockStore(mBlockStoreContext);
+    mMetadataCache = createMetadataCache();
   }
 
   /**
@@ -109,6 +113,13 @@ public enum FileSystemContext {
     return mAlluxioBlockStore;
   }
 
+  /**
+   * @return the cache of the file statuses of the client
+   */
+  public MetadataCache getMetadataCache() {
+    return mMetadataCache;
+  }
+
   /**
    * @return the block store context
    */
@@ -129,6 +140,12 @@ public enum FileSystemContext {
     synchronized (mWorkerAddressesLock) {
       mWorkerAddresses = null;
     }
+    mMetadataCache = createMetadataCache();
+  }
+
+  private static MetadataCache createMetadataCache() {
+    return new MetadataCache(Configuration.getLong(PropertyKey.USER_FILE_METADATA_CACHE_MAX_SIZE),
+        Configuration.getLong(PropertyKey.USER_FILE_METADATA_CACHE_TIMEOUT_MS));
   }
 
   /**
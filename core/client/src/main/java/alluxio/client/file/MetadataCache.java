@@ -0,0 +1,276 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file;
+
+import alluxio.AlluxioURI;
+import alluxio.metrics.MetricsSystem;
+
+import com.codahale.metrics.Counter;
+import com.google.common.base.Optional;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.Weigher;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A cache of the statuses of paths and of the listings of directories of a client, which saves
+ * the round trips to the master of repeated lookups of the same paths.
+ *
+ * The entries expire a fixed time after they are cached, and the least recently used entries are
+ * evicted when the cache is full. A path which does not exist is cached as well. The statuses of
+ * incomplete files are not cached, as they change when the files are completed.
+ *
+ * The cache is invalidated by the modifications of the client itself. To keep a lookup which
+ * races with a modification from caching the status from before the modification, every
+ * invalidation increments a version, and an entry cached by a lookup which started at an older
+ * version is removed again.
+ */
+@ThreadSafe
+public final class MetadataCache {
+  private static final String ROOT = AlluxioURI.SEPARATOR;
+
+  private final boolean mEnabled;
+  /** Mapping from path to its status, or absent if the path does not exist. */
+  private final Cache<String, Optional<URIStatus>> mStatuses;
+  /** Mapping from the path of a directory to the statuses of its children. */
+  private final Cache<String, List<URIStatus>> mListings;
+  /** The number of invalidations. */
+  private final AtomicLong mVersion = new AtomicLong();
+
+  /**
+   * Creates a new instance of {@link MetadataCache}.
+   *
+   * @param maxSize the maximum number of statuses held by each of the status and listing caches,
+   *        or 0 to disable the cache
+   * @param timeoutMs the time in milliseconds after which a cached entry expires, or 0 to disable
+   *        the cache
+   */
+  public MetadataCache(long maxSize, long timeoutMs) {
+    mEnabled = maxSize > 0 && timeoutMs > 0;
+    mStatuses = CacheBuilder.newBuilder()
+        .maximumSize(Math.max(maxSize, 0))
+        .expireAfterWrite(Math.max(timeoutMs, 0), TimeUnit.MILLISECONDS)
+        .build();
+    mListings = CacheBuilder.newBuilder()
+        .maximumWeight(Math.max(maxSize, 0))
+        .weigher(new Weigher<String, List<URIStatus>>() {
+          @Override
+          public int weigh(String path, List<URIStatus> statuses) {
+            return statuses.size() + 1;
+          }
+        })
+        .expireAfterWrite(Math.max(timeoutMs, 0), TimeUnit.MILLISECONDS)
+        .build();
+  }
+
+  /**
+   * @return whether the cache is enabled
+   */
+  public boolean isEnabled() {
+    return mEnabled;
+  }
+
+  /**
+   * @return the current version of the cache, to pass to the methods caching the result of a
+   *         lookup which starts now
+   */
+  public long getVersion() {
+    return mVersion.get();
+  }
+
+  /**
+   * @param path the path
+   * @return the cached status of the path, absent if the path is cached as not existing, or null
+   *         if the path is not cached
+   */
+  public Optional<URIStatus> getStatus(AlluxioURI path) {
+    if (!mEnabled) {
+      return null;
+    }
+    Optional<URIStatus> status = mStatuses.getIfPresent(path.getPath());
+    if (status == null) {
+      Metrics.METADATA_CACHE_MISSES.inc();
+      return null;
+    }
+    Metrics.METADATA_CACHE_HITS.inc();
+    return status;
+  }
+
+  /**
+   * @param path the path of a directory
+   * @return a copy of the cached statuses of the children of the directory, or null if the
+   *         directory is not cached
+   */
+  public List<URIStatus> listStatus(AlluxioURI path) {
+    if (!mEnabled) {
+      return null;
+    }
+    List<URIStatus> statuses = mListings.getIfPresent(path.getPath());
+    if (statuses == null) {
+      Metrics.METADATA_CACHE_MISSES.inc();
+      return null;
+    }
+    Metrics.METADATA_CACHE_HITS.inc();
+    return new ArrayList<>(statuses);
+  }
+
+  /**
+   * Caches the status of a path, unless it is an incomplete file.
+   *
+   * @param path the path
+   * @param status the status of the path
+   * @param version the version of the cache when the lookup of the status started
+   */
+  public void putStatus(AlluxioURI path, URIStatus status, long version) {
+    if (mEnabled && isCacheable(status)) {
+      cacheStatus(path.getPath(), Optional.of(status), version);
+    }
+  }
+
+  /**
+   * Caches that a path does not exist.
+   *
+   * @param path the path
+   * @param version the version of the cache when the lookup of the path started
+   */
+  public void putNotFound(AlluxioURI path, long version) {
+    if (mEnabled) {
+      cacheStatus(path.getPath(), Optional.<URIStatus>absent(), version);
+    }
+  }
+
+  /**
+   * Caches the listing of a directory and the statuses of its children, unless some of the
+   * children are incomplete files.
+   *
+   * @param path the path of the directory
+   * @param statuses the statuses of the children of the directory
+   * @param version the version of the cache when the listing started
+   */
+  public void putListing(AlluxioURI path, List<URIStatus> statuses, long version) {
+    if (!mEnabled) {
+      return;
+    }
+    for (URIStatus status : statuses) {
+      if (!isCacheable(status)) {
+        return;
+      }
+    }
+    String key = path.getPath();
+    mListings.put(key, Collections.unmodifiableList(new ArrayList<>(statuses)));
+    if (mVersion.get() != version) {
+      mListings.invalidate(key);
+      return;
+    }
+    for (URIStatus status : statuses) {
+      cacheStatus(status.getPath(), Optional.of(status), version);
+    }
+  }
+
+  /**
+   * Invalidates the cached status and listing of a path and of its ancestors, after the path is
+   * created or modified.
+   *
+   * @param path the path
+   */
+  public void invalidate(AlluxioURI path) {
+    if (!mEnabled) {
+      return;
+    }
+    mVersion.incrementAndGet();
+    invalidatePathAndAncestors(path.getPath());
+  }
+
+  /**
+   * Invalidates the cached statuses and listings of a path, of its ancestors and of all the paths
+   * under it, after the path is deleted, renamed or modified recursively.
+   *
+   * @param path the path
+   */
+  public void invalidateTree(AlluxioURI path) {
+    if (!mEnabled) {
+      return;
+    }
+    mVersion.incrementAndGet();
+    String key = path.getPath();
+    if (key.equals(ROOT)) {
+      mStatuses.invalidateAll();
+      mListings.invalidateAll();
+      return;
+    }
+    String prefix = key + AlluxioURI.SEPARATOR;
+    for (String cached : mStatuses.asMap().keySet()) {
+      if (cached.startsWith(prefix)) {
+        mStatuses.invalidate(cached);
+      }
+    }
+    for (String cached : mListings.asMap().keySet()) {
+      if (cached.startsWith(prefix)) {
+        mListings.invalidate(cached);
+      }
+    }
+    invalidatePathAndAncestors(key);
+  }
+
+  /**
+   * Invalidates all the cached statuses and listings.
+   */
+  public void invalidateAll() {
+    mVersion.incrementAndGet();
+    mStatuses.invalidateAll();
+    mListings.invalidateAll();
+  }
+
+  private void cacheStatus(String key, Optional<URIStatus> status, long version) {
+    mStatuses.put(key, status);
+    if (mVersion.get() != version) {
+      // An invalidation may have missed the entry, which may be older than the invalidation.
+      mStatuses.invalidate(key);
+    }
+  }
+
+  private void invalidatePathAndAncestors(String key) {
+    while (true) {
+      mStatuses.invalidate(key);
+      mListings.invalidate(key);
+      int separator = key.lastIndexOf(AlluxioURI.SEPARATOR);
+      if (key.equals(ROOT) || separator < 0) {
+        return;
+      }
+      key = separator == 0 ? ROOT : key.substring(0, separator);
+    }
+  }
+
+  private static boolean isCacheable(URIStatus status) {
+    return status.isFolder() || status.isCompleted();
+  }
+
+  /**
+   * Class that contains metrics about {@link MetadataCache}.
+   */
+  @ThreadSafe
+  private static final class Metrics {
+    private static final Counter METADATA_CACHE_HITS =
+        MetricsSystem.clientCounter("MetadataCacheHits");
+    private static final Counter METADATA_CACHE_MISSES =
+        MetricsSystem.clientCounter("MetadataCacheMisses");
+
+    private Metrics() {} // prevent instantiation
+  }
+}
@@ -75,6 +75,7 @@ public final class UnknownLengthFileInStream extends FileInStream {
         throw new IOException(e);
       } finally {
         mContext.releaseMasterClient(masterClient);
+        mContext.getMetadataCache().invalidate(new AlluxioURI(mStatus.getPath()));
       }
     } else {
       LOG.warn("File with unknown length was closed before fully reading the input stream.");
@@ -39,6 +39,8 @@ public final class InStreamOptions {
    * is enabled.
    */
   private long mSeekBufferSizeBytes;
+  /** The number of blocks to open ahead of the current block when the file is read sequentially. */
+  private int mReadAheadBlocks;
 
   /**
    * @return the default {@link InStreamOptions}
@@ -60,6 +62,7 @@ public final class InStreamOptions {
         Configuration.getBoolean(PropertyKey.USER_FILE_CACHE_PARTIALLY_READ_BLOCK);
     mSeekBufferSizeBytes =
         Configuration.getBytes(PropertyKey.USER_FILE_SEEK_BUFFER_SIZE_BYTES);
+    mReadAheadBlocks = Configuration.getInt(PropertyKey.USER_FILE_READ_AHEAD_BLOCKS);
   }
 
   /**
@@ -132,6 +135,24 @@ public final class InStreamOptions {
     return this;
   }
 
+  /**
+   * @return the number of blocks to open ahead of the current block, 0 if read-ahead is disabled
+   */
+  public int getReadAheadBlocks() {
+    return mReadAheadBlocks;
+  }
+
+  /**
+   * Sets {@link #mReadAheadBlocks}.
+   * @param readAheadBlocks the number of blocks to open ahead of the current block when the file
+   *        is read sequentially, 0 to disable read-ahead
+   * @return the updated options object
+   */
+  public InStreamOptions setReadAheadBlocks(int readAheadBlocks) {
+    mReadAheadBlocks = readAheadBlocks;
+    return this;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -144,19 +165,21 @@ public final class InStreamOptions {
     return Objects.equal(mLocationPolicy, that.mLocationPolicy)
         && Objects.equal(mReadType, that.mReadType)
         && Objects.equal(mCachePartiallyReadBlock, that.mCachePartiallyReadBlock)
-        && Objects.equal(mSeekBufferSizeBytes, that.mSeekBufferSizeBytes);
+        && Objects.equal(mSeekBufferSizeBytes, that.mSeekBufferSizeBytes)
+        && Objects.equal(mReadAheadBlocks, that.mReadAheadBlocks);
   }
 
   @Override
   public int hashCode() {
-    return Objects
-        .hashCode(mLocationPolicy, mReadType, mCachePartiallyReadBlock, mSeekBufferSizeBytes);
+    return Objects.hashCode(mLocationPolicy, mReadType, mCachePartiallyReadBlock,
+        mSeekBufferSizeBytes, mReadAheadBlocks);
   }
 
   @Override
   public String toString() {
     return Objects.toStringHelper(this).add("locationPolicy", mLocationPolicy)
         .add("readType", mReadType).add("cachePartiallyReadBlock", mCachePartiallyReadBlock)
-        .add("seekBufferSize", mSeekBufferSizeBytes).toString();
+        .add("seekBufferSize", mSeekBufferSizeBytes).add("readAheadBlocks", mReadAheadBlocks)
+        .toString();
   }
 }
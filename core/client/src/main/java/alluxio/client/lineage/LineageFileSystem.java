@@ -68,6 +68,7 @@ public final class LineageFileSystem extends BaseFileSystem {
           options.getTtl(), options.getTtlAction());
     } finally {
       mLineageContext.releaseMasterClient(masterClient);
+      mFileSystemContext.getMetadataCache().invalidate(path);
     }
   }
 
@@ -112,6 +113,7 @@ public final class LineageFileSystem extends BaseFileSystem {
       masterClient.reportLostFile(path.getPath());
     } finally {
       mLineageContext.releaseMasterClient(masterClient);
+      mFileSystemContext.getMetadataCache().invalidate(path);
     }
   }
 }
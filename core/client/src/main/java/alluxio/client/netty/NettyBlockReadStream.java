@@ -0,0 +1,315 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.netty;
+
+import alluxio.Configuration;
+import alluxio.PropertyKey;
+import alluxio.client.block.BlockStoreContext;
+import alluxio.exception.ExceptionMessage;
+import alluxio.metrics.MetricsSystem;
+import alluxio.network.protocol.RPCBlockReadResponse;
+import alluxio.network.protocol.RPCBlockReadStreamRequest;
+import alluxio.network.protocol.RPCErrorResponse;
+import alluxio.network.protocol.RPCMessage;
+import alluxio.network.protocol.RPCResponse;
+import alluxio.network.protocol.databuffer.DataBuffer;
+
+import com.codahale.metrics.Counter;
+import com.google.common.base.Preconditions;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.concurrent.NotThreadSafe;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Reads a range of a block from a remote data server with a single streaming read request. The
+ * data server sends the range in chunks without waiting for the client, and the chunks are queued
+ * until they are read. When {@link PropertyKey#USER_NETWORK_NETTY_READER_BUFFER_SIZE_CHUNKS}
+ * chunks are queued, the channel stops reading from the network until the queue is drained, so
+ * that TCP flow control pauses the data server.
+ *
+ * The channel is returned to the pool when the whole range is read, and closed otherwise.
+ */
+@NotThreadSafe
+public final class NettyBlockReadStream implements Closeable {
+  private final InetSocketAddress mAddress;
+  private final long mBlockId;
+  private final Channel mChannel;
+  private final ChunkListener mListener;
+  /** The maximum number of chunks to queue before the channel stops reading. */
+  private final int mMaxQueuedChunks;
+
+  /** The block offset of the next byte to read. */
+  private long mPosition;
+  /** The block offset of the end of the range. */
+  private final long mEnd;
+  /** The chunk being read, null if there is none. */
+  private RPCBlockReadResponse mChunk = null;
+  /** The unread data of the chunk being read. */
+  private ByteBuffer mChunkData = null;
+  private boolean mClosed = false;
+
+  /**
+   * Opens a stream of a range of a block.
+   *
+   * @param address the address of the data server
+   * @param blockId the id of the block
+   * @param offset the offset of the range
+   * @param length the length of the range, must be positive
+   * @param lockId the acquired block lock id
+   * @param sessionId the session id of the client
+   * @throws IOException if the request cannot be sent
+   */
+  public NettyBlockReadStream(InetSocketAddress address, long blockId, long offset, long length,
+      long lockId, long sessionId) throws IOException {
+    this(NettyClient.bootstrapBuilder(), address, blockId, offset, length, lockId, sessionId);
+  }
+
+  /**
+   * Opens a stream of a range of a block, with channels created by the given bootstrap builder.
+   *
+   * @param clientBootstrap the builder of the bootstrap of the client channel
+   * @param address the address of the data server
+   * @param blockId the id of the block
+   * @param offset the offset of the range
+   * @param length the length of the range, must be positive
+   * @param lockId the acquired block lock id
+   * @param sessionId the session id of the client
+   * @throws IOException if the request cannot be sent
+   */
+  public NettyBlockReadStream(Callable<Bootstrap> clientBootstrap, InetSocketAddress address,
+      long blockId, long offset, long length, long lockId, long sessionId) throws IOException {
+    Preconditions.checkArgument(length > 0, "length must be positive");
+    mAddress = address;
+    mBlockId = blockId;
+    mPosition = offset;
+    mEnd = offset + length;
+    mMaxQueuedChunks =
+        Configuration.getInt(PropertyKey.USER_NETWORK_NETTY_READER_BUFFER_SIZE_CHUNKS);
+    Metrics.NETTY_BLOCK_STREAM_READ_OPS.inc();
+    mChannel = BlockStoreContext.acquireNettyChannel(address, clientBootstrap);
+    mListener = new ChunkListener();
+    mChannel.pipeline().get(ClientHandler.class).addListener(mListener);
+    try {
+      ChannelFuture future = mChannel.writeAndFlush(new RPCBlockReadStreamRequest(blockId, offset,
+          length, lockId, sessionId,
+          Configuration.getBytes(PropertyKey.USER_NETWORK_NETTY_READER_CHUNK_SIZE_BYTES)));
+      future.sync();
+      if (!future.isSuccess()) {
+        throw new IOException(future.cause());
+      }
+    } catch (IOException | InterruptedException e) {
+      Metrics.NETTY_BLOCK_STREAM_READ_FAILURES.inc();
+      close();
+      if (e instanceof InterruptedException) {
+        Thread.currentThread().interrupt();
+        throw new IOException(e);
+      }
+      throw (IOException) e;
+    }
+  }
+
+  /**
+   * @return the block offset of the next byte to read
+   */
+  public long getPosition() {
+    return mPosition;
+  }
+
+  /**
+   * @return the number of bytes of the range which are not read yet
+   */
+  public long remaining() {
+    return mEnd - mPosition;
+  }
+
+  /**
+   * Reads the next bytes of the range, waiting for the next chunk if no data is queued.
+   *
+   * @param b the byte array to read the data to
+   * @param off the offset in the array to read to
+   * @param len the maximum number of bytes to read
+   * @return the number of bytes read, -1 if the whole range is read
+   * @throws IOException if the stream fails or times out
+   */
+  public int read(byte[] b, int off, int len) throws IOException {
+    Preconditions.checkState(!mClosed, "stream is closed");
+    if (remaining() == 0) {
+      return -1;
+    }
+    if (mChunkData == null || !mChunkData.hasRemaining()) {
+      nextChunk();
+    }
+    int bytesRead = Math.min(len, mChunkData.remaining());
+    mChunkData.get(b, off, bytesRead);
+    mPosition += bytesRead;
+    return bytesRead;
+  }
+
+  /**
+   * Releases the current chunk, and waits for the next chunk of the stream.
+   *
+   * @throws IOException if the stream fails or times out
+   */
+  private void nextChunk() throws IOException {
+    releaseChunk();
+    Object next;
+    try {
+      next = mListener.mChunks.poll(NettyClient.TIMEOUT_MS, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    }
+    if (mListener.mChunks.size() <= mMaxQueuedChunks / 2 && !mChannel.config().isAutoRead()) {
+      mChannel.config().setAutoRead(true);
+    }
+    if (next == null) {
+      throw fail(new IOException(ExceptionMessage.BLOCK_READ_TIMEOUT
+          .getMessage(mBlockId, mAddress, NettyClient.TIMEOUT_MS)));
+    }
+    if (next instanceof Throwable) {
+      throw fail(new IOException((Throwable) next));
+    }
+    RPCResponse response = (RPCResponse) next;
+    switch (response.getType()) {
+      case RPC_BLOCK_READ_RESPONSE:
+        RPCBlockReadResponse chunk = (RPCBlockReadResponse) response;
+        mChunk = chunk;
+        if (chunk.getStatus() != RPCResponse.Status.SUCCESS) {
+          throw fail(new IOException(chunk.getStatus().getMessage() + " response: " + chunk));
+        }
+        if (chunk.getOffset() != mPosition || chunk.getLength() <= 0
+            || mPosition + chunk.getLength() > mEnd) {
+          throw fail(new IOException("Unexpected chunk " + chunk + " at offset " + mPosition));
+        }
+        mChunkData = chunk.getPayloadDataBuffer().getReadOnlyByteBuffer();
+        return;
+      case RPC_ERROR_RESPONSE:
+        throw fail(new IOException(((RPCErrorResponse) response).getStatus().getMessage()));
+      default:
+        throw fail(new IOException(ExceptionMessage.UNEXPECTED_RPC_RESPONSE
+            .getMessage(response.getType(), RPCMessage.Type.RPC_BLOCK_READ_RESPONSE)));
+    }
+  }
+
+  /**
+   * @param e the failure of the stream
+   * @return the failure
+   */
+  private IOException fail(IOException e) {
+    Metrics.NETTY_BLOCK_STREAM_READ_FAILURES.inc();
+    return e;
+  }
+
+  private void releaseChunk() {
+    if (mChunk != null) {
+      DataBuffer data = mChunk.getPayloadDataBuffer();
+      if (data != null) {
+        data.release();
+      }
+      mChunk = null;
+      mChunkData = null;
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * The channel is returned to the pool if the whole range was read, since there are no more
+   * chunks of the stream on the way. Otherwise the channel is closed.
+   */
+  @Override
+  public void close() throws IOException {
+    if (mClosed) {
+      return;
+    }
+    mClosed = true;
+    releaseChunk();
+    boolean reusable = remaining() == 0 && mChannel.isActive();
+    try {
+      if (!reusable) {
+        mChannel.close().sync();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    } finally {
+      if (mChannel.isActive()) {
+        mChannel.pipeline().get(ClientHandler.class).removeListener(mListener);
+      }
+      mChannel.config().setAutoRead(true);
+      // Release the data of the chunks which arrived after the last read.
+      Object next;
+      while ((next = mListener.mChunks.poll()) != null) {
+        if (next instanceof RPCResponse) {
+          DataBuffer data = ((RPCResponse) next).getPayloadDataBuffer();
+          if (data != null) {
+            data.release();
+          }
+        }
+      }
+      BlockStoreContext.releaseNettyChannel(mAddress, mChannel);
+    }
+  }
+
+  /**
+   * Queues the chunks received by the channel, and stops the channel from reading when the queue
+   * is full. The listener runs on the event loop of the channel.
+   */
+  @ThreadSafe
+  private final class ChunkListener implements ClientHandler.ResponseListener {
+    /** The received responses, or the exceptions caught by the channel. */
+    private final BlockingQueue<Object> mChunks = new LinkedBlockingQueue<>();
+
+    /**
+     * Creates a new instance of {@link ChunkListener}.
+     */
+    ChunkListener() {}
+
+    @Override
+    public void onResponseReceived(RPCResponse response) {
+      mChunks.offer(response);
+      if (mChunks.size() >= mMaxQueuedChunks) {
+        mChannel.config().setAutoRead(false);
+      }
+    }
+
+    @Override
+    public void onExceptionCaught(Throwable cause) {
+      mChunks.offer(cause);
+    }
+  }
+
+  /**
+   * Class that contains metrics about {@link NettyBlockReadStream}.
+   */
+  @ThreadSafe
+  private static final class Metrics {
+    private static final Counter NETTY_BLOCK_STREAM_READ_OPS =
+        MetricsSystem.clientCounter("NettyBlockStreamReadOps");
+    private static final Counter NETTY_BLOCK_STREAM_READ_FAILURES =
+        MetricsSystem.clientCounter("NettyBlockStreamReadFailures");
+
+    private Metrics() {} // prevent instantiation
+  }
+}
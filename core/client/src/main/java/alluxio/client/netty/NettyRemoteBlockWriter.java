@@ -11,7 +11,9 @@
 
 package alluxio.client.netty;
 
+import alluxio.Configuration;
 import alluxio.Constants;
+import alluxio.PropertyKey;
 import alluxio.client.RemoteBlockWriter;
 import alluxio.client.block.BlockStoreContext;
 import alluxio.exception.ExceptionMessage;
@@ -24,7 +26,7 @@ import alluxio.network.protocol.RPCResponse;
 import alluxio.network.protocol.databuffer.DataByteArrayChannel;
 
 import com.codahale.metrics.Counter;
-import com.google.common.base.Throwables;
+import com.google.common.base.Preconditions;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
@@ -33,7 +35,9 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 
 import javax.annotation.concurrent.NotThreadSafe;
@@ -41,26 +45,64 @@ import javax.annotation.concurrent.ThreadSafe;
 
 /**
  * Write data to a remote data server using Netty.
+ *
+ * The writes of a block are pipelined on a single channel: up to
+ * {@link PropertyKey#USER_NETWORK_NETTY_WRITER_BUFFER_SIZE_CHUNKS} write requests are sent before
+ * waiting for the data server to acknowledge them. The data server handles the requests of a
+ * channel in order, and acknowledges each one after appending it to the temporary block, so the
+ * window fills up and the writer slows down when the worker cannot keep up.
  */
 @NotThreadSafe
 public final class NettyRemoteBlockWriter implements RemoteBlockWriter {
   private static final Logger LOG = LoggerFactory.getLogger(Constants.LOGGER_TYPE);
 
   private final Callable<Bootstrap> mClientBootstrap;
+  /** The maximum number of write requests which are not acknowledged yet. */
+  private final int mMaxWritesInFlight;
 
   private boolean mOpen;
   private InetSocketAddress mAddress;
   private long mBlockId;
   private long mSessionId;
 
+  /** The channel of the writes, null before the first write. */
+  private Channel mChannel;
+  private AckListener mListener;
+  /** The number of write requests which are not acknowledged yet. */
+  private int mWritesInFlight;
+
   // Total number of bytes written to the remote block.
   private long mWrittenBytes;
+  // Total number of bytes the data server acknowledged writing to the remote block.
+  private long mAckedBytes;
 
   /**
    * Creates a new {@link NettyRemoteBlockWriter}.
    */
   public NettyRemoteBlockWriter() {
-    mClientBootstrap = NettyClient.bootstrapBuilder();
+    this(NettyClient.bootstrapBuilder());
+  }
+
+  /**
+   * Creates a new {@link NettyRemoteBlockWriter}.
+   *
+   * @param clientBootstrap bootstrap class of the client channel
+   */
+  public NettyRemoteBlockWriter(final Bootstrap clientBootstrap) {
+    this(new Callable<Bootstrap>() {
+      @Override
+      public Bootstrap call() {
+        return clientBootstrap;
+      }
+    });
+  }
+
+  private NettyRemoteBlockWriter(Callable<Bootstrap> clientBootstrap) {
+    mClientBootstrap = clientBootstrap;
+    mMaxWritesInFlight =
+        Configuration.getInt(PropertyKey.USER_NETWORK_NETTY_WRITER_BUFFER_SIZE_CHUNKS);
+    Preconditions.checkState(mMaxWritesInFlight > 0, "%s must be positive",
+        PropertyKey.USER_NETWORK_NETTY_WRITER_BUFFER_SIZE_CHUNKS);
     mOpen = false;
   }
 
@@ -74,26 +116,42 @@ public final class NettyRemoteBlockWriter implements RemoteBlockWriter {
     mBlockId = blockId;
     mSessionId = sessionId;
     mWrittenBytes = 0;
+    mAckedBytes = 0;
+    mWritesInFlight = 0;
     mOpen = true;
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * The channel is returned to the pool if all the writes were acknowledged. Otherwise the
+   * channel is closed, and the writes which were not acknowledged are abandoned.
+   */
   @Override
   public void close() {
     if (mOpen) {
       mOpen = false;
+      if (mChannel != null) {
+        releaseChannel(mWritesInFlight == 0);
+      }
     }
   }
 
   @Override
   public void write(byte[] bytes, int offset, int length) throws IOException {
-    SingleResponseListener listener = null;
-    Channel channel = null;
     Metrics.NETTY_BLOCK_WRITE_OPS.inc();
     try {
-      channel = BlockStoreContext.acquireNettyChannel(mAddress, mClientBootstrap);
-      listener = new SingleResponseListener();
-      channel.pipeline().get(ClientHandler.class).addListener(listener);
-      ChannelFuture channelFuture = channel.writeAndFlush(
+      if (mChannel == null) {
+        mChannel = BlockStoreContext.acquireNettyChannel(mAddress, mClientBootstrap);
+        mListener = new AckListener();
+        mChannel.pipeline().get(ClientHandler.class).addListener(mListener);
+      }
+      while (mWritesInFlight >= mMaxWritesInFlight) {
+        awaitAck();
+      }
+      // Wait for the request to be written to the channel, since the caller may reuse the bytes
+      // as soon as this returns.
+      ChannelFuture channelFuture = mChannel.writeAndFlush(
           new RPCBlockWriteRequest(mSessionId, mBlockId, mWrittenBytes, length,
               new DataByteArrayChannel(bytes, offset, length))).sync();
       if (channelFuture.isDone() && !channelFuture.isSuccess()) {
@@ -101,46 +159,139 @@ public final class NettyRemoteBlockWriter implements RemoteBlockWriter {
             mBlockId, channelFuture.cause());
         throw new IOException(channelFuture.cause());
       }
+      mWrittenBytes += length;
+      mWritesInFlight++;
+    } catch (Exception e) {
+      throw fail(e);
+    }
+  }
 
-      RPCResponse response = listener.get(NettyClient.TIMEOUT_MS, TimeUnit.MILLISECONDS);
-
-      switch (response.getType()) {
-        case RPC_BLOCK_WRITE_RESPONSE:
-          RPCBlockWriteResponse resp = (RPCBlockWriteResponse) response;
-          RPCResponse.Status status = resp.getStatus();
-          LOG.debug("status: {} from remote machine {} received", status, mAddress);
-
-          if (status != RPCResponse.Status.SUCCESS) {
-            throw new IOException(ExceptionMessage.BLOCK_WRITE_ERROR.getMessage(mBlockId,
-                mSessionId, mAddress, status.getMessage()));
-          }
-          mWrittenBytes += length;
-          break;
-        case RPC_ERROR_RESPONSE:
-          RPCErrorResponse error = (RPCErrorResponse) response;
-          throw new IOException(error.getStatus().getMessage());
-        default:
-          throw new IOException(ExceptionMessage.UNEXPECTED_RPC_RESPONSE
-              .getMessage(response.getType(), RPCMessage.Type.RPC_BLOCK_WRITE_RESPONSE));
+  /**
+   * {@inheritDoc}
+   *
+   * Waits for the data server to acknowledge all the writes.
+   */
+  @Override
+  public void flush() throws IOException {
+    try {
+      while (mWritesInFlight > 0) {
+        awaitAck();
       }
     } catch (Exception e) {
-      Metrics.NETTY_BLOCK_WRITE_FAILURES.inc();
-      try {
-        // TODO(peis): We should not close the channel unless it is an exception caused by network.
-        if (channel != null) {
-          channel.close().sync();
+      throw fail(e);
+    }
+  }
+
+  /**
+   * @return the number of bytes the data server acknowledged writing to the remote block
+   */
+  public long getAckedBytes() {
+    return mAckedBytes;
+  }
+
+  /**
+   * Waits for the data server to acknowledge the oldest write which is not acknowledged yet.
+   *
+   * @throws IOException if the write failed or is not acknowledged in time
+   * @throws InterruptedException if interrupted while waiting
+   */
+  private void awaitAck() throws IOException, InterruptedException {
+    Object next = mListener.mResponses.poll(NettyClient.TIMEOUT_MS, TimeUnit.MILLISECONDS);
+    if (next == null) {
+      throw new IOException(ExceptionMessage.BLOCK_WRITE_TIMEOUT
+          .getMessage(mBlockId, mAddress, NettyClient.TIMEOUT_MS));
+    }
+    if (next instanceof Throwable) {
+      throw new IOException((Throwable) next);
+    }
+    RPCResponse response = (RPCResponse) next;
+    switch (response.getType()) {
+      case RPC_BLOCK_WRITE_RESPONSE:
+        RPCBlockWriteResponse resp = (RPCBlockWriteResponse) response;
+        RPCResponse.Status status = resp.getStatus();
+        LOG.debug("status: {} from remote machine {} received", status, mAddress);
+
+        if (status != RPCResponse.Status.SUCCESS) {
+          throw new IOException(ExceptionMessage.BLOCK_WRITE_ERROR.getMessage(mBlockId,
+              mSessionId, mAddress, status.getMessage()));
         }
-      } catch (InterruptedException ee) {
-        Throwables.propagate(ee);
-      }
-      throw new IOException(e);
-    } finally {
-      if (channel != null && listener != null && channel.isActive()) {
-        channel.pipeline().get(ClientHandler.class).removeListener(listener);
-      }
-      if (channel != null) {
-        BlockStoreContext.releaseNettyChannel(mAddress, channel);
-      }
+        // The data server acknowledges the writes of a channel in order.
+        if (resp.getOffset() != mAckedBytes) {
+          throw new IOException(ExceptionMessage.BLOCK_WRITE_ERROR.getMessage(mBlockId,
+              mSessionId, mAddress, "unexpected acknowledgement " + resp + " at offset "
+                  + mAckedBytes));
+        }
+        mAckedBytes += resp.getLength();
+        mWritesInFlight--;
+        break;
+      case RPC_ERROR_RESPONSE:
+        RPCErrorResponse error = (RPCErrorResponse) response;
+        throw new IOException(error.getStatus().getMessage());
+      default:
+        throw new IOException(ExceptionMessage.UNEXPECTED_RPC_RESPONSE
+            .getMessage(response.getType(), RPCMessage.Type.RPC_BLOCK_WRITE_RESPONSE));
+    }
+  }
+
+  /**
+   * Closes the channel after a failed write, since the data server may still be handling the
+   * writes in flight.
+   *
+   * @param e the cause of the failure
+   * @return the exception to throw
+   */
+  private IOException fail(Exception e) {
+    Metrics.NETTY_BLOCK_WRITE_FAILURES.inc();
+    if (e instanceof InterruptedException) {
+      Thread.currentThread().interrupt();
+    }
+    if (mChannel != null) {
+      releaseChannel(false);
+    }
+    return new IOException(e);
+  }
+
+  /**
+   * Returns the channel to the pool, after closing it if it cannot be reused.
+   *
+   * @param reusable whether the channel can be reused
+   */
+  private void releaseChannel(boolean reusable) {
+    // TODO(peis): We should not close the channel unless it is an exception caused by network.
+    if (!reusable || !mChannel.isActive()) {
+      mChannel.close().awaitUninterruptibly();
+    }
+    if (mChannel.isActive()) {
+      mChannel.pipeline().get(ClientHandler.class).removeListener(mListener);
+    }
+    BlockStoreContext.releaseNettyChannel(mAddress, mChannel);
+    mChannel = null;
+    mListener = null;
+    mWritesInFlight = 0;
+  }
+
+  /**
+   * Queues the acknowledgements received by the channel. The listener runs on the event loop of
+   * the channel.
+   */
+  @ThreadSafe
+  private static final class AckListener implements ClientHandler.ResponseListener {
+    /** The received responses, or the exceptions caught by the channel. */
+    private final BlockingQueue<Object> mResponses = new LinkedBlockingQueue<>();
+
+    /**
+     * Creates a new instance of {@link AckListener}.
+     */
+    AckListener() {}
+
+    @Override
+    public void onResponseReceived(RPCResponse response) {
+      mResponses.offer(response);
+    }
+
+    @Override
+    public void onExceptionCaught(Throwable cause) {
+      mResponses.offer(cause);
     }
   }
 
@@ -0,0 +1,71 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Tests for the {@link BufferPool} class.
+ */
+public final class BufferPoolTest {
+  private static final int CAPACITY = 16;
+
+  /**
+   * Tests that a released buffer is reused, cleared, by a buffer of the same capacity.
+   */
+  @Test
+  public void reuseBuffer() {
+    BufferPool pool = new BufferPool(2 * CAPACITY);
+    ByteBuffer buffer = pool.acquire(CAPACITY);
+    Assert.assertEquals(CAPACITY, buffer.capacity());
+    buffer.put((byte) 1);
+    pool.release(buffer);
+    Assert.assertEquals(CAPACITY, pool.getPooledBytes());
+
+    // A buffer of another capacity is not reused.
+    Assert.assertNotSame(buffer, pool.acquire(2 * CAPACITY));
+    ByteBuffer reused = pool.acquire(CAPACITY);
+    Assert.assertSame(buffer, reused);
+    Assert.assertEquals(0, reused.position());
+    Assert.assertEquals(CAPACITY, reused.limit());
+    Assert.assertEquals(0, pool.getPooledBytes());
+  }
+
+  /**
+   * Tests that the buffers released when the pool is full are not kept.
+   */
+  @Test
+  public void full() {
+    BufferPool pool = new BufferPool(CAPACITY);
+    ByteBuffer first = pool.acquire(CAPACITY);
+    ByteBuffer second = pool.acquire(CAPACITY);
+    pool.release(first);
+    pool.release(second);
+    Assert.assertEquals(CAPACITY, pool.getPooledBytes());
+    Assert.assertSame(first, pool.acquire(CAPACITY));
+    Assert.assertNotSame(second, pool.acquire(CAPACITY));
+  }
+
+  /**
+   * Tests that direct buffers and views into arrays are not kept.
+   */
+  @Test
+  public void releaseUnpooledBuffer() {
+    BufferPool pool = new BufferPool(4 * CAPACITY);
+    pool.release(ByteBuffer.allocateDirect(CAPACITY));
+    pool.release(ByteBuffer.wrap(new byte[2 * CAPACITY], 1, CAPACITY).slice());
+    Assert.assertEquals(0, pool.getPooledBytes());
+  }
+}
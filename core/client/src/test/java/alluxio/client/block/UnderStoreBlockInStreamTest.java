@@ -14,6 +14,7 @@ package alluxio.client.block;
 import alluxio.ConfigurationTestUtils;
 import alluxio.client.block.UnderStoreBlockInStream.UnderStoreStreamFactory;
 import alluxio.client.util.ClientTestUtils;
+import alluxio.underfs.options.OpenOptions;
 import alluxio.util.io.BufferUtils;
 
 import com.google.common.base.Throwables;
@@ -26,7 +27,6 @@ import org.junit.rules.TemporaryFolder;
 
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -298,10 +298,12 @@ public class UnderStoreBlockInStreamTest {
     }
 
     @Override
-    public InputStream create() {
+    public InputStream create(OpenOptions options) {
       try {
-        return new FileInputStream(mFile);
-      } catch (FileNotFoundException e) {
+        FileInputStream inputStream = new FileInputStream(mFile);
+        inputStream.getChannel().position(options.getOffset());
+        return inputStream;
+      } catch (IOException e) {
         throw Throwables.propagate(e);
       }
     }
@@ -12,6 +12,7 @@
 package alluxio.client.file;
 
 import alluxio.AlluxioURI;
+import alluxio.Constants;
 import alluxio.client.ClientContext;
 import alluxio.client.file.options.CreateDirectoryOptions;
 import alluxio.client.file.options.CreateFileOptions;
@@ -25,6 +26,7 @@ import alluxio.client.file.options.OpenFileOptions;
 import alluxio.client.file.options.RenameOptions;
 import alluxio.client.file.options.SetAttributeOptions;
 import alluxio.client.file.options.UnmountOptions;
+import alluxio.exception.FileDoesNotExistException;
 import alluxio.wire.FileInfo;
 
 import org.junit.After;
@@ -70,6 +72,7 @@ public final class BaseFileSystemTest {
     mFileSystem = new DummyAlluxioFileSystem(mFileContext);
     mFileSystemMasterClient = PowerMockito.mock(FileSystemMasterClient.class);
     Mockito.when(mFileContext.acquireMasterClient()).thenReturn(mFileSystemMasterClient);
+    Mockito.when(mFileContext.getMetadataCache()).thenReturn(new MetadataCache(0, 0));
   }
 
   /**
@@ -179,6 +182,60 @@ public final class BaseFileSystemTest {
     Mockito.verify(mFileSystemMasterClient).getStatus(file);
   }
 
+  /**
+   * Tests that {@link BaseFileSystem#getStatus(AlluxioURI)} serves repeated lookups of a path from
+   * the metadata cache.
+   */
+  @Test
+  public void getStatusCached() throws Exception {
+    Mockito.when(mFileContext.getMetadataCache())
+        .thenReturn(new MetadataCache(100, Constants.HOUR_MS));
+    AlluxioURI file = new AlluxioURI("/file");
+    URIStatus status =
+        new URIStatus(new FileInfo().setPath(file.getPath()).setCompleted(true));
+    Mockito.when(mFileSystemMasterClient.getStatus(file)).thenReturn(status);
+    Assert.assertSame(status, mFileSystem.getStatus(file));
+    Assert.assertSame(status, mFileSystem.getStatus(file));
+    Assert.assertTrue(mFileSystem.exists(file));
+    Mockito.verify(mFileSystemMasterClient).getStatus(file);
+  }
+
+  /**
+   * Tests that {@link BaseFileSystem#getStatus(AlluxioURI)} caches that a path does not exist.
+   */
+  @Test
+  public void getStatusNotFoundCached() throws Exception {
+    Mockito.when(mFileContext.getMetadataCache())
+        .thenReturn(new MetadataCache(100, Constants.HOUR_MS));
+    AlluxioURI file = new AlluxioURI("/file");
+    Mockito.when(mFileSystemMasterClient.getStatus(file))
+        .thenThrow(new FileDoesNotExistException("/file"));
+    Assert.assertFalse(mFileSystem.exists(file));
+    try {
+      mFileSystem.getStatus(file);
+      Assert.fail("getStatus should have failed for a nonexistent path");
+    } catch (FileDoesNotExistException e) {
+      // expected
+    }
+    Mockito.verify(mFileSystemMasterClient).getStatus(file);
+  }
+
+  /**
+   * Tests that creating a file invalidates the cached status of the file and the cached listing of
+   * its parent.
+   */
+  @Test
+  public void createFileInvalidatesCache() throws Exception {
+    MetadataCache cache = new MetadataCache(100, Constants.HOUR_MS);
+    Mockito.when(mFileContext.getMetadataCache()).thenReturn(cache);
+    AlluxioURI file = new AlluxioURI("/dir/file");
+    cache.putNotFound(file, cache.getVersion());
+    cache.putListing(new AlluxioURI("/dir"), new ArrayList<URIStatus>(), cache.getVersion());
+    mFileSystem.createFile(file, CreateFileOptions.defaults());
+    Assert.assertNull(cache.getStatus(file));
+    Assert.assertNull(cache.listStatus(new AlluxioURI("/dir")));
+  }
+
   /**
    * Ensures that an exception is propagated correctly when retrieving information.
    */
@@ -209,6 +266,26 @@ public final class BaseFileSystemTest {
     Mockito.verify(mFileSystemMasterClient).listStatus(file, listStatusOptions);
   }
 
+  /**
+   * Tests that {@link BaseFileSystem#listStatus(AlluxioURI)} serves repeated listings of a
+   * directory and lookups of its children from the metadata cache.
+   */
+  @Test
+  public void listStatusCached() throws Exception {
+    Mockito.when(mFileContext.getMetadataCache())
+        .thenReturn(new MetadataCache(100, Constants.HOUR_MS));
+    AlluxioURI dir = new AlluxioURI("/dir");
+    URIStatus child = new URIStatus(new FileInfo().setPath("/dir/file").setCompleted(true));
+    List<URIStatus> infos = new ArrayList<>();
+    infos.add(child);
+    Mockito.when(mFileSystemMasterClient.listStatus(dir, ListStatusOptions.defaults()))
+        .thenReturn(infos);
+    Assert.assertEquals(infos, mFileSystem.listStatus(dir));
+    Assert.assertEquals(infos, mFileSystem.listStatus(dir));
+    Assert.assertSame(child, mFileSystem.getStatus(new AlluxioURI("/dir/file")));
+    Mockito.verify(mFileSystemMasterClient).listStatus(dir, ListStatusOptions.defaults());
+  }
+
   /**
    * Ensures that an exception is propagated correctly when listing the status.
    */
@@ -30,6 +30,7 @@ import alluxio.client.util.ClientTestUtils;
 import alluxio.exception.AlluxioException;
 import alluxio.exception.PreconditionMessage;
 import alluxio.underfs.UnderFileSystem;
+import alluxio.underfs.options.OpenOptions;
 import alluxio.util.io.BufferUtils;
 import alluxio.wire.FileInfo;
 import alluxio.wire.WorkerNetAddress;
@@ -432,6 +433,39 @@ public class FileInStreamTest {
     Mockito.verify(mBlockStore).promote(1);
   }
 
+  /**
+   * Tests that the streams of the next blocks are opened ahead when a file is read sequentially,
+   * and taken instead of opening the streams again.
+   */
+  @Test
+  public void readAhead() throws Exception {
+    mTestStream = new FileInStream(mStatus, InStreamOptions.defaults()
+        .setReadType(ReadType.NO_CACHE).setReadAheadBlocks(2), mContext);
+    byte[] buffer = new byte[(int) FILE_LENGTH];
+    Assert.assertEquals(FILE_LENGTH, mTestStream.read(buffer));
+    Assert.assertTrue(BufferUtils.equalIncreasingByteArray((int) FILE_LENGTH, buffer));
+    for (int i = 0; i < NUM_STREAMS; i++) {
+      Mockito.verify(mBlockStore).getInStream(i);
+    }
+    mTestStream.close();
+  }
+
+  /**
+   * Tests that seeking away from the blocks read ahead still reads the correct data.
+   */
+  @Test
+  public void seekAfterReadAhead() throws Exception {
+    mTestStream = new FileInStream(mStatus, InStreamOptions.defaults()
+        .setReadType(ReadType.NO_CACHE).setReadAheadBlocks(2), mContext);
+    // Read into block 1 to read blocks 2 and 3 ahead, then seek back to block 0.
+    mTestStream.read(new byte[(int) BLOCK_LENGTH + 1]);
+    mTestStream.seek(BLOCK_LENGTH / 2);
+    Assert.assertEquals((byte) (BLOCK_LENGTH / 2), (byte) mTestStream.read());
+    mTestStream.seek(BLOCK_LENGTH * 3 + 1);
+    Assert.assertEquals((byte) (BLOCK_LENGTH * 3 + 1), (byte) mTestStream.read());
+    mTestStream.close();
+  }
+
   /**
    * Tests that {@link IOException}s thrown by the {@link AlluxioBlockStore} are properly
    * propagated.
@@ -466,14 +500,15 @@ public class FileInStreamTest {
     } else {
       UnderFileSystem ufs = ClientMockUtils.mockUnderFileSystem(Mockito.eq("testUfsPath"));
       InputStream stream = Mockito.mock(InputStream.class);
-      Mockito.when(ufs.open("testUfsPath")).thenReturn(stream);
-      Mockito.when(stream.skip(BLOCK_LENGTH)).thenReturn(BLOCK_LENGTH);
+      OpenOptions openOptions = new OpenOptions().setOffset(BLOCK_LENGTH);
+      Mockito.when(ufs.open("testUfsPath", openOptions)).thenReturn(stream);
       Mockito.when(stream.skip(BLOCK_LENGTH / 2)).thenReturn(BLOCK_LENGTH / 2);
 
       mTestStream.seek(BLOCK_LENGTH + (BLOCK_LENGTH / 2));
-      Mockito.verify(ufs).open("testUfsPath");
-      Mockito.verify(stream).skip(100);
-      Mockito.verify(stream).skip(50);
+      // The stream is opened at the start of the block, so only the offset within it is skipped.
+      Mockito.verify(ufs).open("testUfsPath", openOptions);
+      Mockito.verify(stream, Mockito.never()).skip(BLOCK_LENGTH);
+      Mockito.verify(stream).skip(BLOCK_LENGTH / 2);
     }
   }
 
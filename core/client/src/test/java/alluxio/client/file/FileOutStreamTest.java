@@ -119,6 +119,7 @@ public class FileOutStreamTest {
 
     when(mFileSystemContext.getAlluxioBlockStore()).thenReturn(mBlockStore);
     when(mFileSystemContext.acquireMasterClient()).thenReturn(mFileSystemMasterClient);
+    when(mFileSystemContext.getMetadataCache()).thenReturn(new MetadataCache(0, 0));
     when(mFileSystemMasterClient.getStatus(any(AlluxioURI.class))).thenReturn(
         new URIStatus(new FileInfo()));
 
@@ -0,0 +1,132 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file;
+
+import alluxio.AlluxioURI;
+import alluxio.Constants;
+import alluxio.util.CommonUtils;
+import alluxio.wire.FileInfo;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link MetadataCache}.
+ */
+public final class MetadataCacheTest {
+  private final MetadataCache mCache = new MetadataCache(100, Constants.HOUR_MS);
+
+  /**
+   * Tests that statuses, nonexistent paths and listings are cached.
+   */
+  @Test
+  public void putAndGet() {
+    URIStatus file = completedFile("/a/b");
+    mCache.putStatus(new AlluxioURI("/a/b"), file, mCache.getVersion());
+    mCache.putNotFound(new AlluxioURI("/a/c"), mCache.getVersion());
+    mCache.putListing(new AlluxioURI("/a"), ImmutableList.of(file), mCache.getVersion());
+    Assert.assertEquals(Optional.of(file), mCache.getStatus(new AlluxioURI("/a/b")));
+    Assert.assertEquals(Optional.absent(), mCache.getStatus(new AlluxioURI("/a/c")));
+    Assert.assertEquals(ImmutableList.of(file), mCache.listStatus(new AlluxioURI("/a")));
+    Assert.assertNull(mCache.getStatus(new AlluxioURI("/a")));
+  }
+
+  /**
+   * Tests that the statuses of incomplete files are not cached.
+   */
+  @Test
+  public void incompleteFileNotCached() {
+    URIStatus incomplete = new URIStatus(new FileInfo().setPath("/a/b"));
+    mCache.putStatus(new AlluxioURI("/a/b"), incomplete, mCache.getVersion());
+    mCache.putListing(new AlluxioURI("/a"), ImmutableList.of(incomplete), mCache.getVersion());
+    Assert.assertNull(mCache.getStatus(new AlluxioURI("/a/b")));
+    Assert.assertNull(mCache.listStatus(new AlluxioURI("/a")));
+  }
+
+  /**
+   * Tests that invalidating a path invalidates its ancestors, but not its siblings.
+   */
+  @Test
+  public void invalidate() {
+    mCache.putNotFound(new AlluxioURI("/a/b/c"), mCache.getVersion());
+    mCache.putNotFound(new AlluxioURI("/a/b/d"), mCache.getVersion());
+    mCache.putListing(new AlluxioURI("/"), ImmutableList.<URIStatus>of(), mCache.getVersion());
+    mCache.putListing(new AlluxioURI("/a/b"), ImmutableList.<URIStatus>of(), mCache.getVersion());
+    mCache.invalidate(new AlluxioURI("/a/b/c"));
+    Assert.assertNull(mCache.getStatus(new AlluxioURI("/a/b/c")));
+    Assert.assertNull(mCache.listStatus(new AlluxioURI("/a/b")));
+    Assert.assertNull(mCache.listStatus(new AlluxioURI("/")));
+    Assert.assertNotNull(mCache.getStatus(new AlluxioURI("/a/b/d")));
+  }
+
+  /**
+   * Tests that invalidating a tree invalidates the paths under it, but not the paths which only
+   * share a prefix with it.
+   */
+  @Test
+  public void invalidateTree() {
+    mCache.putNotFound(new AlluxioURI("/a/b/c"), mCache.getVersion());
+    mCache.putNotFound(new AlluxioURI("/a/bc"), mCache.getVersion());
+    mCache.putListing(new AlluxioURI("/a/b/d"), ImmutableList.<URIStatus>of(),
+        mCache.getVersion());
+    mCache.invalidateTree(new AlluxioURI("/a/b"));
+    Assert.assertNull(mCache.getStatus(new AlluxioURI("/a/b/c")));
+    Assert.assertNull(mCache.listStatus(new AlluxioURI("/a/b/d")));
+    Assert.assertNotNull(mCache.getStatus(new AlluxioURI("/a/bc")));
+    mCache.invalidateTree(new AlluxioURI("/"));
+    Assert.assertNull(mCache.getStatus(new AlluxioURI("/a/bc")));
+  }
+
+  /**
+   * Tests that the result of a lookup which started before an invalidation is not cached.
+   */
+  @Test
+  public void lookupRacingWithInvalidationNotCached() {
+    long version = mCache.getVersion();
+    mCache.invalidate(new AlluxioURI("/x"));
+    mCache.putStatus(new AlluxioURI("/a"), completedFile("/a"), version);
+    mCache.putNotFound(new AlluxioURI("/b"), version);
+    mCache.putListing(new AlluxioURI("/c"), ImmutableList.of(completedFile("/c/d")), version);
+    Assert.assertNull(mCache.getStatus(new AlluxioURI("/a")));
+    Assert.assertNull(mCache.getStatus(new AlluxioURI("/b")));
+    Assert.assertNull(mCache.listStatus(new AlluxioURI("/c")));
+    Assert.assertNull(mCache.getStatus(new AlluxioURI("/c/d")));
+  }
+
+  /**
+   * Tests that the entries expire.
+   */
+  @Test
+  public void expiration() {
+    MetadataCache cache = new MetadataCache(100, 10);
+    cache.putNotFound(new AlluxioURI("/a"), cache.getVersion());
+    CommonUtils.sleepMs(50);
+    Assert.assertNull(cache.getStatus(new AlluxioURI("/a")));
+  }
+
+  /**
+   * Tests that a disabled cache caches nothing.
+   */
+  @Test
+  public void disabled() {
+    MetadataCache cache = new MetadataCache(0, Constants.HOUR_MS);
+    Assert.assertFalse(cache.isEnabled());
+    cache.putNotFound(new AlluxioURI("/a"), cache.getVersion());
+    Assert.assertNull(cache.getStatus(new AlluxioURI("/a")));
+  }
+
+  private static URIStatus completedFile(String path) {
+    return new URIStatus(new FileInfo().setPath(path).setCompleted(true));
+  }
+}
@@ -36,6 +36,7 @@ public class InStreamOptionsTest {
     InStreamOptions options = InStreamOptions.defaults();
     Assert.assertEquals(AlluxioStorageType.PROMOTE, options.getAlluxioStorageType());
     Assert.assertEquals(Constants.MB, options.getSeekBufferSizeBytes());
+    Assert.assertEquals(0, options.getReadAheadBlocks());
   }
 
   /**
@@ -51,11 +52,13 @@ public class InStreamOptionsTest {
     options.setLocationPolicy(policy);
     options.setCachePartiallyReadBlock(true);
     options.setSeekBufferSizeBytes(Constants.MB);
+    options.setReadAheadBlocks(2);
 
     Assert.assertEquals(options.getAlluxioStorageType(), readType.getAlluxioStorageType());
     Assert.assertEquals(policy, options.getLocationPolicy());
     Assert.assertTrue(options.isCachePartiallyReadBlock());
     Assert.assertEquals(Constants.MB, options.getSeekBufferSizeBytes());
+    Assert.assertEquals(2, options.getReadAheadBlocks());
   }
 
   /**
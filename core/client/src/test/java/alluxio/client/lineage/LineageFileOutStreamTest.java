@@ -15,6 +15,7 @@ import alluxio.AlluxioURI;
 import alluxio.client.WriteType;
 import alluxio.client.file.FileSystemContext;
 import alluxio.client.file.FileSystemMasterClient;
+import alluxio.client.file.MetadataCache;
 import alluxio.client.file.options.OutStreamOptions;
 
 import org.junit.Test;
@@ -36,6 +37,7 @@ public final class LineageFileOutStreamTest {
     FileSystemContext context = PowerMockito.mock(FileSystemContext.class);
     FileSystemMasterClient client = PowerMockito.mock(FileSystemMasterClient.class);
     Mockito.when(context.acquireMasterClient()).thenReturn(client);
+    Mockito.when(context.getMetadataCache()).thenReturn(new MetadataCache(0, 0));
 
     LineageFileOutStream stream = new LineageFileOutStream(context, new AlluxioURI("/path"),
         OutStreamOptions.defaults().setWriteType(WriteType.ASYNC_THROUGH));
@@ -16,6 +16,7 @@ import alluxio.Constants;
 import alluxio.client.file.FileOutStream;
 import alluxio.client.file.FileSystemContext;
 import alluxio.client.file.FileSystemMasterClient;
+import alluxio.client.file.MetadataCache;
 import alluxio.client.file.options.CreateFileOptions;
 import alluxio.exception.LineageDoesNotExistException;
 import alluxio.wire.TtlAction;
@@ -55,6 +56,7 @@ public final class LineageFileSystemTest {
 
     FileSystemMasterClient fileSystemMasterClient = PowerMockito.mock(FileSystemMasterClient.class);
     Mockito.when(fileSystemContext.acquireMasterClient()).thenReturn(fileSystemMasterClient);
+    Mockito.when(fileSystemContext.getMetadataCache()).thenReturn(new MetadataCache(0, 0));
 
     mAlluxioLineageFileSystem = LineageFileSystem.get(fileSystemContext, mLineageContext);
   }
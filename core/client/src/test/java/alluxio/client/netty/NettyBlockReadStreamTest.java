@@ -0,0 +1,201 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.netty;
+
+import alluxio.Configuration;
+import alluxio.ConfigurationTestUtils;
+import alluxio.PropertyKey;
+import alluxio.network.protocol.RPCBlockReadResponse;
+import alluxio.network.protocol.RPCResponse;
+import alluxio.network.protocol.databuffer.DataByteBuffer;
+import alluxio.util.io.BufferUtils;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelConfig;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelPipeline;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Tests for the {@link NettyBlockReadStream} class.
+ */
+public final class NettyBlockReadStreamTest {
+  private static final long BLOCK_ID = 4242L;
+  private static final long LOCK_ID = 6;
+  private static final long SESSION_ID = 3421;
+  private static final int CHUNK_SIZE = 4;
+
+  private Bootstrap mBootstrap;
+  private Channel mChannel;
+  private ChannelFuture mChannelFuture;
+  private ClientHandler mClientHandler;
+  /** The auto read setting of the channel. */
+  private AtomicBoolean mAutoRead;
+  /** A different address for each test, since channels are pooled by address. */
+  private InetSocketAddress mAddress;
+  private static int sPort = 2345;
+
+  /**
+   * Sets up the mocked channel, which is acquired from the pool for the address.
+   */
+  @Before
+  public void before() throws Exception {
+    mBootstrap = Mockito.mock(Bootstrap.class);
+    mChannel = Mockito.mock(Channel.class);
+    mChannelFuture = Mockito.mock(ChannelFuture.class);
+    mClientHandler = new ClientHandler();
+    mAutoRead = new AtomicBoolean(true);
+    mAddress = new InetSocketAddress(sPort++);
+
+    final ChannelConfig channelConfig = Mockito.mock(ChannelConfig.class);
+    Mockito.when(channelConfig.isAutoRead()).then(new Answer<Boolean>() {
+      @Override
+      public Boolean answer(InvocationOnMock invocation) {
+        return mAutoRead.get();
+      }
+    });
+    Mockito.when(channelConfig.setAutoRead(Mockito.anyBoolean())).then(
+        new Answer<ChannelConfig>() {
+          @Override
+          public ChannelConfig answer(InvocationOnMock invocation) {
+            mAutoRead.set((Boolean) invocation.getArguments()[0]);
+            return channelConfig;
+          }
+        });
+    ChannelPipeline channelPipeline = Mockito.mock(ChannelPipeline.class);
+    Mockito.when(channelPipeline.get(ClientHandler.class)).thenReturn(mClientHandler);
+
+    Mockito.when(mChannel.close()).thenReturn(mChannelFuture);
+    Mockito.when(mChannel.isActive()).thenReturn(true);
+    Mockito.when(mChannel.config()).thenReturn(channelConfig);
+    Mockito.when(mChannel.pipeline()).thenReturn(channelPipeline);
+    Mockito.when(mChannelFuture.sync()).thenReturn(mChannelFuture);
+    Mockito.when(mChannelFuture.channel()).thenReturn(mChannel);
+    Mockito.when(mChannelFuture.isDone()).thenReturn(true);
+    Mockito.when(mChannelFuture.isSuccess()).thenReturn(true);
+    Mockito.when(mBootstrap.connect()).thenReturn(mChannelFuture);
+    Mockito.when(mBootstrap.remoteAddress(Mockito.any(InetSocketAddress.class)))
+        .thenReturn(mBootstrap);
+  }
+
+  /**
+   * Resets the configuration.
+   */
+  @After
+  public void after() {
+    ConfigurationTestUtils.resetConfiguration();
+  }
+
+  /**
+   * Tests that the channel is returned to the pool, and not closed, when the whole range is read.
+   */
+  @Test
+  public void readWholeRangeKeepsChannel() throws Exception {
+    respondWithChunks(2);
+    NettyBlockReadStream stream = openStream(2 * CHUNK_SIZE);
+    byte[] data = new byte[2 * CHUNK_SIZE];
+    Assert.assertEquals(CHUNK_SIZE, stream.read(data, 0, data.length));
+    Assert.assertEquals(CHUNK_SIZE, stream.read(data, CHUNK_SIZE, data.length - CHUNK_SIZE));
+    Assert.assertEquals(-1, stream.read(data, 0, data.length));
+    Assert.assertTrue(BufferUtils.equalIncreasingByteArray(data.length, data));
+    stream.close();
+
+    Mockito.verify(mChannel, Mockito.never()).close();
+  }
+
+  /**
+   * Tests that the channel is closed when the stream is closed before the whole range is read,
+   * since the rest of the range may still arrive on it.
+   */
+  @Test
+  public void closeBeforeEndClosesChannel() throws Exception {
+    respondWithChunks(1);
+    NettyBlockReadStream stream = openStream(2 * CHUNK_SIZE);
+    byte[] data = new byte[CHUNK_SIZE];
+    Assert.assertEquals(CHUNK_SIZE, stream.read(data, 0, data.length));
+    stream.close();
+
+    Mockito.verify(mChannel).close();
+    Assert.assertTrue(mAutoRead.get());
+  }
+
+  /**
+   * Tests that the channel stops reading once the maximum number of chunks is queued, and reads
+   * again once the queue is drained to half of that.
+   */
+  @Test
+  public void autoReadBackpressure() throws Exception {
+    Configuration.set(PropertyKey.USER_NETWORK_NETTY_READER_BUFFER_SIZE_CHUNKS, "2");
+    respondWithChunks(4);
+    NettyBlockReadStream stream = openStream(4 * CHUNK_SIZE);
+    Assert.assertFalse(mAutoRead.get());
+
+    byte[] data = new byte[CHUNK_SIZE];
+    // Three and two chunks are queued after taking the first and second chunk.
+    stream.read(data, 0, data.length);
+    Assert.assertFalse(mAutoRead.get());
+    stream.read(data, 0, data.length);
+    Assert.assertFalse(mAutoRead.get());
+    // One chunk is queued after taking the third chunk.
+    stream.read(data, 0, data.length);
+    Assert.assertTrue(mAutoRead.get());
+    stream.read(data, 0, data.length);
+    Assert.assertEquals(0, stream.remaining());
+    stream.close();
+
+    Mockito.verify(mChannel, Mockito.never()).close();
+  }
+
+  /**
+   * Makes the channel receive the given number of chunks of the range when the request is sent.
+   *
+   * @param numChunks the number of chunks to receive
+   */
+  private void respondWithChunks(final int numChunks) {
+    Mockito.when(mChannel.writeAndFlush(Mockito.any())).then(new Answer<ChannelFuture>() {
+      @Override
+      public ChannelFuture answer(InvocationOnMock invocation) throws Throwable {
+        for (int i = 0; i < numChunks; i++) {
+          ByteBuffer chunk = BufferUtils.getIncreasingByteBuffer(i * CHUNK_SIZE, CHUNK_SIZE);
+          mClientHandler.channelRead0(null, new RPCBlockReadResponse(BLOCK_ID, i * CHUNK_SIZE,
+              CHUNK_SIZE, new DataByteBuffer(chunk, CHUNK_SIZE), RPCResponse.Status.SUCCESS));
+        }
+        return mChannelFuture;
+      }
+    });
+  }
+
+  /**
+   * @param length the length of the range to read, from the start of the block
+   * @return the stream of the range
+   */
+  private NettyBlockReadStream openStream(long length) throws Exception {
+    return new NettyBlockReadStream(new Callable<Bootstrap>() {
+      @Override
+      public Bootstrap call() {
+        return mBootstrap;
+      }
+    }, mAddress, BLOCK_ID, 0, length, LOCK_ID, SESSION_ID);
+  }
+}
@@ -0,0 +1,148 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.netty;
+
+import alluxio.Configuration;
+import alluxio.ConfigurationTestUtils;
+import alluxio.PropertyKey;
+import alluxio.network.protocol.RPCBlockWriteRequest;
+import alluxio.network.protocol.RPCBlockWriteResponse;
+import alluxio.network.protocol.RPCResponse;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelPipeline;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests for the {@link NettyRemoteBlockWriter} class.
+ */
+public class NettyRemoteBlockWriterTest {
+  private static final InetSocketAddress INET_SOCKET_ADDRESS = new InetSocketAddress(1235);
+  private static final long BLOCK_ID = 4242L;
+  private static final long SESSION_ID = 3421;
+  private static final int LENGTH = 10;
+  private static final int WINDOW = 2;
+
+  private NettyRemoteBlockWriter mNettyRemoteBlockWriter;
+  // The channels are pooled across the tests, so the mocks are shared by the tests.
+  private static Bootstrap sBootstrap = Mockito.mock(Bootstrap.class);
+  private static ClientHandler sClientHandler = new ClientHandler();
+  /** The write requests sent, which are not acknowledged yet. */
+  private static List<RPCBlockWriteRequest> sRequests = new ArrayList<>();
+  private Channel mChannel;
+  private ChannelFuture mChannelFuture;
+
+  /**
+   * Set up.
+   */
+  @Before
+  public void before() throws Exception {
+    Configuration.set(PropertyKey.USER_NETWORK_NETTY_WRITER_BUFFER_SIZE_CHUNKS,
+        Integer.toString(WINDOW));
+    sRequests.clear();
+    mChannel = Mockito.mock(Channel.class);
+    mChannelFuture = Mockito.mock(ChannelFuture.class);
+    ChannelPipeline channelPipeline = Mockito.mock(ChannelPipeline.class);
+
+    Mockito.when(mChannel.close()).thenReturn(mChannelFuture);
+    Mockito.when(mChannel.isActive()).thenReturn(true);
+    Mockito.when(mChannelFuture.sync()).thenReturn(mChannelFuture);
+    Mockito.when(mChannelFuture.channel()).thenReturn(mChannel);
+    Mockito.when(mChannelFuture.isDone()).thenReturn(true);
+    Mockito.when(mChannelFuture.isSuccess()).thenReturn(true);
+    Mockito.when(sBootstrap.connect(Mockito.any(SocketAddress.class))).thenReturn(mChannelFuture);
+    Mockito.when(sBootstrap.connect()).thenReturn(mChannelFuture);
+    Mockito.when(sBootstrap.clone()).thenReturn(sBootstrap);
+    Mockito.when(sBootstrap.remoteAddress(Mockito.any(InetSocketAddress.class)))
+        .thenReturn(sBootstrap);
+    Mockito.when(mChannel.pipeline()).thenReturn(channelPipeline);
+    Mockito.when(channelPipeline.get(Mockito.any(Class.class))).thenReturn(sClientHandler);
+    Mockito.when(mChannel.writeAndFlush(Mockito.any())).then(new Answer<ChannelFuture>() {
+      @Override
+      public ChannelFuture answer(InvocationOnMock invocation) throws Throwable {
+        sRequests.add((RPCBlockWriteRequest) invocation.getArguments()[0]);
+        return mChannelFuture;
+      }
+    });
+
+    mNettyRemoteBlockWriter = new NettyRemoteBlockWriter(sBootstrap);
+    mNettyRemoteBlockWriter.open(INET_SOCKET_ADDRESS, BLOCK_ID, SESSION_ID);
+  }
+
+  @After
+  public void after() {
+    mNettyRemoteBlockWriter.close();
+    ConfigurationTestUtils.resetConfiguration();
+  }
+
+  /**
+   * Tests that writes are sent without waiting for acknowledgements until the window is full.
+   */
+  @Test
+  public void pipelineWrites() throws Exception {
+    for (int i = 0; i < WINDOW; i++) {
+      mNettyRemoteBlockWriter.write(new byte[LENGTH], 0, LENGTH);
+    }
+    Assert.assertEquals(WINDOW, sRequests.size());
+    Assert.assertEquals(0, sRequests.get(0).getOffset());
+    Assert.assertEquals(LENGTH, sRequests.get(1).getOffset());
+    Assert.assertEquals(0, mNettyRemoteBlockWriter.getAckedBytes());
+
+    // The window is full, so the next write waits for the oldest write to be acknowledged.
+    ack(RPCResponse.Status.SUCCESS);
+    mNettyRemoteBlockWriter.write(new byte[LENGTH], 0, LENGTH);
+    Assert.assertEquals(WINDOW, sRequests.size());
+    Assert.assertEquals(2 * LENGTH, sRequests.get(1).getOffset());
+    Assert.assertEquals(LENGTH, mNettyRemoteBlockWriter.getAckedBytes());
+
+    ack(RPCResponse.Status.SUCCESS);
+    ack(RPCResponse.Status.SUCCESS);
+    mNettyRemoteBlockWriter.flush();
+    Assert.assertEquals(3 * LENGTH, mNettyRemoteBlockWriter.getAckedBytes());
+    Assert.assertTrue(sRequests.isEmpty());
+  }
+
+  /**
+   * Tests that a failed write fails the flush.
+   */
+  @Test(expected = IOException.class)
+  public void flushFailedWrite() throws Exception {
+    mNettyRemoteBlockWriter.write(new byte[LENGTH], 0, LENGTH);
+    ack(RPCResponse.Status.WRITE_ERROR);
+    mNettyRemoteBlockWriter.flush();
+  }
+
+  /**
+   * Acknowledges the oldest write request.
+   *
+   * @param status the status of the acknowledgement
+   */
+  private void ack(RPCResponse.Status status) throws IOException {
+    RPCBlockWriteRequest request = sRequests.remove(0);
+    sClientHandler.channelRead0(null, new RPCBlockWriteResponse(request.getSessionId(),
+        request.getBlockId(), request.getOffset(), request.getLength(), status));
+  }
+}
@@ -50,6 +50,8 @@ public enum PropertyKey {
   //
   UNDERFS_ADDRESS(Name.UNDERFS_ADDRESS, "${alluxio.work.dir}/underFSStorage"),
   UNDERFS_LISTING_LENGTH(Name.UNDERFS_LISTING_LENGTH, 1000),
+  UNDERFS_LISTING_STATUS_CONCURRENCY(Name.UNDERFS_LISTING_STATUS_CONCURRENCY, 16),
+  UNDERFS_LISTING_STATUS_THREADS(Name.UNDERFS_LISTING_STATUS_THREADS, 64),
   UNDERFS_GCS_OWNER_ID_TO_USERNAME_MAPPING(Name.UNDERFS_GCS_OWNER_ID_TO_USERNAME_MAPPING, ""),
   UNDERFS_GLUSTERFS_IMPL(Name.UNDERFS_GLUSTERFS_IMPL,
       "org.apache.hadoop.fs.glusterfs.GlusterFileSystem"),
@@ -118,11 +120,16 @@ public enum PropertyKey {
   MASTER_FORMAT_FILE_PREFIX(Name.MASTER_FORMAT_FILE_PREFIX, "_format_"),
   MASTER_HEARTBEAT_INTERVAL_MS(Name.MASTER_HEARTBEAT_INTERVAL_MS, 1000),
   MASTER_HOSTNAME(Name.MASTER_HOSTNAME, null),
+  MASTER_JOURNAL_CHECKPOINT_PERIOD_ENTRIES(Name.MASTER_JOURNAL_CHECKPOINT_PERIOD_ENTRIES,
+      2000000),
+  MASTER_JOURNAL_FLUSH_BATCH_ENTRIES_MAX(Name.MASTER_JOURNAL_FLUSH_BATCH_ENTRIES_MAX, 10000),
   MASTER_JOURNAL_FLUSH_BATCH_TIME_MS(Name.MASTER_JOURNAL_FLUSH_BATCH_TIME_MS, 5),
+  MASTER_JOURNAL_FLUSH_GROUP_COMMIT_ENABLED(Name.MASTER_JOURNAL_FLUSH_GROUP_COMMIT_ENABLED, false),
   MASTER_JOURNAL_FOLDER(Name.MASTER_JOURNAL_FOLDER, "${alluxio.work.dir}/journal"),
   MASTER_JOURNAL_FORMATTER_CLASS(Name.MASTER_JOURNAL_FORMATTER_CLASS,
       "alluxio.master.journal.ProtoBufJournalFormatter"),
   MASTER_JOURNAL_LOG_SIZE_BYTES_MAX(Name.MASTER_JOURNAL_LOG_SIZE_BYTES_MAX, "10MB"),
+  MASTER_JOURNAL_TAILER_PARSER_THREADS(Name.MASTER_JOURNAL_TAILER_PARSER_THREADS, 4),
   MASTER_JOURNAL_TAILER_SHUTDOWN_QUIET_WAIT_TIME_MS(
       Name.MASTER_JOURNAL_TAILER_SHUTDOWN_QUIET_WAIT_TIME_MS, 5000),
   MASTER_JOURNAL_TAILER_SLEEP_TIME_MS(Name.MASTER_JOURNAL_TAILER_SLEEP_TIME_MS, 1000),
@@ -136,6 +143,8 @@ public enum PropertyKey {
   MASTER_PRINCIPAL(Name.MASTER_PRINCIPAL, null),
   MASTER_RETRY(Name.MASTER_RETRY, 29),
   MASTER_RPC_PORT(Name.MASTER_RPC_PORT, 19998),
+  MASTER_RPC_SELECTOR_THREADS(Name.MASTER_RPC_SELECTOR_THREADS, 2),
+  MASTER_RPC_SERVER_TYPE(Name.MASTER_RPC_SERVER_TYPE, "THREAD_POOL"),
   MASTER_TIERED_STORE_GLOBAL_LEVEL0_ALIAS(Name.MASTER_TIERED_STORE_GLOBAL_LEVEL0_ALIAS, "MEM"),
   MASTER_TIERED_STORE_GLOBAL_LEVEL1_ALIAS(Name.MASTER_TIERED_STORE_GLOBAL_LEVEL1_ALIAS, "SSD"),
   MASTER_TIERED_STORE_GLOBAL_LEVEL2_ALIAS(Name.MASTER_TIERED_STORE_GLOBAL_LEVEL2_ALIAS, "HDD"),
@@ -145,6 +154,8 @@ public enum PropertyKey {
   MASTER_WEB_HOSTNAME(Name.MASTER_WEB_HOSTNAME, null),
   MASTER_WEB_PORT(Name.MASTER_WEB_PORT, 19999),
   MASTER_WHITELIST(Name.MASTER_WHITELIST, "/"),
+  MASTER_WORKER_BLOCK_REPORT_BATCH_SIZE(Name.MASTER_WORKER_BLOCK_REPORT_BATCH_SIZE, 1000),
+  MASTER_WORKER_BLOCK_REPORT_THREADS(Name.MASTER_WORKER_BLOCK_REPORT_THREADS, 0),
   MASTER_WORKER_THREADS_MAX(Name.MASTER_WORKER_THREADS_MAX, 2048),
   MASTER_WORKER_THREADS_MIN(Name.MASTER_WORKER_THREADS_MIN, 512),
   MASTER_WORKER_TIMEOUT_MS(Name.MASTER_WORKER_TIMEOUT_MS, 300000),
@@ -169,6 +180,7 @@ public enum PropertyKey {
   WORKER_EVICTOR_CLASS(Name.WORKER_EVICTOR_CLASS, "alluxio.worker.block.evictor.LRUEvictor"),
   WORKER_EVICTOR_LRFU_ATTENUATION_FACTOR(Name.WORKER_EVICTOR_LRFU_ATTENUATION_FACTOR, 2.0),
   WORKER_EVICTOR_LRFU_STEP_FACTOR(Name.WORKER_EVICTOR_LRFU_STEP_FACTOR, 0.25),
+  WORKER_EVICTOR_TINYLFU_WINDOW_RATIO(Name.WORKER_EVICTOR_TINYLFU_WINDOW_RATIO, 0.01),
   WORKER_FILE_PERSIST_POOL_SIZE(Name.WORKER_FILE_PERSIST_POOL_SIZE, 64),
   WORKER_FILE_PERSIST_RATE_LIMIT(Name.WORKER_FILE_PERSIST_RATE_LIMIT, "2GB"),
   WORKER_FILE_PERSIST_RATE_LIMIT_ENABLED(Name.WORKER_FILE_PERSIST_RATE_LIMIT_ENABLED, false),
@@ -190,23 +202,38 @@ public enum PropertyKey {
   WORKER_PRINCIPAL(Name.WORKER_PRINCIPAL, null),
   WORKER_RPC_PORT(Name.WORKER_RPC_PORT, 29998),
   WORKER_SESSION_TIMEOUT_MS(Name.WORKER_SESSION_TIMEOUT_MS, 60000),
+  WORKER_TIERED_STORE_ACCESS_EVENTS_ASYNC_ENABLED(
+      Name.WORKER_TIERED_STORE_ACCESS_EVENTS_ASYNC_ENABLED, false),
+  WORKER_TIERED_STORE_ACCESS_EVENTS_BUFFER_SIZE(
+      Name.WORKER_TIERED_STORE_ACCESS_EVENTS_BUFFER_SIZE, 4096),
   WORKER_TIERED_STORE_BLOCK_LOCKS(Name.WORKER_TIERED_STORE_BLOCK_LOCKS, 1000),
   WORKER_TIERED_STORE_LEVEL0_ALIAS(Name.WORKER_TIERED_STORE_LEVEL0_ALIAS, "MEM"),
   WORKER_TIERED_STORE_LEVEL0_DIRS_PATH(Name.WORKER_TIERED_STORE_LEVEL0_DIRS_PATH, "/mnt/ramdisk"),
   WORKER_TIERED_STORE_LEVEL0_DIRS_QUOTA(Name.WORKER_TIERED_STORE_LEVEL0_DIRS_QUOTA,
       "${alluxio.worker.memory.size}"),
   WORKER_TIERED_STORE_LEVEL0_RESERVED_RATIO(Name.WORKER_TIERED_STORE_LEVEL0_RESERVED_RATIO, "0.1"),
+  WORKER_TIERED_STORE_LEVEL0_WATERMARK_HIGH_RATIO(
+      Name.WORKER_TIERED_STORE_LEVEL0_WATERMARK_HIGH_RATIO, "0.95"),
   WORKER_TIERED_STORE_LEVEL1_ALIAS(Name.WORKER_TIERED_STORE_LEVEL1_ALIAS, null),
   WORKER_TIERED_STORE_LEVEL1_DIRS_PATH(Name.WORKER_TIERED_STORE_LEVEL1_DIRS_PATH, null),
   WORKER_TIERED_STORE_LEVEL1_DIRS_QUOTA(Name.WORKER_TIERED_STORE_LEVEL1_DIRS_QUOTA, null),
   WORKER_TIERED_STORE_LEVEL1_RESERVED_RATIO(Name.WORKER_TIERED_STORE_LEVEL1_RESERVED_RATIO, null),
+  WORKER_TIERED_STORE_LEVEL1_WATERMARK_HIGH_RATIO(
+      Name.WORKER_TIERED_STORE_LEVEL1_WATERMARK_HIGH_RATIO, null),
   WORKER_TIERED_STORE_LEVEL2_ALIAS(Name.WORKER_TIERED_STORE_LEVEL2_ALIAS, null),
   WORKER_TIERED_STORE_LEVEL2_DIRS_PATH(Name.WORKER_TIERED_STORE_LEVEL2_DIRS_PATH, null),
   WORKER_TIERED_STORE_LEVEL2_DIRS_QUOTA(Name.WORKER_TIERED_STORE_LEVEL2_DIRS_QUOTA, null),
   WORKER_TIERED_STORE_LEVEL2_RESERVED_RATIO(Name.WORKER_TIERED_STORE_LEVEL2_RESERVED_RATIO, null),
+  WORKER_TIERED_STORE_LEVEL2_WATERMARK_HIGH_RATIO(
+      Name.WORKER_TIERED_STORE_LEVEL2_WATERMARK_HIGH_RATIO, null),
   WORKER_TIERED_STORE_LEVELS(Name.WORKER_TIERED_STORE_LEVELS, 1),
+  WORKER_TIERED_STORE_MOVE_DIR_CONCURRENCY(Name.WORKER_TIERED_STORE_MOVE_DIR_CONCURRENCY, 1),
+  WORKER_TIERED_STORE_MOVE_THREADS(Name.WORKER_TIERED_STORE_MOVE_THREADS, 4),
   WORKER_TIERED_STORE_RESERVER_ENABLED(Name.WORKER_TIERED_STORE_RESERVER_ENABLED, false),
   WORKER_TIERED_STORE_RESERVER_INTERVAL_MS(Name.WORKER_TIERED_STORE_RESERVER_INTERVAL_MS, 1000),
+  WORKER_TIERED_STORE_RESERVER_RATE_LIMIT(Name.WORKER_TIERED_STORE_RESERVER_RATE_LIMIT, "1GB"),
+  WORKER_TIERED_STORE_RESERVER_RATE_LIMIT_ENABLED(
+      Name.WORKER_TIERED_STORE_RESERVER_RATE_LIMIT_ENABLED, false),
   WORKER_TIERED_STORE_RETRY(Name.WORKER_TIERED_STORE_RETRY, 3),
   WORKER_WEB_BIND_HOST(Name.WORKER_WEB_BIND_HOST, "0.0.0.0"),
   WORKER_WEB_HOSTNAME(Name.WORKER_WEB_HOSTNAME, null),
@@ -215,8 +242,10 @@ public enum PropertyKey {
   //
   // User related properties
   //
+  USER_BLOCK_LOCAL_READ_MMAP_ENABLED(Name.USER_BLOCK_LOCAL_READ_MMAP_ENABLED, false),
   USER_BLOCK_MASTER_CLIENT_THREADS(Name.USER_BLOCK_MASTER_CLIENT_THREADS, 10),
   USER_BLOCK_REMOTE_READ_BUFFER_SIZE_BYTES(Name.USER_BLOCK_REMOTE_READ_BUFFER_SIZE_BYTES, "8MB"),
+  USER_BLOCK_REMOTE_READ_STREAMING_ENABLED(Name.USER_BLOCK_REMOTE_READ_STREAMING_ENABLED, false),
   USER_BLOCK_REMOTE_READER_CLASS(Name.USER_BLOCK_REMOTE_READER_CLASS,
       "alluxio.client.netty.NettyRemoteBlockReader"),
   USER_BLOCK_REMOTE_WRITER_CLASS(Name.USER_BLOCK_REMOTE_WRITER_CLASS,
@@ -229,8 +258,14 @@ public enum PropertyKey {
 
   USER_FAILED_SPACE_REQUEST_LIMITS(Name.USER_FAILED_SPACE_REQUEST_LIMITS, 3),
   USER_FILE_BUFFER_BYTES(Name.USER_FILE_BUFFER_BYTES, "1MB"),
+  USER_FILE_BUFFER_POOL_SIZE_BYTES(Name.USER_FILE_BUFFER_POOL_SIZE_BYTES, "64MB"),
   USER_FILE_CACHE_PARTIALLY_READ_BLOCK(Name.USER_FILE_CACHE_PARTIALLY_READ_BLOCK, true),
   USER_FILE_MASTER_CLIENT_THREADS(Name.USER_FILE_MASTER_CLIENT_THREADS, 10),
+  USER_FILE_METADATA_CACHE_MAX_SIZE(Name.USER_FILE_METADATA_CACHE_MAX_SIZE, 0),
+  USER_FILE_METADATA_CACHE_TIMEOUT_MS(Name.USER_FILE_METADATA_CACHE_TIMEOUT_MS,
+      10 * Constants.SECOND_MS),
+  USER_FILE_READ_AHEAD_BLOCKS(Name.USER_FILE_READ_AHEAD_BLOCKS, 0),
+  USER_FILE_READ_AHEAD_THREADS(Name.USER_FILE_READ_AHEAD_THREADS, 8),
   USER_FILE_READ_TYPE_DEFAULT(Name.USER_FILE_READ_TYPE_DEFAULT, "CACHE_PROMOTE"),
   USER_FILE_SEEK_BUFFER_SIZE_BYTES(Name.USER_FILE_SEEK_BUFFER_SIZE_BYTES, "1MB"),
   USER_FILE_WAITCOMPLETED_POLL_MS(Name.USER_FILE_WAITCOMPLETED_POLL_MS, 1000),
@@ -245,8 +280,14 @@ public enum PropertyKey {
   USER_LINEAGE_ENABLED(Name.USER_LINEAGE_ENABLED, false),
   USER_LINEAGE_MASTER_CLIENT_THREADS(Name.USER_LINEAGE_MASTER_CLIENT_THREADS, 10),
   USER_NETWORK_NETTY_CHANNEL(Name.USER_NETWORK_NETTY_CHANNEL, null),
+  USER_NETWORK_NETTY_READER_BUFFER_SIZE_CHUNKS(Name.USER_NETWORK_NETTY_READER_BUFFER_SIZE_CHUNKS,
+      16),
+  USER_NETWORK_NETTY_READER_CHUNK_SIZE_BYTES(Name.USER_NETWORK_NETTY_READER_CHUNK_SIZE_BYTES,
+      "64KB"),
   USER_NETWORK_NETTY_TIMEOUT_MS(Name.USER_NETWORK_NETTY_TIMEOUT_MS, 30000),
   USER_NETWORK_NETTY_WORKER_THREADS(Name.USER_NETWORK_NETTY_WORKER_THREADS, 0),
+  USER_NETWORK_NETTY_WRITER_BUFFER_SIZE_CHUNKS(
+      Name.USER_NETWORK_NETTY_WRITER_BUFFER_SIZE_CHUNKS, 16),
   USER_NETWORK_NETTY_CHANNEL_POOL_SIZE_MAX(Name.USER_NETWORK_NETTY_CHANNEL_POOL_SIZE_MAX, 1024),
   USER_NETWORK_NETTY_CHANNEL_POOL_GC_THRESHOLD_MS(
       Name.USER_NETWORK_NETTY_CHANNEL_POOL_GC_THRESHOLD_MS, 300 * Constants.SECOND_MS),
@@ -382,6 +423,10 @@ public enum PropertyKey {
     //
     public static final String UNDERFS_ADDRESS = "alluxio.underfs.address";
     public static final String UNDERFS_LISTING_LENGTH = "alluxio.underfs.listing.length";
+    public static final String UNDERFS_LISTING_STATUS_CONCURRENCY =
+        "alluxio.underfs.listing.status.concurrency";
+    public static final String UNDERFS_LISTING_STATUS_THREADS =
+        "alluxio.underfs.listing.status.threads";
     public static final String UNDERFS_GCS_OWNER_ID_TO_USERNAME_MAPPING =
         "alluxio.underfs.gcs.owner.id.to.username.mapping";
     public static final String UNDERFS_GLUSTERFS_IMPL = "alluxio.underfs.glusterfs.impl";
@@ -461,13 +506,21 @@ public enum PropertyKey {
     public static final String MASTER_HEARTBEAT_INTERVAL_MS =
         "alluxio.master.heartbeat.interval.ms";
     public static final String MASTER_HOSTNAME = "alluxio.master.hostname";
+    public static final String MASTER_JOURNAL_CHECKPOINT_PERIOD_ENTRIES =
+        "alluxio.master.journal.checkpoint.period.entries";
+    public static final String MASTER_JOURNAL_FLUSH_BATCH_ENTRIES_MAX =
+        "alluxio.master.journal.flush.batch.entries.max";
     public static final String MASTER_JOURNAL_FLUSH_BATCH_TIME_MS =
         "alluxio.master.journal.flush.batch.time.ms";
+    public static final String MASTER_JOURNAL_FLUSH_GROUP_COMMIT_ENABLED =
+        "alluxio.master.journal.flush.group.commit.enabled";
     public static final String MASTER_JOURNAL_FOLDER = "alluxio.master.journal.folder";
     public static final String MASTER_JOURNAL_FORMATTER_CLASS =
         "alluxio.master.journal.formatter.class";
     public static final String MASTER_JOURNAL_LOG_SIZE_BYTES_MAX =
         "alluxio.master.journal.log.size.bytes.max";
+    public static final String MASTER_JOURNAL_TAILER_PARSER_THREADS =
+        "alluxio.master.journal.tailer.parser.threads";
     public static final String MASTER_JOURNAL_TAILER_SHUTDOWN_QUIET_WAIT_TIME_MS =
         "alluxio.master.journal.tailer.shutdown.quiet.wait.time.ms";
     public static final String MASTER_JOURNAL_TAILER_SLEEP_TIME_MS =
@@ -484,6 +537,9 @@ public enum PropertyKey {
     public static final String MASTER_PRINCIPAL = "alluxio.master.principal";
     public static final String MASTER_RETRY = "alluxio.master.retry";
     public static final String MASTER_RPC_PORT = "alluxio.master.port";
+    public static final String MASTER_RPC_SELECTOR_THREADS =
+        "alluxio.master.rpc.selector.threads";
+    public static final String MASTER_RPC_SERVER_TYPE = "alluxio.master.rpc.server.type";
     public static final String MASTER_TIERED_STORE_GLOBAL_LEVEL0_ALIAS =
         "alluxio.master.tieredstore.global.level0.alias";
     public static final String MASTER_TIERED_STORE_GLOBAL_LEVEL1_ALIAS =
@@ -498,6 +554,10 @@ public enum PropertyKey {
     public static final String MASTER_WEB_HOSTNAME = "alluxio.master.web.hostname";
     public static final String MASTER_WEB_PORT = "alluxio.master.web.port";
     public static final String MASTER_WHITELIST = "alluxio.master.whitelist";
+    public static final String MASTER_WORKER_BLOCK_REPORT_BATCH_SIZE =
+        "alluxio.master.worker.block.report.batch.size";
+    public static final String MASTER_WORKER_BLOCK_REPORT_THREADS =
+        "alluxio.master.worker.block.report.threads";
     public static final String MASTER_WORKER_THREADS_MAX = "alluxio.master.worker.threads.max";
     public static final String MASTER_WORKER_THREADS_MIN = "alluxio.master.worker.threads.min";
     public static final String MASTER_WORKER_TIMEOUT_MS = "alluxio.master.worker.timeout.ms";
@@ -525,6 +585,8 @@ public enum PropertyKey {
         "alluxio.worker.evictor.lrfu.attenuation.factor";
     public static final String WORKER_EVICTOR_LRFU_STEP_FACTOR =
         "alluxio.worker.evictor.lrfu.step.factor";
+    public static final String WORKER_EVICTOR_TINYLFU_WINDOW_RATIO =
+        "alluxio.worker.evictor.tinylfu.window.ratio";
     public static final String WORKER_FILESYSTEM_HEARTBEAT_INTERVAL_MS =
         "alluxio.worker.filesystem.heartbeat.interval.ms";
     public static final String WORKER_FILE_PERSIST_POOL_SIZE =
@@ -561,6 +623,10 @@ public enum PropertyKey {
     public static final String WORKER_PRINCIPAL = "alluxio.worker.principal";
     public static final String WORKER_RPC_PORT = "alluxio.worker.port";
     public static final String WORKER_SESSION_TIMEOUT_MS = "alluxio.worker.session.timeout.ms";
+    public static final String WORKER_TIERED_STORE_ACCESS_EVENTS_ASYNC_ENABLED =
+        "alluxio.worker.tieredstore.access.events.async.enabled";
+    public static final String WORKER_TIERED_STORE_ACCESS_EVENTS_BUFFER_SIZE =
+        "alluxio.worker.tieredstore.access.events.buffer.size";
     public static final String WORKER_TIERED_STORE_BLOCK_LOCKS =
         "alluxio.worker.tieredstore.block.locks";
     public static final String WORKER_TIERED_STORE_LEVEL0_ALIAS =
@@ -571,6 +637,8 @@ public enum PropertyKey {
         "alluxio.worker.tieredstore.level0.dirs.quota";
     public static final String WORKER_TIERED_STORE_LEVEL0_RESERVED_RATIO =
         "alluxio.worker.tieredstore.level0.reserved.ratio";
+    public static final String WORKER_TIERED_STORE_LEVEL0_WATERMARK_HIGH_RATIO =
+        "alluxio.worker.tieredstore.level0.watermark.high.ratio";
     public static final String WORKER_TIERED_STORE_LEVEL1_ALIAS =
         "alluxio.worker.tieredstore.level1.alias";
     public static final String WORKER_TIERED_STORE_LEVEL1_DIRS_PATH =
@@ -579,6 +647,8 @@ public enum PropertyKey {
         "alluxio.worker.tieredstore.level1.dirs.quota";
     public static final String WORKER_TIERED_STORE_LEVEL1_RESERVED_RATIO =
         "alluxio.worker.tieredstore.level1.reserved.ratio";
+    public static final String WORKER_TIERED_STORE_LEVEL1_WATERMARK_HIGH_RATIO =
+        "alluxio.worker.tieredstore.level1.watermark.high.ratio";
     public static final String WORKER_TIERED_STORE_LEVEL2_ALIAS =
         "alluxio.worker.tieredstore.level2.alias";
     public static final String WORKER_TIERED_STORE_LEVEL2_DIRS_PATH =
@@ -587,11 +657,21 @@ public enum PropertyKey {
         "alluxio.worker.tieredstore.level2.dirs.quota";
     public static final String WORKER_TIERED_STORE_LEVEL2_RESERVED_RATIO =
         "alluxio.worker.tieredstore.level2.reserved.ratio";
+    public static final String WORKER_TIERED_STORE_LEVEL2_WATERMARK_HIGH_RATIO =
+        "alluxio.worker.tieredstore.level2.watermark.high.ratio";
     public static final String WORKER_TIERED_STORE_LEVELS = "alluxio.worker.tieredstore.levels";
+    public static final String WORKER_TIERED_STORE_MOVE_DIR_CONCURRENCY =
+        "alluxio.worker.tieredstore.move.dir.concurrency";
+    public static final String WORKER_TIERED_STORE_MOVE_THREADS =
+        "alluxio.worker.tieredstore.move.threads";
     public static final String WORKER_TIERED_STORE_RESERVER_ENABLED =
         "alluxio.worker.tieredstore.reserver.enabled";
     public static final String WORKER_TIERED_STORE_RESERVER_INTERVAL_MS =
         "alluxio.worker.tieredstore.reserver.interval.ms";
+    public static final String WORKER_TIERED_STORE_RESERVER_RATE_LIMIT =
+        "alluxio.worker.tieredstore.reserver.rate.limit";
+    public static final String WORKER_TIERED_STORE_RESERVER_RATE_LIMIT_ENABLED =
+        "alluxio.worker.tieredstore.reserver.rate.limit.enabled";
     public static final String WORKER_TIERED_STORE_RETRY = "alluxio.worker.tieredstore.retry";
     public static final String WORKER_WEB_BIND_HOST = "alluxio.worker.web.bind.host";
     public static final String WORKER_WEB_HOSTNAME = "alluxio.worker.web.hostname";
@@ -600,12 +680,16 @@ public enum PropertyKey {
     //
     // User related properties
     //
+    public static final String USER_BLOCK_LOCAL_READ_MMAP_ENABLED =
+        "alluxio.user.block.local.read.mmap.enabled";
     public static final String USER_BLOCK_MASTER_CLIENT_THREADS =
         "alluxio.user.block.master.client.threads";
     public static final String USER_BLOCK_REMOTE_READER_CLASS =
         "alluxio.user.block.remote.reader.class";
     public static final String USER_BLOCK_REMOTE_READ_BUFFER_SIZE_BYTES =
         "alluxio.user.block.remote.read.buffer.size.bytes";
+    public static final String USER_BLOCK_REMOTE_READ_STREAMING_ENABLED =
+        "alluxio.user.block.remote.read.streaming.enabled";
     public static final String USER_BLOCK_REMOTE_WRITER_CLASS =
         "alluxio.user.block.remote.writer.class";
     public static final String USER_BLOCK_SIZE_BYTES_DEFAULT =
@@ -619,10 +703,20 @@ public enum PropertyKey {
     public static final String USER_FAILED_SPACE_REQUEST_LIMITS =
         "alluxio.user.failed.space.request.limits";
     public static final String USER_FILE_BUFFER_BYTES = "alluxio.user.file.buffer.bytes";
+    public static final String USER_FILE_BUFFER_POOL_SIZE_BYTES =
+        "alluxio.user.file.buffer.pool.size.bytes";
     public static final String USER_FILE_CACHE_PARTIALLY_READ_BLOCK =
         "alluxio.user.file.cache.partially.read.block";
     public static final String USER_FILE_MASTER_CLIENT_THREADS =
         "alluxio.user.file.master.client.threads";
+    public static final String USER_FILE_METADATA_CACHE_MAX_SIZE =
+        "alluxio.user.file.metadata.cache.max.size";
+    public static final String USER_FILE_METADATA_CACHE_TIMEOUT_MS =
+        "alluxio.user.file.metadata.cache.timeout.ms";
+    public static final String USER_FILE_READ_AHEAD_BLOCKS =
+        "alluxio.user.file.readahead.blocks";
+    public static final String USER_FILE_READ_AHEAD_THREADS =
+        "alluxio.user.file.readahead.threads";
     public static final String USER_FILE_READ_TYPE_DEFAULT = "alluxio.user.file.readtype.default";
     public static final String USER_FILE_SEEK_BUFFER_SIZE_BYTES =
         "alluxio.user.file.seek.buffer.size.bytes";
@@ -642,10 +736,16 @@ public enum PropertyKey {
     public static final String USER_LINEAGE_MASTER_CLIENT_THREADS =
         "alluxio.user.lineage.master.client.threads";
     public static final String USER_NETWORK_NETTY_CHANNEL = "alluxio.user.network.netty.channel";
+    public static final String USER_NETWORK_NETTY_READER_BUFFER_SIZE_CHUNKS =
+        "alluxio.user.network.netty.reader.buffer.size.chunks";
+    public static final String USER_NETWORK_NETTY_READER_CHUNK_SIZE_BYTES =
+        "alluxio.user.network.netty.reader.chunk.size.bytes";
     public static final String USER_NETWORK_NETTY_TIMEOUT_MS =
         "alluxio.user.network.netty.timeout.ms";
     public static final String USER_NETWORK_NETTY_WORKER_THREADS =
         "alluxio.user.network.netty.worker.threads";
+    public static final String USER_NETWORK_NETTY_WRITER_BUFFER_SIZE_CHUNKS =
+        "alluxio.user.network.netty.writer.buffer.size.chunks";
     public static final String USER_NETWORK_NETTY_CHANNEL_POOL_SIZE_MAX =
         "alluxio.user.network.netty.channel.pool.size.max";
     public static final String USER_NETWORK_NETTY_CHANNEL_POOL_GC_THRESHOLD_MS =
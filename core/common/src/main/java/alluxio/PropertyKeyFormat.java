@@ -26,6 +26,8 @@ public enum PropertyKeyFormat {
   WORKER_TIERED_STORE_LEVEL_DIRS_QUOTA_FORMAT("alluxio.worker.tieredstore.level%d.dirs.quota"),
   WORKER_TIERED_STORE_LEVEL_RESERVED_RATIO_FORMAT(
       "alluxio.worker.tieredstore.level%d.reserved.ratio"),
+  WORKER_TIERED_STORE_LEVEL_WATERMARK_HIGH_RATIO_FORMAT(
+      "alluxio.worker.tieredstore.level%d.watermark.high.ratio"),
   ;
 
   private final String mFormat;
@@ -0,0 +1,359 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.collections;
+
+import com.google.common.base.Preconditions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A concurrent hash map from primitive longs to objects. The map is split into shards, each of
+ * which is an open addressing table with linear probing guarded by its own lock, so an entry takes
+ * no objects of its own and no key is boxed, while operations on keys of different shards do not
+ * contend. Null values are not supported.
+ *
+ * The iterators are weakly consistent: they copy the values of one shard at a time, so they never
+ * fail, and reflect the modifications of a shard made before they reach it.
+ *
+ * @param <V> the type of the values
+ */
+@ThreadSafe
+public final class ConcurrentLongHashMap<V> {
+  private static final int MIN_SHARD_CAPACITY = 16;
+  private static final float LOAD_FACTOR = 0.75f;
+
+  private final Shard[] mShards;
+  /** The number of bits of the hash of a key selecting its shard. */
+  private final int mShardBits;
+
+  /**
+   * Creates a new instance of {@link ConcurrentLongHashMap}.
+   *
+   * @param expectedSize the number of entries the map is expected to hold without growing
+   * @param concurrencyLevel the estimated number of threads updating the map concurrently, which
+   *        is rounded up to a power of two to get the number of shards
+   */
+  public ConcurrentLongHashMap(int expectedSize, int concurrencyLevel) {
+    Preconditions.checkArgument(expectedSize >= 0, "expectedSize must be non-negative");
+    Preconditions.checkArgument(concurrencyLevel > 0 && concurrencyLevel <= (1 << 16),
+        "concurrencyLevel must be in the range of [1, 2^16]");
+    int shardBits = 0;
+    while ((1 << shardBits) < concurrencyLevel) {
+      shardBits++;
+    }
+    mShardBits = shardBits;
+    mShards = new Shard[1 << shardBits];
+    int shardCapacity = MIN_SHARD_CAPACITY;
+    while (shardCapacity * LOAD_FACTOR < (double) expectedSize / mShards.length) {
+      shardCapacity <<= 1;
+    }
+    for (int i = 0; i < mShards.length; i++) {
+      mShards[i] = new Shard(shardCapacity);
+    }
+  }
+
+  /**
+   * @return the number of entries
+   */
+  public int size() {
+    long size = 0;
+    for (Shard shard : mShards) {
+      size += shard.size();
+    }
+    return (int) Math.min(size, Integer.MAX_VALUE);
+  }
+
+  /**
+   * @return whether the map has no entries
+   */
+  public boolean isEmpty() {
+    for (Shard shard : mShards) {
+      if (shard.size() > 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @param key the key
+   * @return whether the map has an entry for the key
+   */
+  public boolean containsKey(long key) {
+    return get(key) != null;
+  }
+
+  /**
+   * @param key the key
+   * @return the value of the key, or null if there is no entry for it
+   */
+  @SuppressWarnings("unchecked")
+  public V get(long key) {
+    int hash = hash(key);
+    return (V) shardOf(hash).get(key, hash);
+  }
+
+  /**
+   * Sets the value of a key.
+   *
+   * @param key the key
+   * @param value the value
+   * @return the previous value of the key, or null if there was no entry for it
+   */
+  @SuppressWarnings("unchecked")
+  public V put(long key, V value) {
+    Preconditions.checkNotNull(value);
+    int hash = hash(key);
+    return (V) shardOf(hash).put(key, hash, value, false);
+  }
+
+  /**
+   * Sets the value of a key, unless there is an entry for it.
+   *
+   * @param key the key
+   * @param value the value
+   * @return the current value of the key, or null if there was no entry for it and the value is set
+   */
+  @SuppressWarnings("unchecked")
+  public V putIfAbsent(long key, V value) {
+    Preconditions.checkNotNull(value);
+    int hash = hash(key);
+    return (V) shardOf(hash).put(key, hash, value, true);
+  }
+
+  /**
+   * Removes the entry of a key.
+   *
+   * @param key the key
+   * @return the value of the key, or null if there was no entry for it
+   */
+  @SuppressWarnings("unchecked")
+  public V remove(long key) {
+    int hash = hash(key);
+    return (V) shardOf(hash).remove(key, hash);
+  }
+
+  /**
+   * Removes all the entries.
+   */
+  public void clear() {
+    for (Shard shard : mShards) {
+      shard.clear();
+    }
+  }
+
+  /**
+   * @return a weakly consistent view of the values, which does not support removal
+   */
+  public Iterable<V> values() {
+    return new Iterable<V>() {
+      @Override
+      public Iterator<V> iterator() {
+        return new ValueIterator();
+      }
+    };
+  }
+
+  private Shard shardOf(int hash) {
+    return mShards[mShardBits == 0 ? 0 : hash >>> (Integer.SIZE - mShardBits)];
+  }
+
+  /**
+   * @param key the key
+   * @return the mixed hash of the key, of which the high bits select the shard and the low bits
+   *         the slot in the shard
+   */
+  private static int hash(long key) {
+    long h = key * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32));
+  }
+
+  /**
+   * An open addressing table of a part of the entries. A slot is empty if its value is null.
+   */
+  @ThreadSafe
+  private static final class Shard {
+    @GuardedBy("this")
+    private long[] mKeys;
+    @GuardedBy("this")
+    private Object[] mValues;
+    @GuardedBy("this")
+    private int mSize;
+    /** The number of entries above which the table grows. */
+    @GuardedBy("this")
+    private int mThreshold;
+
+    /**
+     * Creates a new instance of {@link Shard}.
+     *
+     * @param capacity the initial capacity of the table, a power of two
+     */
+    Shard(int capacity) {
+      allocate(capacity);
+    }
+
+    synchronized int size() {
+      return mSize;
+    }
+
+    synchronized Object get(long key, int hash) {
+      int mask = mKeys.length - 1;
+      for (int index = hash & mask; mValues[index] != null; index = (index + 1) & mask) {
+        if (mKeys[index] == key) {
+          return mValues[index];
+        }
+      }
+      return null;
+    }
+
+    synchronized Object put(long key, int hash, Object value, boolean onlyIfAbsent) {
+      int mask = mKeys.length - 1;
+      int index = hash & mask;
+      for (; mValues[index] != null; index = (index + 1) & mask) {
+        if (mKeys[index] == key) {
+          Object previous = mValues[index];
+          if (!onlyIfAbsent) {
+            mValues[index] = value;
+          }
+          return previous;
+        }
+      }
+      mKeys[index] = key;
+      mValues[index] = value;
+      mSize++;
+      if (mSize > mThreshold) {
+        resize(mKeys.length << 1);
+      }
+      return null;
+    }
+
+    synchronized Object remove(long key, int hash) {
+      int mask = mKeys.length - 1;
+      for (int index = hash & mask; mValues[index] != null; index = (index + 1) & mask) {
+        if (mKeys[index] == key) {
+          Object value = mValues[index];
+          delete(index);
+          return value;
+        }
+      }
+      return null;
+    }
+
+    synchronized void clear() {
+      allocate(MIN_SHARD_CAPACITY);
+      mSize = 0;
+    }
+
+    synchronized List<Object> copyValues() {
+      List<Object> values = new ArrayList<>(mSize);
+      for (Object value : mValues) {
+        if (value != null) {
+          values.add(value);
+        }
+      }
+      return values;
+    }
+
+    /**
+     * Deletes an entry, shifting back the entries after it in its probe sequence so that no
+     * lookup goes through an empty slot.
+     *
+     * @param index the index of the entry
+     */
+    @GuardedBy("this")
+    private void delete(int index) {
+      int mask = mKeys.length - 1;
+      int empty = index;
+      for (int next = (empty + 1) & mask; mValues[next] != null; next = (next + 1) & mask) {
+        int home = hash(mKeys[next]) & mask;
+        // The entry can move to the empty slot if the slot is between its home slot and its slot.
+        boolean movable = empty <= next ? (home <= empty || home > next)
+            : (home <= empty && home > next);
+        if (movable) {
+          mKeys[empty] = mKeys[next];
+          mValues[empty] = mValues[next];
+          empty = next;
+        }
+      }
+      mValues[empty] = null;
+      mSize--;
+    }
+
+    @GuardedBy("this")
+    private void resize(int capacity) {
+      long[] keys = mKeys;
+      Object[] values = mValues;
+      allocate(capacity);
+      int mask = capacity - 1;
+      for (int i = 0; i < keys.length; i++) {
+        if (values[i] != null) {
+          int index = hash(keys[i]) & mask;
+          while (mValues[index] != null) {
+            index = (index + 1) & mask;
+          }
+          mKeys[index] = keys[i];
+          mValues[index] = values[i];
+        }
+      }
+    }
+
+    @GuardedBy("this")
+    private void allocate(int capacity) {
+      mKeys = new long[capacity];
+      mValues = new Object[capacity];
+      mThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+  }
+
+  /**
+   * Iterates over the values of the shards in turn.
+   */
+  private final class ValueIterator implements Iterator<V> {
+    private int mNextShard;
+    private Iterator<Object> mShardValues = Collections.emptyIterator();
+
+    /**
+     * Creates a new instance of {@link ValueIterator}.
+     */
+    ValueIterator() {}
+
+    @Override
+    public boolean hasNext() {
+      while (!mShardValues.hasNext() && mNextShard < mShards.length) {
+        mShardValues = mShards[mNextShard++].copyValues().iterator();
+      }
+      return mShardValues.hasNext();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return (V) mShardValues.next();
+    }
+
+    @Override
+    public void remove() {
+      throw new UnsupportedOperationException(
+          "remove is not supported by ConcurrentLongHashMap iterators");
+    }
+  }
+}
@@ -0,0 +1,292 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.collections;
+
+import com.google.common.base.Preconditions;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A hash set of primitive longs. The elements are stored in an open addressing table with linear
+ * probing, so an element takes no objects of its own and is only boxed when it is read through the
+ * {@link java.util.Set} interface.
+ *
+ * The iterators do not support {@link Iterator#remove()}, since removing an element may move the
+ * elements after it in the table, so neither does {@link #retainAll(Collection)}.
+ */
+@NotThreadSafe
+public final class LongHashSet extends AbstractSet<Long> {
+  private static final int MIN_CAPACITY = 16;
+  private static final float LOAD_FACTOR = 0.75f;
+
+  private long[] mKeys;
+  private boolean[] mUsed;
+  private int mSize;
+  /** The number of elements above which the table grows. */
+  private int mThreshold;
+  /** The number of structural modifications, which invalidates the iterators. */
+  private int mModCount;
+
+  /**
+   * Creates a new instance of {@link LongHashSet}.
+   */
+  public LongHashSet() {
+    this(0);
+  }
+
+  /**
+   * Creates a new instance of {@link LongHashSet}.
+   *
+   * @param expectedSize the number of elements the set is expected to hold without growing
+   */
+  public LongHashSet(int expectedSize) {
+    Preconditions.checkArgument(expectedSize >= 0, "expectedSize must be non-negative");
+    allocate(capacityFor(expectedSize));
+  }
+
+  /**
+   * Creates a new instance of {@link LongHashSet} holding the elements of a collection.
+   *
+   * @param elements the elements
+   */
+  public LongHashSet(Collection<Long> elements) {
+    this(elements.size());
+    for (long element : elements) {
+      add(element);
+    }
+  }
+
+  @Override
+  public int size() {
+    return mSize;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return mSize == 0;
+  }
+
+  /**
+   * @param element the element
+   * @return whether the set contains the element
+   */
+  public boolean contains(long element) {
+    int mask = mKeys.length - 1;
+    for (int index = hash(element) & mask; mUsed[index]; index = (index + 1) & mask) {
+      if (mKeys[index] == element) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public boolean contains(Object o) {
+    return o instanceof Long && contains(((Long) o).longValue());
+  }
+
+  /**
+   * Adds an element.
+   *
+   * @param element the element
+   * @return whether the set did not contain the element
+   */
+  public boolean add(long element) {
+    int mask = mKeys.length - 1;
+    int index = hash(element) & mask;
+    for (; mUsed[index]; index = (index + 1) & mask) {
+      if (mKeys[index] == element) {
+        return false;
+      }
+    }
+    mUsed[index] = true;
+    mKeys[index] = element;
+    mSize++;
+    mModCount++;
+    if (mSize > mThreshold) {
+      resize(mKeys.length << 1);
+    }
+    return true;
+  }
+
+  @Override
+  public boolean add(Long element) {
+    return add(element.longValue());
+  }
+
+  /**
+   * Removes an element.
+   *
+   * @param element the element
+   * @return whether the set contained the element
+   */
+  public boolean remove(long element) {
+    int mask = mKeys.length - 1;
+    for (int index = hash(element) & mask; mUsed[index]; index = (index + 1) & mask) {
+      if (mKeys[index] == element) {
+        delete(index);
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public boolean remove(Object o) {
+    return o instanceof Long && remove(((Long) o).longValue());
+  }
+
+  @Override
+  public boolean removeAll(Collection<?> c) {
+    boolean modified = false;
+    for (Object o : c) {
+      modified |= remove(o);
+    }
+    return modified;
+  }
+
+  @Override
+  public void clear() {
+    allocate(MIN_CAPACITY);
+    mSize = 0;
+    mModCount++;
+  }
+
+  @Override
+  public Iterator<Long> iterator() {
+    return new ElementIterator();
+  }
+
+  /**
+   * Deletes an element, shifting back the elements after it in its probe sequence so that no
+   * lookup goes through an empty slot.
+   *
+   * @param index the index of the element
+   */
+  private void delete(int index) {
+    int mask = mKeys.length - 1;
+    int empty = index;
+    for (int next = (empty + 1) & mask; mUsed[next]; next = (next + 1) & mask) {
+      int home = hash(mKeys[next]) & mask;
+      // The element can move to the empty slot if the slot is between its home slot and its slot.
+      boolean movable = empty <= next ? (home <= empty || home > next)
+          : (home <= empty && home > next);
+      if (movable) {
+        mKeys[empty] = mKeys[next];
+        empty = next;
+      }
+    }
+    mUsed[empty] = false;
+    mSize--;
+    mModCount++;
+  }
+
+  private void resize(int capacity) {
+    long[] keys = mKeys;
+    boolean[] used = mUsed;
+    allocate(capacity);
+    int mask = capacity - 1;
+    for (int i = 0; i < keys.length; i++) {
+      if (used[i]) {
+        int index = hash(keys[i]) & mask;
+        while (mUsed[index]) {
+          index = (index + 1) & mask;
+        }
+        mUsed[index] = true;
+        mKeys[index] = keys[i];
+      }
+    }
+  }
+
+  private void allocate(int capacity) {
+    mKeys = new long[capacity];
+    mUsed = new boolean[capacity];
+    mThreshold = (int) (capacity * LOAD_FACTOR);
+  }
+
+  /**
+   * @param expectedSize the number of elements
+   * @return the capacity of a table holding the elements without growing
+   */
+  private static int capacityFor(int expectedSize) {
+    int capacity = MIN_CAPACITY;
+    while (capacity * LOAD_FACTOR < expectedSize) {
+      capacity <<= 1;
+    }
+    return capacity;
+  }
+
+  /**
+   * @param key the key
+   * @return the mixed hash of the key, so that keys with a common prefix spread over the table
+   */
+  private static int hash(long key) {
+    long h = key * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32));
+  }
+
+  /**
+   * Iterates over the elements in the order of the table.
+   */
+  private final class ElementIterator implements Iterator<Long> {
+    private int mNextIndex;
+    private final int mExpectedModCount;
+
+    /**
+     * Creates a new instance of {@link ElementIterator}.
+     */
+    ElementIterator() {
+      mNextIndex = advance(0);
+      mExpectedModCount = mModCount;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return mNextIndex < mKeys.length;
+    }
+
+    @Override
+    public Long next() {
+      if (mModCount != mExpectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      long element = mKeys[mNextIndex];
+      mNextIndex = advance(mNextIndex + 1);
+      return element;
+    }
+
+    @Override
+    public void remove() {
+      throw new UnsupportedOperationException("remove is not supported by LongHashSet iterators");
+    }
+
+    /**
+     * @param index the index to start from
+     * @return the index of the first element from the index, or the capacity if there is none
+     */
+    private int advance(int index) {
+      while (index < mUsed.length && !mUsed[index]) {
+        index++;
+      }
+      return index;
+    }
+  }
+}
@@ -0,0 +1,405 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.collections;
+
+import com.google.common.base.Preconditions;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A hash map from primitive longs to objects, which keeps its entries in a doubly linked list.
+ * The entries are kept in the order they were added in, and can be moved to the tail of the list,
+ * e.g. to keep them in the order they were last accessed in.
+ *
+ * The keys are stored in an open addressing table with linear probing, and the list is linked
+ * through the indexes of the entries in the table, so an entry takes no objects of its own and no
+ * key is boxed. Iterating over the keys from the head of the list does not copy them.
+ *
+ * @param <V> the type of the values
+ */
+@NotThreadSafe
+public final class LongLinkedHashMap<V> {
+  private static final int MIN_CAPACITY = 16;
+  private static final float LOAD_FACTOR = 0.5f;
+  /** The link to no entry. */
+  private static final int NIL = -1;
+
+  private long[] mKeys;
+  private Object[] mValues;
+  private boolean[] mUsed;
+  private int[] mPrev;
+  private int[] mNext;
+  private int mHead = NIL;
+  private int mTail = NIL;
+  private int mSize;
+  /** The number of entries above which the table grows. */
+  private int mThreshold;
+  /** The number of structural modifications, which invalidates the iterators. */
+  private int mModCount;
+
+  /**
+   * Creates a new instance of {@link LongLinkedHashMap}.
+   */
+  public LongLinkedHashMap() {
+    this(MIN_CAPACITY);
+  }
+
+  /**
+   * Creates a new instance of {@link LongLinkedHashMap}.
+   *
+   * @param expectedSize the number of entries the map is expected to hold without growing
+   */
+  public LongLinkedHashMap(int expectedSize) {
+    Preconditions.checkArgument(expectedSize >= 0, "expectedSize must be non-negative");
+    int capacity = MIN_CAPACITY;
+    while (capacity * LOAD_FACTOR < expectedSize) {
+      capacity <<= 1;
+    }
+    allocate(capacity);
+  }
+
+  /**
+   * @return the number of entries
+   */
+  public int size() {
+    return mSize;
+  }
+
+  /**
+   * @return whether the map has no entries
+   */
+  public boolean isEmpty() {
+    return mSize == 0;
+  }
+
+  /**
+   * @param key the key
+   * @return whether the map has an entry for the key
+   */
+  public boolean containsKey(long key) {
+    return find(key) != NIL;
+  }
+
+  /**
+   * @param key the key
+   * @return the value of the key, or null if there is no entry for it
+   */
+  @SuppressWarnings("unchecked")
+  public V get(long key) {
+    int index = find(key);
+    return index == NIL ? null : (V) mValues[index];
+  }
+
+  /**
+   * Sets the value of a key. A new entry is added at the tail of the list, while an existing entry
+   * keeps its position.
+   *
+   * @param key the key
+   * @param value the value
+   * @return the previous value of the key, or null if there was no entry for it
+   */
+  @SuppressWarnings("unchecked")
+  public V put(long key, V value) {
+    int index = find(key);
+    if (index != NIL) {
+      V previous = (V) mValues[index];
+      mValues[index] = value;
+      return previous;
+    }
+    if (mSize >= mThreshold) {
+      resize(mKeys.length << 1);
+    }
+    insert(key, value);
+    return null;
+  }
+
+  /**
+   * Sets the value of a key, and moves its entry to the tail of the list.
+   *
+   * @param key the key
+   * @param value the value
+   * @return the previous value of the key, or null if there was no entry for it
+   */
+  public V putLast(long key, V value) {
+    V previous = put(key, value);
+    moveToTail(key);
+    return previous;
+  }
+
+  /**
+   * Moves the entry of a key to the tail of the list.
+   *
+   * @param key the key
+   * @return whether the map has an entry for the key
+   */
+  public boolean moveToTail(long key) {
+    int index = find(key);
+    if (index == NIL) {
+      return false;
+    }
+    if (index != mTail) {
+      unlink(index);
+      linkLast(index);
+      mModCount++;
+    }
+    return true;
+  }
+
+  /**
+   * Removes the entry of a key.
+   *
+   * @param key the key
+   * @return the value of the key, or null if there was no entry for it
+   */
+  @SuppressWarnings("unchecked")
+  public V remove(long key) {
+    int index = find(key);
+    if (index == NIL) {
+      return null;
+    }
+    V value = (V) mValues[index];
+    delete(index);
+    return value;
+  }
+
+  /**
+   * Removes all the entries.
+   */
+  public void clear() {
+    allocate(MIN_CAPACITY);
+    mHead = NIL;
+    mTail = NIL;
+    mSize = 0;
+    mModCount++;
+  }
+
+  /**
+   * @return the key at the head of the list
+   * @throws NoSuchElementException if the map is empty
+   */
+  public long firstKey() {
+    if (mHead == NIL) {
+      throw new NoSuchElementException();
+    }
+    return mKeys[mHead];
+  }
+
+  /**
+   * Returns an iterator over the keys from the head to the tail of the list. The iterator supports
+   * {@link Iterator#remove()}, and fails on any other modification of the order or the entries of
+   * the map.
+   *
+   * @return the iterator
+   */
+  public Iterator<Long> keyIterator() {
+    return new KeyIterator();
+  }
+
+  /**
+   * @param key the key
+   * @return the index of the entry of the key, or {@link #NIL} if there is none
+   */
+  private int find(long key) {
+    int mask = mKeys.length - 1;
+    for (int index = hash(key) & mask; mUsed[index]; index = (index + 1) & mask) {
+      if (mKeys[index] == key) {
+        return index;
+      }
+    }
+    return NIL;
+  }
+
+  /**
+   * Adds an entry for a key which has none at the tail of the list. The table must have room.
+   */
+  private void insert(long key, Object value) {
+    int mask = mKeys.length - 1;
+    int index = hash(key) & mask;
+    while (mUsed[index]) {
+      index = (index + 1) & mask;
+    }
+    mUsed[index] = true;
+    mKeys[index] = key;
+    mValues[index] = value;
+    linkLast(index);
+    mSize++;
+    mModCount++;
+  }
+
+  /**
+   * Deletes an entry, shifting back the entries after it in its probe sequence so that no lookup
+   * goes through an empty slot.
+   *
+   * @param index the index of the entry
+   */
+  private void delete(int index) {
+    unlink(index);
+    int mask = mKeys.length - 1;
+    int empty = index;
+    for (int next = (empty + 1) & mask; mUsed[next]; next = (next + 1) & mask) {
+      int home = hash(mKeys[next]) & mask;
+      // The entry can move to the empty slot if the slot is between its home slot and its slot.
+      boolean movable = empty <= next ? (home <= empty || home > next)
+          : (home <= empty && home > next);
+      if (movable) {
+        move(next, empty);
+        empty = next;
+      }
+    }
+    mUsed[empty] = false;
+    mValues[empty] = null;
+    mSize--;
+    mModCount++;
+  }
+
+  /**
+   * Moves an entry to an empty slot, keeping its position in the list.
+   */
+  private void move(int from, int to) {
+    mUsed[to] = true;
+    mKeys[to] = mKeys[from];
+    mValues[to] = mValues[from];
+    mPrev[to] = mPrev[from];
+    mNext[to] = mNext[from];
+    if (mPrev[to] == NIL) {
+      mHead = to;
+    } else {
+      mNext[mPrev[to]] = to;
+    }
+    if (mNext[to] == NIL) {
+      mTail = to;
+    } else {
+      mPrev[mNext[to]] = to;
+    }
+  }
+
+  private void linkLast(int index) {
+    mPrev[index] = mTail;
+    mNext[index] = NIL;
+    if (mTail == NIL) {
+      mHead = index;
+    } else {
+      mNext[mTail] = index;
+    }
+    mTail = index;
+  }
+
+  private void unlink(int index) {
+    int prev = mPrev[index];
+    int next = mNext[index];
+    if (prev == NIL) {
+      mHead = next;
+    } else {
+      mNext[prev] = next;
+    }
+    if (next == NIL) {
+      mTail = prev;
+    } else {
+      mPrev[next] = prev;
+    }
+  }
+
+  /**
+   * Rebuilds the table with a new capacity, keeping the order of the list.
+   */
+  private void resize(int capacity) {
+    long[] keys = mKeys;
+    Object[] values = mValues;
+    int[] next = mNext;
+    int head = mHead;
+    allocate(capacity);
+    mHead = NIL;
+    mTail = NIL;
+    mSize = 0;
+    for (int index = head; index != NIL; index = next[index]) {
+      insert(keys[index], values[index]);
+    }
+  }
+
+  private void allocate(int capacity) {
+    mKeys = new long[capacity];
+    mValues = new Object[capacity];
+    mUsed = new boolean[capacity];
+    mPrev = new int[capacity];
+    mNext = new int[capacity];
+    mThreshold = (int) (capacity * LOAD_FACTOR);
+  }
+
+  /**
+   * @param key the key
+   * @return the mixed hash of the key, so that keys with a common prefix spread over the table
+   */
+  private static int hash(long key) {
+    long h = key * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32));
+  }
+
+  /**
+   * Iterates over the keys from the head of the list. The iterator keeps the key of the next
+   * entry rather than its index, since removing an entry may move the entries after it.
+   */
+  private final class KeyIterator implements Iterator<Long> {
+    private boolean mHasNext;
+    private long mNextKey;
+    private boolean mHasLast;
+    private long mLastKey;
+    private int mExpectedModCount;
+
+    /**
+     * Creates a new instance of {@link KeyIterator}.
+     */
+    KeyIterator() {
+      mHasNext = mHead != NIL;
+      mNextKey = mHasNext ? mKeys[mHead] : 0;
+      mExpectedModCount = mModCount;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return mHasNext;
+    }
+
+    @Override
+    public Long next() {
+      if (!mHasNext) {
+        throw new NoSuchElementException();
+      }
+      if (mModCount != mExpectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+      int index = find(mNextKey);
+      mLastKey = mNextKey;
+      mHasLast = true;
+      int next = mNext[index];
+      mHasNext = next != NIL;
+      if (mHasNext) {
+        mNextKey = mKeys[next];
+      }
+      return mLastKey;
+    }
+
+    @Override
+    public void remove() {
+      Preconditions.checkState(mHasLast, "next() has not been called");
+      if (mModCount != mExpectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+      LongLinkedHashMap.this.remove(mLastKey);
+      mHasLast = false;
+      mExpectedModCount = mModCount;
+    }
+  }
+}
@@ -67,6 +67,10 @@ public enum ExceptionMessage {
   // netty
   BLOCK_WRITE_ERROR(
       "Error writing blockId: {0,number,#}, sessionId: {1,number,#}, address: {2}, message: {3}"),
+  BLOCK_READ_TIMEOUT(
+      "Timed out reading blockId: {0,number,#} from address: {1} after {2,number,#} ms"),
+  BLOCK_WRITE_TIMEOUT(
+      "Timed out writing blockId: {0,number,#} to address: {1} after {2,number,#} ms"),
   NO_RPC_HANDLER("No handler implementation for rpc message type: {0}"),
   UNEXPECTED_RPC_RESPONSE("Unexpected response message type: {0} (expected: {1})"),
   WRITER_ALREADY_OPEN(
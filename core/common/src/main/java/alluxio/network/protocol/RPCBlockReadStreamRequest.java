@@ -0,0 +1,151 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.network.protocol;
+
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+import com.google.common.primitives.Longs;
+import io.netty.buffer.ByteBuf;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * This represents an RPC request to stream a range of a block from a DataServer. The DataServer
+ * responds with a sequence of {@link RPCBlockReadResponse}s of at most the chunk size each, which
+ * cover the range in order, without waiting for the client to request each chunk. A response with
+ * an error status ends the stream.
+ */
+@ThreadSafe
+public final class RPCBlockReadStreamRequest extends RPCRequest {
+  private final long mBlockId;
+  private final long mOffset;
+  private final long mLength;
+  private final long mLockId;
+  private final long mSessionId;
+  private final long mChunkSize;
+
+  /**
+   * Constructs a new RPC request to stream a range of a block from a DataServer.
+   *
+   * @param blockId the id of the block
+   * @param offset the block offset to begin reading at
+   * @param length the number of bytes to read
+   * @param lockId the id of the block lock that is held by the client
+   * @param sessionId the id of the client session
+   * @param chunkSize the maximum number of bytes of each response
+   */
+  public RPCBlockReadStreamRequest(long blockId, long offset, long length, long lockId,
+      long sessionId, long chunkSize) {
+    mBlockId = blockId;
+    mOffset = offset;
+    mLength = length;
+    mLockId = lockId;
+    mSessionId = sessionId;
+    mChunkSize = chunkSize;
+  }
+
+  @Override
+  public Type getType() {
+    return Type.RPC_BLOCK_READ_STREAM_REQUEST;
+  }
+
+  /**
+   * Decodes the input {@link ByteBuf} into a {@link RPCBlockReadStreamRequest} object and returns
+   * it.
+   *
+   * @param in the input {@link ByteBuf}
+   * @return The decoded RPCBlockReadStreamRequest object
+   */
+  public static RPCBlockReadStreamRequest decode(ByteBuf in) {
+    long blockId = in.readLong();
+    long offset = in.readLong();
+    long length = in.readLong();
+    long lockId = in.readLong();
+    long sessionId = in.readLong();
+    long chunkSize = in.readLong();
+    return new RPCBlockReadStreamRequest(blockId, offset, length, lockId, sessionId, chunkSize);
+  }
+
+  @Override
+  public int getEncodedLength() {
+    // 6 longs (mBLockId, mOffset, mLength, mLockId, mSessionId, mChunkSize)
+    return Longs.BYTES * 6;
+  }
+
+  @Override
+  public void encode(ByteBuf out) {
+    out.writeLong(mBlockId);
+    out.writeLong(mOffset);
+    out.writeLong(mLength);
+    out.writeLong(mLockId);
+    out.writeLong(mSessionId);
+    out.writeLong(mChunkSize);
+  }
+
+  @Override
+  public void validate() {
+    Preconditions.checkState(mOffset >= 0, "Offset cannot be negative: %s", mOffset);
+    Preconditions.checkState(mLength >= 0 || mLength == -1,
+        "Length cannot be negative (except for -1): %s", mLength);
+    Preconditions.checkState(mChunkSize > 0 && mChunkSize <= Integer.MAX_VALUE,
+        "Chunk size must be positive and fit in an int: %s", mChunkSize);
+  }
+
+  @Override
+  public String toString() {
+    return Objects.toStringHelper(this).add("blockId", mBlockId).add("offset", mOffset)
+        .add("length", mLength).add("lockId", mLockId).add("sessionId", mSessionId)
+        .add("chunkSize", mChunkSize).toString();
+  }
+
+  /**
+   * @return the id of the block
+   */
+  public long getBlockId() {
+    return mBlockId;
+  }
+
+  /**
+   * @return the number of bytes to read
+   */
+  public long getLength() {
+    return mLength;
+  }
+
+  /**
+   * @return the block offset to begin reading at
+   */
+  public long getOffset() {
+    return mOffset;
+  }
+
+  /**
+   * @return the id of the lock
+   */
+  public long getLockId() {
+    return mLockId;
+  }
+
+  /**
+   * @return the id of the session
+   */
+  public long getSessionId() {
+    return mSessionId;
+  }
+
+  /**
+   * @return the maximum number of bytes of each response
+   */
+  public long getChunkSize() {
+    return mChunkSize;
+  }
+}
@@ -22,26 +22,26 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
 
-import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
  * A dynamic pool that manages the resources. It clears old resources.
  * It accepts a min and max capacity.
  *
- * When acquiring resources, the most recently used resource is returned.
+ * When acquiring resources, the most recently used resource is returned. Acquiring and releasing
+ * resources are lock-free unless the pool is full and a thread has to wait for a resource.
  *
  * @param <T> the type of the resource
  */
@@ -59,7 +59,7 @@ public abstract class DynamicResourcePool<T> implements Pool<T> {
     private T mResource;
 
     /** The last access time in ms. */
-    private long mLastAccessTimeMs;
+    private volatile long mLastAccessTimeMs;
 
     /**
      * @param lastAccessTimeMs the last access time in ms
@@ -200,9 +200,6 @@ public abstract class DynamicResourcePool<T> implements Pool<T> {
     }
   }
 
-  private final ReentrantLock mLock = new ReentrantLock();
-  private final Condition mNotEmpty = mLock.newCondition();
-
   /** The max capacity. */
   private final int mMaxCapacity;
 
@@ -213,16 +210,25 @@ public abstract class DynamicResourcePool<T> implements Pool<T> {
   // the most recently used resource).
   // These are the resources that acquire() will take.
   // This is always a subset of the other data structure mResources.
-  @GuardedBy("mLock")
-  private final Deque<ResourceInternal<T>> mAvailableResources;
+  private final ConcurrentLinkedDeque<ResourceInternal<T>> mAvailableResources =
+      new ConcurrentLinkedDeque<>();
 
   // Tracks all the resources that are not closed.
-  // put/delete operations are guarded by "mLock" so that we can control its size to be within
-  // a [min, max] range. mLock is reused for simplicity. A separate lock can be used if we see
-  // any performance overhead.
   private final ConcurrentHashMapV8<T, ResourceInternal<T>> mResources =
       new ConcurrentHashMapV8<>(32);
 
+  // The number of resources that are not closed, including the resources being created. A slot
+  // is reserved before a resource is created and freed after it is removed, so that the number
+  // of resources stays within the [min, max] range without a lock.
+  private final AtomicInteger mNumResources = new AtomicInteger();
+
+  // The lock and condition are only used by the threads waiting for a resource when the pool is
+  // full, and by the threads waking them up. Acquiring and releasing a resource do not take the
+  // lock if no thread is waiting.
+  private final ReentrantLock mLock = new ReentrantLock();
+  private final Condition mNotEmpty = mLock.newCondition();
+  private final AtomicInteger mNumWaiters = new AtomicInteger();
+
   // Thread to scan mAvailableResources to close those resources that are old.
   private ScheduledExecutorService mExecutor;
   private ScheduledFuture<?> mGcFuture;
@@ -239,34 +245,43 @@ public abstract class DynamicResourcePool<T> implements Pool<T> {
 
     mMaxCapacity = options.getMaxCapacity();
     mMinCapacity = options.getMinCapacity();
-    mAvailableResources = new ArrayDeque<>(Math.min(mMaxCapacity, 32));
 
     mGcFuture = mExecutor.scheduleAtFixedRate(new Runnable() {
       @Override
       public void run() {
         List<T> resourcesToGc = new ArrayList<T>();
 
-        try {
-          mLock.lock();
-          if (mResources.size() <= mMinCapacity) {
-            return;
+        // Scan from the least recently used resource.
+        Iterator<ResourceInternal<T>> iterator = mAvailableResources.descendingIterator();
+        while (iterator.hasNext() && mNumResources.get() > mMinCapacity) {
+          ResourceInternal<T> next = iterator.next();
+          if (!shouldGc(next)) {
+            continue;
+          }
+          // Take the resource before freeing its slot, so that no other thread can create a new
+          // resource in that slot while the resource is still in the pool. The resource may be
+          // acquired concurrently, in which case it is not removed.
+          if (!mAvailableResources.removeLastOccurrence(next)) {
+            continue;
+          }
+          if (!shouldGc(next)) {
+            // The resource was acquired and released since it was checked.
+            mAvailableResources.offerFirst(next);
+            signalWaiters();
+            continue;
           }
-          int currentSize = mResources.size();
-          Iterator<ResourceInternal<T>> iterator = mAvailableResources.iterator();
-          while (iterator.hasNext()) {
-            ResourceInternal<T> next = iterator.next();
-            if (shouldGc(next)) {
-              resourcesToGc.add(next.mResource);
-              iterator.remove();
-              mResources.remove(next.mResource);
-              currentSize--;
-              if (currentSize <= mMinCapacity) {
-                break;
-              }
-            }
+          if (!reserveGc()) {
+            // The pool is at its min capacity.
+            mAvailableResources.offerLast(next);
+            signalWaiters();
+            break;
           }
-        } finally {
-          mLock.unlock();
+          mResources.remove(next.mResource);
+          resourcesToGc.add(next.mResource);
+        }
+        if (!resourcesToGc.isEmpty()) {
+          // Threads waiting for a full pool may create new resources.
+          signalWaiters();
         }
 
         for (T resource : resourcesToGc) {
@@ -312,42 +327,29 @@ public abstract class DynamicResourcePool<T> implements Pool<T> {
       throws IOException, TimeoutException, InterruptedException {
     long endTimeMs = mClock.millis() + unit.toMillis(time);
 
-    // Try to take a resource without blocking
-    ResourceInternal<T> resource = poll();
-    if (resource != null) {
-      return checkHealthyAndRetry(resource.mResource, endTimeMs);
-    }
-
-    if (!isFull()) {
-      // If the resource pool is empty but capacity is not yet full, create a new resource.
-      T newResource = createNewResource();
-      ResourceInternal<T> resourceInternal = new ResourceInternal<>(newResource);
-      if (add(resourceInternal)) {
-        return newResource;
-      } else {
-        closeResource(newResource);
+    while (true) {
+      // Try to take a resource without blocking
+      ResourceInternal<T> resource = mAvailableResources.pollFirst();
+      if (resource != null) {
+        return checkHealthyAndRetry(resource.mResource, endTimeMs);
       }
-    }
 
-    // Otherwise, try to take a resource from the pool, blocking if none are available.
-    try {
-      mLock.lock();
-      while (true) {
-        resource = poll();
-        if (resource != null) {
-          break;
-        }
-        long currTimeMs = mClock.millis();
-        if (currTimeMs >= endTimeMs || !mNotEmpty
-            .await(endTimeMs - currTimeMs, TimeUnit.MILLISECONDS)) {
-          throw new TimeoutException("Acquire resource times out.");
+      if (reserve()) {
+        // If the resource pool is empty but capacity is not yet full, create a new resource.
+        T newResource;
+        try {
+          newResource = createNewResource();
+        } catch (IOException | RuntimeException e) {
+          unreserve();
+          throw e;
         }
+        mResources.put(newResource, new ResourceInternal<>(newResource));
+        return newResource;
       }
-    } finally {
-      mLock.unlock();
-    }
 
-    return checkHealthyAndRetry(resource.mResource, endTimeMs);
+      // Otherwise, wait for a resource to be released or for the capacity to be freed.
+      awaitAvailable(endTimeMs);
+    }
   }
 
   /**
@@ -361,21 +363,16 @@ public abstract class DynamicResourcePool<T> implements Pool<T> {
    */
   @Override
   public void release(T resource) {
-    // We don't need to acquire mLock here because the resource is guaranteed not to be removed
-    // if it is not available (i.e. not in mAvailableResources list).
-    if (!mResources.containsKey(resource)) {
+    // The resource is guaranteed not to be removed if it is not available (i.e. not in
+    // mAvailableResources list).
+    ResourceInternal<T> resourceInternal = mResources.get(resource);
+    if (resourceInternal == null) {
       throw new IllegalArgumentException(
           "Resource " + resource.toString() + " was not acquired from this resource pool.");
     }
-    ResourceInternal<T> resourceInternal = mResources.get(resource);
     resourceInternal.setLastAccessTimeMs(mClock.millis());
-    try {
-      mLock.lock();
-      mAvailableResources.addFirst(resourceInternal);
-      mNotEmpty.signal();
-    } finally {
-      mLock.unlock();
-    }
+    mAvailableResources.offerFirst(resourceInternal);
+    signalWaiters();
   }
 
   /**
@@ -383,18 +380,14 @@ public abstract class DynamicResourcePool<T> implements Pool<T> {
    */
   @Override
   public void close() {
-    try {
-      mLock.lock();
-      if (mAvailableResources.size() != mResources.size()) {
-        LOG.warn("{} resources are not released when closing the resource pool.",
-            mResources.size() - mAvailableResources.size());
-      }
-      for (ResourceInternal<T> resourceInternal : mAvailableResources) {
-        closeResourceSync(resourceInternal.mResource);
-      }
-      mAvailableResources.clear();
-    } finally {
-      mLock.unlock();
+    ResourceInternal<T> resourceInternal;
+    while ((resourceInternal = mAvailableResources.pollFirst()) != null) {
+      mResources.remove(resourceInternal.mResource);
+      closeResourceSync(resourceInternal.mResource);
+    }
+    if (!mResources.isEmpty()) {
+      LOG.warn("{} resources are not released when closing the resource pool.",
+          mResources.size());
     }
     mGcFuture.cancel(true);
   }
@@ -405,29 +398,45 @@ public abstract class DynamicResourcePool<T> implements Pool<T> {
   }
 
   /**
-   * @return true if the pool is full
+   * Reserves a slot for a new resource.
+   *
+   * @return true if the pool is not full and the slot is reserved
    */
-  private boolean isFull() {
-    return mResources.size() >= mMaxCapacity;
+  private boolean reserve() {
+    while (true) {
+      int numResources = mNumResources.get();
+      if (numResources >= mMaxCapacity) {
+        return false;
+      }
+      if (mNumResources.compareAndSet(numResources, numResources + 1)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Frees the slot of a resource which is removed or could not be created.
+   */
+  private void unreserve() {
+    mNumResources.decrementAndGet();
+    signalWaiters();
   }
 
   /**
-   * Adds a newly created resource to the pool. The resource is not available when it is added.
+   * Frees the slot of a resource to garbage collect, unless the pool would fall below its min
+   * capacity.
    *
-   * @param resource
-   * @return true if the resource is successfully added
+   * @return true if the slot is freed
    */
-  private boolean add(ResourceInternal<T> resource) {
-    try {
-      mLock.lock();
-      if (mResources.size() >= mMaxCapacity) {
+  private boolean reserveGc() {
+    while (true) {
+      int numResources = mNumResources.get();
+      if (numResources <= mMinCapacity) {
         return false;
-      } else {
-        mResources.put(resource.mResource, resource);
+      }
+      if (mNumResources.compareAndSet(numResources, numResources - 1)) {
         return true;
       }
-    } finally {
-      mLock.unlock();
     }
   }
 
@@ -437,21 +446,48 @@ public abstract class DynamicResourcePool<T> implements Pool<T> {
    * @param resource
    */
   private void remove(T resource) {
+    if (mResources.remove(resource) != null) {
+      unreserve();
+    }
+  }
+
+  /**
+   * Waits until a resource is available or the pool is not full.
+   *
+   * @param endTimeMs the end time to wait till
+   * @throws TimeoutException if it times out
+   * @throws InterruptedException if this thread is interrupted
+   */
+  private void awaitAvailable(long endTimeMs) throws TimeoutException, InterruptedException {
+    // The waiter is counted before checking the resources, and a releasing thread checks the
+    // waiters after adding a resource, so either the waiter sees the resource, or the releasing
+    // thread signals the waiter.
+    mNumWaiters.incrementAndGet();
     try {
       mLock.lock();
-      mResources.remove(resource);
+      while (mAvailableResources.isEmpty() && mNumResources.get() >= mMaxCapacity) {
+        long currTimeMs = mClock.millis();
+        if (currTimeMs >= endTimeMs || !mNotEmpty
+            .await(endTimeMs - currTimeMs, TimeUnit.MILLISECONDS)) {
+          throw new TimeoutException("Acquire resource times out.");
+        }
+      }
     } finally {
       mLock.unlock();
+      mNumWaiters.decrementAndGet();
     }
   }
 
   /**
-   * @return the most recently used resource and null if there are no free resources
+   * Wakes up a thread waiting for a resource, if any.
    */
-  private ResourceInternal<T> poll() {
+  private void signalWaiters() {
+    if (mNumWaiters.get() == 0) {
+      return;
+    }
     try {
       mLock.lock();
-      return mAvailableResources.pollFirst();
+      mNotEmpty.signal();
     } finally {
       mLock.unlock();
     }
@@ -0,0 +1,169 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs;
+
+import alluxio.annotation.PublicApi;
+
+import com.google.common.base.Objects;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Information about a file or directory in the under file system, as returned in a single call by
+ * {@link UnderFileSystem#getStatus(String)} and {@link UnderFileSystem#listStatus(String)}.
+ */
+@PublicApi
+@ThreadSafe
+public final class UfsStatus {
+  // Name of the file or directory, relative to the listed directory for listStatus results.
+  private final String mName;
+  // Whether the path is a directory.
+  private final boolean mIsDirectory;
+  // Length of the file in bytes, 0 for directories.
+  private final long mContentLength;
+  // Last modification time in milliseconds, or a negative value if unknown.
+  private final long mLastModifiedTimeMs;
+  // Block size of the file in bytes, 0 for directories.
+  private final long mBlockSizeBytes;
+  // Owner of the path.
+  private final String mOwner;
+  // Group of the path.
+  private final String mGroup;
+  // Mode of the path.
+  private final short mMode;
+
+  /**
+   * Creates a new instance of {@link UfsStatus}.
+   *
+   * @param name the name of the file or directory
+   * @param isDirectory whether the path is a directory
+   * @param contentLength the length of the file in bytes
+   * @param lastModifiedTimeMs the last modification time in milliseconds
+   * @param blockSizeBytes the block size of the file in bytes
+   * @param owner the owner of the path
+   * @param group the group of the path
+   * @param mode the mode of the path
+   */
+  public UfsStatus(String name, boolean isDirectory, long contentLength, long lastModifiedTimeMs,
+      long blockSizeBytes, String owner, String group, short mode) {
+    mName = name;
+    mIsDirectory = isDirectory;
+    mContentLength = contentLength;
+    mLastModifiedTimeMs = lastModifiedTimeMs;
+    mBlockSizeBytes = blockSizeBytes;
+    mOwner = owner;
+    mGroup = group;
+    mMode = mode;
+  }
+
+  /**
+   * @return the name of the file or directory
+   */
+  public String getName() {
+    return mName;
+  }
+
+  /**
+   * @return true if the path is a directory, false if it is a file
+   */
+  public boolean isDirectory() {
+    return mIsDirectory;
+  }
+
+  /**
+   * @return true if the path is a file, false if it is a directory
+   */
+  public boolean isFile() {
+    return !mIsDirectory;
+  }
+
+  /**
+   * @return the length of the file in bytes
+   */
+  public long getContentLength() {
+    return mContentLength;
+  }
+
+  /**
+   * @return the last modification time in milliseconds, or a negative value if unknown
+   */
+  public long getLastModifiedTimeMs() {
+    return mLastModifiedTimeMs;
+  }
+
+  /**
+   * @return the block size of the file in bytes
+   */
+  public long getBlockSizeBytes() {
+    return mBlockSizeBytes;
+  }
+
+  /**
+   * @return the owner of the path
+   */
+  public String getOwner() {
+    return mOwner;
+  }
+
+  /**
+   * @return the group of the path
+   */
+  public String getGroup() {
+    return mGroup;
+  }
+
+  /**
+   * @return the mode of the path
+   */
+  public short getMode() {
+    return mMode;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof UfsStatus)) {
+      return false;
+    }
+    UfsStatus that = (UfsStatus) o;
+    return Objects.equal(mName, that.mName)
+        && Objects.equal(mIsDirectory, that.mIsDirectory)
+        && Objects.equal(mContentLength, that.mContentLength)
+        && Objects.equal(mLastModifiedTimeMs, that.mLastModifiedTimeMs)
+        && Objects.equal(mBlockSizeBytes, that.mBlockSizeBytes)
+        && Objects.equal(mOwner, that.mOwner)
+        && Objects.equal(mGroup, that.mGroup)
+        && Objects.equal(mMode, that.mMode);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hashCode(mName, mIsDirectory, mContentLength, mLastModifiedTimeMs,
+        mBlockSizeBytes, mOwner, mGroup, mMode);
+  }
+
+  @Override
+  public String toString() {
+    return Objects.toStringHelper(this)
+        .add("name", mName)
+        .add("isDirectory", mIsDirectory)
+        .add("contentLength", mContentLength)
+        .add("lastModifiedTimeMs", mLastModifiedTimeMs)
+        .add("blockSizeBytes", mBlockSizeBytes)
+        .add("owner", mOwner)
+        .add("group", mGroup)
+        .add("mode", mMode)
+        .toString();
+  }
+}
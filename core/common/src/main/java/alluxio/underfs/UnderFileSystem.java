@@ -17,10 +17,13 @@ import alluxio.Constants;
 import alluxio.PropertyKey;
 import alluxio.underfs.options.CreateOptions;
 import alluxio.underfs.options.MkdirsOptions;
+import alluxio.underfs.options.OpenOptions;
+import alluxio.util.ThreadFactoryUtils;
 import alluxio.util.io.PathUtils;
 
 import com.google.common.base.Objects;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -34,7 +37,14 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.annotation.concurrent.ThreadSafe;
 
@@ -68,6 +78,10 @@ public abstract class UnderFileSystem {
 
   private static final Cache UFS_CACHE = new Cache();
 
+  /** Limits the concurrent status calls issued to this under file system by a listing. */
+  private final Semaphore mStatusPermits =
+      new Semaphore(Configuration.getInt(PropertyKey.UNDERFS_LISTING_STATUS_CONCURRENCY));
+
   /**
    * The different types of space indicate the total space, the free space and the space used in the
    * under file system.
@@ -145,6 +159,63 @@ public abstract class UnderFileSystem {
     }
   }
 
+  /**
+   * Holds the thread pool used to fetch the statuses of listed entries, so that it is only created
+   * when first needed.
+   */
+  private static final class StatusExecutorHolder {
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(
+        Configuration.getInt(PropertyKey.UNDERFS_LISTING_STATUS_THREADS),
+        ThreadFactoryUtils.build("ufs-listing-status-%d", true));
+
+    private StatusExecutorHolder() {} // prevent instantiation
+  }
+
+  /**
+   * Gets the status of a child for {@link #listStatus(String)}. The call holds a permit of this
+   * under file system, which is released when the call completes, or when it is cancelled before
+   * it starts.
+   */
+  private final class StatusCall implements Callable<UfsStatus> {
+    private final String mPath;
+    private final String mName;
+    /** Set by whichever comes first of running the call and cancelling it. */
+    private final AtomicBoolean mStarted = new AtomicBoolean(false);
+    private Future<UfsStatus> mFuture;
+
+    /**
+     * @param path the path of the child
+     * @param name the name of the child
+     */
+    StatusCall(String path, String name) {
+      mPath = path;
+      mName = name;
+    }
+
+    @Override
+    public UfsStatus call() throws IOException {
+      if (!mStarted.compareAndSet(false, true)) {
+        // Cancelled, and the permit is already released
+        return null;
+      }
+      try {
+        return getStatusInternal(mPath, mName);
+      } finally {
+        mStatusPermits.release();
+      }
+    }
+
+    /**
+     * Cancels the call, interrupting it if it is running.
+     */
+    void cancel() {
+      if (mStarted.compareAndSet(false, true)) {
+        mStatusPermits.release();
+      }
+      mFuture.cancel(true);
+    }
+  }
+
   /**
    * The key of the UFS cache.
    */
@@ -387,6 +458,19 @@ public abstract class UnderFileSystem {
    */
   public abstract long getSpace(String path, SpaceType type) throws IOException;
 
+  /**
+   * Gets the status of the indicated path, including all of the attributes needed to load its
+   * metadata, in as few calls to the under storage as possible. The default implementation issues
+   * one call per attribute; implementations backed by remote stores should override this.
+   *
+   * @param path the path to get the status of
+   * @return the status of the path, or null if the path does not exist
+   * @throws IOException if a non-Alluxio error occurs
+   */
+  public UfsStatus getStatus(String path) throws IOException {
+    return getStatusInternal(path, new AlluxioURI(path).getName());
+  }
+
   /**
    * Checks if the indicated path is a file or not.
    *
@@ -467,6 +551,69 @@ public abstract class UnderFileSystem {
     return returnPaths.toArray(new String[returnPaths.size()]);
   }
 
+  /**
+   * Returns the statuses of the files and directories in the directory denoted by this abstract
+   * pathname. The name of each status is the child name, as returned by {@link #list(String)}.
+   *
+   * <p>
+   * The default implementation lists the directory and then gets the status of each child. The
+   * status calls are spread over a thread pool shared by all under file systems, with at most
+   * {@link PropertyKey#UNDERFS_LISTING_STATUS_CONCURRENCY} of them in flight for this under file
+   * system at any time. Implementations backed by remote stores should override this to return
+   * the attributes along with the listing.
+   *
+   * @param path the abstract pathname to list
+   * @return the statuses of the files and directories in the directory denoted by this abstract
+   *         pathname, or {@code null} if this abstract pathname does not denote a directory
+   * @throws IOException if a non-Alluxio error occurs
+   */
+  public UfsStatus[] listStatus(String path) throws IOException {
+    String[] children = list(path);
+    if (children == null) {
+      return null;
+    }
+    List<StatusCall> calls = new ArrayList<>(children.length);
+    boolean succeeded = false;
+    try {
+      for (String child : children) {
+        // Blocks once the limit for this under file system is reached, the permit is released
+        // when the status call completes
+        mStatusPermits.acquire();
+        StatusCall call = new StatusCall(PathUtils.concatPath(path, child), child);
+        try {
+          call.mFuture = StatusExecutorHolder.EXECUTOR.submit(call);
+        } catch (RuntimeException e) {
+          mStatusPermits.release();
+          throw e;
+        }
+        calls.add(call);
+      }
+      List<UfsStatus> statuses = new ArrayList<>(children.length);
+      for (StatusCall call : calls) {
+        UfsStatus status = call.mFuture.get();
+        // The child may have been removed since the listing
+        if (status != null) {
+          statuses.add(status);
+        }
+      }
+      succeeded = true;
+      return statuses.toArray(new UfsStatus[statuses.size()]);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    } catch (ExecutionException e) {
+      Throwables.propagateIfPossible(e.getCause(), IOException.class);
+      throw new IOException(e.getCause());
+    } finally {
+      if (!succeeded) {
+        // The caller gets the failure, so the other status calls are of no use
+        for (StatusCall call : calls) {
+          call.cancel();
+        }
+      }
+    }
+  }
+
   /**
    * Creates the directory named by this abstract pathname. If the folder already exists, the method
    * returns false.
@@ -500,6 +647,18 @@ public abstract class UnderFileSystem {
    */
   public abstract InputStream open(String path) throws IOException;
 
+  /**
+   * Opens an {@link InputStream} at the indicated path, positioned at the offset given in the
+   * options. Implementations should start reading at the offset directly, rather than reading and
+   * discarding the preceding data.
+   *
+   * @param path the file name
+   * @param options the options for opening the file
+   * @return The {@code InputStream} object
+   * @throws IOException if a non-Alluxio error occurs
+   */
+  public abstract InputStream open(String path, OpenOptions options) throws IOException;
+
   /**
    * Renames a file or folder from {@code src} to {@code dst} in under file system.
    *
@@ -600,4 +759,23 @@ public abstract class UnderFileSystem {
   public boolean supportsFlush() {
     return true;
   }
+
+  /**
+   * Builds the status of a path from the individual attribute calls.
+   *
+   * @param path the path to get the status of
+   * @param name the name to give the status
+   * @return the status of the path, or null if the path does not exist
+   * @throws IOException if a non-Alluxio error occurs
+   */
+  private UfsStatus getStatusInternal(String path, String name) throws IOException {
+    if (!exists(path)) {
+      return null;
+    }
+    if (isFile(path)) {
+      return new UfsStatus(name, false, getFileSize(path), getModificationTimeMs(path),
+          getBlockSizeByte(path), getOwner(path), getGroup(path), getMode(path));
+    }
+    return new UfsStatus(name, true, 0, -1, 0, getOwner(path), getGroup(path), getMode(path));
+  }
 }
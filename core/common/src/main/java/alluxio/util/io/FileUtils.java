@@ -20,6 +20,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
 import java.nio.file.FileSystems;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
@@ -27,6 +28,7 @@ import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.nio.file.attribute.GroupPrincipal;
 import java.nio.file.attribute.PosixFileAttributeView;
@@ -200,15 +202,39 @@ public final class FileUtils {
    * Moves file from one place to another, can across storage devices (e.g., from memory to SSD)
    * when {@link File#renameTo} may not work.
    *
-   * Current implementation uses {@link com.google.common.io.Files#move(File, File)}, may change if
-   * there is a better solution.
+   * When the file cannot be renamed, it is copied with {@link FileChannel#transferTo}, which lets
+   * the operating system copy the data without going through user space, and the source file is
+   * deleted.
    *
    * @param srcPath pathname string of source file
    * @param dstPath pathname string of destination file
    * @throws IOException when fails to move
    */
   public static void move(String srcPath, String dstPath) throws IOException {
-    com.google.common.io.Files.move(new File(srcPath), new File(dstPath));
+    File srcFile = new File(srcPath);
+    File dstFile = new File(dstPath);
+    if (srcFile.equals(dstFile)) {
+      throw new IllegalArgumentException(
+          "Source " + srcPath + " and destination " + dstPath + " must be different");
+    }
+    if (srcFile.renameTo(dstFile)) {
+      return;
+    }
+    try (FileChannel src = FileChannel.open(srcFile.toPath(), StandardOpenOption.READ);
+        FileChannel dst = FileChannel.open(dstFile.toPath(), StandardOpenOption.WRITE,
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      long size = src.size();
+      long position = 0;
+      while (position < size) {
+        position += src.transferTo(position, size - position, dst);
+      }
+    }
+    if (!srcFile.delete()) {
+      if (!dstFile.delete()) {
+        throw new IOException("Unable to delete " + dstPath);
+      }
+      throw new IOException("Unable to delete " + srcPath);
+    }
   }
 
   /**
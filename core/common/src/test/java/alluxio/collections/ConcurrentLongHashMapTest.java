@@ -0,0 +1,124 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.collections;
+
+import com.google.common.collect.Lists;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Unit tests for {@link ConcurrentLongHashMap}.
+ */
+public final class ConcurrentLongHashMapTest {
+
+  /**
+   * Tests that {@link ConcurrentLongHashMap#putIfAbsent(long, Object)} keeps the current value.
+   */
+  @Test
+  public void putIfAbsent() {
+    ConcurrentLongHashMap<String> map = new ConcurrentLongHashMap<>(0, 4);
+    Assert.assertNull(map.putIfAbsent(1L, "a"));
+    Assert.assertEquals("a", map.putIfAbsent(1L, "b"));
+    Assert.assertEquals("a", map.get(1L));
+    Assert.assertEquals("a", map.put(1L, "b"));
+    Assert.assertEquals("b", map.get(1L));
+  }
+
+  /**
+   * Tests random operations against a {@link HashMap}, with colliding keys so that removals shift
+   * entries back through wrapped probe sequences.
+   */
+  @Test
+  public void randomOperations() {
+    ConcurrentLongHashMap<Long> map = new ConcurrentLongHashMap<>(0, 4);
+    Map<Long, Long> expected = new HashMap<>();
+    Random random = new Random(42);
+    for (int i = 0; i < 100000; i++) {
+      long key = (random.nextInt(2000) << 24) | random.nextInt(4);
+      switch (random.nextInt(4)) {
+        case 0:
+          Assert.assertEquals(expected.remove(key), map.remove(key));
+          break;
+        case 1:
+          Assert.assertEquals(expected.get(key), map.get(key));
+          break;
+        case 2:
+          Assert.assertEquals(expected.containsKey(key) ? expected.get(key) : null,
+              map.putIfAbsent(key, (long) i));
+          if (!expected.containsKey(key)) {
+            expected.put(key, (long) i);
+          }
+          break;
+        default:
+          Assert.assertEquals(expected.put(key, (long) i), map.put(key, (long) i));
+          break;
+      }
+      Assert.assertEquals(expected.size(), map.size());
+    }
+    Assert.assertEquals(new HashSet<>(expected.values()),
+        new HashSet<>(Lists.newArrayList(map.values())));
+    map.clear();
+    Assert.assertTrue(map.isEmpty());
+    Assert.assertFalse(map.values().iterator().hasNext());
+  }
+
+  /**
+   * Tests that threads adding and removing disjoint keys concurrently do not lose entries.
+   */
+  @Test
+  public void concurrentUpdates() throws Exception {
+    final ConcurrentLongHashMap<Long> map = new ConcurrentLongHashMap<>(0, 16);
+    final int numThreads = 8;
+    final int keysPerThread = 20000;
+    ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+    try {
+      List<Future<Void>> futures = new ArrayList<>();
+      for (int t = 0; t < numThreads; t++) {
+        final long thread = t;
+        futures.add(executor.submit(new Callable<Void>() {
+          @Override
+          public Void call() {
+            for (long i = 0; i < keysPerThread; i++) {
+              long key = (i << 8) | thread;
+              Assert.assertNull(map.putIfAbsent(key, key));
+              if (i % 2 == 1) {
+                Assert.assertEquals(key, (long) map.remove(key));
+              }
+            }
+            return null;
+          }
+        }));
+      }
+      for (Future<Void> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    Assert.assertEquals(numThreads * keysPerThread / 2, map.size());
+    for (Long value : map.values()) {
+      Assert.assertEquals(0, (value >> 8) % 2);
+      Assert.assertEquals(value, map.get(value));
+    }
+  }
+}
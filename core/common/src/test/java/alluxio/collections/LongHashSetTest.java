@@ -0,0 +1,89 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.collections;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Unit tests for {@link LongHashSet}.
+ */
+public final class LongHashSetTest {
+
+  /**
+   * Tests that the set behaves as a {@link Set} of boxed longs.
+   */
+  @Test
+  public void setInterface() {
+    LongHashSet set = new LongHashSet(ImmutableSet.of(1L, 2L, 3L));
+    Assert.assertEquals(ImmutableSet.of(1L, 2L, 3L), set);
+    Assert.assertEquals(ImmutableSet.of(1L, 2L, 3L), new HashSet<>(set));
+    Assert.assertTrue(set.contains((Object) 2L));
+    Assert.assertFalse(set.contains((Object) 2));
+    Assert.assertFalse(set.add(2L));
+    Assert.assertTrue(set.removeAll(ImmutableSet.of(1L, 4L)));
+    Assert.assertEquals(ImmutableSet.of(2L, 3L), set);
+    Assert.assertEquals(ImmutableSet.of(2L), Sets.difference(set, ImmutableSet.of(3L, 4L)));
+  }
+
+  /**
+   * Tests that the iterator fails when the set is modified outside of it.
+   */
+  @Test(expected = ConcurrentModificationException.class)
+  public void iteratorConcurrentModification() {
+    LongHashSet set = new LongHashSet();
+    set.add(1L);
+    set.add(2L);
+    Iterator<Long> iterator = set.iterator();
+    iterator.next();
+    set.add(3L);
+    iterator.next();
+  }
+
+  /**
+   * Tests random operations against a {@link HashSet}, with colliding elements so that removals
+   * shift elements back through wrapped probe sequences.
+   */
+  @Test
+  public void randomOperations() {
+    LongHashSet set = new LongHashSet();
+    Set<Long> expected = new HashSet<>();
+    Random random = new Random(42);
+    for (int i = 0; i < 100000; i++) {
+      long element = (random.nextInt(2000) << 24) | random.nextInt(4);
+      switch (random.nextInt(3)) {
+        case 0:
+          Assert.assertEquals(expected.remove(element), set.remove(element));
+          break;
+        case 1:
+          Assert.assertEquals(expected.contains(element), set.contains(element));
+          break;
+        default:
+          Assert.assertEquals(expected.add(element), set.add(element));
+          break;
+      }
+      Assert.assertEquals(expected.size(), set.size());
+    }
+    Assert.assertEquals(expected, new HashSet<>(set));
+    set.clear();
+    Assert.assertTrue(set.isEmpty());
+    Assert.assertFalse(set.iterator().hasNext());
+  }
+}
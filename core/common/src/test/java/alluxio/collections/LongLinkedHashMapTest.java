@@ -0,0 +1,120 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.collections;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Unit tests for {@link LongLinkedHashMap}.
+ */
+public final class LongLinkedHashMapTest {
+
+  /**
+   * Tests that entries keep the order they were added in, unless moved to the tail.
+   */
+  @Test
+  public void order() {
+    LongLinkedHashMap<String> map = new LongLinkedHashMap<>();
+    map.put(3L, "c");
+    map.put(1L, "a");
+    map.put(2L, "b");
+    // Updating an entry keeps its position.
+    Assert.assertEquals("c", map.put(3L, "cc"));
+    Assert.assertEquals(ImmutableList.of(3L, 1L, 2L), Lists.newArrayList(map.keyIterator()));
+
+    Assert.assertTrue(map.moveToTail(3L));
+    Assert.assertFalse(map.moveToTail(4L));
+    Assert.assertNull(map.putLast(4L, "d"));
+    map.putLast(1L, "a");
+    Assert.assertEquals(ImmutableList.of(2L, 3L, 4L, 1L), Lists.newArrayList(map.keyIterator()));
+    Assert.assertEquals(2L, map.firstKey());
+    Assert.assertEquals("cc", map.get(3L));
+    Assert.assertEquals(4, map.size());
+  }
+
+  /**
+   * Tests removing entries through the iterator.
+   */
+  @Test
+  public void iteratorRemove() {
+    LongLinkedHashMap<String> map = new LongLinkedHashMap<>();
+    for (long key = 0; key < 100; key++) {
+      map.put(key, Long.toString(key));
+    }
+    Iterator<Long> iterator = map.keyIterator();
+    while (iterator.hasNext()) {
+      if (iterator.next() % 2 == 0) {
+        iterator.remove();
+      }
+    }
+    Assert.assertEquals(50, map.size());
+    long expected = 1;
+    for (Iterator<Long> it = map.keyIterator(); it.hasNext(); expected += 2) {
+      Assert.assertEquals(expected, (long) it.next());
+    }
+  }
+
+  /**
+   * Tests that the iterator fails when the map is modified outside of it.
+   */
+  @Test(expected = ConcurrentModificationException.class)
+  public void iteratorConcurrentModification() {
+    LongLinkedHashMap<String> map = new LongLinkedHashMap<>();
+    map.put(1L, "a");
+    map.put(2L, "b");
+    Iterator<Long> iterator = map.keyIterator();
+    iterator.next();
+    map.moveToTail(1L);
+    iterator.next();
+  }
+
+  /**
+   * Tests random operations against an access ordered {@link LinkedHashMap}, with colliding keys
+   * so that removals shift entries back through wrapped probe sequences.
+   */
+  @Test
+  public void randomOperations() {
+    LongLinkedHashMap<Long> map = new LongLinkedHashMap<>();
+    Map<Long, Long> expected = new LinkedHashMap<>(16, 0.75f, true);
+    Random random = new Random(42);
+    for (int i = 0; i < 100000; i++) {
+      long key = (random.nextInt(2000) << 24) | random.nextInt(4);
+      switch (random.nextInt(4)) {
+        case 0:
+          Assert.assertEquals(expected.remove(key), map.remove(key));
+          break;
+        case 1:
+          Assert.assertEquals(expected.get(key), map.get(key));
+          map.moveToTail(key);
+          break;
+        default:
+          Assert.assertEquals(expected.put(key, (long) i), map.putLast(key, (long) i));
+          break;
+      }
+      Assert.assertEquals(expected.size(), map.size());
+    }
+    Assert.assertEquals(Lists.newArrayList(expected.keySet()),
+        Lists.newArrayList(map.keyIterator()));
+    map.clear();
+    Assert.assertTrue(map.isEmpty());
+    Assert.assertFalse(map.keyIterator().hasNext());
+  }
+}
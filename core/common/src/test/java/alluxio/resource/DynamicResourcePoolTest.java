@@ -19,9 +19,15 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -236,4 +242,72 @@ public final class DynamicResourcePoolTest {
     Resource resource2 = pool.acquire(2, TimeUnit.SECONDS);
     Assert.assertEquals(0, resource2.mInteger.intValue());
   }
+
+  /**
+   * Tests that threads acquiring and releasing resources concurrently never share a resource or
+   * exceed the max capacity.
+   */
+  @Test
+  public void concurrentAcquireRelease() throws Exception {
+    final int maxCapacity = 4;
+    final TestPool pool =
+        new TestPool(DynamicResourcePool.Options.defaultOptions().setMaxCapacity(maxCapacity));
+    final Set<Resource> acquired =
+        Collections.newSetFromMap(new ConcurrentHashMap<Resource, Boolean>());
+    ExecutorService executor = Executors.newFixedThreadPool(16);
+    try {
+      List<Future<Void>> futures = new ArrayList<>();
+      for (int t = 0; t < 16; t++) {
+        futures.add(executor.submit(new Callable<Void>() {
+          @Override
+          public Void call() throws Exception {
+            for (int i = 0; i < 10000; i++) {
+              Resource resource = pool.acquire();
+              Assert.assertTrue(acquired.add(resource));
+              Assert.assertTrue(pool.size() <= maxCapacity);
+              Assert.assertTrue(acquired.remove(resource));
+              pool.release(resource);
+            }
+            return null;
+          }
+        }));
+      }
+      for (Future<Void> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    Assert.assertTrue(pool.size() <= maxCapacity);
+  }
+
+  /**
+   * Tests that a thread waiting for a full pool creates a resource once an unhealthy resource is
+   * removed.
+   */
+  @Test
+  public void acquireAfterUnhealthyResourceRemoved() throws Exception {
+    final TestPool pool =
+        new TestPool(DynamicResourcePool.Options.defaultOptions().setMaxCapacity(1));
+    Resource resource = pool.acquire();
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<Resource> waiter = executor.submit(new Callable<Resource>() {
+        @Override
+        public Resource call() throws Exception {
+          return pool.acquire(1, TimeUnit.MINUTES);
+        }
+      });
+      // Give the thread time to wait for the full pool.
+      Thread.sleep(1000);
+      Assert.assertFalse(waiter.isDone());
+      resource.setInteger(Resource.INVALID_RESOURCE);
+      pool.release(resource);
+      // The unhealthy resource is removed, which frees the capacity for a new one.
+      Assert.assertEquals(1, waiter.get(1, TimeUnit.MINUTES).mInteger.intValue());
+    } finally {
+      executor.shutdownNow();
+    }
+    Assert.assertEquals(1, pool.size());
+  }
 }
@@ -0,0 +1,64 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link UfsStatus} class.
+ */
+public final class UfsStatusTest {
+  /**
+   * Tests getting the fields of a file status.
+   */
+  @Test
+  public void fileFields() {
+    UfsStatus status = new UfsStatus("file", false, 10L, 20L, 30L, "owner", "group", (short) 0644);
+
+    Assert.assertEquals("file", status.getName());
+    Assert.assertTrue(status.isFile());
+    Assert.assertFalse(status.isDirectory());
+    Assert.assertEquals(10L, status.getContentLength());
+    Assert.assertEquals(20L, status.getLastModifiedTimeMs());
+    Assert.assertEquals(30L, status.getBlockSizeBytes());
+    Assert.assertEquals("owner", status.getOwner());
+    Assert.assertEquals("group", status.getGroup());
+    Assert.assertEquals((short) 0644, status.getMode());
+  }
+
+  /**
+   * Tests getting the fields of a directory status.
+   */
+  @Test
+  public void directoryFields() {
+    UfsStatus status = new UfsStatus("dir", true, 0L, -1L, 0L, "owner", "group", (short) 0755);
+
+    Assert.assertEquals("dir", status.getName());
+    Assert.assertTrue(status.isDirectory());
+    Assert.assertFalse(status.isFile());
+  }
+
+  /**
+   * Tests that statuses with the same attributes are equal, and differ otherwise.
+   */
+  @Test
+  public void equalsTest() {
+    UfsStatus status = new UfsStatus("file", false, 10L, 20L, 30L, "owner", "group", (short) 0644);
+    UfsStatus same = new UfsStatus("file", false, 10L, 20L, 30L, "owner", "group", (short) 0644);
+    UfsStatus other = new UfsStatus("file", false, 11L, 20L, 30L, "owner", "group", (short) 0644);
+
+    Assert.assertEquals(status, same);
+    Assert.assertEquals(status.hashCode(), same.hashCode());
+    Assert.assertNotEquals(status, other);
+  }
+}
@@ -168,6 +168,10 @@ public abstract class AbstractMaster implements Master {
     LOG.info("{}: Stopping {} master.", getName(), mIsLeader ? "leader" : "standby");
     if (mIsLeader) {
       // Stop this leader master.
+      if (mAsyncJournalWriter != null) {
+        mAsyncJournalWriter.close();
+        mAsyncJournalWriter = null;
+      }
       if (mJournalWriter != null) {
         mJournalWriter.close();
         mJournalWriter = null;
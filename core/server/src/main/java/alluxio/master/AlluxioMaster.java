@@ -23,6 +23,7 @@ import alluxio.master.journal.ReadWriteJournal;
 import alluxio.master.lineage.LineageMaster;
 import alluxio.metrics.MetricsSystem;
 import alluxio.metrics.sink.MetricsServlet;
+import alluxio.security.authentication.AuthType;
 import alluxio.security.authentication.TransportProvider;
 import alluxio.underfs.UnderFileSystem;
 import alluxio.util.CommonUtils;
@@ -42,7 +43,10 @@ import org.apache.thrift.protocol.TBinaryProtocol;
 import org.apache.thrift.server.TServer;
 import org.apache.thrift.server.TThreadPoolServer;
 import org.apache.thrift.server.TThreadPoolServer.Args;
+import org.apache.thrift.server.TThreadedSelectorServer;
+import org.apache.thrift.transport.TNonblockingServerSocket;
 import org.apache.thrift.transport.TServerSocket;
+import org.apache.thrift.transport.TServerTransport;
 import org.apache.thrift.transport.TTransportFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -107,8 +111,14 @@ public class AlluxioMaster implements Server {
   /** The port for the RPC server. */
   private final int mPort;
 
-  /** The socket for thrift rpc server. */
-  private final TServerSocket mTServerSocket;
+  /** The type of the thrift rpc server. */
+  private final RpcServerType mRpcServerType;
+
+  /**
+   * The socket for thrift rpc server, a {@link TNonblockingServerSocket} for the
+   * {@link RpcServerType#THREADED_SELECTOR} server, or a {@link TServerSocket} otherwise.
+   */
+  private final TServerTransport mTServerSocket;
 
   /** The transport provider to create thrift server transport. */
   private final TransportProvider mTransportProvider;
@@ -218,6 +228,11 @@ public class AlluxioMaster implements Server {
     Preconditions.checkArgument(mMaxWorkerThreads >= mMinWorkerThreads,
         PropertyKey.MASTER_WORKER_THREADS_MAX + " can not be less than "
             + PropertyKey.MASTER_WORKER_THREADS_MIN);
+    mRpcServerType = Configuration.getEnum(PropertyKey.MASTER_RPC_SERVER_TYPE, RpcServerType.class);
+    Preconditions.checkArgument(mRpcServerType != RpcServerType.THREADED_SELECTOR
+        || Configuration.getEnum(PropertyKey.SECURITY_AUTHENTICATION_TYPE, AuthType.class)
+        == AuthType.NOSASL, "The " + RpcServerType.THREADED_SELECTOR + " RPC server requires "
+        + PropertyKey.SECURITY_AUTHENTICATION_TYPE + " to be " + AuthType.NOSASL);
 
     try {
       // Extract the port from the generated socket.
@@ -232,8 +247,12 @@ public class AlluxioMaster implements Server {
             "Alluxio master web port is only allowed to be zero in test mode.");
       }
       mTransportProvider = TransportProvider.Factory.create();
-      mTServerSocket =
-          new TServerSocket(NetworkAddressUtils.getBindAddress(ServiceType.MASTER_RPC));
+      InetSocketAddress bindAddress = NetworkAddressUtils.getBindAddress(ServiceType.MASTER_RPC);
+      if (mRpcServerType == RpcServerType.THREADED_SELECTOR) {
+        mTServerSocket = new TNonblockingServerSocket(bindAddress);
+      } else {
+        mTServerSocket = new TServerSocket(bindAddress);
+      }
       mPort = NetworkAddressUtils.getThriftPort(mTServerSocket);
       // reset master rpc port
       Configuration.set(PropertyKey.MASTER_RPC_PORT, Integer.toString(mPort));
@@ -471,15 +490,25 @@ public class AlluxioMaster implements Server {
     }
 
     // create master thrift service with the multiplexed processor.
-    Args args = new TThreadPoolServer.Args(mTServerSocket).maxWorkerThreads(mMaxWorkerThreads)
-        .minWorkerThreads(mMinWorkerThreads).processor(processor).transportFactory(transportFactory)
-        .protocolFactory(new TBinaryProtocol.Factory(true, true));
-    if (Configuration.getBoolean(PropertyKey.TEST_MODE)) {
-      args.stopTimeoutVal = 0;
+    int stopTimeoutSeconds = Configuration.getBoolean(PropertyKey.TEST_MODE)
+        ? 0 : Constants.THRIFT_STOP_TIMEOUT_SECONDS;
+    if (mRpcServerType == RpcServerType.THREADED_SELECTOR) {
+      // The selector server reads whole frames itself, so the transport of each request must not
+      // be framed again.
+      TThreadedSelectorServer.Args args =
+          new TThreadedSelectorServer.Args((TNonblockingServerSocket) mTServerSocket)
+              .selectorThreads(Configuration.getInt(PropertyKey.MASTER_RPC_SELECTOR_THREADS))
+              .workerThreads(mMaxWorkerThreads).stopTimeoutVal(stopTimeoutSeconds)
+              .processor(processor).protocolFactory(new TBinaryProtocol.Factory(true, true));
+      mMasterServiceServer = new TThreadedSelectorServer(args);
     } else {
-      args.stopTimeoutVal = Constants.THRIFT_STOP_TIMEOUT_SECONDS;
+      Args args = new TThreadPoolServer.Args((TServerSocket) mTServerSocket)
+          .maxWorkerThreads(mMaxWorkerThreads).minWorkerThreads(mMinWorkerThreads)
+          .processor(processor).transportFactory(transportFactory)
+          .protocolFactory(new TBinaryProtocol.Factory(true, true));
+      args.stopTimeoutVal = stopTimeoutSeconds;
+      mMasterServiceServer = new TThreadPoolServer(args);
     }
-    mMasterServiceServer = new TThreadPoolServer(args);
 
     // start thrift rpc server
     mIsServing = true;
@@ -0,0 +1,31 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * The types of the thrift RPC server of the master.
+ */
+@ThreadSafe
+public enum RpcServerType {
+  /**
+   * A server with a blocking socket, which dedicates a thread of its pool to each open connection.
+   */
+  THREAD_POOL,
+  /**
+   * A non-blocking server, in which a few selector threads serve all the open connections and a
+   * fixed pool of threads handles the requests. It only supports framed transports, i.e. the
+   * {@link alluxio.security.authentication.AuthType#NOSASL} authentication type.
+   */
+  THREADED_SELECTOR,
+}
@@ -19,6 +19,7 @@ import alluxio.StorageTierAssoc;
 import alluxio.clock.Clock;
 import alluxio.clock.SystemClock;
 import alluxio.collections.ConcurrentHashSet;
+import alluxio.collections.ConcurrentLongHashMap;
 import alluxio.collections.IndexDefinition;
 import alluxio.collections.IndexedSet;
 import alluxio.exception.BlockInfoException;
@@ -54,9 +55,9 @@ import alluxio.wire.WorkerNetAddress;
 
 import com.codahale.metrics.Gauge;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
 import com.google.protobuf.Message;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
-import io.netty.util.internal.chmv8.ConcurrentHashMapV8;
 import org.apache.thrift.TProcessor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -126,9 +127,12 @@ public final class BlockMaster extends AbstractMaster implements ContainerIdGene
    */
 
   // Block metadata management.
-  /** Blocks on all workers, including active and lost blocks. This state must be journaled. */
-  private final ConcurrentHashMapV8<Long, MasterBlockInfo> mBlocks =
-      new ConcurrentHashMapV8<>(8192, 0.90f, 64);
+  /**
+   * Blocks on all workers, including active and lost blocks. This state must be journaled. The
+   * block ids are not boxed, since the map may hold hundreds of millions of blocks.
+   */
+  private final ConcurrentLongHashMap<MasterBlockInfo> mBlocks =
+      new ConcurrentLongHashMap<>(8192, 256);
   /** Keeps track of blocks which are no longer in Alluxio storage. */
   private final ConcurrentHashSet<Long> mLostBlocks = new ConcurrentHashSet<>(64, 0.90f, 64);
 
@@ -158,6 +162,9 @@ public final class BlockMaster extends AbstractMaster implements ContainerIdGene
   @SuppressFBWarnings("URF_UNREAD_FIELD")
   private Future<?> mLostWorkerDetectionService;
 
+  /** Processes the block reports of the workers, created when the master starts. */
+  private BlockReportProcessor mBlockReportProcessor;
+
   /** The next worker id to use. This state must be journaled. */
   private final AtomicLong mNextWorkerId = new AtomicLong(1);
 
@@ -258,6 +265,8 @@ public final class BlockMaster extends AbstractMaster implements ContainerIdGene
   public void start(boolean isLeader) throws IOException {
     super.start(isLeader);
     mGlobalStorageTierAssoc = new MasterStorageTierAssoc();
+    mBlockReportProcessor = new BlockReportProcessor(
+        isLeader ? Configuration.getInt(PropertyKey.MASTER_WORKER_BLOCK_REPORT_THREADS) : 0);
     if (isLeader) {
       mLostWorkerDetectionService = getExecutorService().submit(new HeartbeatThread(
           HeartbeatContext.MASTER_LOST_WORKER_DETECTION, new LostWorkerDetectionHeartbeatExecutor(),
@@ -265,6 +274,14 @@ public final class BlockMaster extends AbstractMaster implements ContainerIdGene
     }
   }
 
+  @Override
+  public void stop() throws IOException {
+    if (mBlockReportProcessor != null) {
+      mBlockReportProcessor.close();
+    }
+    super.stop();
+  }
+
   /**
    * @return the number of workers
    */
@@ -656,14 +673,19 @@ public final class BlockMaster extends AbstractMaster implements ContainerIdGene
       blocks.addAll(blockIds);
     }
 
+    List<Long> removedBlocks;
+    long generation;
     synchronized (worker) {
       worker.updateLastUpdatedTimeMs();
       // Detect any lost blocks on this worker.
-      Set<Long> removedBlocks = worker.register(mGlobalStorageTierAssoc, storageTiers,
-          totalBytesOnTiers, usedBytesOnTiers, blocks);
-      processWorkerRemovedBlocks(worker, removedBlocks);
-      processWorkerAddedBlocks(worker, currentBlocksOnTiers);
+      removedBlocks = new ArrayList<>(worker.register(mGlobalStorageTierAssoc, storageTiers,
+          totalBytesOnTiers, usedBytesOnTiers, blocks));
+      generation = worker.getGeneration();
     }
+    // The locations of the blocks are updated in batches, which do not hold the lock of the worker
+    // for the whole report.
+    mBlockReportProcessor.processFullReport(workerId,
+        createBlockReportBatches(worker, generation, removedBlocks, currentBlocksOnTiers));
 
     LOG.info("registerWorker(): {}", worker);
   }
@@ -685,13 +707,15 @@ public final class BlockMaster extends AbstractMaster implements ContainerIdGene
       return new Command(CommandType.Register, new ArrayList<Long>());
     }
 
+    long generation;
     synchronized (worker) {
-      // Technically, 'worker' should be confirmed to still be in the data structure. Lost worker
-      // detection can remove it. However, we are intentionally ignoring this race, since the worker
-      // will just re-register regardless.
-      processWorkerRemovedBlocks(worker, removedBlockIds);
-      processWorkerAddedBlocks(worker, addedBlocksOnTiers);
+      generation = worker.getGeneration();
+    }
+    // The report waits behind the pending full report of the worker, if any.
+    mBlockReportProcessor.processIncrementalReport(workerId,
+        createBlockReportBatches(worker, generation, removedBlockIds, addedBlocksOnTiers));
 
+    synchronized (worker) {
       worker.updateUsedBytes(usedBytesOnTiers);
       worker.updateLastUpdatedTimeMs();
 
@@ -703,6 +727,67 @@ public final class BlockMaster extends AbstractMaster implements ContainerIdGene
     }
   }
 
+  /**
+   * Splits a block report of a worker into batches of at most
+   * {@link PropertyKey#MASTER_WORKER_BLOCK_REPORT_BATCH_SIZE} blocks, each of which updates the
+   * worker and block metadata while holding the lock of the worker. A batch does nothing if the
+   * worker is lost or registers again by the time it runs, since the worker reports all its blocks
+   * again when it comes back, and that report supersedes the batch.
+   *
+   * @param worker the worker metadata object
+   * @param generation the generation of the worker when the report was received
+   * @param removedBlockIds a list of block ids removed from the worker
+   * @param addedBlocksOnTiers a mapping from tier alias to the block ids added to the worker
+   * @return the batches of the report
+   */
+  private List<Runnable> createBlockReportBatches(final MasterWorkerInfo worker,
+      final long generation, List<Long> removedBlockIds,
+      Map<String, List<Long>> addedBlocksOnTiers) {
+    int batchSize = Configuration.getInt(PropertyKey.MASTER_WORKER_BLOCK_REPORT_BATCH_SIZE);
+    List<Runnable> batches = new ArrayList<>();
+    for (final List<Long> removedBatch : Lists.partition(removedBlockIds, batchSize)) {
+      batches.add(new Runnable() {
+        @Override
+        public void run() {
+          synchronized (worker) {
+            if (isCurrent(worker, generation)) {
+              processWorkerRemovedBlocks(worker, removedBatch);
+            }
+          }
+        }
+      });
+    }
+    for (Map.Entry<String, List<Long>> entry : addedBlocksOnTiers.entrySet()) {
+      for (List<Long> addedBatch : Lists.partition(entry.getValue(), batchSize)) {
+        final Map<String, List<Long>> addedBatchOnTier =
+            Collections.singletonMap(entry.getKey(), addedBatch);
+        batches.add(new Runnable() {
+          @Override
+          public void run() {
+            synchronized (worker) {
+              if (isCurrent(worker, generation)) {
+                processWorkerAddedBlocks(worker, addedBatchOnTier);
+              }
+            }
+          }
+        });
+      }
+    }
+    return batches;
+  }
+
+  /**
+   * @param worker the worker metadata object
+   * @param generation the generation of the worker when a block report was received
+   * @return whether the worker is in communication with the master and has not registered again
+   *         or been lost since the report was received
+   */
+  @GuardedBy("worker")
+  private boolean isCurrent(MasterWorkerInfo worker, long generation) {
+    return worker.getGeneration() == generation
+        && mWorkers.getFirstByField(ID_INDEX, worker.getId()) == worker;
+  }
+
   /**
    * Updates the worker and block metadata for blocks removed from a worker.
    *
@@ -832,6 +917,7 @@ public final class BlockMaster extends AbstractMaster implements ContainerIdGene
           if (lastUpdate > masterWorkerTimeoutMs) {
             LOG.error("The worker {} timed out after {}ms without a heartbeat!", worker,
                 lastUpdate);
+            worker.markLost();
             mLostWorkers.add(worker);
             mWorkers.remove(worker);
             processWorkerRemovedBlocks(worker, worker.getBlocks());
@@ -886,6 +972,16 @@ public final class BlockMaster extends AbstractMaster implements ContainerIdGene
               return master.getWorkerCount();
             }
           });
+
+      MetricsSystem.registerGaugeIfAbsent(
+          MetricsSystem.getMasterMetricName("WorkerBlockReportBatchesPending"),
+          new Gauge<Integer>() {
+            @Override
+            public Integer getValue() {
+              BlockReportProcessor processor = master.mBlockReportProcessor;
+              return processor == null ? 0 : processor.getNumPendingBatches();
+            }
+          });
     }
 
     private Metrics() {} // prevent instantiation
@@ -0,0 +1,212 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.block;
+
+import alluxio.Constants;
+import alluxio.util.ThreadFactoryUtils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Processes the block reports of workers as batches, in the order they are submitted for each
+ * worker.
+ *
+ * With background threads, a full report is processed by a bounded pool of threads, so that a
+ * storm of registering workers does not take the RPC threads the clients need. The threads take
+ * one batch of a worker at a time and put the worker back at the end of the line, so that the
+ * workers make progress together. An incremental report of a worker which has no pending batches
+ * is processed on the calling thread, otherwise its batches wait behind the pending ones.
+ *
+ * Without background threads, every report is processed on the calling thread.
+ */
+@ThreadSafe
+final class BlockReportProcessor implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(Constants.LOGGER_TYPE);
+
+  /** The executor processing the full reports, or null to process them on the calling thread. */
+  private final ExecutorService mExecutor;
+  /**
+   * Mapping from worker id to the batches of the worker, for the workers whose batches are run by
+   * a thread or submitted to the executor.
+   */
+  @GuardedBy("this")
+  private final Map<Long, WorkerBatches> mWorkerBatches = new HashMap<>();
+  @GuardedBy("this")
+  private int mNumPendingBatches;
+
+  /**
+   * Creates a new instance of {@link BlockReportProcessor}.
+   *
+   * @param numThreads the number of threads processing the full reports, or 0 to process them on
+   *        the calling thread
+   */
+  BlockReportProcessor(int numThreads) {
+    mExecutor = numThreads > 0 ? Executors.newFixedThreadPool(numThreads,
+        ThreadFactoryUtils.build("block-report-processor-%d", true)) : null;
+  }
+
+  /**
+   * Processes the batches of a full report of a worker in the background.
+   *
+   * @param workerId the id of the worker
+   * @param batches the batches of the report
+   */
+  void processFullReport(long workerId, List<Runnable> batches) {
+    if (batches.isEmpty()) {
+      return;
+    }
+    if (mExecutor == null) {
+      runAll(batches);
+      return;
+    }
+    synchronized (this) {
+      WorkerBatches workerBatches = mWorkerBatches.get(workerId);
+      if (workerBatches != null) {
+        // The batches are run after the pending ones.
+        workerBatches.add(batches);
+        return;
+      }
+      workerBatches = new WorkerBatches(workerId);
+      mWorkerBatches.put(workerId, workerBatches);
+      workerBatches.add(batches);
+      mExecutor.execute(workerBatches);
+    }
+  }
+
+  /**
+   * Processes the batches of an incremental report of a worker on the calling thread, unless
+   * batches of the worker are pending.
+   *
+   * @param workerId the id of the worker
+   * @param batches the batches of the report
+   */
+  void processIncrementalReport(long workerId, List<Runnable> batches) {
+    if (batches.isEmpty()) {
+      return;
+    }
+    if (mExecutor == null) {
+      runAll(batches);
+      return;
+    }
+    WorkerBatches workerBatches;
+    synchronized (this) {
+      workerBatches = mWorkerBatches.get(workerId);
+      if (workerBatches != null) {
+        workerBatches.add(batches);
+        return;
+      }
+      // Hold the worker while the batches run, so that a report submitted meanwhile waits.
+      workerBatches = new WorkerBatches(workerId);
+      mWorkerBatches.put(workerId, workerBatches);
+    }
+    try {
+      runAll(batches);
+    } finally {
+      workerBatches.reschedule();
+    }
+  }
+
+  /**
+   * @return the number of batches waiting to be processed in the background
+   */
+  synchronized int getNumPendingBatches() {
+    return mNumPendingBatches;
+  }
+
+  @Override
+  public void close() {
+    if (mExecutor != null) {
+      mExecutor.shutdownNow();
+    }
+  }
+
+  private static void runAll(List<Runnable> batches) {
+    for (Runnable batch : batches) {
+      batch.run();
+    }
+  }
+
+  /**
+   * The pending batches of a worker, which run one at a time.
+   */
+  private final class WorkerBatches implements Runnable {
+    private final long mWorkerId;
+    @GuardedBy("BlockReportProcessor.this")
+    private final Queue<Runnable> mBatches = new ArrayDeque<>();
+
+    /**
+     * Creates a new instance of {@link WorkerBatches}.
+     *
+     * @param workerId the id of the worker
+     */
+    WorkerBatches(long workerId) {
+      mWorkerId = workerId;
+    }
+
+    @GuardedBy("BlockReportProcessor.this")
+    void add(List<Runnable> batches) {
+      mBatches.addAll(batches);
+      mNumPendingBatches += batches.size();
+    }
+
+    @Override
+    public void run() {
+      Runnable batch;
+      synchronized (BlockReportProcessor.this) {
+        batch = mBatches.poll();
+        if (batch != null) {
+          mNumPendingBatches--;
+        }
+      }
+      if (batch != null) {
+        try {
+          batch.run();
+        } catch (RuntimeException e) {
+          LOG.error("Failed to process a block report batch of worker {}", mWorkerId, e);
+        }
+      }
+      reschedule();
+    }
+
+    /**
+     * Submits this to the executor again if batches are pending, or lets the worker go.
+     */
+    void reschedule() {
+      synchronized (BlockReportProcessor.this) {
+        if (mBatches.isEmpty()) {
+          mWorkerBatches.remove(mWorkerId);
+          return;
+        }
+      }
+      try {
+        // Put the worker back at the end of the line.
+        mExecutor.execute(this);
+      } catch (RejectedExecutionException e) {
+        LOG.debug("Dropped the block report batches of worker {} on shutdown", mWorkerId);
+      }
+    }
+  }
+}
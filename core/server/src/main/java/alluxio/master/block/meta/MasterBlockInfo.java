@@ -18,10 +18,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 
 import javax.annotation.concurrent.NotThreadSafe;
@@ -33,6 +32,8 @@ import javax.annotation.concurrent.NotThreadSafe;
 @NotThreadSafe
 public final class MasterBlockInfo {
   private static final Logger LOG = LoggerFactory.getLogger(Constants.LOGGER_TYPE);
+  private static final long[] EMPTY_WORKER_IDS = new long[0];
+  private static final String[] EMPTY_TIER_ALIASES = new String[0];
 
   /** The id of the block. */
   private final long mBlockId;
@@ -42,8 +43,15 @@ public final class MasterBlockInfo {
    */
   private long mLength;
 
-  /** Maps from the worker id to the tier alias the block is on. */
-  private final Map<Long, String> mWorkerIdToAlias;
+  /**
+   * The ids of the workers the block is on, followed by unused slots. The locations are kept in
+   * arrays rather than a map, since a block has few of them and the master tracks many blocks.
+   */
+  private long[] mWorkerIds;
+  /** The tier aliases the block is on, at the index of the id of their worker. */
+  private String[] mTierAliases;
+  /** The number of locations of the block. */
+  private int mNumLocations;
 
   /**
    * Creates a new instance of {@link MasterBlockInfo}.
@@ -56,7 +64,8 @@ public final class MasterBlockInfo {
     mBlockId = blockId;
     mLength = length;
 
-    mWorkerIdToAlias = new HashMap<>();
+    mWorkerIds = EMPTY_WORKER_IDS;
+    mTierAliases = EMPTY_TIER_ALIASES;
   }
 
   /**
@@ -94,7 +103,18 @@ public final class MasterBlockInfo {
    * @param tierAlias the alias of the storage tier that this block is on
    */
   public void addWorker(long workerId, String tierAlias) {
-    mWorkerIdToAlias.put(workerId, tierAlias);
+    int index = indexOf(workerId);
+    if (index >= 0) {
+      mTierAliases[index] = tierAlias;
+      return;
+    }
+    if (mNumLocations == mWorkerIds.length) {
+      mWorkerIds = Arrays.copyOf(mWorkerIds, mNumLocations + 1);
+      mTierAliases = Arrays.copyOf(mTierAliases, mNumLocations + 1);
+    }
+    mWorkerIds[mNumLocations] = workerId;
+    mTierAliases[mNumLocations] = tierAlias;
+    mNumLocations++;
   }
 
   /**
@@ -103,21 +123,33 @@ public final class MasterBlockInfo {
    * @param workerId the worker id to remove
    */
   public void removeWorker(long workerId) {
-    mWorkerIdToAlias.remove(workerId);
+    int index = indexOf(workerId);
+    if (index < 0) {
+      return;
+    }
+    mNumLocations--;
+    // Move the last location to the removed one, the order of the locations does not matter.
+    mWorkerIds[index] = mWorkerIds[mNumLocations];
+    mTierAliases[index] = mTierAliases[mNumLocations];
+    mTierAliases[mNumLocations] = null;
   }
 
   /**
-   * @return all the worker ids that this block is on
+   * @return a copy of all the worker ids that this block is on
    */
   public Set<Long> getWorkers() {
-    return Collections.unmodifiableSet(mWorkerIdToAlias.keySet());
+    Set<Long> workers = new HashSet<>(mNumLocations);
+    for (int i = 0; i < mNumLocations; i++) {
+      workers.add(mWorkerIds[i]);
+    }
+    return workers;
   }
 
   /**
    * @return the number of workers this block is on
    */
   public int getNumLocations() {
-    return mWorkerIdToAlias.size();
+    return mNumLocations;
   }
 
   /**
@@ -126,9 +158,9 @@ public final class MasterBlockInfo {
    * @return the net addresses of the workers
    */
   public List<MasterBlockLocation> getBlockLocations() {
-    List<MasterBlockLocation> ret = new ArrayList<>(mWorkerIdToAlias.size());
-    for (Map.Entry<Long, String> entry : mWorkerIdToAlias.entrySet()) {
-      ret.add(new MasterBlockLocation(entry.getKey(), entry.getValue()));
+    List<MasterBlockLocation> ret = new ArrayList<>(mNumLocations);
+    for (int i = 0; i < mNumLocations; i++) {
+      ret.add(new MasterBlockLocation(mWorkerIds[i], mTierAliases[i]));
     }
     return ret;
   }
@@ -138,14 +170,27 @@ public final class MasterBlockInfo {
    * @return true if the block is in the given tier
    */
   public boolean isInTier(String targetTierAlias) {
-    for (String tierAlias : mWorkerIdToAlias.values()) {
-      if (tierAlias.equals(targetTierAlias)) {
+    for (int i = 0; i < mNumLocations; i++) {
+      if (mTierAliases[i].equals(targetTierAlias)) {
         return true;
       }
     }
     return false;
   }
 
+  /**
+   * @param workerId the worker id
+   * @return the index of the location on the worker, or -1 if the block is not on the worker
+   */
+  private int indexOf(long workerId) {
+    for (int i = 0; i < mNumLocations; i++) {
+      if (mWorkerIds[i] == workerId) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
   @Override
   public String toString() {
     return Objects.toStringHelper(this).add("blockId", mBlockId).add("length", mLength).toString();
@@ -14,6 +14,7 @@ package alluxio.master.block.meta;
 import alluxio.Constants;
 import alluxio.StorageTierAssoc;
 import alluxio.WorkerStorageTierAssoc;
+import alluxio.collections.LongHashSet;
 import alluxio.util.CommonUtils;
 import alluxio.wire.WorkerInfo;
 import alluxio.wire.WorkerNetAddress;
@@ -54,6 +55,8 @@ public final class MasterWorkerInfo {
   private long mLastUpdatedTimeMs;
   /** If true, the worker is considered registered. */
   private boolean mIsRegistered;
+  /** Incremented each time the worker registers or is lost, to tell its block reports apart. */
+  private long mGeneration;
   /** Worker-specific mapping between storage tier alias and storage tier ordinal. */
   private StorageTierAssoc mStorageTierAssoc;
   /** Mapping from storage tier alias to total bytes. */
@@ -62,9 +65,9 @@ public final class MasterWorkerInfo {
   private Map<String, Long> mUsedBytesOnTiers;
 
   /** ids of blocks the worker contains. */
-  private Set<Long> mBlocks;
+  private LongHashSet mBlocks;
   /** ids of blocks the worker should remove. */
-  private Set<Long> mToRemoveBlocks;
+  private LongHashSet mToRemoveBlocks;
 
   /**
    * Creates a new instance of {@link MasterWorkerInfo}.
@@ -81,8 +84,8 @@ public final class MasterWorkerInfo {
     mStorageTierAssoc = null;
     mTotalBytesOnTiers = new HashMap<>();
     mUsedBytesOnTiers = new HashMap<>();
-    mBlocks = new HashSet<>();
-    mToRemoveBlocks = new HashSet<>();
+    mBlocks = new LongHashSet();
+    mToRemoveBlocks = new LongHashSet();
   }
 
   /**
@@ -145,9 +148,10 @@ public final class MasterWorkerInfo {
     }
 
     // Set the new block information.
-    mBlocks = new HashSet<>(blocks);
+    mBlocks = new LongHashSet(blocks);
 
     mIsRegistered = true;
+    mGeneration++;
     return removedBlocks;
   }
 
@@ -218,6 +222,13 @@ public final class MasterWorkerInfo {
     return mId;
   }
 
+  /**
+   * @return the generation of the worker, which changes when the worker registers or is lost
+   */
+  public long getGeneration() {
+    return mGeneration;
+  }
+
   /**
    * @return the last updated time of the worker in ms
    */
@@ -293,6 +304,13 @@ public final class MasterWorkerInfo {
         .add("lastUpdatedTimeMs", mLastUpdatedTimeMs).add("blocks", mBlocks).toString();
   }
 
+  /**
+   * Marks the worker as lost, which changes its generation.
+   */
+  public void markLost() {
+    mGeneration++;
+  }
+
   /**
    * Updates the last updated time of the worker in ms.
    */
@@ -89,6 +89,7 @@ import alluxio.thrift.FileSystemMasterClientService;
 import alluxio.thrift.FileSystemMasterWorkerService;
 import alluxio.thrift.PersistCommandOptions;
 import alluxio.thrift.PersistFile;
+import alluxio.underfs.UfsStatus;
 import alluxio.underfs.UnderFileSystem;
 import alluxio.underfs.options.MkdirsOptions;
 import alluxio.util.CommonUtils;
@@ -317,7 +318,9 @@ public final class FileSystemMaster extends AbstractMaster {
       InodeLastModificationTimeEntry modTimeEntry = (InodeLastModificationTimeEntry) innerEntry;
       try (LockedInodePath inodePath = mInodeTree.lockFullInodePath(modTimeEntry.getId(),
           InodeTree.LockMode.WRITE)) {
-        inodePath.getInode().setLastModificationTimeMs(modTimeEntry.getLastModificationTimeMs());
+        // Concurrent creates in a directory may journal its modification time out of order
+        inodePath.getInode()
+            .updateLastModificationTimeMs(modTimeEntry.getLastModificationTimeMs());
       } catch (FileDoesNotExistException e) {
         throw new RuntimeException(e);
       }
@@ -772,7 +775,8 @@ public final class FileSystemMaster extends AbstractMaster {
           BlockInfoException, IOException, FileDoesNotExistException {
     Metrics.CREATE_FILES_OPS.inc();
     long flushCounter = AsyncJournalWriter.INVALID_FLUSH_COUNTER;
-    try (LockedInodePath inodePath = mInodeTree.lockInodePath(path, InodeTree.LockMode.WRITE)) {
+    try (LockedInodePath inodePath =
+        mInodeTree.lockInodePath(path, InodeTree.LockMode.WRITE_CREATE)) {
       mPermissionChecker.checkParentPermission(Mode.Bits.WRITE, inodePath);
       mMountTable.checkUnderWritableMountPoint(path);
       flushCounter = createFileAndJournal(inodePath, options);
@@ -1284,7 +1288,8 @@ public final class FileSystemMaster extends AbstractMaster {
     LOG.debug("createDirectory {} ", path);
     Metrics.CREATE_DIRECTORIES_OPS.inc();
     long flushCounter = AsyncJournalWriter.INVALID_FLUSH_COUNTER;
-    try (LockedInodePath inodePath = mInodeTree.lockInodePath(path, InodeTree.LockMode.WRITE)) {
+    try (LockedInodePath inodePath =
+        mInodeTree.lockInodePath(path, InodeTree.LockMode.WRITE_CREATE)) {
       mPermissionChecker.checkParentPermission(Mode.Bits.WRITE, inodePath);
       mMountTable.checkUnderWritableMountPoint(path);
       flushCounter = createDirectoryAndJournal(inodePath, options);
@@ -1844,27 +1849,38 @@ public final class FileSystemMaster extends AbstractMaster {
     AlluxioURI ufsUri = resolution.getUri();
     UnderFileSystem ufs = resolution.getUfs();
     try {
-      if (!ufs.exists(ufsUri.toString())) {
+      // Statuses of children are known from listing their parent, so only query otherwise
+      UfsStatus ufsStatus = options.getUfsStatus();
+      if (ufsStatus == null) {
+        ufsStatus = ufs.getStatus(ufsUri.toString());
+      }
+      if (ufsStatus == null) {
         InodeDirectory inode = (InodeDirectory) inodePath.getInode();
         inode.setDirectChildrenLoaded(true);
         return AsyncJournalWriter.INVALID_FLUSH_COUNTER;
       }
-      if (ufs.isFile(ufsUri.toString())) {
-        return loadFileMetadataAndJournal(inodePath, resolution, options);
+      if (ufsStatus.isFile()) {
+        return loadFileMetadataAndJournal(inodePath, resolution, ufsStatus, options);
       } else {
-        long counter = loadDirectoryMetadataAndJournal(inodePath, options);
+        long counter = loadDirectoryMetadataAndJournal(inodePath,
+            LoadMetadataOptions.defaults().setCreateAncestors(options.isCreateAncestors())
+                .setUfsStatus(ufsStatus));
         InodeDirectory inode = (InodeDirectory) inodePath.getInode();
 
         if (options.isLoadDirectChildren()) {
-          String[] files = ufs.list(ufsUri.getPath());
+          // List the children with all of their attributes, so that loading each child does not
+          // need to query the UFS again
+          UfsStatus[] children = ufs.listStatus(ufsUri.getPath());
           LoadMetadataOptions loadMetadataOptions = LoadMetadataOptions.defaults();
           loadMetadataOptions.setLoadDirectChildren(false).setCreateAncestors(false);
 
-          for (String file : files) {
+          for (UfsStatus child : children) {
+            String file = child.getName();
             if (PathUtils.isTemporaryFileName(file) || inode.getChild(file) != null) {
               continue;
             }
             TempInodePathForChild tempInodePath = new TempInodePathForChild(inodePath, file);
+            loadMetadataOptions.setUfsStatus(child);
             counter = loadMetadataAndJournal(tempInodePath, loadMetadataOptions);
           }
           inode.setDirectChildrenLoaded(true);
@@ -1882,6 +1898,7 @@ public final class FileSystemMaster extends AbstractMaster {
    *
    * @param inodePath the path for which metadata should be loaded
    * @param resolution the UFS resolution of path
+   * @param ufsStatus the status of the file in the UFS
    * @param options the load metadata options
    * @return the file id of the loaded file
    * @throws BlockInfoException if an invalid block size is encountered
@@ -1893,25 +1910,20 @@ public final class FileSystemMaster extends AbstractMaster {
    * @throws IOException if an I/O error occurs
    */
   private long loadFileMetadataAndJournal(LockedInodePath inodePath,
-      MountTable.Resolution resolution, LoadMetadataOptions options)
+      MountTable.Resolution resolution, UfsStatus ufsStatus, LoadMetadataOptions options)
       throws IOException, BlockInfoException, FileDoesNotExistException, InvalidPathException,
       AccessControlException, FileAlreadyCompletedException, InvalidFileSizeException, IOException {
     if (inodePath.fullPathExists()) {
       return AsyncJournalWriter.INVALID_FLUSH_COUNTER;
     }
-    AlluxioURI ufsUri = resolution.getUri();
-    UnderFileSystem ufs = resolution.getUfs();
-
-    long ufsBlockSizeByte = ufs.getBlockSizeByte(ufsUri.toString());
-    long ufsLength = ufs.getFileSize(ufsUri.toString());
+    long ufsBlockSizeByte = ufsStatus.getBlockSizeBytes();
+    long ufsLength = ufsStatus.getContentLength();
     // Metadata loaded from UFS has no TTL set.
     CreateFileOptions createFileOptions =
         CreateFileOptions.defaults().setBlockSizeBytes(ufsBlockSizeByte)
             .setRecursive(options.isCreateAncestors()).setMetadataLoad(true).setPersisted(true);
-    String ufsOwner = ufs.getOwner(ufsUri.toString());
-    String ufsGroup = ufs.getGroup(ufsUri.toString());
-    short ufsMode = ufs.getMode(ufsUri.toString());
-    Permission permission = new Permission(ufsOwner, ufsGroup, ufsMode);
+    Permission permission =
+        new Permission(ufsStatus.getOwner(), ufsStatus.getGroup(), ufsStatus.getMode());
     if (resolution.getShared()) {
       Mode mode = permission.getMode();
       mode.setOtherBits(mode.getOtherBits().or(mode.getOwnerBits()));
@@ -1931,8 +1943,8 @@ public final class FileSystemMaster extends AbstractMaster {
   }
 
   /**
-   * Loads metadata for the directory identified by the given path from UFS into Alluxio. This does
-   * not actually require looking at the UFS path.
+   * Loads metadata for the directory identified by the given path from UFS into Alluxio. The UFS
+   * is only queried for the directory's attributes if they are not already set in the options.
    * It is a no-op if the directory exists and is persisted.
    *
    * @param inodePath the path for which metadata should be loaded
@@ -1957,12 +1969,17 @@ public final class FileSystemMaster extends AbstractMaster {
             .setPersisted(true).setRecursive(options.isCreateAncestors()).setMetadataLoad(true)
             .setAllowExists(true);
     MountTable.Resolution resolution = mMountTable.resolve(inodePath.getUri());
-    AlluxioURI ufsUri = resolution.getUri();
-    UnderFileSystem ufs = resolution.getUfs();
-    String ufsOwner = ufs.getOwner(ufsUri.toString());
-    String ufsGroup = ufs.getGroup(ufsUri.toString());
-    short ufsMode = ufs.getMode(ufsUri.toString());
-    Permission permission = new Permission(ufsOwner, ufsGroup, ufsMode);
+    UfsStatus ufsStatus = options.getUfsStatus();
+    if (ufsStatus == null) {
+      AlluxioURI ufsUri = resolution.getUri();
+      ufsStatus = resolution.getUfs().getStatus(ufsUri.toString());
+      if (ufsStatus == null) {
+        throw new FileDoesNotExistException(
+            ExceptionMessage.UFS_PATH_DOES_NOT_EXIST.getMessage(ufsUri));
+      }
+    }
+    Permission permission =
+        new Permission(ufsStatus.getOwner(), ufsStatus.getGroup(), ufsStatus.getMode());
     if (resolution.getShared()) {
       Mode mode = permission.getMode();
       mode.setOtherBits(mode.getOtherBits().or(mode.getOwnerBits()));
@@ -17,7 +17,11 @@ import alluxio.security.authorization.Permission;
 import alluxio.wire.FileInfo;
 
 import com.google.common.base.Objects;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import javax.annotation.concurrent.NotThreadSafe;
@@ -26,25 +30,36 @@ import javax.annotation.concurrent.NotThreadSafe;
  * {@link Inode} is an abstract class, with information shared by all types of Inodes. The inode
  * must be locked ({@link #lockRead()} or {@link #lockWrite()}) before methods are called.
  *
+ * Since the master keeps every inode in memory, inodes are kept compact: owner and group names are
+ * shared between inodes, and the lock is only allocated while some thread holds or waits for it.
+ *
  * @param <T> the concrete subclass of this object
  */
 @NotThreadSafe
 public abstract class Inode<T> implements JournalEntryRepresentable {
+  /** Owner and group names, shared by all inodes, since there are far fewer users than inodes. */
+  private static final Interner<String> USER_NAMES = Interners.newWeakInterner();
+  /** Publishes and frees the lock of an inode. */
+  @SuppressWarnings("rawtypes")
+  private static final AtomicReferenceFieldUpdater<Inode, InodeLock> LOCK_UPDATER =
+      AtomicReferenceFieldUpdater.newUpdater(Inode.class, InodeLock.class, "mLock");
+
   protected long mCreationTimeMs;
   private boolean mDeleted;
   protected final boolean mDirectory;
   protected final long mId;
-  private long mLastModificationTimeMs;
+  private volatile long mLastModificationTimeMs;
   private String mName;
   private long mParentId;
-  private PersistenceState mPersistenceState;
+  private volatile PersistenceState mPersistenceState;
   private boolean mPinned;
 
   private String mOwner;
   private String mGroup;
   private short mMode;
 
-  private final ReentrantReadWriteLock mLock;
+  /** The lock of this inode, or null if no thread holds or is waiting for the lock. */
+  private volatile InodeLock mLock;
 
   protected Inode(long id, boolean isDirectory) {
     mCreationTimeMs = System.currentTimeMillis();
@@ -59,7 +74,7 @@ public abstract class Inode<T> implements JournalEntryRepresentable {
     mPersistenceState = PersistenceState.NOT_PERSISTED;
     mPinned = false;
     mOwner = "";
-    mLock = new ReentrantReadWriteLock();
+    mLock = null;
   }
 
   /**
@@ -183,7 +198,7 @@ public abstract class Inode<T> implements JournalEntryRepresentable {
    * @return the updated object
    */
   public T setGroup(String group) {
-    mGroup = group;
+    mGroup = internUserName(group);
     return getThis();
   }
 
@@ -196,6 +211,21 @@ public abstract class Inode<T> implements JournalEntryRepresentable {
     return getThis();
   }
 
+  /**
+   * Updates the last modification time if the given time is later. Unlike
+   * {@link #setLastModificationTimeMs(long)}, this may be called while only holding the read lock,
+   * e.g. when children are created concurrently in a directory.
+   *
+   * @param lastModificationTimeMs the last modification time to update to
+   * @return the updated object
+   */
+  public synchronized T updateLastModificationTimeMs(long lastModificationTimeMs) {
+    if (lastModificationTimeMs > mLastModificationTimeMs) {
+      mLastModificationTimeMs = lastModificationTimeMs;
+    }
+    return getThis();
+  }
+
   /**
    * @param name the name to use
    * @return the updated object
@@ -229,8 +259,8 @@ public abstract class Inode<T> implements JournalEntryRepresentable {
    */
   public T setPermission(Permission permission) {
     if (permission != null) {
-      mOwner = permission.getOwner();
-      mGroup = permission.getGroup();
+      mOwner = internUserName(permission.getOwner());
+      mGroup = internUserName(permission.getGroup());
       mMode = permission.getMode().toShort();
     }
     return getThis();
@@ -259,7 +289,7 @@ public abstract class Inode<T> implements JournalEntryRepresentable {
    * @return the updated object
    */
   public T setOwner(String owner) {
-    mOwner = owner;
+    mOwner = internUserName(owner);
     return getThis();
   }
 
@@ -276,11 +306,44 @@ public abstract class Inode<T> implements JournalEntryRepresentable {
    */
   protected abstract T getThis();
 
+  /**
+   * Registers the calling thread as a user of the lock, allocating the lock if needed. Each call
+   * must be matched by a call to {@link #releaseLock()} once the thread has unlocked.
+   *
+   * @return the lock of this inode
+   */
+  private InodeLock acquireLock() {
+    while (true) {
+      InodeLock lock = mLock;
+      if (lock == null) {
+        InodeLock newLock = new InodeLock();
+        if (LOCK_UPDATER.compareAndSet(this, null, newLock)) {
+          return newLock;
+        }
+      } else if (lock.addUser()) {
+        return lock;
+      } else {
+        // The last user of the lock is freeing it, help it do so before allocating a new lock.
+        LOCK_UPDATER.compareAndSet(this, lock, null);
+      }
+    }
+  }
+
+  /**
+   * Unregisters the calling thread as a user of the lock, freeing the lock if it has no users left.
+   */
+  private void releaseLock() {
+    InodeLock lock = mLock;
+    if (lock.removeUser()) {
+      LOCK_UPDATER.compareAndSet(this, lock, null);
+    }
+  }
+
   /**
    * Acquires the read lock for this inode.
    */
   public void lockRead() {
-    mLock.readLock().lock();
+    acquireLock().readLock().lock();
   }
 
   /**
@@ -288,13 +351,14 @@ public abstract class Inode<T> implements JournalEntryRepresentable {
    */
   public void unlockRead() {
     mLock.readLock().unlock();
+    releaseLock();
   }
 
   /**
    * Acquires the write lock for this inode.
    */
   public void lockWrite() {
-    mLock.writeLock().lock();
+    acquireLock().writeLock().lock();
   }
 
   /**
@@ -302,20 +366,31 @@ public abstract class Inode<T> implements JournalEntryRepresentable {
    */
   public void unlockWrite() {
     mLock.writeLock().unlock();
+    releaseLock();
   }
 
   /**
    * @return returns true if the current thread holds a write lock on this inode, false otherwise
    */
   public boolean isWriteLocked() {
-    return mLock.isWriteLockedByCurrentThread();
+    ReentrantReadWriteLock lock = mLock;
+    return lock != null && lock.isWriteLockedByCurrentThread();
   }
 
   /**
    * @return returns true if the current thread holds a read lock on this inode, false otherwise
    */
   public boolean isReadLocked() {
-    return mLock.getReadHoldCount() > 0;
+    ReentrantReadWriteLock lock = mLock;
+    return lock != null && lock.getReadHoldCount() > 0;
+  }
+
+  /**
+   * @param name an owner or group name
+   * @return the shared instance of the name
+   */
+  private static String internUserName(String name) {
+    return name == null ? null : USER_NAMES.intern(name);
   }
 
   @Override
@@ -342,4 +417,39 @@ public abstract class Inode<T> implements JournalEntryRepresentable {
         .add("lastModificationTimeMs", mLastModificationTimeMs).add("owner", mOwner)
         .add("group", mGroup).add("permission", mMode);
   }
+
+  /**
+   * The lock of an inode, with the number of threads holding or waiting for it. Once the number
+   * of users drops to zero the lock is freed, and it is never used again.
+   */
+  private static final class InodeLock extends ReentrantReadWriteLock {
+    private static final long serialVersionUID = 1L;
+    private static final AtomicIntegerFieldUpdater<InodeLock> USERS_UPDATER =
+        AtomicIntegerFieldUpdater.newUpdater(InodeLock.class, "mUsers");
+
+    /** The number of users of the lock, starting with the thread allocating it. */
+    private volatile int mUsers = 1;
+
+    /**
+     * @return true if the calling thread is registered as a user, false if the lock is freed
+     */
+    boolean addUser() {
+      while (true) {
+        int users = mUsers;
+        if (users == 0) {
+          return false;
+        }
+        if (USERS_UPDATER.compareAndSet(this, users, users + 1)) {
+          return true;
+        }
+      }
+    }
+
+    /**
+     * @return true if the calling thread was the last user, so the lock is to be freed
+     */
+    boolean removeUser() {
+      return USERS_UPDATER.decrementAndGet(this) == 0;
+    }
+  }
 }
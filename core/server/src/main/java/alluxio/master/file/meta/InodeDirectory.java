@@ -66,10 +66,11 @@ public final class InodeDirectory extends Inode<InodeDirectory> {
   }
 
   /**
-   * Adds the given inode to the set of children.
+   * Adds the given inode to the set of children. The child is added atomically, so this may be
+   * called while only holding the read lock, to create children concurrently.
    *
    * @param child the inode to add
-   * @return true if inode was added successfully, false otherwise
+   * @return true if inode was added successfully, false if there is another child with its name
    */
   public boolean addChild(Inode<?> child) {
     return mChildren.add(child);
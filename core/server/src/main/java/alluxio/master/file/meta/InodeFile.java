@@ -26,8 +26,10 @@ import alluxio.wire.FileInfo;
 import alluxio.wire.TtlAction;
 
 import com.google.common.base.Preconditions;
+import com.google.common.primitives.Longs;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import javax.annotation.concurrent.NotThreadSafe;
@@ -38,7 +40,10 @@ import javax.annotation.concurrent.NotThreadSafe;
  */
 @NotThreadSafe
 public final class InodeFile extends Inode<InodeFile> {
-  private List<Long> mBlocks;
+  private static final long[] NO_BLOCKS = new long[0];
+
+  /** The block ids, kept unboxed since most of the master's memory is spent on files. */
+  private long[] mBlocks;
   private long mBlockContainerId;
   private long mBlockSizeBytes;
   private boolean mCacheable;
@@ -54,7 +59,7 @@ public final class InodeFile extends Inode<InodeFile> {
    */
   private InodeFile(long blockContainerId) {
     super(BlockId.createBlockId(blockContainerId, BlockId.getMaxSequenceNumber()), false);
-    mBlocks = new ArrayList<>(1);
+    mBlocks = NO_BLOCKS;
     mBlockContainerId = blockContainerId;
     mBlockSizeBytes = 0;
     mCacheable = false;
@@ -101,7 +106,7 @@ public final class InodeFile extends Inode<InodeFile> {
    * Resets the file inode.
    */
   public void reset() {
-    mBlocks = new ArrayList<>();
+    mBlocks = NO_BLOCKS;
     mLength = 0;
     mCompleted = false;
     mCacheable = false;
@@ -111,7 +116,7 @@ public final class InodeFile extends Inode<InodeFile> {
    * @return a duplication of all the block ids of the file
    */
   public List<Long> getBlockIds() {
-    return new ArrayList<>(mBlocks);
+    return new ArrayList<>(Longs.asList(mBlocks));
   }
 
   /**
@@ -132,12 +137,13 @@ public final class InodeFile extends Inode<InodeFile> {
    * @return the id of a new block of the file
    */
   public long getNewBlockId() {
-    long blockId = BlockId.createBlockId(mBlockContainerId, mBlocks.size());
+    long blockId = BlockId.createBlockId(mBlockContainerId, mBlocks.length);
     // TODO(gene): Check for max block sequence number, and sanity check the sequence number.
     // TODO(gene): Check isComplete?
     // TODO(gene): This will not work with existing lineage implementation, since a new writer will
     // not be able to get the same block ids (to write the same block ids).
-    mBlocks.add(blockId);
+    mBlocks = Arrays.copyOf(mBlocks, mBlocks.length + 1);
+    mBlocks[mBlocks.length - 1] = blockId;
     return blockId;
   }
 
@@ -149,11 +155,11 @@ public final class InodeFile extends Inode<InodeFile> {
    * @throws BlockInfoException if the index of the block is out of range
    */
   public long getBlockIdByIndex(int blockIndex) throws BlockInfoException {
-    if (blockIndex < 0 || blockIndex >= mBlocks.size()) {
+    if (blockIndex < 0 || blockIndex >= mBlocks.length) {
       throw new BlockInfoException(
-          "blockIndex " + blockIndex + " is out of range. File blocks: " + mBlocks.size());
+          "blockIndex " + blockIndex + " is out of range. File blocks: " + mBlocks.length);
     }
-    return mBlocks.get(blockIndex);
+    return mBlocks[blockIndex];
   }
 
   /**
@@ -185,7 +191,7 @@ public final class InodeFile extends Inode<InodeFile> {
    * @return the updated object
    */
   public InodeFile setBlockIds(List<Long> blockIds) {
-    mBlocks = new ArrayList<>(Preconditions.checkNotNull(blockIds));
+    mBlocks = Longs.toArray(Preconditions.checkNotNull(blockIds));
     return getThis();
   }
 
@@ -255,23 +261,27 @@ public final class InodeFile extends Inode<InodeFile> {
     }
     mCompleted = true;
     mLength = length;
-    mBlocks.clear();
     if (length == Constants.UNKNOWN_SIZE) {
       // TODO(gpang): allow unknown files to be multiple blocks.
       // If the length of the file is unknown, only allow 1 block to the file.
       length = mBlockSizeBytes;
     }
+    int numBlocks = 0;
     while (length > 0) {
       long blockSize = Math.min(length, mBlockSizeBytes);
-      getNewBlockId();
+      numBlocks++;
       length -= blockSize;
     }
+    mBlocks = numBlocks == 0 ? NO_BLOCKS : new long[numBlocks];
+    for (int i = 0; i < numBlocks; i++) {
+      mBlocks[i] = BlockId.createBlockId(mBlockContainerId, i);
+    }
   }
 
   @Override
   public String toString() {
     return toStringHelper()
-        .add("blocks", mBlocks)
+        .add("blocks", Arrays.toString(mBlocks))
         .add("blockContainerId", mBlockContainerId)
         .add("blockSizeBytes", mBlockSizeBytes)
         .add("cacheable", mCacheable)
@@ -340,7 +350,7 @@ public final class InodeFile extends Inode<InodeFile> {
   @Override
   public JournalEntry toJournalEntry() {
     InodeFileEntry inodeFile = InodeFileEntry.newBuilder()
-        .addAllBlocks(getBlockIds())
+        .addAllBlocks(Longs.asList(mBlocks))
         .setBlockSizeBytes(getBlockSizeBytes())
         .setCacheable(isCacheable())
         .setCompleted(isCompleted())
@@ -89,6 +89,13 @@ public final class InodeTree implements JournalCheckpointStreamable {
      * If the target inode does not exist, this mode behaves like WRITE.
      */
     WRITE_PARENT,
+    /**
+     * Read lock the entire path, but write lock the target inode. If the target inode does not
+     * exist but its parent does, the parent is only read locked, so that children with different
+     * names can be created in the same directory concurrently. Otherwise, this mode behaves like
+     * WRITE.
+     */
+    WRITE_CREATE,
   }
 
   private static final Logger LOG = LoggerFactory.getLogger(Constants.LOGGER_TYPE);
@@ -307,7 +314,7 @@ public final class InodeTree implements JournalCheckpointStreamable {
     boolean isTargetOrParent = (index >= length - 2);
 
     if (isTargetOrParent && lockMode == LockMode.WRITE_PARENT
-        || isTarget && lockMode == LockMode.WRITE) {
+        || isTarget && (lockMode == LockMode.WRITE || lockMode == LockMode.WRITE_CREATE)) {
       return LockMode.WRITE;
     }
     return LockMode.READ;
@@ -541,13 +548,6 @@ public final class InodeTree implements JournalCheckpointStreamable {
       toPersistDirectories.addAll(traversalResult.getNonPersisted());
       existingNonPersisted.addAll(traversalResult.getNonPersisted());
     }
-    if (pathIndex < (pathComponents.length - 1) || currentInodeDirectory.getChild(name) == null) {
-      // (1) There are components in parent paths that need to be created. Or
-      // (2) The last component of the path needs to be created.
-      // In these two cases, the last traversed Inode will be modified.
-      modifiedInodes.add(currentInodeDirectory);
-    }
-
     // TODO(gpang): We may not have to lock the newly created inodes if the last inode is write
     // locked. This could improve performance. Further investigation is needed.
 
@@ -570,6 +570,10 @@ public final class InodeTree implements JournalCheckpointStreamable {
       dir.setPinned(currentInodeDirectory.isPinned());
       currentInodeDirectory.addChild(dir);
       currentInodeDirectory.setLastModificationTimeMs(options.getOperationTimeMs());
+      if (currentInodeDirectory == ancestorInode) {
+        // The last traversed Inode is modified when components in parent paths are created.
+        modifiedInodes.add(currentInodeDirectory);
+      }
       if (options.isPersisted()) {
         toPersistDirectories.add(dir);
       }
@@ -578,55 +582,67 @@ public final class InodeTree implements JournalCheckpointStreamable {
       currentInodeDirectory = dir;
     }
 
-    // Create the final path component. First we need to make sure that there isn't already a file
-    // here with that name. If there is an existing file that is a directory and we're creating a
-    // directory, update persistence property of the directories if needed, otherwise, throw
+    // Create the final path component. If the parent is only read locked (see
+    // LockMode#WRITE_CREATE), other threads may be adding and deleting children concurrently, so
+    // the new inode is added atomically and only published once it is write locked. If there is
+    // already an inode with that name and it is a directory and we're creating a directory, update
+    // persistence property of the directories if needed, otherwise, throw
     // FileAlreadyExistsException unless options.allowExists is true.
-    Inode<?> lastInode = currentInodeDirectory.getChild(name);
-    if (lastInode != null) {
-      // Lock the last inode before subsequent operations, and add it to the lock group.
-      lockList.lockWrite(lastInode);
-
-      if (lastInode.isDirectory() && options instanceof CreateDirectoryOptions && !lastInode
-          .isPersisted() && options.isPersisted()) {
-        // The final path component already exists and is not persisted, so it should be added
-        // to the non-persisted Inodes of traversalResult.
-        existingNonPersisted.add(lastInode);
-        toPersistDirectories.add(lastInode);
-      } else if (!lastInode.isDirectory() || !(options instanceof CreateDirectoryOptions
-          && ((CreateDirectoryOptions) options).isAllowExists())) {
-        String errorMessage = ExceptionMessage.FILE_ALREADY_EXISTS.getMessage(path);
-        LOG.error(errorMessage);
-        throw new FileAlreadyExistsException(errorMessage);
-      }
-    } else {
-      if (options instanceof CreateDirectoryOptions) {
-        CreateDirectoryOptions directoryOptions = (CreateDirectoryOptions) options;
-        lastInode = InodeDirectory.create(mDirectoryIdGenerator.getNewDirectoryId(),
-            currentInodeDirectory.getId(), name, directoryOptions);
-        // Lock the created inode before subsequent operations, and add it to the lock group.
-        lockList.lockWrite(lastInode);
-        if (directoryOptions.isPersisted()) {
-          toPersistDirectories.add(lastInode);
+    Inode<?> newInode = null;
+    Inode<?> lastInode = null;
+    while (lastInode == null) {
+      Inode<?> existingInode = currentInodeDirectory.getChild(name);
+      if (existingInode != null) {
+        // Lock the existing inode before subsequent operations, and add it to the lock group.
+        lockList.lockWrite(existingInode);
+        if (existingInode.isDeleted()) {
+          // The inode was deleted concurrently while waiting for its lock, try again.
+          lockList.unlockLast();
+          continue;
         }
-        lastInode.setPinned(currentInodeDirectory.isPinned());
-      } else if (options instanceof CreateFileOptions) {
-        CreateFileOptions fileOptions = (CreateFileOptions) options;
-        lastInode = InodeFile.create(mContainerIdGenerator.getNewContainerId(),
-            currentInodeDirectory.getId(), name, System.currentTimeMillis(), fileOptions);
-        // Lock the created inode before subsequent operations, and add it to the lock group.
-        lockList.lockWrite(lastInode);
-        if (currentInodeDirectory.isPinned()) {
-          // Update set of pinned file ids.
-          mPinnedInodeFileIds.add(lastInode.getId());
+        lastInode = existingInode;
+        existingInodeCreated(lastInode, options, path, existingNonPersisted,
+            toPersistDirectories);
+        if (pathIndex < pathComponents.length) {
+          // The traversal did not find the inode, so extend the inodePath with it.
+          extensibleInodePath.getInodes().add(lastInode);
         }
-        lastInode.setPinned(currentInodeDirectory.isPinned());
+        break;
+      }
+      if (newInode == null) {
+        if (options instanceof CreateDirectoryOptions) {
+          CreateDirectoryOptions directoryOptions = (CreateDirectoryOptions) options;
+          newInode = InodeDirectory.create(mDirectoryIdGenerator.getNewDirectoryId(),
+              currentInodeDirectory.getId(), name, directoryOptions);
+        } else if (options instanceof CreateFileOptions) {
+          CreateFileOptions fileOptions = (CreateFileOptions) options;
+          newInode = InodeFile.create(mContainerIdGenerator.getNewContainerId(),
+              currentInodeDirectory.getId(), name, System.currentTimeMillis(), fileOptions);
+        }
+        newInode.setPinned(currentInodeDirectory.isPinned());
+      }
+      // Lock the created inode before subsequent operations, and add it to the lock group.
+      lockList.lockWrite(newInode);
+      if (!currentInodeDirectory.addChild(newInode)) {
+        // Another thread created a child with the same name concurrently. That child may also be
+        // deleted concurrently, so look it up again.
+        lockList.unlockLast();
+        continue;
+      }
+      lastInode = newInode;
+      if (newInode.isFile() && newInode.isPinned()) {
+        // Update set of pinned file ids.
+        mPinnedInodeFileIds.add(newInode.getId());
+      }
+      if (newInode.isDirectory() && options.isPersisted()) {
+        toPersistDirectories.add(newInode);
+      }
+      createdInodes.add(newInode);
+      mInodes.add(newInode);
+      currentInodeDirectory.updateLastModificationTimeMs(options.getOperationTimeMs());
+      if (currentInodeDirectory == ancestorInode) {
+        modifiedInodes.add(currentInodeDirectory);
       }
-
-      createdInodes.add(lastInode);
-      mInodes.add(lastInode);
-      currentInodeDirectory.addChild(lastInode);
-      currentInodeDirectory.setLastModificationTimeMs(options.getOperationTimeMs());
     }
 
     // Persists all directories one by one rather than recursively creating necessary parent
@@ -651,6 +667,35 @@ public final class InodeTree implements JournalCheckpointStreamable {
     return new CreatePathResult(modifiedInodes, createdInodes, existingNonPersisted);
   }
 
+  /**
+   * Handles creating a path whose final component already exists. The existing inode must already
+   * be write locked, and is marked to be persisted if a persisted directory is created over a
+   * non-persisted one.
+   *
+   * @param lastInode the existing inode of the final path component
+   * @param options the options of the creation
+   * @param path the path which is created
+   * @param existingNonPersisted the existing inodes which should be journaled as persisted
+   * @param toPersistDirectories the directories to mark as persisted
+   * @throws FileAlreadyExistsException if the existing inode cannot be reused for the creation
+   */
+  private void existingInodeCreated(Inode<?> lastInode, CreatePathOptions<?> options,
+      AlluxioURI path, List<Inode<?>> existingNonPersisted, List<Inode<?>> toPersistDirectories)
+      throws FileAlreadyExistsException {
+    if (lastInode.isDirectory() && options instanceof CreateDirectoryOptions && !lastInode
+        .isPersisted() && options.isPersisted()) {
+      // The final path component already exists and is not persisted, so it should be added
+      // to the non-persisted Inodes of traversalResult.
+      existingNonPersisted.add(lastInode);
+      toPersistDirectories.add(lastInode);
+    } else if (!lastInode.isDirectory() || !(options instanceof CreateDirectoryOptions
+        && ((CreateDirectoryOptions) options).isAllowExists())) {
+      String errorMessage = ExceptionMessage.FILE_ALREADY_EXISTS.getMessage(path);
+      LOG.error(errorMessage);
+      throw new FileAlreadyExistsException(errorMessage);
+    }
+  }
+
   /**
    * Reinitializes the block size and TTL of an existing open file.
    *
@@ -721,8 +766,9 @@ public final class InodeTree implements JournalCheckpointStreamable {
       throw new FileDoesNotExistException(
           ExceptionMessage.INODE_DOES_NOT_EXIST.getMessage(inode.getParentId()));
     }
+    // The parent is only read locked, so concurrent creates may be adding children to it.
     parent.removeChild(inode);
-    parent.setLastModificationTimeMs(opTimeMs);
+    parent.updateLastModificationTimeMs(opTimeMs);
 
     mInodes.remove(inode);
     mPinnedInodeFileIds.remove(inode.getId());
@@ -1021,6 +1067,10 @@ public final class InodeTree implements JournalCheckpointStreamable {
           // If the hint is READ, the lock must be locked as READ and cannot be upgraded.
           upgradeAllowed = false;
         }
+        if (lockMode == LockMode.WRITE_CREATE && i == pathComponents.length - 1) {
+          // Only the target is missing, children are added to the read locked parent atomically.
+          upgradeAllowed = false;
+        }
         if (lockMode != LockMode.READ
             && getLockModeForComponent(i - 1, pathComponents.length, lockMode, lockHints)
             == LockMode.READ && upgradeAllowed) {
@@ -11,6 +11,8 @@
 
 package alluxio.master.file.options;
 
+import alluxio.underfs.UfsStatus;
+
 import com.google.common.base.Objects;
 
 import javax.annotation.concurrent.NotThreadSafe;
@@ -22,6 +24,7 @@ import javax.annotation.concurrent.NotThreadSafe;
 public final class LoadMetadataOptions {
   private boolean mCreateAncestors;
   private boolean mLoadDirectChildren;
+  private UfsStatus mUfsStatus;
 
   /**
    * @return the default {@link LoadMetadataOptions}
@@ -33,6 +36,7 @@ public final class LoadMetadataOptions {
   private LoadMetadataOptions() {
     mCreateAncestors = false;
     mLoadDirectChildren = false;
+    mUfsStatus = null;
   }
 
   /**
@@ -51,6 +55,13 @@ public final class LoadMetadataOptions {
     return mLoadDirectChildren;
   }
 
+  /**
+   * @return the status of the path in the under file system, if it is already known, or null
+   */
+  public UfsStatus getUfsStatus() {
+    return mUfsStatus;
+  }
+
   /**
    * Sets the recursive flag.
    *
@@ -75,6 +86,18 @@ public final class LoadMetadataOptions {
     return this;
   }
 
+  /**
+   * Sets the status of the path in the under file system. When set, it is used instead of
+   * querying the under file system again, e.g. for statuses returned by listing the parent.
+   *
+   * @param ufsStatus the status of the path in the under file system, or null if unknown
+   * @return the updated object
+   */
+  public LoadMetadataOptions setUfsStatus(UfsStatus ufsStatus) {
+    mUfsStatus = ufsStatus;
+    return this;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -85,17 +108,18 @@ public final class LoadMetadataOptions {
     }
     LoadMetadataOptions that = (LoadMetadataOptions) o;
     return Objects.equal(mCreateAncestors, that.mCreateAncestors)
-        && Objects.equal(mLoadDirectChildren, that.mLoadDirectChildren);
+        && Objects.equal(mLoadDirectChildren, that.mLoadDirectChildren)
+        && Objects.equal(mUfsStatus, that.mUfsStatus);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hashCode(mCreateAncestors, mLoadDirectChildren);
+    return Objects.hashCode(mCreateAncestors, mLoadDirectChildren, mUfsStatus);
   }
 
   @Override
   public String toString() {
     return Objects.toStringHelper(this).add("createAncestors", mCreateAncestors)
-        .add("loadDirectChildren", mLoadDirectChildren).toString();
+        .add("loadDirectChildren", mLoadDirectChildren).add("ufsStatus", mUfsStatus).toString();
   }
 }
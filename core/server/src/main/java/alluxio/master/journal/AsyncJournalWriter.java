@@ -14,21 +14,37 @@ package alluxio.master.journal;
 import alluxio.Configuration;
 import alluxio.Constants;
 import alluxio.PropertyKey;
+import alluxio.metrics.MetricsSystem;
 import alluxio.proto.journal.Journal.JournalEntry;
 
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Timer;
 import com.google.common.base.Preconditions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
 import java.util.concurrent.locks.ReentrantLock;
 
+import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
  * This enables async journal writing, as well as some batched journal flushing.
+ *
+ * By default, a thread calling {@link #flush(long)} writes and flushes the queued entries itself,
+ * while other flushing threads wait for the lock. If
+ * {@link PropertyKey#MASTER_JOURNAL_FLUSH_GROUP_COMMIT_ENABLED} is set, a dedicated flusher thread
+ * writes and flushes the entries instead, and threads calling {@link #flush(long)} only wait for
+ * their counter to be flushed. Each flush of the flusher thread commits all the entries queued
+ * while the previous flush was in progress, so a slow flush (e.g. a sync to HDFS) is shared by
+ * many RPC threads.
  */
 @ThreadSafe
 public final class AsyncJournalWriter {
@@ -36,6 +52,8 @@ public final class AsyncJournalWriter {
 
   /** An invalid journal flush counter. */
   public static final long INVALID_FLUSH_COUNTER = -1;
+  /** Maximum time the flusher thread parks while waiting for requested entries to be queued. */
+  private static final long FLUSHER_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
 
   private final JournalWriter mJournalWriter;
   private final ConcurrentLinkedQueue<JournalEntry> mQueue;
@@ -43,6 +61,8 @@ public final class AsyncJournalWriter {
   private final AtomicLong mFlushCounter;
   /** Maximum number of nanoseconds for a batch flush. */
   private final long mFlushBatchTime;
+  /** Maximum number of entries for a batch flush of the flusher thread. */
+  private final int mFlushBatchEntriesMax;
 
   /**
    * Use a {@link ReentrantLock} to guard the journal writing. Using the fairness policy seems to
@@ -50,6 +70,25 @@ public final class AsyncJournalWriter {
    */
   private final ReentrantLock mFlushLock = new ReentrantLock(true);
 
+  /** The flusher thread, or null if group commit is disabled. */
+  private final Thread mFlusherThread;
+  /** Whether the flusher thread is parked waiting for requested entries to be queued. */
+  private volatile boolean mFlusherWaiting;
+  /** Guards the state shared with the flusher thread. */
+  private final ReentrantLock mGroupCommitLock = new ReentrantLock();
+  /** Signaled when a counter which is not flushed yet is requested, or on close. */
+  private final Condition mFlushRequested = mGroupCommitLock.newCondition();
+  /** Signaled when the flusher thread has flushed a batch, failed, or exited. */
+  private final Condition mFlushed = mGroupCommitLock.newCondition();
+  /** The highest counter requested to be flushed. */
+  @GuardedBy("mGroupCommitLock")
+  private long mRequestedCounter;
+  /** The error which stopped the flusher thread, or null. */
+  @GuardedBy("mGroupCommitLock")
+  private IOException mFlushError;
+  @GuardedBy("mGroupCommitLock")
+  private boolean mClosed;
+
   /**
    * Creates a {@link AsyncJournalWriter}.
    *
@@ -63,6 +102,19 @@ public final class AsyncJournalWriter {
     // convert milliseconds to nanoseconds.
     mFlushBatchTime =
         1000000L * Configuration.getLong(PropertyKey.MASTER_JOURNAL_FLUSH_BATCH_TIME_MS);
+    mFlushBatchEntriesMax =
+        Configuration.getInt(PropertyKey.MASTER_JOURNAL_FLUSH_BATCH_ENTRIES_MAX);
+    mFlusherWaiting = false;
+    mRequestedCounter = 0;
+    mFlushError = null;
+    mClosed = false;
+    if (Configuration.getBoolean(PropertyKey.MASTER_JOURNAL_FLUSH_GROUP_COMMIT_ENABLED)) {
+      mFlusherThread = new Thread(new Flusher(), "journal-flusher");
+      mFlusherThread.setDaemon(true);
+      mFlusherThread.start();
+    } else {
+      mFlusherThread = null;
+    }
   }
 
   /**
@@ -93,6 +145,10 @@ public final class AsyncJournalWriter {
      */
     mCounter.incrementAndGet();
     mQueue.offer(entry);
+    Metrics.QUEUED_ENTRIES.incrementAndGet();
+    if (mFlusherWaiting) {
+      LockSupport.unpark(mFlusherThread);
+    }
     return mCounter.get();
   }
 
@@ -107,6 +163,10 @@ public final class AsyncJournalWriter {
     if (counter <= mFlushCounter.get()) {
       return;
     }
+    if (mFlusherThread != null) {
+      waitForFlusher(counter);
+      return;
+    }
     // Using reentrant lock, since it seems to result in higher throughput than using 'synchronized'
     mFlushLock.lock();
     try {
@@ -135,13 +195,177 @@ public final class AsyncJournalWriter {
           }
         }
       }
-      mJournalWriter.getEntryOutputStream().flush();
+      long written = flushCounter - mFlushCounter.get();
+      flushEntries(written);
       mFlushCounter.set(flushCounter);
     } finally {
       mFlushLock.unlock();
     }
   }
 
+  /**
+   * Waits until the flusher thread has flushed the specified counter.
+   *
+   * @param counter the counter to flush
+   * @throws IOException if the flusher thread failed or the writer was closed before the counter
+   *         was flushed
+   */
+  private void waitForFlusher(long counter) throws IOException {
+    mGroupCommitLock.lock();
+    try {
+      if (counter > mRequestedCounter) {
+        mRequestedCounter = counter;
+        mFlushRequested.signal();
+      }
+      while (counter > mFlushCounter.get()) {
+        if (mFlushError != null) {
+          throw new IOException("Failed to flush the journal", mFlushError);
+        }
+        if (mClosed) {
+          throw new IOException("The journal writer is closed");
+        }
+        mFlushed.awaitUninterruptibly();
+      }
+    } finally {
+      mGroupCommitLock.unlock();
+    }
+  }
+
+  /**
+   * Flushes the journal output stream, after the given number of entries were written to it.
+   *
+   * @param written the number of entries written since the last flush
+   * @throws IOException if an error occurs in flushing the journal
+   */
+  private void flushEntries(long written) throws IOException {
+    Timer.Context syncTimer = Metrics.FLUSH_TIMER.time();
+    mJournalWriter.getEntryOutputStream().flush();
+    syncTimer.stop();
+    Metrics.FLUSH_BATCH_ENTRIES.update(written);
+    Metrics.QUEUED_ENTRIES.addAndGet(-written);
+  }
+
+  /**
+   * Stops the flusher thread, if group commit is enabled. Threads waiting for counters which are
+   * not flushed yet fail with an {@link IOException}.
+   */
+  public void close() {
+    if (mFlusherThread == null) {
+      return;
+    }
+    mGroupCommitLock.lock();
+    try {
+      mClosed = true;
+      mFlushRequested.signal();
+    } finally {
+      mGroupCommitLock.unlock();
+    }
+    try {
+      mFlusherThread.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Writes and flushes batches of queued entries, whenever a counter which is not flushed yet is
+   * requested.
+   */
+  private final class Flusher implements Runnable {
+    /**
+     * Creates a new instance of {@link Flusher}.
+     */
+    private Flusher() {}
+
+    @Override
+    public void run() {
+      try {
+        long flushCounter = mFlushCounter.get();
+        while (awaitFlushRequest(flushCounter)) {
+          long startTime = System.nanoTime();
+          long written = 0;
+          // Drain the queue, up to the batch limits. If the queue is empty, the requested entries
+          // are being appended by other threads, and will be in the queue shortly.
+          while (written < mFlushBatchEntriesMax
+              && (System.nanoTime() - startTime) < mFlushBatchTime) {
+            JournalEntry entry = mQueue.poll();
+            if (entry == null) {
+              if (written > 0) {
+                break;
+              }
+              awaitEntry();
+              continue;
+            }
+            mJournalWriter.getEntryOutputStream().writeEntry(entry);
+            written++;
+          }
+          if (written == 0) {
+            continue;
+          }
+          flushEntries(written);
+          flushCounter += written;
+          mGroupCommitLock.lock();
+          try {
+            mFlushCounter.set(flushCounter);
+            mFlushed.signalAll();
+          } finally {
+            mGroupCommitLock.unlock();
+          }
+        }
+      } catch (IOException | RuntimeException e) {
+        LOG.error("Failed to flush the journal, stopping the journal flusher", e);
+        mGroupCommitLock.lock();
+        try {
+          mFlushError = e instanceof IOException ? (IOException) e : new IOException(e);
+        } finally {
+          mGroupCommitLock.unlock();
+        }
+      } finally {
+        mGroupCommitLock.lock();
+        try {
+          mClosed = true;
+          mFlushed.signalAll();
+        } finally {
+          mGroupCommitLock.unlock();
+        }
+      }
+    }
+
+    /**
+     * Parks until an entry is appended, or for at most {@link #FLUSHER_PARK_NANOS}.
+     */
+    private void awaitEntry() {
+      mFlusherWaiting = true;
+      // Checked after publishing the flag, so an entry appended before the appending thread saw
+      // the flag is not missed.
+      if (mQueue.isEmpty()) {
+        LockSupport.parkNanos(this, FLUSHER_PARK_NANOS);
+      }
+      mFlusherWaiting = false;
+    }
+
+    /**
+     * Waits until a counter greater than the flushed counter is requested.
+     *
+     * @param flushCounter the flushed counter
+     * @return true if there are entries to flush, false if the writer is closed
+     */
+    private boolean awaitFlushRequest(long flushCounter) {
+      mGroupCommitLock.lock();
+      try {
+        while (mRequestedCounter <= flushCounter) {
+          if (mClosed) {
+            return false;
+          }
+          mFlushRequested.awaitUninterruptibly();
+        }
+        return true;
+      } finally {
+        mGroupCommitLock.unlock();
+      }
+    }
+  }
+
   /**
    * Returns a flush counter that includes both specified counters. Either counter can be
    * {@link #INVALID_FLUSH_COUNTER}.
@@ -153,4 +377,34 @@ public final class AsyncJournalWriter {
   public static long getFlushCounter(long counter1, long counter2) {
     return Math.max(counter1, counter2);
   }
+
+  /**
+   * Class that contains metrics for the journal writers of all masters.
+   */
+  private static final class Metrics {
+    /** Entries appended and not flushed yet. */
+    private static final AtomicLong QUEUED_ENTRIES = createQueuedEntries();
+    /** Number of entries flushed by each journal flush. */
+    private static final Histogram FLUSH_BATCH_ENTRIES = MetricsSystem.METRIC_REGISTRY
+        .histogram(MetricsSystem.getMasterMetricName("JournalFlushBatchEntries"));
+    /** Latency of the journal flushes, i.e. of the syncs to the under storage. */
+    private static final Timer FLUSH_TIMER = MetricsSystem.masterTimer("JournalFlushTimer");
+
+    private Metrics() {} // prevent instantiation
+
+    /**
+     * @return the number of queued entries, reported by a gauge since it is a level
+     */
+    private static AtomicLong createQueuedEntries() {
+      final AtomicLong entries = new AtomicLong();
+      MetricsSystem.registerGaugeIfAbsent(
+          MetricsSystem.getMasterMetricName("JournalQueuedEntries"), new Gauge<Long>() {
+            @Override
+            public Long getValue() {
+              return entries.get();
+            }
+          });
+      return entries;
+    }
+  }
 }
@@ -23,6 +23,10 @@ import javax.annotation.concurrent.ThreadSafe;
  * To construct the full state of the master, all the entries must be applied to the checkpoint in
  * order. The entry file most recently being written to is in the base journal folder, where the
  * completed entry files are in the "completed/" sub-directory.
+ *
+ * Standby masters may also write secondary checkpoints to the "secondary/" sub-directory. A
+ * secondary checkpoint is the state of the checkpoint with the first completed logs applied, so
+ * those logs can be skipped when reading the journal. See {@link SecondaryCheckpoint}.
  */
 @ThreadSafe
 public abstract class Journal {
@@ -30,6 +34,8 @@ public abstract class Journal {
   public static final long FIRST_COMPLETED_LOG_NUMBER = 1L;
   /** The directory for completed log files, relative to the base journal directory. */
   private static final String COMPLETED_DIRECTORY = "completed/";
+  /** The directory for secondary checkpoints, relative to the base journal directory. */
+  private static final String SECONDARY_CHECKPOINT_DIRECTORY = "secondary/";
   /** The file extension for the current log file. */
   private static final String CURRENT_LOG_EXTENSION = ".out";
   /** The filename of the checkpoint file. */
@@ -93,6 +99,21 @@ public abstract class Journal {
     return getCompletedDirectory() + String.format("%s.%020d", ENTRY_LOG_FILENAME_BASE, logNumber);
   }
 
+  /**
+   * @return the directory where the secondary checkpoint files are stored
+   */
+  public String getSecondaryCheckpointDirectory() {
+    return mDirectory + SECONDARY_CHECKPOINT_DIRECTORY;
+  }
+
+  /**
+   * @param checkpoint the secondary checkpoint to get the path for
+   * @return the absolute path of the secondary checkpoint
+   */
+  public String getSecondaryCheckpointFilePath(SecondaryCheckpoint checkpoint) {
+    return getSecondaryCheckpointDirectory() + checkpoint.getFilename();
+  }
+
   /**
    * @return the {@link JournalFormatter} for this journal
    */
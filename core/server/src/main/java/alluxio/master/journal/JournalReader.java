@@ -25,7 +25,8 @@ import javax.annotation.concurrent.NotThreadSafe;
 /**
  * This class manages reading from the journal. The reading must occur in two phases:
  *
- * 1. First, the checkpoint file must be read.
+ * 1. First, the checkpoint file must be read. If a standby master has written a secondary
+ * checkpoint based on the checkpoint, the latest secondary checkpoint is read instead.
  *
  * 2. Afterwards, completed entries are read in order. Only completed logs are read, so the last log
  * currently being written is not read until it is marked as complete.
@@ -83,14 +84,39 @@ public class JournalReader {
     }
     mCheckpointOpenedTime = getCheckpointLastModifiedTimeMs();
 
-    LOG.info("Opening journal checkpoint file: {}", mCheckpointPath);
-    JournalInputStream jis =
-        mJournal.getJournalFormatter().deserialize(mUfs.open(mCheckpointPath));
+    SecondaryCheckpoint secondaryCheckpoint =
+        SecondaryCheckpoint.getLatest(mUfs, mJournal, mCheckpointOpenedTime);
+    JournalInputStream jis;
+    if (secondaryCheckpoint != null) {
+      String path = mJournal.getSecondaryCheckpointFilePath(secondaryCheckpoint);
+      LOG.info("Opening journal secondary checkpoint file: {}", path);
+      jis = mJournal.getJournalFormatter().deserialize(mUfs.open(path));
+      // The completed logs up to the log number are already applied to the secondary checkpoint.
+      mCurrentLogNumber = secondaryCheckpoint.getLogNumber() + 1;
+    } else {
+      LOG.info("Opening journal checkpoint file: {}", mCheckpointPath);
+      jis = mJournal.getJournalFormatter().deserialize(mUfs.open(mCheckpointPath));
+    }
 
     mCheckpointRead = true;
     return jis;
   }
 
+  /**
+   * Returns the secondary checkpoint for the state read so far, i.e. the checkpoint and all the
+   * completed logs returned by {@link #getNextInputStream()}.
+   *
+   * @param sequenceNumber the sequence number of the last entry read
+   * @return the secondary checkpoint for the state read so far
+   * @throws IOException if the checkpoint has not been read yet
+   */
+  public SecondaryCheckpoint getSecondaryCheckpoint(long sequenceNumber) throws IOException {
+    if (!mCheckpointRead) {
+      throw new IOException("Must read the checkpoint file before getting a secondary checkpoint.");
+    }
+    return new SecondaryCheckpoint(mCheckpointOpenedTime, mCurrentLogNumber - 1, sequenceNumber);
+  }
+
   /**
    * @return the input stream for the next completed log file. Will return null if the next
    *         completed log file does not exist yet.
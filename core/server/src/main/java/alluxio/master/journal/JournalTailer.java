@@ -13,13 +13,23 @@ package alluxio.master.journal;
 
 import alluxio.Constants;
 import alluxio.master.Master;
+import alluxio.metrics.MetricsSystem;
 import alluxio.proto.journal.Journal.JournalEntry;
+import alluxio.underfs.UnderFileSystem;
+import alluxio.util.IdUtils;
+import alluxio.util.io.PathUtils;
 
+import com.codahale.metrics.Meter;
 import com.google.common.base.Preconditions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.DataOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
 
 import javax.annotation.concurrent.NotThreadSafe;
 
@@ -37,8 +47,12 @@ public final class JournalTailer {
   private final Journal mJournal;
   /** The journal reader to read journal entries. */
   private final JournalReader mReader;
+  /** The rate of replaying log entries to the master. */
+  private final Meter mReplayedEntries;
   /** This keeps track of the latest sequence number seen in the journal entries. */
   private long mLatestSequenceNumber = 0;
+  /** The number of entries processed since the checkpoint (or secondary checkpoint). */
+  private long mEntriesSinceCheckpoint = 0;
 
   /**
    * Creates a new instance of {@link JournalTailer}.
@@ -50,6 +64,8 @@ public final class JournalTailer {
     mMaster = Preconditions.checkNotNull(master);
     mJournal = Preconditions.checkNotNull(journal);
     mReader = ((ReadOnlyJournal) mJournal).getNewReader();
+    mReplayedEntries = MetricsSystem.METRIC_REGISTRY
+        .meter(MetricsSystem.getMasterMetricName(mMaster.getName() + "JournalReplayedEntries"));
   }
 
   /**
@@ -78,6 +94,14 @@ public final class JournalTailer {
     return mLatestSequenceNumber;
   }
 
+  /**
+   * @return the number of log entries processed since the checkpoint was processed, or since the
+   *         last secondary checkpoint was written
+   */
+  public long getEntriesSinceCheckpoint() {
+    return mEntriesSinceCheckpoint;
+  }
+
   /**
    * Loads and (optionally) processes the journal checkpoint file.
    *
@@ -99,6 +123,7 @@ public final class JournalTailer {
     }
     // update the latest sequence number seen.
     mLatestSequenceNumber = is.getLatestSequenceNumber();
+    mEntriesSinceCheckpoint = 0;
     is.close();
   }
 
@@ -119,12 +144,16 @@ public final class JournalTailer {
       if (inputStream != null) {
         LOG.info("{}: Processing a completed log file.", mMaster.getName());
         JournalEntry entry;
+        long numEntries = 0;
         while ((entry = inputStream.getNextEntry()) != null) {
           mMaster.processJournalEntry(entry);
           // update the latest sequence number seen.
           mLatestSequenceNumber = inputStream.getLatestSequenceNumber();
+          numEntries++;
         }
         inputStream.close();
+        mEntriesSinceCheckpoint += numEntries;
+        mReplayedEntries.mark(numEntries);
         numFilesProcessed++;
         LOG.info("{}: Finished processing the log file.", mMaster.getName());
       } else {
@@ -135,4 +164,93 @@ public final class JournalTailer {
         mMaster.getName(), mJournal.getCheckpointFilePath());
     return numFilesProcessed;
   }
+
+  /**
+   * Writes a secondary checkpoint of the master state, i.e. of the checkpoint with all the
+   * completed log files processed so far applied. Journal readers will read the secondary
+   * checkpoint instead of the checkpoint and these log files. The master must not be modified
+   * concurrently, which is the case for a standby master, since only its journal tailer modifies
+   * it.
+   *
+   * {@link #processJournalCheckpoint(boolean)} must have been called previously, with the
+   * checkpoint applied to the master.
+   *
+   * @throws IOException if an I/O error occurs
+   */
+  public void writeSecondaryCheckpoint() throws IOException {
+    SecondaryCheckpoint checkpoint = mReader.getSecondaryCheckpoint(mLatestSequenceNumber);
+    if (checkpoint.getLogNumber() < Journal.FIRST_COMPLETED_LOG_NUMBER) {
+      // No log files were processed since the checkpoint.
+      return;
+    }
+    UnderFileSystem ufs = UnderFileSystem.get(mJournal.getDirectory());
+    String directory = mJournal.getSecondaryCheckpointDirectory();
+    if (!ufs.exists(directory)) {
+      ufs.mkdirs(directory, true);
+    }
+    String path = mJournal.getSecondaryCheckpointFilePath(checkpoint);
+    // Other standby masters may write the same secondary checkpoint concurrently, so each writes
+    // its own temporary file.
+    String tempPath = PathUtils.temporaryFileName(IdUtils.getRandomNonNegativeLong(), path);
+    LOG.info("{}: Writing secondary checkpoint file: {}", mMaster.getName(), path);
+    // All entries get the sequence number of the last processed entry, so that readers of the
+    // secondary checkpoint continue from that sequence number.
+    final long sequenceNumber = mLatestSequenceNumber;
+    final JournalFormatter formatter = mJournal.getJournalFormatter();
+    try (final DataOutputStream outputStream = new DataOutputStream(ufs.create(tempPath))) {
+      mMaster.streamToJournalCheckpoint(new JournalOutputStream() {
+        @Override
+        public void writeEntry(JournalEntry entry) throws IOException {
+          formatter.serialize(entry.toBuilder().setSequenceNumber(sequenceNumber).build(),
+              outputStream);
+        }
+
+        @Override
+        public void close() {
+          // The underlying stream is closed when the checkpoint is complete.
+        }
+
+        @Override
+        public void flush() throws IOException {
+          outputStream.flush();
+        }
+      });
+    }
+    if (!ufs.rename(tempPath, path)) {
+      throw new IOException("Failed to rename " + tempPath + " to " + path);
+    }
+    mEntriesSinceCheckpoint = 0;
+    LOG.info("{}: Finished writing secondary checkpoint file: {}", mMaster.getName(), path);
+    deleteObsoleteSecondaryCheckpoints(ufs, checkpoint);
+  }
+
+  /**
+   * Deletes the secondary checkpoints which are based on older checkpoints, and those based on the
+   * same checkpoint, except for the latest two. The previous secondary checkpoint is kept, since a
+   * reader may have just chosen it.
+   *
+   * @param ufs the under file system of the journal
+   * @param latest the latest secondary checkpoint
+   * @throws IOException if an I/O error occurs
+   */
+  private void deleteObsoleteSecondaryCheckpoints(UnderFileSystem ufs, SecondaryCheckpoint latest)
+      throws IOException {
+    List<SecondaryCheckpoint> sameBase = new ArrayList<>();
+    for (SecondaryCheckpoint checkpoint : SecondaryCheckpoint.list(ufs, mJournal)) {
+      if (checkpoint.getCheckpointTimeMs() == latest.getCheckpointTimeMs()) {
+        sameBase.add(checkpoint);
+      } else if (checkpoint.getCheckpointTimeMs() < latest.getCheckpointTimeMs()) {
+        ufs.delete(mJournal.getSecondaryCheckpointFilePath(checkpoint), false);
+      }
+    }
+    Collections.sort(sameBase, new Comparator<SecondaryCheckpoint>() {
+      @Override
+      public int compare(SecondaryCheckpoint a, SecondaryCheckpoint b) {
+        return Long.compare(b.getLogNumber(), a.getLogNumber());
+      }
+    });
+    for (int i = 2; i < sameBase.size(); i++) {
+      ufs.delete(mJournal.getSecondaryCheckpointFilePath(sameBase.get(i)), false);
+    }
+  }
 }
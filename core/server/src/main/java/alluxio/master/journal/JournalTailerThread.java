@@ -15,23 +15,37 @@ import alluxio.Configuration;
 import alluxio.Constants;
 import alluxio.PropertyKey;
 import alluxio.master.Master;
+import alluxio.metrics.MetricsSystem;
 import alluxio.util.CommonUtils;
 
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Timer;
 import com.google.common.base.Preconditions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
  * This thread continually tails the journal and applies it to the master, until the master
  * initiates the shutdown of the thread.
+ *
+ * Every {@link PropertyKey#MASTER_JOURNAL_CHECKPOINT_PERIOD_ENTRIES} processed entries, the thread
+ * writes a secondary checkpoint of the master, so that restarting masters do not need to replay
+ * these entries. Since only this thread modifies the standby master, the checkpoint is consistent,
+ * and the leader master is not affected.
  */
 @NotThreadSafe
 public final class JournalTailerThread extends Thread {
   private static final Logger LOG = LoggerFactory.getLogger(Constants.LOGGER_TYPE);
+  /** Entries processed since the last checkpoint by master name, read by the gauges. */
+  private static final ConcurrentMap<String, AtomicLong> ENTRIES_SINCE_CHECKPOINT =
+      new ConcurrentHashMap<>();
 
   /** The master to apply the journal entries to. */
   private final Master mMaster;
@@ -39,6 +53,12 @@ public final class JournalTailerThread extends Thread {
   private final Journal mJournal;
   private final int mShutdownQuietWaitTimeMs;
   private final int mJournalTailerSleepTimeMs;
+  /** The number of entries to process between secondary checkpoints, or 0 to never write them. */
+  private final long mCheckpointPeriodEntries;
+  /** Latency of writing secondary checkpoints. */
+  private final Timer mCheckpointTimer;
+  /** Entries processed since the last checkpoint. */
+  private final AtomicLong mEntriesSinceCheckpoint;
   /** This becomes true when the master initiates the shutdown. */
   private volatile boolean mInitiateShutdown = false;
 
@@ -60,6 +80,10 @@ public final class JournalTailerThread extends Thread {
         Configuration.getInt(PropertyKey.MASTER_JOURNAL_TAILER_SHUTDOWN_QUIET_WAIT_TIME_MS);
     mJournalTailerSleepTimeMs =
         Configuration.getInt(PropertyKey.MASTER_JOURNAL_TAILER_SLEEP_TIME_MS);
+    mCheckpointPeriodEntries =
+        Configuration.getLong(PropertyKey.MASTER_JOURNAL_CHECKPOINT_PERIOD_ENTRIES);
+    mCheckpointTimer = MetricsSystem.masterTimer(mMaster.getName() + "JournalCheckpoint");
+    mEntriesSinceCheckpoint = getEntriesSinceCheckpoint(mMaster.getName());
   }
 
   /**
@@ -119,6 +143,7 @@ public final class JournalTailerThread extends Thread {
         }
         LOG.info("{}: Start loading the checkpoint file.", mMaster.getName());
         mJournalTailer.processJournalCheckpoint(true);
+        updateEntriesSinceCheckpoint();
         LOG.info("{}: Checkpoint file has been loaded.", mMaster.getName());
 
         // Continually process completed log files.
@@ -126,6 +151,11 @@ public final class JournalTailerThread extends Thread {
           if (mJournalTailer.processNextJournalLogFiles() > 0) {
             // Reset the shutdown timer.
             waitForShutdownStart = -1;
+            updateEntriesSinceCheckpoint();
+            if (mCheckpointPeriodEntries > 0 && mJournalTailer.isValid()
+                && mJournalTailer.getEntriesSinceCheckpoint() >= mCheckpointPeriodEntries) {
+              writeSecondaryCheckpoint();
+            }
           } else {
             if (mInitiateShutdown) {
               if (waitForShutdownStart == -1) {
@@ -155,4 +185,51 @@ public final class JournalTailerThread extends Thread {
     LOG.info("{}: Journal tailer has been shutdown.", mMaster.getName());
     mStopped = true;
   }
+
+  /**
+   * Writes a secondary checkpoint of the master. A failure is logged, and the checkpoint is retried
+   * after the next log file is processed.
+   */
+  private void writeSecondaryCheckpoint() {
+    Timer.Context timer = mCheckpointTimer.time();
+    try {
+      mJournalTailer.writeSecondaryCheckpoint();
+      timer.stop();
+    } catch (IOException e) {
+      LOG.error("{}: Failed to write a secondary checkpoint", mMaster.getName(), e);
+    }
+    updateEntriesSinceCheckpoint();
+  }
+
+  /**
+   * Updates the metric of the entries processed since the last checkpoint.
+   */
+  private void updateEntriesSinceCheckpoint() {
+    mEntriesSinceCheckpoint.set(mJournalTailer.getEntriesSinceCheckpoint());
+  }
+
+  /**
+   * Gets the number of entries processed since the last checkpoint of a master, registering the
+   * gauge which reports it the first time. The number is shared by the tailer threads of the
+   * master, since a new thread is created every time the master becomes a standby master.
+   *
+   * @param masterName the name of the master
+   * @return the number of entries processed since the last checkpoint
+   */
+  private static AtomicLong getEntriesSinceCheckpoint(String masterName) {
+    final AtomicLong entries = new AtomicLong();
+    AtomicLong existing = ENTRIES_SINCE_CHECKPOINT.putIfAbsent(masterName, entries);
+    if (existing != null) {
+      return existing;
+    }
+    MetricsSystem.registerGaugeIfAbsent(
+        MetricsSystem.getMasterMetricName(masterName + "JournalEntriesSinceCheckpoint"),
+        new Gauge<Long>() {
+          @Override
+          public Long getValue() {
+            return entries.get();
+          }
+        });
+    return entries;
+  }
 }
@@ -284,6 +284,13 @@ public final class JournalWriter {
       // The checkpoint already reflects the information in the completed logs.
       deleteCompletedLogs();
 
+      // Secondary checkpoints are based on the previous checkpoint, so they are obsolete.
+      String secondaryCheckpointDirectory = mJournal.getSecondaryCheckpointDirectory();
+      if (mUfs.exists(secondaryCheckpointDirectory)) {
+        LOG.info("Deleting secondary checkpoints: {}", secondaryCheckpointDirectory);
+        mUfs.delete(secondaryCheckpointDirectory, true);
+      }
+
       // Consider the current log to be complete.
       completeCurrentLog();
 
@@ -0,0 +1,175 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.journal;
+
+import alluxio.proto.journal.Journal.JournalEntry;
+
+import com.google.common.base.Preconditions;
+import com.google.common.io.ByteStreams;
+import com.google.protobuf.CodedInputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A {@link JournalInputStream} for length delimited protocol buffer entries, which parses the
+ * entries on an executor ahead of the reader. The reading thread only splits the stream into
+ * batches of serialized entries, which are parsed concurrently, and returns the parsed entries in
+ * the order of the stream.
+ */
+@NotThreadSafe
+final class PipelinedJournalInputStream implements JournalInputStream {
+  /** The number of entries parsed by a single task. */
+  static final int BATCH_ENTRIES = 256;
+
+  private final InputStream mInputStream;
+  private final ExecutorService mExecutor;
+  /** The maximum number of batches being parsed ahead of the reader. */
+  private final int mMaxBatches;
+  /** The batches being parsed, in the order of the stream. */
+  private final Deque<Future<List<JournalEntry>>> mBatches = new ArrayDeque<>();
+
+  /** The entries of the current batch which are not returned yet. */
+  private Iterator<JournalEntry> mEntries = Collections.emptyIterator();
+  /** True if the end of the underlying stream is reached. */
+  private boolean mEndOfStream = false;
+  private long mLatestSequenceNumber;
+
+  /**
+   * Creates a new instance of {@link PipelinedJournalInputStream}.
+   *
+   * @param inputStream the input stream of length delimited entries
+   * @param executor the executor to parse the entries with
+   * @param maxBatches the maximum number of batches being parsed ahead of the reader
+   */
+  PipelinedJournalInputStream(InputStream inputStream, ExecutorService executor,
+      int maxBatches) {
+    Preconditions.checkArgument(maxBatches > 0, "maxBatches must be positive");
+    mInputStream = Preconditions.checkNotNull(inputStream);
+    mExecutor = Preconditions.checkNotNull(executor);
+    mMaxBatches = maxBatches;
+  }
+
+  @Override
+  public JournalEntry getNextEntry() throws IOException {
+    while (!mEntries.hasNext()) {
+      try {
+        submitBatches();
+        if (mBatches.isEmpty()) {
+          return null;
+        }
+        mEntries = getBatch(mBatches.poll()).iterator();
+      } catch (IOException e) {
+        // The stream cannot be continued after a failure, so the batches ahead are of no use.
+        cancelBatches();
+        throw e;
+      }
+    }
+    JournalEntry entry = mEntries.next();
+    mLatestSequenceNumber = entry.getSequenceNumber();
+    return entry;
+  }
+
+  @Override
+  public void close() throws IOException {
+    cancelBatches();
+    mInputStream.close();
+  }
+
+  @Override
+  public long getLatestSequenceNumber() {
+    return mLatestSequenceNumber;
+  }
+
+  /**
+   * Cancels the batches being parsed.
+   */
+  private void cancelBatches() {
+    for (Future<List<JournalEntry>> batch : mBatches) {
+      batch.cancel(false);
+    }
+    mBatches.clear();
+  }
+
+  /**
+   * Reads serialized entries from the stream and submits them for parsing, until the maximum
+   * number of batches is being parsed or the end of the stream is reached.
+   */
+  private void submitBatches() throws IOException {
+    while (!mEndOfStream && mBatches.size() < mMaxBatches) {
+      final List<byte[]> serializedEntries = readBatch();
+      if (serializedEntries.isEmpty()) {
+        return;
+      }
+      mBatches.add(mExecutor.submit(new Callable<List<JournalEntry>>() {
+        @Override
+        public List<JournalEntry> call() throws IOException {
+          List<JournalEntry> entries = new ArrayList<>(serializedEntries.size());
+          for (byte[] serializedEntry : serializedEntries) {
+            entries.add(JournalEntry.parseFrom(serializedEntry));
+          }
+          return entries;
+        }
+      }));
+    }
+  }
+
+  /**
+   * @return the next batch of serialized entries, empty if the end of the stream is reached
+   */
+  private List<byte[]> readBatch() throws IOException {
+    List<byte[]> serializedEntries = new ArrayList<>(BATCH_ENTRIES);
+    while (serializedEntries.size() < BATCH_ENTRIES) {
+      int firstByte = mInputStream.read();
+      if (firstByte == -1) {
+        mEndOfStream = true;
+        break;
+      }
+      byte[] serializedEntry =
+          new byte[CodedInputStream.readRawVarint32(firstByte, mInputStream)];
+      ByteStreams.readFully(mInputStream, serializedEntry);
+      serializedEntries.add(serializedEntry);
+    }
+    return serializedEntries;
+  }
+
+  /**
+   * @param batch the batch being parsed
+   * @return the parsed entries of the batch
+   */
+  private static List<JournalEntry> getBatch(Future<List<JournalEntry>> batch)
+      throws IOException {
+    try {
+      return batch.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new IOException(e.getCause());
+    }
+  }
+}
@@ -11,11 +11,16 @@
 
 package alluxio.master.journal;
 
+import alluxio.Configuration;
+import alluxio.PropertyKey;
 import alluxio.proto.journal.Journal.JournalEntry;
+import alluxio.util.ThreadFactoryUtils;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import javax.annotation.concurrent.ThreadSafe;
 
@@ -23,9 +28,14 @@ import javax.annotation.concurrent.ThreadSafe;
  * Reads and writes protocol buffer journal entries. The entries contain headers describing their
  * length. This framing is handled entirely by {@link JournalEntry#writeDelimitedTo(OutputStream)}
  * and {@link JournalEntry#parseDelimitedFrom(InputStream)}. This class is thread-safe.
+ *
+ * If {@link PropertyKey#MASTER_JOURNAL_TAILER_PARSER_THREADS} is positive, the entries are parsed
+ * by a pool of parser threads shared by all the journals, ahead of the reader of the entries.
  */
 @ThreadSafe
 public final class ProtoBufJournalFormatter implements JournalFormatter {
+  /** The pool of parser threads, created when it is first used. */
+  private static ExecutorService sParserExecutor;
 
   /**
    * Constructs a new {@link ProtoBufJournalFormatter}.
@@ -39,6 +49,12 @@ public final class ProtoBufJournalFormatter implements JournalFormatter {
 
   @Override
   public JournalInputStream deserialize(final InputStream inputStream) throws IOException {
+    int parserThreads = Configuration.getInt(PropertyKey.MASTER_JOURNAL_TAILER_PARSER_THREADS);
+    if (parserThreads > 0) {
+      // Keep every parser thread busy while the reader applies the entries of a batch.
+      return new PipelinedJournalInputStream(inputStream, getParserExecutor(parserThreads),
+          2 * parserThreads);
+    }
     return new JournalInputStream() {
       private long mLatestSequenceNumber;
 
@@ -62,4 +78,16 @@ public final class ProtoBufJournalFormatter implements JournalFormatter {
       }
     };
   }
+
+  /**
+   * @param parserThreads the number of parser threads to create the pool with
+   * @return the pool of parser threads
+   */
+  private static synchronized ExecutorService getParserExecutor(int parserThreads) {
+    if (sParserExecutor == null) {
+      sParserExecutor = Executors.newFixedThreadPool(parserThreads,
+          ThreadFactoryUtils.build("journal-parser-%d", true));
+    }
+    return sParserExecutor;
+  }
 }
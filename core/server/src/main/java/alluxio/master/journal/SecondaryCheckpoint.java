@@ -0,0 +1,172 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.journal;
+
+import alluxio.underfs.UnderFileSystem;
+
+import com.google.common.base.Objects;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A secondary checkpoint is a checkpoint written by a standby master, which holds the state of the
+ * journal checkpoint with the completed logs up to a log number applied. The checkpoint it is based
+ * on is identified by its modification time, since the leader rewrites the checkpoint (and
+ * restarts the log numbers) whenever it starts.
+ *
+ * When reading the journal, the latest secondary checkpoint based on the current checkpoint is read
+ * instead of the checkpoint, followed by the completed logs after its log number.
+ */
+@ThreadSafe
+public final class SecondaryCheckpoint {
+  private static final String FILENAME_PREFIX = "checkpoint.";
+  private static final Pattern FILENAME_PATTERN =
+      Pattern.compile("checkpoint\\.(\\d{20})\\.(\\d{20})\\.(\\d{20})");
+
+  /** The modification time of the checkpoint this secondary checkpoint is based on. */
+  private final long mCheckpointTimeMs;
+  /** The number of the last completed log applied to the checkpoint. */
+  private final long mLogNumber;
+  /** The sequence number of the last entry applied to the checkpoint. */
+  private final long mSequenceNumber;
+
+  /**
+   * Creates a new instance of {@link SecondaryCheckpoint}.
+   *
+   * @param checkpointTimeMs the modification time of the checkpoint it is based on
+   * @param logNumber the number of the last completed log applied to the checkpoint
+   * @param sequenceNumber the sequence number of the last entry applied to the checkpoint
+   */
+  public SecondaryCheckpoint(long checkpointTimeMs, long logNumber, long sequenceNumber) {
+    mCheckpointTimeMs = checkpointTimeMs;
+    mLogNumber = logNumber;
+    mSequenceNumber = sequenceNumber;
+  }
+
+  /**
+   * @return the modification time of the checkpoint this secondary checkpoint is based on
+   */
+  public long getCheckpointTimeMs() {
+    return mCheckpointTimeMs;
+  }
+
+  /**
+   * @return the number of the last completed log applied to the checkpoint
+   */
+  public long getLogNumber() {
+    return mLogNumber;
+  }
+
+  /**
+   * @return the sequence number of the last entry applied to the checkpoint
+   */
+  public long getSequenceNumber() {
+    return mSequenceNumber;
+  }
+
+  /**
+   * @return the filename of this secondary checkpoint
+   */
+  public String getFilename() {
+    return String.format("%s%020d.%020d.%020d", FILENAME_PREFIX, mCheckpointTimeMs, mLogNumber,
+        mSequenceNumber);
+  }
+
+  /**
+   * @param filename a filename in the secondary checkpoint directory
+   * @return the secondary checkpoint with the filename, or null if it is not a secondary checkpoint
+   */
+  public static SecondaryCheckpoint fromFilename(String filename) {
+    Matcher matcher = FILENAME_PATTERN.matcher(filename);
+    if (!matcher.matches()) {
+      return null;
+    }
+    return new SecondaryCheckpoint(Long.parseLong(matcher.group(1)),
+        Long.parseLong(matcher.group(2)), Long.parseLong(matcher.group(3)));
+  }
+
+  /**
+   * Lists the secondary checkpoints of a journal.
+   *
+   * @param ufs the under file system of the journal
+   * @param journal the journal
+   * @return the secondary checkpoints of the journal, in no particular order
+   * @throws IOException if the secondary checkpoints cannot be listed
+   */
+  public static List<SecondaryCheckpoint> list(UnderFileSystem ufs, Journal journal)
+      throws IOException {
+    List<SecondaryCheckpoint> checkpoints = new ArrayList<>();
+    String[] filenames = ufs.list(journal.getSecondaryCheckpointDirectory());
+    if (filenames == null) {
+      return checkpoints;
+    }
+    for (String filename : filenames) {
+      SecondaryCheckpoint checkpoint = fromFilename(filename);
+      if (checkpoint != null) {
+        checkpoints.add(checkpoint);
+      }
+    }
+    return checkpoints;
+  }
+
+  /**
+   * Gets the latest secondary checkpoint of a journal, based on a given checkpoint.
+   *
+   * @param ufs the under file system of the journal
+   * @param journal the journal
+   * @param checkpointTimeMs the modification time of the checkpoint
+   * @return the secondary checkpoint based on the checkpoint with the largest log number, or null
+   *         if there is none
+   * @throws IOException if the secondary checkpoints cannot be listed
+   */
+  public static SecondaryCheckpoint getLatest(UnderFileSystem ufs, Journal journal,
+      long checkpointTimeMs) throws IOException {
+    SecondaryCheckpoint latest = null;
+    for (SecondaryCheckpoint checkpoint : list(ufs, journal)) {
+      if (checkpoint.getCheckpointTimeMs() == checkpointTimeMs
+          && (latest == null || checkpoint.getLogNumber() > latest.getLogNumber())) {
+        latest = checkpoint;
+      }
+    }
+    return latest;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof SecondaryCheckpoint)) {
+      return false;
+    }
+    SecondaryCheckpoint that = (SecondaryCheckpoint) o;
+    return mCheckpointTimeMs == that.mCheckpointTimeMs && mLogNumber == that.mLogNumber
+        && mSequenceNumber == that.mSequenceNumber;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hashCode(mCheckpointTimeMs, mLogNumber, mSequenceNumber);
+  }
+
+  @Override
+  public String toString() {
+    return Objects.toStringHelper(this).add("checkpointTimeMs", mCheckpointTimeMs)
+        .add("logNumber", mLogNumber).add("sequenceNumber", mSequenceNumber).toString();
+  }
+}
@@ -17,18 +17,20 @@ import alluxio.PropertyKey;
 import alluxio.exception.BlockDoesNotExistException;
 import alluxio.exception.ExceptionMessage;
 import alluxio.exception.InvalidWorkerStateException;
+import alluxio.resource.LockResource;
 import alluxio.resource.ResourcePool;
 
 import com.google.common.base.Objects;
 import com.google.common.base.Throwables;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.Striped;
 import io.netty.util.internal.chmv8.ConcurrentHashMapV8;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.HashSet;
-import java.util.Map;
+import java.util.List;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
@@ -42,11 +44,19 @@ import javax.annotation.concurrent.ThreadSafe;
 
 /**
  * Handle all block locks.
+ *
+ * Lock state is kept in concurrent maps. Updates which must be atomic across maps are guarded by
+ * striped locks, keyed by block id for the block lock table and by session id for the lock
+ * records, so that operations on different blocks and sessions do not contend with each other.
+ * When both are needed, a session stripe is always taken before a block stripe.
  */
 @ThreadSafe
 public final class BlockLockManager {
   private static final Logger LOG = LoggerFactory.getLogger(Constants.LOGGER_TYPE);
 
+  /** The number of stripes used to guard the block lock table and the session lock records. */
+  private static final int NUM_STRIPES = 256;
+
   /** The unique id of each lock. */
   private static final AtomicLong LOCK_ID_GEN = new AtomicLong(0);
 
@@ -63,21 +73,26 @@ public final class BlockLockManager {
   };
 
   /** A map from block id to the read write lock used to guard that block. */
-  @GuardedBy("mSharedMapsLock")
-  private final Map<Long, ClientRWLock> mLocks = new HashMap<>();
+  @GuardedBy("mBlockStripes")
+  private final ConcurrentMap<Long, ClientRWLock> mLocks = new ConcurrentHashMapV8<>();
 
   /** A map from a session id to all the locks hold by this session. */
-  @GuardedBy("mSharedMapsLock")
-  private final Map<Long, Set<Long>> mSessionIdToLockIdsMap = new HashMap<>();
-
-  /** A map from a lock id to the lock record of it. */
-  @GuardedBy("mSharedMapsLock")
-  private final Map<Long, LockRecord> mLockIdToRecordMap = new HashMap<>();
+  @GuardedBy("mSessionStripes")
+  private final ConcurrentMap<Long, Set<Long>> mSessionIdToLockIdsMap =
+      new ConcurrentHashMapV8<>();
 
   /**
-   * To guard access to the maps maintained by this class.
+   * A map from a lock id to the lock record of it. Records are only added or removed while holding
+   * the session stripe of the record, so lookups do not need to take any lock.
    */
-  private final Object mSharedMapsLock = new Object();
+  @GuardedBy("mSessionStripes")
+  private final ConcurrentMap<Long, LockRecord> mLockIdToRecordMap = new ConcurrentHashMapV8<>();
+
+  /** Striped locks guarding the allocation and release of block locks in {@link #mLocks}. */
+  private final Striped<Lock> mBlockStripes = Striped.lock(NUM_STRIPES);
+
+  /** Striped locks guarding the lock records of each session. */
+  private final Striped<Lock> mSessionStripes = Striped.lock(NUM_STRIPES);
 
   /**
    * Constructs a new {@link BlockLockManager}.
@@ -107,7 +122,7 @@ public final class BlockLockManager {
     lock.lock();
     try {
       long lockId = LOCK_ID_GEN.getAndIncrement();
-      synchronized (mSharedMapsLock) {
+      try (LockResource r = new LockResource(mSessionStripes.get(sessionId))) {
         mLockIdToRecordMap.put(lockId, new LockRecord(sessionId, blockId, lock));
         Set<Long> sessionLockIds = mSessionIdToLockIdsMap.get(sessionId);
         if (sessionLockIds == null) {
@@ -133,12 +148,13 @@ public final class BlockLockManager {
    * @return the block lock
    */
   private ClientRWLock getBlockLock(long blockId) {
+    Lock stripe = mBlockStripes.get(blockId);
     // Loop until we either find the block lock in the mLocks map, or successfully acquire a new
     // block lock from the lock pool.
     while (true) {
       ClientRWLock blockLock;
       // Check whether a lock has already been allocated for the block id.
-      synchronized (mSharedMapsLock) {
+      try (LockResource r = new LockResource(stripe)) {
         blockLock = mLocks.get(blockId);
         if (blockLock != null) {
           blockLock.addReference();
@@ -146,16 +162,17 @@ public final class BlockLockManager {
         }
       }
       // Since a block lock hasn't already been allocated, try to acquire a new one from the pool.
-      // Acquire the lock outside the synchronized section because #acquire might need to block.
+      // Acquire the lock outside the stripe because #acquire might need to block.
       // We shouldn't wait indefinitely in acquire because the another lock for this block could be
       // allocated to another thread, in which case we could just use that lock.
       blockLock = mLockPool.acquire(1, TimeUnit.SECONDS);
       if (blockLock != null) {
-        synchronized (mSharedMapsLock) {
+        try (LockResource r = new LockResource(stripe)) {
           // Check if someone else acquired a block lock for blockId while we were acquiring one.
-          if (mLocks.containsKey(blockId)) {
+          ClientRWLock existingLock = mLocks.get(blockId);
+          if (existingLock != null) {
             mLockPool.release(blockLock);
-            blockLock = mLocks.get(blockId);
+            blockLock = existingLock;
           } else {
             mLocks.put(blockId, blockLock);
           }
@@ -173,24 +190,25 @@ public final class BlockLockManager {
    * @throws BlockDoesNotExistException if lock id cannot be found
    */
   public void unlockBlock(long lockId) throws BlockDoesNotExistException {
-    Lock lock;
-    LockRecord record;
-    synchronized (mSharedMapsLock) {
-      record = mLockIdToRecordMap.get(lockId);
-      if (record == null) {
+    LockRecord record = mLockIdToRecordMap.get(lockId);
+    if (record == null) {
+      throw new BlockDoesNotExistException(ExceptionMessage.LOCK_RECORD_NOT_FOUND_FOR_LOCK_ID,
+          lockId);
+    }
+    long sessionId = record.getSessionId();
+    try (LockResource r = new LockResource(mSessionStripes.get(sessionId))) {
+      // The record may have been removed by a concurrent unlock while we waited for the stripe.
+      if (mLockIdToRecordMap.remove(lockId) == null) {
         throw new BlockDoesNotExistException(ExceptionMessage.LOCK_RECORD_NOT_FOUND_FOR_LOCK_ID,
             lockId);
       }
-      long sessionId = record.getSessionId();
-      lock = record.getLock();
-      mLockIdToRecordMap.remove(lockId);
       Set<Long> sessionLockIds = mSessionIdToLockIdsMap.get(sessionId);
       sessionLockIds.remove(lockId);
       if (sessionLockIds.isEmpty()) {
         mSessionIdToLockIdsMap.remove(sessionId);
       }
     }
-    unlock(lock, record.getBlockId());
+    unlock(record.getLock(), record.getBlockId());
   }
 
   /**
@@ -202,7 +220,8 @@ public final class BlockLockManager {
    */
   // TODO(bin): Temporary, remove me later.
   public void unlockBlock(long sessionId, long blockId) throws BlockDoesNotExistException {
-    synchronized (mSharedMapsLock) {
+    LockRecord record = null;
+    try (LockResource r = new LockResource(mSessionStripes.get(sessionId))) {
       Set<Long> sessionLockIds = mSessionIdToLockIdsMap.get(sessionId);
       if (sessionLockIds == null) {
         LOG.warn("Attempted to unlock block {} with session {}, but the session has not taken"
@@ -210,25 +229,27 @@ public final class BlockLockManager {
         return;
       }
       for (long lockId : sessionLockIds) {
-        LockRecord record = mLockIdToRecordMap.get(lockId);
-        if (record == null) {
+        LockRecord lockRecord = mLockIdToRecordMap.get(lockId);
+        if (lockRecord == null) {
           throw new BlockDoesNotExistException(ExceptionMessage.LOCK_RECORD_NOT_FOUND_FOR_LOCK_ID,
               lockId);
         }
-        if (blockId == record.getBlockId()) {
+        if (blockId == lockRecord.getBlockId()) {
           mLockIdToRecordMap.remove(lockId);
           sessionLockIds.remove(lockId);
           if (sessionLockIds.isEmpty()) {
             mSessionIdToLockIdsMap.remove(sessionId);
           }
-          Lock lock = record.getLock();
-          unlock(lock, blockId);
-          return;
+          record = lockRecord;
+          break;
         }
       }
+    }
+    if (record == null) {
       throw new BlockDoesNotExistException(
           ExceptionMessage.LOCK_RECORD_NOT_FOUND_FOR_BLOCK_AND_SESSION, blockId, sessionId);
     }
+    unlock(record.getLock(), blockId);
   }
 
   /**
@@ -243,20 +264,18 @@ public final class BlockLockManager {
    */
   public void validateLock(long sessionId, long blockId, long lockId)
       throws BlockDoesNotExistException, InvalidWorkerStateException {
-    synchronized (mSharedMapsLock) {
-      LockRecord record = mLockIdToRecordMap.get(lockId);
-      if (record == null) {
-        throw new BlockDoesNotExistException(ExceptionMessage.LOCK_RECORD_NOT_FOUND_FOR_LOCK_ID,
-            lockId);
-      }
-      if (sessionId != record.getSessionId()) {
-        throw new InvalidWorkerStateException(ExceptionMessage.LOCK_ID_FOR_DIFFERENT_SESSION,
-            lockId, record.getSessionId(), sessionId);
-      }
-      if (blockId != record.getBlockId()) {
-        throw new InvalidWorkerStateException(ExceptionMessage.LOCK_ID_FOR_DIFFERENT_BLOCK, lockId,
-            record.getBlockId(), blockId);
-      }
+    LockRecord record = mLockIdToRecordMap.get(lockId);
+    if (record == null) {
+      throw new BlockDoesNotExistException(ExceptionMessage.LOCK_RECORD_NOT_FOUND_FOR_LOCK_ID,
+          lockId);
+    }
+    if (sessionId != record.getSessionId()) {
+      throw new InvalidWorkerStateException(ExceptionMessage.LOCK_ID_FOR_DIFFERENT_SESSION,
+          lockId, record.getSessionId(), sessionId);
+    }
+    if (blockId != record.getBlockId()) {
+      throw new InvalidWorkerStateException(ExceptionMessage.LOCK_ID_FOR_DIFFERENT_BLOCK, lockId,
+          record.getBlockId(), blockId);
     }
   }
 
@@ -266,22 +285,23 @@ public final class BlockLockManager {
    * @param sessionId the id of the session to cleanup
    */
   public void cleanupSession(long sessionId) {
-    synchronized (mSharedMapsLock) {
-      Set<Long> sessionLockIds = mSessionIdToLockIdsMap.get(sessionId);
+    List<LockRecord> records = new ArrayList<>();
+    try (LockResource r = new LockResource(mSessionStripes.get(sessionId))) {
+      Set<Long> sessionLockIds = mSessionIdToLockIdsMap.remove(sessionId);
       if (sessionLockIds == null) {
         return;
       }
       for (long lockId : sessionLockIds) {
-        LockRecord record = mLockIdToRecordMap.get(lockId);
+        LockRecord record = mLockIdToRecordMap.remove(lockId);
         if (record == null) {
           LOG.error(ExceptionMessage.LOCK_RECORD_NOT_FOUND_FOR_LOCK_ID.getMessage(lockId));
           continue;
         }
-        Lock lock = record.getLock();
-        unlock(lock, record.getBlockId());
-        mLockIdToRecordMap.remove(lockId);
+        records.add(record);
       }
-      mSessionIdToLockIdsMap.remove(sessionId);
+    }
+    for (LockRecord record : records) {
+      unlock(record.getLock(), record.getBlockId());
     }
   }
 
@@ -291,13 +311,11 @@ public final class BlockLockManager {
    * @return a set of locked blocks
    */
   public Set<Long> getLockedBlocks() {
-    synchronized (mSharedMapsLock) {
-      Set<Long> set = new HashSet<>();
-      for (LockRecord lockRecord : mLockIdToRecordMap.values()) {
-        set.add(lockRecord.getBlockId());
-      }
-      return set;
+    Set<Long> set = new HashSet<>();
+    for (LockRecord lockRecord : mLockIdToRecordMap.values()) {
+      set.add(lockRecord.getBlockId());
     }
+    return set;
   }
 
   /**
@@ -319,7 +337,7 @@ public final class BlockLockManager {
    * @param blockId the block id for which to potentially release the block lock
    */
   private void releaseBlockLockIfUnused(long blockId) {
-    synchronized (mSharedMapsLock) {
+    try (LockResource r = new LockResource(mBlockStripes.get(blockId))) {
       ClientRWLock lock = mLocks.get(blockId);
       if (lock == null) {
         // Someone else probably released the block lock already.
@@ -336,40 +354,38 @@ public final class BlockLockManager {
   /**
    * Checks the internal state of the manager to make sure invariants hold.
    *
-   * This method is intended for testing purposes. A runtime exception will be thrown if invalid
-   * state is encountered.
+   * This method is intended for testing purposes and should only be called while no other
+   * operations are in flight. A runtime exception will be thrown if invalid state is encountered.
    */
   public void validate() {
-    synchronized (mSharedMapsLock) {
-      // Compute block lock reference counts based off of lock records
-      ConcurrentMap<Long, AtomicInteger> blockLockReferenceCounts = new ConcurrentHashMapV8<>();
-      for (LockRecord record : mLockIdToRecordMap.values()) {
-        blockLockReferenceCounts.putIfAbsent(record.getBlockId(), new AtomicInteger(0));
-        blockLockReferenceCounts.get(record.getBlockId()).incrementAndGet();
-      }
+    // Compute block lock reference counts based off of lock records
+    ConcurrentMap<Long, AtomicInteger> blockLockReferenceCounts = new ConcurrentHashMapV8<>();
+    for (LockRecord record : mLockIdToRecordMap.values()) {
+      blockLockReferenceCounts.putIfAbsent(record.getBlockId(), new AtomicInteger(0));
+      blockLockReferenceCounts.get(record.getBlockId()).incrementAndGet();
+    }
 
-      // Check that the reference count for each block lock matches the lock record counts.
-      for (Entry<Long, ClientRWLock> entry : mLocks.entrySet()) {
-        long blockId = entry.getKey();
-        ClientRWLock lock = entry.getValue();
-        Integer recordCount = blockLockReferenceCounts.get(blockId).get();
-        Integer referenceCount = lock.getReferenceCount();
-        if (!Objects.equal(recordCount, referenceCount)) {
-          throw new IllegalStateException("There are " + recordCount + " lock records for block"
-              + " id " + blockId + ", but the reference count is " + referenceCount);
-        }
+    // Check that the reference count for each block lock matches the lock record counts.
+    for (Entry<Long, ClientRWLock> entry : mLocks.entrySet()) {
+      long blockId = entry.getKey();
+      ClientRWLock lock = entry.getValue();
+      Integer recordCount = blockLockReferenceCounts.get(blockId).get();
+      Integer referenceCount = lock.getReferenceCount();
+      if (!Objects.equal(recordCount, referenceCount)) {
+        throw new IllegalStateException("There are " + recordCount + " lock records for block"
+            + " id " + blockId + ", but the reference count is " + referenceCount);
       }
+    }
 
-      // Check that if a lock id is mapped to by a session id, the lock record for that lock id
-      // contains that session id.
-      for (Entry<Long, Set<Long>> entry : mSessionIdToLockIdsMap.entrySet()) {
-        for (Long lockId : entry.getValue()) {
-          LockRecord record = mLockIdToRecordMap.get(lockId);
-          if (record.getSessionId() != entry.getKey()) {
-            throw new IllegalStateException("The session id map contains lock id " + lockId
-                + "under session id " + entry.getKey() + ", but the record for that lock id ("
-                + record + ")" + " doesn't contain that session id");
-          }
+    // Check that if a lock id is mapped to by a session id, the lock record for that lock id
+    // contains that session id.
+    for (Entry<Long, Set<Long>> entry : mSessionIdToLockIdsMap.entrySet()) {
+      for (Long lockId : entry.getValue()) {
+        LockRecord record = mLockIdToRecordMap.get(lockId);
+        if (record.getSessionId() != entry.getKey()) {
+          throw new IllegalStateException("The session id map contains lock id " + lockId
+              + "under session id " + entry.getKey() + ", but the record for that lock id ("
+              + record + ")" + " doesn't contain that session id");
         }
       }
     }
@@ -45,6 +45,10 @@ import javax.annotation.concurrent.NotThreadSafe;
  * <p>
  * All operations on block metadata such as {@link StorageTier}, {@link StorageDir} should go
  * through this class.
+ * <p>
+ * The metadata of each {@link StorageDir} is thread-safe, and an update of a block is seen
+ * atomically by the lookups of other threads. Updates of the same block must still be serialized
+ * by the caller, e.g. with block locks.
  */
 @NotThreadSafe
 // TODO(bin): consider how to better expose information to Evictor and Allocator.
@@ -123,8 +127,12 @@ public final class BlockMetadataManager {
     }
     BlockMeta block = new BlockMeta(Preconditions.checkNotNull(tempBlockMeta));
     StorageDir dir = tempBlockMeta.getParentDir();
-    dir.removeTempBlockMeta(tempBlockMeta);
-    dir.addBlockMeta(block);
+    // The space released by the temp block must not be taken by another block before it is
+    // reserved for the committed block.
+    synchronized (dir) {
+      dir.removeTempBlockMeta(tempBlockMeta);
+      dir.addBlockMeta(block);
+    }
   }
 
   /**
@@ -362,11 +370,23 @@ public final class BlockMetadataManager {
       throws BlockDoesNotExistException, WorkerOutOfSpaceException, BlockAlreadyExistsException {
     StorageDir srcDir = blockMeta.getParentDir();
     StorageDir dstDir = tempBlockMeta.getParentDir();
-    srcDir.removeBlockMeta(blockMeta);
     BlockMeta newBlockMeta =
         new BlockMeta(blockMeta.getBlockId(), blockMeta.getBlockSize(), dstDir);
-    dstDir.removeTempBlockMeta(tempBlockMeta);
-    dstDir.addBlockMeta(newBlockMeta);
+    if (srcDir == dstDir) {
+      synchronized (dstDir) {
+        srcDir.removeBlockMeta(blockMeta);
+        dstDir.removeTempBlockMeta(tempBlockMeta);
+        dstDir.addBlockMeta(newBlockMeta);
+      }
+      return newBlockMeta;
+    }
+    // The block is added to the destination dir before it is removed from the source dir, so that
+    // it is always found by the lookups which do not lock the block.
+    synchronized (dstDir) {
+      dstDir.removeTempBlockMeta(tempBlockMeta);
+      dstDir.addBlockMeta(newBlockMeta);
+    }
+    srcDir.removeBlockMeta(blockMeta);
     return newBlockMeta;
   }
 
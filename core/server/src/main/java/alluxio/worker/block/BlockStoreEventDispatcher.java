@@ -0,0 +1,267 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block;
+
+import alluxio.Configuration;
+import alluxio.Constants;
+import alluxio.PropertyKey;
+import alluxio.metrics.MetricsSystem;
+import alluxio.util.ThreadFactoryUtils;
+
+import com.codahale.metrics.Counter;
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Notifies the registered {@link BlockStoreEventListener}s of the events of a {@link BlockStore}.
+ *
+ * By default, every event is dispatched on the calling thread. If
+ * {@link PropertyKey#WORKER_TIERED_STORE_ACCESS_EVENTS_ASYNC_ENABLED} is set, the access events,
+ * which are on the read path, are instead published to a bounded lock-free ring buffer, and a
+ * background thread dispatches them in batches, with the accesses to a block in a batch coalesced
+ * into one event. An access is dropped when the buffer is full, since the accesses are only hints
+ * for the listeners.
+ *
+ * The other events are still dispatched on the calling thread, after the buffered accesses are
+ * dispatched, so that the listeners receive the access events recorded before an event, e.g.
+ * before a block is removed, ahead of it.
+ */
+@ThreadSafe
+public final class BlockStoreEventDispatcher implements BlockStoreEventListener {
+  private static final Logger LOG = LoggerFactory.getLogger(Constants.LOGGER_TYPE);
+
+  private final List<BlockStoreEventListener> mListeners = new CopyOnWriteArrayList<>();
+
+  /** The buffered access events, or null if access events are dispatched synchronously. */
+  private final AtomicReferenceArray<AccessEvent> mAccessEvents;
+  private final int mIndexMask;
+  /** The index of the next slot to publish an access event to. */
+  private final AtomicLong mWriteIndex = new AtomicLong();
+  /** The index of the next access event to dispatch, only updated while holding mDrainLock. */
+  private volatile long mReadIndex;
+  /** Lock to drain the buffer, so that the drained access events are dispatched in order. */
+  private final Object mDrainLock = new Object();
+  /** Whether a drain of the buffer is submitted to the executor and not started yet. */
+  private final AtomicBoolean mDrainPending = new AtomicBoolean();
+  private final ExecutorService mDrainExecutor;
+  private final Runnable mDrainTask = new Runnable() {
+    @Override
+    public void run() {
+      mDrainPending.set(false);
+      try {
+        drainAccessEvents();
+      } catch (RuntimeException e) {
+        LOG.error("Failed to dispatch block access events", e);
+      }
+    }
+  };
+
+  /**
+   * Creates a new instance of {@link BlockStoreEventDispatcher}.
+   */
+  public BlockStoreEventDispatcher() {
+    if (!Configuration.getBoolean(PropertyKey.WORKER_TIERED_STORE_ACCESS_EVENTS_ASYNC_ENABLED)) {
+      mAccessEvents = null;
+      mIndexMask = 0;
+      mDrainExecutor = null;
+      return;
+    }
+    int bufferSize =
+        Configuration.getInt(PropertyKey.WORKER_TIERED_STORE_ACCESS_EVENTS_BUFFER_SIZE);
+    Preconditions.checkArgument(bufferSize > 0 && bufferSize <= (1 << 30),
+        "Size of the access event buffer should be in the range of [1, 2^30]");
+    int capacity = Integer.highestOneBit(bufferSize);
+    if (capacity < bufferSize) {
+      capacity <<= 1;
+    }
+    mAccessEvents = new AtomicReferenceArray<>(capacity);
+    mIndexMask = capacity - 1;
+    ThreadPoolExecutor drainExecutor = new ThreadPoolExecutor(1, 1, Constants.MINUTE_MS,
+        TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(),
+        ThreadFactoryUtils.build("block-event-dispatcher-%d", true));
+    // Let the thread exit when no block is accessed for a while.
+    drainExecutor.allowCoreThreadTimeOut(true);
+    mDrainExecutor = drainExecutor;
+  }
+
+  /**
+   * Registers a listener to notify of the events.
+   *
+   * @param listener the listener
+   */
+  public void registerListener(BlockStoreEventListener listener) {
+    mListeners.add(listener);
+  }
+
+  @Override
+  public void onAccessBlock(long sessionId, long blockId) {
+    if (mAccessEvents == null) {
+      for (BlockStoreEventListener listener : mListeners) {
+        listener.onAccessBlock(sessionId, blockId);
+      }
+      return;
+    }
+    AccessEvent event = new AccessEvent(sessionId, blockId);
+    while (true) {
+      long writeIndex = mWriteIndex.get();
+      if (writeIndex - mReadIndex > mIndexMask) {
+        Metrics.ACCESS_EVENTS_DROPPED.inc();
+        break;
+      }
+      if (mWriteIndex.compareAndSet(writeIndex, writeIndex + 1)) {
+        mAccessEvents.lazySet((int) (writeIndex & mIndexMask), event);
+        break;
+      }
+    }
+    // Checked after the event is published, so that a drain which has started already either
+    // takes the event, or lets this thread submit the next drain.
+    if (mDrainPending.compareAndSet(false, true)) {
+      mDrainExecutor.execute(mDrainTask);
+    }
+  }
+
+  @Override
+  public void onAbortBlock(long sessionId, long blockId) {
+    drainAccessEvents();
+    for (BlockStoreEventListener listener : mListeners) {
+      listener.onAbortBlock(sessionId, blockId);
+    }
+  }
+
+  @Override
+  public void onCommitBlock(long sessionId, long blockId, BlockStoreLocation location) {
+    drainAccessEvents();
+    for (BlockStoreEventListener listener : mListeners) {
+      listener.onCommitBlock(sessionId, blockId, location);
+    }
+  }
+
+  @Override
+  public void onMoveBlockByClient(long sessionId, long blockId, BlockStoreLocation oldLocation,
+      BlockStoreLocation newLocation) {
+    drainAccessEvents();
+    for (BlockStoreEventListener listener : mListeners) {
+      listener.onMoveBlockByClient(sessionId, blockId, oldLocation, newLocation);
+    }
+  }
+
+  @Override
+  public void onMoveBlockByWorker(long sessionId, long blockId, BlockStoreLocation oldLocation,
+      BlockStoreLocation newLocation) {
+    drainAccessEvents();
+    for (BlockStoreEventListener listener : mListeners) {
+      listener.onMoveBlockByWorker(sessionId, blockId, oldLocation, newLocation);
+    }
+  }
+
+  @Override
+  public void onRemoveBlockByClient(long sessionId, long blockId) {
+    drainAccessEvents();
+    for (BlockStoreEventListener listener : mListeners) {
+      listener.onRemoveBlockByClient(sessionId, blockId);
+    }
+  }
+
+  @Override
+  public void onRemoveBlockByWorker(long sessionId, long blockId) {
+    drainAccessEvents();
+    for (BlockStoreEventListener listener : mListeners) {
+      listener.onRemoveBlockByWorker(sessionId, blockId);
+    }
+  }
+
+  /**
+   * Dispatches the buffered access events, with the accesses to each block coalesced into one
+   * event, in the order of the last access to each block. When this method returns, the access
+   * events published before it was called are dispatched, either by this thread or by a
+   * concurrent drain, unless they follow a slot whose writer has not finished publishing.
+   */
+  private void drainAccessEvents() {
+    if (mAccessEvents == null) {
+      return;
+    }
+    synchronized (mDrainLock) {
+      Map<Long, Long> sessionIdOfBlocks = new LinkedHashMap<>();
+      long readIndex = mReadIndex;
+      while (true) {
+        int slot = (int) (readIndex & mIndexMask);
+        AccessEvent event = mAccessEvents.get(slot);
+        // An empty slot is either past the last event or not yet published by its writer, which
+        // then submits the next drain.
+        if (event == null) {
+          break;
+        }
+        mAccessEvents.set(slot, null);
+        readIndex++;
+        sessionIdOfBlocks.remove(event.mBlockId);
+        sessionIdOfBlocks.put(event.mBlockId, event.mSessionId);
+      }
+      mReadIndex = readIndex;
+      dispatchAccessEvents(sessionIdOfBlocks);
+    }
+  }
+
+  @GuardedBy("mDrainLock")
+  private void dispatchAccessEvents(Map<Long, Long> sessionIdOfBlocks) {
+    for (Map.Entry<Long, Long> entry : sessionIdOfBlocks.entrySet()) {
+      for (BlockStoreEventListener listener : mListeners) {
+        listener.onAccessBlock(entry.getValue(), entry.getKey());
+      }
+    }
+  }
+
+  /**
+   * An access to a block buffered for dispatch.
+   */
+  private static final class AccessEvent {
+    private final long mSessionId;
+    private final long mBlockId;
+
+    /**
+     * Creates a new instance of {@link AccessEvent}.
+     *
+     * @param sessionId the id of the session accessing the block
+     * @param blockId the id of the accessed block
+     */
+    AccessEvent(long sessionId, long blockId) {
+      mSessionId = sessionId;
+      mBlockId = blockId;
+    }
+  }
+
+  /**
+   * Class that contains metrics about the {@link BlockStoreEventDispatcher}.
+   */
+  @ThreadSafe
+  private static final class Metrics {
+    private static final Counter ACCESS_EVENTS_DROPPED =
+        MetricsSystem.workerCounter("BlockAccessEventsDropped");
+
+    private Metrics() {} // prevent instantiation
+  }
+}
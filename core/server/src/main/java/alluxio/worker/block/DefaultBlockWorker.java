@@ -208,8 +208,10 @@ public final class DefaultBlockWorker extends AbstractWorker implements BlockWor
 
     // Setup space reserver
     if (Configuration.getBoolean(PropertyKey.WORKER_TIERED_STORE_RESERVER_ENABLED)) {
+      SpaceReserver spaceReserver = new SpaceReserver(this);
+      mBlockStore.registerBlockStoreEventListener(spaceReserver);
       getExecutorService().submit(
-          new HeartbeatThread(HeartbeatContext.WORKER_SPACE_RESERVER, new SpaceReserver(this),
+          new HeartbeatThread(HeartbeatContext.WORKER_SPACE_RESERVER, spaceReserver,
               Configuration.getInt(PropertyKey.WORKER_TIERED_STORE_RESERVER_INTERVAL_MS)));
     }
 
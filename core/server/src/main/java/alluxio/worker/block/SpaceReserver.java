@@ -23,22 +23,39 @@ import alluxio.exception.BlockDoesNotExistException;
 import alluxio.exception.InvalidWorkerStateException;
 import alluxio.exception.WorkerOutOfSpaceException;
 import alluxio.heartbeat.HeartbeatExecutor;
+import alluxio.util.ThreadFactoryUtils;
 
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.RateLimiter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
-import javax.annotation.concurrent.NotThreadSafe;
+import javax.annotation.concurrent.ThreadSafe;
 
 /**
- * {@link SpaceReserver} periodically checks if there is enough space reserved on each storage tier,
- * if there is no enough free space on some tier, free space from it.
+ * {@link SpaceReserver} frees space on the storage tiers in the background, so that writers rarely
+ * have to wait for blocks to be evicted. Once the used space of a tier reaches its high watermark
+ * ({@link PropertyKeyFormat#WORKER_TIERED_STORE_LEVEL_WATERMARK_HIGH_RATIO_FORMAT}), space is
+ * freed from the tier until the reserved space
+ * ({@link PropertyKeyFormat#WORKER_TIERED_STORE_LEVEL_RESERVED_RATIO_FORMAT}), i.e. the low
+ * watermark, is free. A tier without a high watermark has its reserved space freed on every
+ * check.
+ *
+ * The tiers are checked periodically, and right after a block is committed to a tier above its
+ * high watermark. The rate of freeing space can be limited by
+ * {@link PropertyKey#WORKER_TIERED_STORE_RESERVER_RATE_LIMIT}, to leave I/O bandwidth to the
+ * clients.
  */
-@NotThreadSafe
-public class SpaceReserver implements HeartbeatExecutor  {
+@ThreadSafe
+public class SpaceReserver extends AbstractBlockStoreEventListener implements HeartbeatExecutor {
   private static final Logger LOG = LoggerFactory.getLogger(Constants.LOGGER_TYPE);
   private final BlockWorker mBlockWorker;
 
@@ -48,6 +65,22 @@ public class SpaceReserver implements HeartbeatExecutor  {
   /** Mapping from tier alias to space size to be reserved on the tier. */
   private final Map<String, Long> mBytesToReserveOnTiers = new HashMap<>();
 
+  /** Mapping from tier alias to the used space of the tier above which space is reserved. */
+  private final Map<String, Long> mHighWatermarkBytesOnTiers = new HashMap<>();
+
+  /** Limits the number of bytes freed per second, or null if the rate is not limited. */
+  private final RateLimiter mRateLimiter;
+
+  /** The number of bytes to free at a time when the rate is limited. */
+  private final long mBytesPerStep;
+
+  /** The executor reserving space when a committed block pushes a tier above its watermark. */
+  private final ExecutorService mExecutor =
+      Executors.newSingleThreadExecutor(ThreadFactoryUtils.build("space-reserver-%d", true));
+
+  /** Whether space reservation has been requested on the executor and has not started yet. */
+  private final AtomicBoolean mReservePending = new AtomicBoolean(false);
+
   /**
    * Creates a new instance of {@link SpaceReserver}.
    *
@@ -62,19 +95,64 @@ public class SpaceReserver implements HeartbeatExecutor  {
       PropertyKey tierReservedSpaceProp =
           PropertyKeyFormat.WORKER_TIERED_STORE_LEVEL_RESERVED_RATIO_FORMAT.format(ordinal);
       String tierAlias = mStorageTierAssoc.getAlias(ordinal);
-      long reservedSpaceBytes =
-          (long) (capOnTiers.get(tierAlias) * Configuration.getDouble(tierReservedSpaceProp));
+      double reservedSpaceRatio = Configuration.getDouble(tierReservedSpaceProp);
+      long reservedSpaceBytes = (long) (capOnTiers.get(tierAlias) * reservedSpaceRatio);
       mBytesToReserveOnTiers.put(tierAlias, reservedSpaceBytes + lastTierReservedBytes);
       lastTierReservedBytes += reservedSpaceBytes;
+
+      PropertyKey tierHighWatermarkProp =
+          PropertyKeyFormat.WORKER_TIERED_STORE_LEVEL_WATERMARK_HIGH_RATIO_FORMAT.format(ordinal);
+      if (Configuration.containsKey(tierHighWatermarkProp)) {
+        double highWatermarkRatio = Configuration.getDouble(tierHighWatermarkProp);
+        Preconditions.checkArgument(highWatermarkRatio > 0.0 && highWatermarkRatio <= 1.0,
+            "High watermark ratio of tier %s should be in the range of (0.0, 1.0]", tierAlias);
+        // Otherwise freeing space down to the low watermark never gets the tier below the high
+        // watermark, and every commit reserves space again.
+        if (highWatermarkRatio <= 1.0 - reservedSpaceRatio) {
+          // The default high watermark is set for the tier even if only the reserved ratio is
+          // configured, so it is ignored rather than rejected.
+          Preconditions.checkArgument(Configuration.get(tierHighWatermarkProp)
+                  .equals(tierHighWatermarkProp.getDefaultValue()),
+              "High watermark ratio of tier %s should be above the low watermark ratio %s, which "
+                  + "is 1.0 minus the reserved ratio", tierAlias, 1.0 - reservedSpaceRatio);
+          LOG.warn("Default high watermark ratio {} of tier {} is not above the low watermark "
+              + "ratio {}, reserving space on the tier on every check", highWatermarkRatio,
+              tierAlias, 1.0 - reservedSpaceRatio);
+          continue;
+        }
+        mHighWatermarkBytesOnTiers.put(tierAlias,
+            (long) (capOnTiers.get(tierAlias) * highWatermarkRatio));
+      }
+    }
+    if (Configuration.getBoolean(PropertyKey.WORKER_TIERED_STORE_RESERVER_RATE_LIMIT_ENABLED)) {
+      long bytesPerSecond =
+          Configuration.getBytes(PropertyKey.WORKER_TIERED_STORE_RESERVER_RATE_LIMIT);
+      Preconditions.checkArgument(bytesPerSecond > 0, "Reserver rate limit should be positive");
+      mRateLimiter = RateLimiter.create(bytesPerSecond);
+      mBytesPerStep = Math.min(bytesPerSecond, Integer.MAX_VALUE);
+    } else {
+      mRateLimiter = null;
+      mBytesPerStep = Long.MAX_VALUE;
     }
   }
 
-  private void reserveSpace() {
+  /**
+   * Frees space on the tiers whose used space reached their high watermarks, from the bottom tier
+   * up.
+   */
+  private synchronized void reserveSpace() {
     for (int ordinal = mStorageTierAssoc.size() - 1; ordinal >= 0; ordinal--) {
       String tierAlias = mStorageTierAssoc.getAlias(ordinal);
+      if (!isAboveHighWatermark(tierAlias)) {
+        continue;
+      }
       long bytesReserved = mBytesToReserveOnTiers.get(tierAlias);
       try {
-        mBlockWorker.freeSpace(Sessions.MIGRATE_DATA_SESSION_ID, bytesReserved, tierAlias);
+        if (mRateLimiter == null) {
+          mBlockWorker.freeSpace(Sessions.MIGRATE_DATA_SESSION_ID, bytesReserved, tierAlias);
+        } else {
+          freeSpaceWithRateLimit(bytesReserved, tierAlias);
+        }
       } catch (WorkerOutOfSpaceException | BlockDoesNotExistException | BlockAlreadyExistsException
               | InvalidWorkerStateException | IOException e) {
         LOG.warn(e.getMessage());
@@ -82,6 +160,66 @@ public class SpaceReserver implements HeartbeatExecutor  {
     }
   }
 
+  /**
+   * Frees space on a tier a step at a time, waiting for the bytes freed by each step to be allowed
+   * by the rate limiter before the next step.
+   *
+   * @param bytesReserved the space to be available on the tier
+   * @param tierAlias the alias of the tier
+   */
+  private void freeSpaceWithRateLimit(long bytesReserved, String tierAlias)
+      throws WorkerOutOfSpaceException, BlockDoesNotExistException, BlockAlreadyExistsException,
+      InvalidWorkerStateException, IOException {
+    long bytesToFree = 0;
+    while (bytesToFree < bytesReserved) {
+      bytesToFree = Math.min(bytesToFree + mBytesPerStep, bytesReserved);
+      long usedBytesBefore = getUsedBytes(tierAlias);
+      mBlockWorker.freeSpace(Sessions.MIGRATE_DATA_SESSION_ID, bytesToFree, tierAlias);
+      long bytesFreed = usedBytesBefore - getUsedBytes(tierAlias);
+      if (bytesFreed > 0) {
+        mRateLimiter.acquire((int) Math.min(bytesFreed, Integer.MAX_VALUE));
+      }
+    }
+  }
+
+  /**
+   * @param tierAlias the alias of the tier
+   * @return whether the used space of the tier reached its high watermark, always true if the tier
+   *         has no high watermark
+   */
+  private boolean isAboveHighWatermark(String tierAlias) {
+    Long highWatermarkBytes = mHighWatermarkBytesOnTiers.get(tierAlias);
+    return highWatermarkBytes == null || getUsedBytes(tierAlias) >= highWatermarkBytes;
+  }
+
+  private long getUsedBytes(String tierAlias) {
+    Long usedBytes = mBlockWorker.getStoreMeta().getUsedBytesOnTiers().get(tierAlias);
+    return usedBytes == null ? 0 : usedBytes;
+  }
+
+  @Override
+  public void onCommitBlock(long sessionId, long blockId, BlockStoreLocation location) {
+    String tierAlias = location.tierAlias();
+    if (!mHighWatermarkBytesOnTiers.containsKey(tierAlias) || mReservePending.get()
+        || !isAboveHighWatermark(tierAlias)) {
+      return;
+    }
+    if (mReservePending.compareAndSet(false, true)) {
+      try {
+        mExecutor.submit(new Runnable() {
+          @Override
+          public void run() {
+            mReservePending.set(false);
+            reserveSpace();
+          }
+        });
+      } catch (RejectedExecutionException e) {
+        // The reserver is closed.
+        mReservePending.set(false);
+      }
+    }
+  }
+
   @Override
   public void heartbeat() {
     reserveSpace();
@@ -89,6 +227,6 @@ public class SpaceReserver implements HeartbeatExecutor  {
 
   @Override
   public void close() {
-    // Nothing to close.
+    mExecutor.shutdownNow();
   }
 }
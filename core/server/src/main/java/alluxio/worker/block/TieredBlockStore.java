@@ -22,7 +22,8 @@ import alluxio.exception.BlockDoesNotExistException;
 import alluxio.exception.ExceptionMessage;
 import alluxio.exception.InvalidWorkerStateException;
 import alluxio.exception.WorkerOutOfSpaceException;
-import alluxio.resource.LockResource;
+import alluxio.metrics.MetricsSystem;
+import alluxio.util.ThreadFactoryUtils;
 import alluxio.util.io.FileUtils;
 import alluxio.worker.block.allocator.Allocator;
 import alluxio.worker.block.evictor.BlockTransferInfo;
@@ -33,11 +34,15 @@ import alluxio.worker.block.io.BlockWriter;
 import alluxio.worker.block.io.LocalFileBlockReader;
 import alluxio.worker.block.io.LocalFileBlockWriter;
 import alluxio.worker.block.meta.BlockMeta;
+import alluxio.worker.block.meta.StorageDir;
 import alluxio.worker.block.meta.StorageDirView;
 import alluxio.worker.block.meta.TempBlockMeta;
 
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Timer;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.Uninterruptibles;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -45,14 +50,23 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.concurrent.NotThreadSafe;
 
@@ -69,12 +83,16 @@ import javax.annotation.concurrent.NotThreadSafe;
  * block lock for this block via {@link TieredBlockStore#mLockManager}. This block lock is a
  * read/write lock, guarding both the metadata operations and the following I/O on this block. It
  * coordinates different threads (clients) when accessing the same block concurrently.</li>
- * <li>Any metadata operation (read or write) must go through {@link TieredBlockStore#mMetaManager}
- * and guarded by {@link TieredBlockStore#mMetadataLock}. This is also a read/write lock and
- * coordinates different threads (clients) when accessing the shared data structure for metadata.
- * </li>
- * <li>Method {@link #createBlockMeta} does not acquire the block lock, because it only creates a
- * temp block which is only visible to its writer before committed (thus no concurrent access).</li>
+ * <li>Any metadata operation (read or write) must go through {@link TieredBlockStore#mMetaManager}.
+ * There is no store-wide metadata lock: each {@link alluxio.worker.block.meta.StorageDir} is
+ * thread-safe on its own, so that operations on different dirs and tiers proceed in parallel,
+ * and a metadata update which spans several steps on a dir synchronizes on the dir.</li>
+ * <li>Method {@link #createBlockMeta} only acquires the block lock of a new block while it checks
+ * that the block id is not taken and adds the temp block, because the temp block is only visible
+ * to its writer before committed (thus no concurrent access). The allocator is not thread-safe,
+ * so allocations are serialized by {@link TieredBlockStore#mAllocationLock}.</li>
+ * <li>Listeners are notified through {@link TieredBlockStore#mEventDispatcher} without holding any
+ * lock of the store, and must be thread-safe.</li>
  * <li>Eviction is done in {@link #freeSpaceInternal} and it is on the basis of best effort. For
  * operations that may trigger this eviction (e.g., move, create, requestSpace), retry is used</li>
  * </ul>
@@ -90,23 +108,27 @@ public final class TieredBlockStore implements BlockStore {
   private final Allocator mAllocator;
   private final Evictor mEvictor;
 
-  private final List<BlockStoreEventListener> mBlockStoreEventListeners = new ArrayList<>();
+  private final BlockStoreEventDispatcher mEventDispatcher = new BlockStoreEventDispatcher();
 
   /** A set of pinned inodes fetched from the master. */
   private final Set<Long> mPinnedInodes = new HashSet<>();
 
-  /** Lock to guard metadata operations. */
-  private final ReentrantReadWriteLock mMetadataLock = new ReentrantReadWriteLock();
-
-  /** ReadLock provided by {@link #mMetadataLock} to guard metadata read operations. */
-  private final Lock mMetadataReadLock = mMetadataLock.readLock();
-
-  /** WriteLock provided by {@link #mMetadataLock} to guard metadata write operations. */
-  private final Lock mMetadataWriteLock = mMetadataLock.writeLock();
+  /** Lock to serialize the allocations of space for temp blocks. */
+  private final Object mAllocationLock = new Object();
 
   /** Association between storage tier aliases and ordinals. */
   private final StorageTierAssoc mStorageTierAssoc;
 
+  /** Executor moving blocks between tiers when space is freed. */
+  private final ExecutorService mMoveExecutor;
+
+  /** The maximum number of blocks moved from or to each storage dir at the same time. */
+  private final int mMoveDirConcurrency;
+
+  /** Mapping from storage dir location to the permits to move blocks from or to the dir. */
+  private final ConcurrentMap<BlockStoreLocation, Semaphore> mMoveDirPermits =
+      new ConcurrentHashMap<>();
+
   /**
    * Creates a new instance of {@link TieredBlockStore}.
    */
@@ -129,16 +151,24 @@ public final class TieredBlockStore implements BlockStore {
     }
 
     mStorageTierAssoc = new WorkerStorageTierAssoc();
+
+    int moveThreads = Configuration.getInt(PropertyKey.WORKER_TIERED_STORE_MOVE_THREADS);
+    ThreadPoolExecutor moveExecutor = new ThreadPoolExecutor(moveThreads, moveThreads,
+        Constants.MINUTE_MS, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(),
+        ThreadFactoryUtils.build("block-mover-%d", true));
+    // Let the threads exit when no block is moved for a while.
+    moveExecutor.allowCoreThreadTimeOut(true);
+    mMoveExecutor = moveExecutor;
+    mMoveDirConcurrency =
+        Configuration.getInt(PropertyKey.WORKER_TIERED_STORE_MOVE_DIR_CONCURRENCY);
+    Preconditions.checkArgument(mMoveDirConcurrency > 0,
+        "Number of concurrent moves per dir should be positive");
   }
 
   @Override
   public long lockBlock(long sessionId, long blockId) throws BlockDoesNotExistException {
     long lockId = mLockManager.lockBlock(sessionId, blockId, BlockLockType.READ);
-    boolean hasBlock;
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
-      hasBlock = mMetaManager.hasBlockMeta(blockId);
-    }
-    if (hasBlock) {
+    if (mMetaManager.hasBlockMeta(blockId)) {
       return lockId;
     }
     mLockManager.unlockBlock(lockId);
@@ -162,20 +192,16 @@ public final class TieredBlockStore implements BlockStore {
     // NOTE: a temp block is supposed to only be visible by its own writer, unnecessary to acquire
     // block lock here since no sharing
     // TODO(bin): Handle the case where multiple writers compete for the same block.
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
-      TempBlockMeta tempBlockMeta = mMetaManager.getTempBlockMeta(blockId);
-      return new LocalFileBlockWriter(tempBlockMeta.getPath());
-    }
+    TempBlockMeta tempBlockMeta = mMetaManager.getTempBlockMeta(blockId);
+    return new LocalFileBlockWriter(tempBlockMeta.getPath());
   }
 
   @Override
   public BlockReader getBlockReader(long sessionId, long blockId, long lockId)
       throws BlockDoesNotExistException, InvalidWorkerStateException, IOException {
     mLockManager.validateLock(sessionId, blockId, lockId);
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
-      BlockMeta blockMeta = mMetaManager.getBlockMeta(blockId);
-      return new LocalFileBlockReader(blockMeta.getPath());
-    }
+    BlockMeta blockMeta = mMetaManager.getBlockMeta(blockId);
+    return new LocalFileBlockReader(blockMeta.getPath());
   }
 
   @Override
@@ -192,7 +218,7 @@ public final class TieredBlockStore implements BlockStore {
         // Failed to create a temp block, so trigger Evictor to make some space.
         // NOTE: a successful {@link freeSpaceInternal} here does not ensure the subsequent
         // allocation also successful, because these two operations are not atomic.
-        freeSpaceInternal(sessionId, initialBlockSize, location);
+        freeSpaceForWriter(sessionId, initialBlockSize, location);
       }
     }
     // TODO(bin): We are probably seeing a rare transient failure, maybe define and throw some
@@ -204,40 +230,28 @@ public final class TieredBlockStore implements BlockStore {
   // TODO(bin): Make this method to return a snapshot.
   @Override
   public BlockMeta getVolatileBlockMeta(long blockId) throws BlockDoesNotExistException {
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
-      return mMetaManager.getBlockMeta(blockId);
-    }
+    return mMetaManager.getBlockMeta(blockId);
   }
 
   @Override
   public BlockMeta getBlockMeta(long sessionId, long blockId, long lockId)
       throws BlockDoesNotExistException, InvalidWorkerStateException {
     mLockManager.validateLock(sessionId, blockId, lockId);
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
-      return mMetaManager.getBlockMeta(blockId);
-    }
+    return mMetaManager.getBlockMeta(blockId);
   }
 
   @Override
   public void commitBlock(long sessionId, long blockId) throws BlockAlreadyExistsException,
       InvalidWorkerStateException, BlockDoesNotExistException, IOException {
     BlockStoreLocation loc = commitBlockInternal(sessionId, blockId);
-    synchronized (mBlockStoreEventListeners) {
-      for (BlockStoreEventListener listener : mBlockStoreEventListeners) {
-        listener.onCommitBlock(sessionId, blockId, loc);
-      }
-    }
+    mEventDispatcher.onCommitBlock(sessionId, blockId, loc);
   }
 
   @Override
   public void abortBlock(long sessionId, long blockId) throws BlockAlreadyExistsException,
       BlockDoesNotExistException, InvalidWorkerStateException, IOException {
     abortBlockInternal(sessionId, blockId);
-    synchronized (mBlockStoreEventListeners) {
-      for (BlockStoreEventListener listener : mBlockStoreEventListeners) {
-        listener.onAbortBlock(sessionId, blockId);
-      }
-    }
+    mEventDispatcher.onAbortBlock(sessionId, blockId);
   }
 
   @Override
@@ -250,7 +264,7 @@ public final class TieredBlockStore implements BlockStore {
         return;
       }
       if (i < MAX_RETRIES) {
-        freeSpaceInternal(sessionId, additionalBytes, requestResult.getSecond());
+        freeSpaceForWriter(sessionId, additionalBytes, requestResult.getSecond());
       }
     }
     throw new WorkerOutOfSpaceException(ExceptionMessage.NO_SPACE_FOR_BLOCK_ALLOCATION,
@@ -272,12 +286,8 @@ public final class TieredBlockStore implements BlockStore {
     for (int i = 0; i < MAX_RETRIES + 1; i++) {
       MoveBlockResult moveResult = moveBlockInternal(sessionId, blockId, oldLocation, newLocation);
       if (moveResult.getSuccess()) {
-        synchronized (mBlockStoreEventListeners) {
-          for (BlockStoreEventListener listener : mBlockStoreEventListeners) {
-            listener.onMoveBlockByClient(sessionId, blockId, moveResult.getSrcLocation(),
-                moveResult.getDstLocation());
-          }
-        }
+        mEventDispatcher.onMoveBlockByClient(sessionId, blockId, moveResult.getSrcLocation(),
+            moveResult.getDstLocation());
         return;
       }
       if (i < MAX_RETRIES) {
@@ -298,27 +308,15 @@ public final class TieredBlockStore implements BlockStore {
   public void removeBlock(long sessionId, long blockId, BlockStoreLocation location)
       throws InvalidWorkerStateException, BlockDoesNotExistException, IOException {
     removeBlockInternal(sessionId, blockId, location);
-    synchronized (mBlockStoreEventListeners) {
-      for (BlockStoreEventListener listener : mBlockStoreEventListeners) {
-        listener.onRemoveBlockByClient(sessionId, blockId);
-      }
-    }
+    mEventDispatcher.onRemoveBlockByClient(sessionId, blockId);
   }
 
   @Override
   public void accessBlock(long sessionId, long blockId) throws BlockDoesNotExistException {
-    boolean hasBlock;
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
-      hasBlock = mMetaManager.hasBlockMeta(blockId);
-    }
-    if (!hasBlock) {
+    if (!mMetaManager.hasBlockMeta(blockId)) {
       throw new BlockDoesNotExistException(ExceptionMessage.NO_BLOCK_ID_FOUND, blockId);
     }
-    synchronized (mBlockStoreEventListeners) {
-      for (BlockStoreEventListener listener : mBlockStoreEventListeners) {
-        listener.onAccessBlock(sessionId, blockId);
-      }
-    }
+    mEventDispatcher.onAccessBlock(sessionId, blockId);
   }
 
   @Override
@@ -334,10 +332,7 @@ public final class TieredBlockStore implements BlockStore {
     mLockManager.cleanupSession(sessionId);
 
     // Collect a list of temp blocks the given session owns and abort all of them with best effort
-    List<TempBlockMeta> tempBlocksToRemove;
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
-      tempBlocksToRemove = mMetaManager.getSessionTempBlocks(sessionId);
-    }
+    List<TempBlockMeta> tempBlocksToRemove = mMetaManager.getSessionTempBlocks(sessionId);
     for (TempBlockMeta tempBlockMeta : tempBlocksToRemove) {
       try {
         abortBlockInternal(sessionId, tempBlockMeta.getBlockId());
@@ -350,39 +345,27 @@ public final class TieredBlockStore implements BlockStore {
 
   @Override
   public boolean hasBlockMeta(long blockId) {
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
-      return mMetaManager.hasBlockMeta(blockId);
-    }
+    return mMetaManager.hasBlockMeta(blockId);
   }
 
   @Override
   public BlockStoreMeta getBlockStoreMeta() {
-    BlockStoreMeta storeMeta;
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
-      storeMeta = mMetaManager.getBlockStoreMeta();
-    }
-    return storeMeta;
+    return mMetaManager.getBlockStoreMeta();
   }
 
   @Override
   public BlockStoreMeta getBlockStoreMetaFull() {
-    BlockStoreMeta storeMeta;
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
-      storeMeta = mMetaManager.getBlockStoreMetaFull();
-    }
-    return storeMeta;
+    return mMetaManager.getBlockStoreMetaFull();
   }
 
   @Override
   public void registerBlockStoreEventListener(BlockStoreEventListener listener) {
-    synchronized (mBlockStoreEventListeners) {
-      mBlockStoreEventListeners.add(listener);
-    }
+    mEventDispatcher.registerListener(listener);
   }
 
   /**
-   * Checks if a block id is available for a new temp block. This method must be enclosed by
-   * {@link #mMetadataLock}.
+   * Checks if a block id is available for a new temp block. This method must be called with the
+   * block lock held.
    *
    * @param blockId the id of block
    * @throws BlockAlreadyExistsException if block id already exists
@@ -397,8 +380,8 @@ public final class TieredBlockStore implements BlockStore {
   }
 
   /**
-   * Checks if block id is a temporary block and owned by session id. This method must be enclosed
-   * by {@link #mMetadataLock}.
+   * Checks if block id is a temporary block and owned by session id. This method must be called
+   * with the block lock held.
    *
    * @param sessionId the id of session
    * @param blockId the id of block
@@ -435,16 +418,14 @@ public final class TieredBlockStore implements BlockStore {
     try {
       String path;
       TempBlockMeta tempBlockMeta;
-      try (LockResource r = new LockResource(mMetadataReadLock)) {
-        checkTempBlockOwnedBySession(sessionId, blockId);
-        tempBlockMeta = mMetaManager.getTempBlockMeta(blockId);
-        path = tempBlockMeta.getPath();
-      }
+      checkTempBlockOwnedBySession(sessionId, blockId);
+      tempBlockMeta = mMetaManager.getTempBlockMeta(blockId);
+      path = tempBlockMeta.getPath();
 
-      // Heavy IO is guarded by block lock but not metadata lock. This may throw IOException.
+      // Heavy IO is guarded by block lock only. This may throw IOException.
       Files.delete(Paths.get(path));
 
-      try (LockResource r = new LockResource(mMetadataWriteLock)) {
+      try {
         mMetaManager.abortTempBlockMeta(tempBlockMeta);
       } catch (BlockDoesNotExistException e) {
         throw Throwables.propagate(e); // We shall never reach here
@@ -477,18 +458,16 @@ public final class TieredBlockStore implements BlockStore {
       String srcPath;
       String dstPath;
       TempBlockMeta tempBlockMeta;
-      try (LockResource r = new LockResource(mMetadataReadLock)) {
-        checkTempBlockOwnedBySession(sessionId, blockId);
-        tempBlockMeta = mMetaManager.getTempBlockMeta(blockId);
-        srcPath = tempBlockMeta.getPath();
-        dstPath = tempBlockMeta.getCommitPath();
-        loc = tempBlockMeta.getBlockLocation();
-      }
+      checkTempBlockOwnedBySession(sessionId, blockId);
+      tempBlockMeta = mMetaManager.getTempBlockMeta(blockId);
+      srcPath = tempBlockMeta.getPath();
+      dstPath = tempBlockMeta.getCommitPath();
+      loc = tempBlockMeta.getBlockLocation();
 
-      // Heavy IO is guarded by block lock but not metadata lock. This may throw IOException.
+      // Heavy IO is guarded by block lock only. This may throw IOException.
       FileUtils.move(srcPath, dstPath);
 
-      try (LockResource r = new LockResource(mMetadataWriteLock)) {
+      try {
         mMetaManager.commitTempBlockMeta(tempBlockMeta);
       } catch (BlockAlreadyExistsException | BlockDoesNotExistException
           | WorkerOutOfSpaceException e) {
@@ -517,31 +496,48 @@ public final class TieredBlockStore implements BlockStore {
       BlockStoreLocation location, long initialBlockSize, boolean newBlock)
           throws BlockAlreadyExistsException {
     // NOTE: a temp block is supposed to be visible for its own writer, unnecessary to acquire
-    // block lock here since no sharing
-    try (LockResource r = new LockResource(mMetadataWriteLock)) {
+    // block lock here since no sharing. A new block is locked though, so that its id can not be
+    // taken between the check and the addition of the temp block. The block to move is already
+    // locked by the caller.
+    long lockId = newBlock ? mLockManager.lockBlock(sessionId, blockId, BlockLockType.WRITE) : -1;
+    try {
       if (newBlock) {
         checkTempBlockIdAvailable(blockId);
       }
-      StorageDirView dirView =
-          mAllocator.allocateBlockWithView(sessionId, initialBlockSize, location, getUpdatedView());
-      if (dirView == null) {
-        // Allocator fails to find a proper place for this new block.
-        return null;
+      synchronized (mAllocationLock) {
+        StorageDirView dirView = mAllocator.allocateBlockWithView(sessionId, initialBlockSize,
+            location, getUpdatedView());
+        if (dirView == null) {
+          // Allocator fails to find a proper place for this new block.
+          return null;
+        }
+        // TODO(carson): Add tempBlock to corresponding storageDir and remove the use of
+        // StorageDirView.createTempBlockMeta.
+        TempBlockMeta tempBlock =
+            dirView.createTempBlockMeta(sessionId, blockId, initialBlockSize);
+        try {
+          mMetaManager.addTempBlockMeta(tempBlock);
+        } catch (WorkerOutOfSpaceException e) {
+          // The space the allocator found was taken concurrently, e.g. by a growing temp block.
+          LOG.debug("{} bytes allocated at {} by allocator were taken before addTempBlockMeta",
+              initialBlockSize, location);
+          return null;
+        } catch (BlockAlreadyExistsException e) {
+          // If we reach here, allocator is not working properly
+          LOG.error("Unexpected failure: {} bytes allocated at {} by allocator, "
+              + "but addTempBlockMeta failed", initialBlockSize, location);
+          throw Throwables.propagate(e);
+        }
+        return tempBlock;
       }
-      // TODO(carson): Add tempBlock to corresponding storageDir and remove the use of
-      // StorageDirView.createTempBlockMeta.
-      TempBlockMeta tempBlock = dirView.createTempBlockMeta(sessionId, blockId, initialBlockSize);
-      try {
-        // Add allocated temp block to metadata manager. This should never fail if allocator
-        // correctly assigns a StorageDir.
-        mMetaManager.addTempBlockMeta(tempBlock);
-      } catch (WorkerOutOfSpaceException | BlockAlreadyExistsException e) {
-        // If we reach here, allocator is not working properly
-        LOG.error("Unexpected failure: {} bytes allocated at {} by allocator, "
-            + "but addTempBlockMeta failed", initialBlockSize, location);
-        throw Throwables.propagate(e);
+    } finally {
+      if (newBlock) {
+        try {
+          mLockManager.unlockBlock(lockId);
+        } catch (BlockDoesNotExistException e) {
+          throw Throwables.propagate(e); // we shall never reach here
+        }
       }
-      return tempBlock;
     }
   }
 
@@ -559,9 +555,12 @@ public final class TieredBlockStore implements BlockStore {
       throws BlockDoesNotExistException {
     // NOTE: a temp block is supposed to be visible for its own writer, unnecessary to acquire
     // block lock here since no sharing
-    try (LockResource r = new LockResource(mMetadataWriteLock)) {
-      TempBlockMeta tempBlockMeta = mMetaManager.getTempBlockMeta(blockId);
-      if (tempBlockMeta.getParentDir().getAvailableBytes() < additionalBytes) {
+    TempBlockMeta tempBlockMeta = mMetaManager.getTempBlockMeta(blockId);
+    StorageDir dir = tempBlockMeta.getParentDir();
+    // Other blocks may take space of the dir concurrently, so the space is checked and reserved
+    // while synchronizing on the dir.
+    synchronized (dir) {
+      if (dir.getAvailableBytes() < additionalBytes) {
         return new Pair<>(false, tempBlockMeta.getBlockLocation());
       }
       // Increase the size of this temp block
@@ -571,7 +570,28 @@ public final class TieredBlockStore implements BlockStore {
       } catch (InvalidWorkerStateException e) {
         throw Throwables.propagate(e); // we shall never reach here
       }
-      return new Pair<>(true, null);
+    }
+    return new Pair<>(true, null);
+  }
+
+  /**
+   * Frees space for a writer which ran out of space, i.e. which waits for the eviction because the
+   * space was not freed in the background in time.
+   *
+   * @param sessionId the session Id
+   * @param availableBytes amount of space in bytes to free
+   * @param location location of space
+   * @throws WorkerOutOfSpaceException if it is impossible to achieve the free requirement
+   * @throws IOException if I/O errors occur when removing or moving block files
+   */
+  private void freeSpaceForWriter(long sessionId, long availableBytes,
+      BlockStoreLocation location) throws WorkerOutOfSpaceException, IOException {
+    Metrics.FOREGROUND_EVICTIONS.inc();
+    Timer.Context timer = Metrics.FOREGROUND_EVICTION_TIMER.time();
+    try {
+      freeSpaceInternal(sessionId, availableBytes, location);
+    } finally {
+      timer.stop();
     }
   }
 
@@ -587,13 +607,10 @@ public final class TieredBlockStore implements BlockStore {
    */
   private void freeSpaceInternal(long sessionId, long availableBytes, BlockStoreLocation location)
       throws WorkerOutOfSpaceException, IOException {
-    EvictionPlan plan;
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
-      plan = mEvictor.freeSpaceWithView(availableBytes, location, getUpdatedView());
-      // Absent plan means failed to evict enough space.
-      if (plan == null) {
-        throw new WorkerOutOfSpaceException(ExceptionMessage.NO_EVICTION_PLAN_TO_FREE_SPACE);
-      }
+    EvictionPlan plan = mEvictor.freeSpaceWithView(availableBytes, location, getUpdatedView());
+    // Absent plan means failed to evict enough space.
+    if (plan == null) {
+      throw new WorkerOutOfSpaceException(ExceptionMessage.NO_EVICTION_PLAN_TO_FREE_SPACE);
     }
 
     // 1. remove blocks to make room.
@@ -608,11 +625,7 @@ public final class TieredBlockStore implements BlockStore {
         LOG.info("Failed to evict blockId {}, it could be already deleted", blockInfo.getFirst());
         continue;
       }
-      synchronized (mBlockStoreEventListeners) {
-        for (BlockStoreEventListener listener : mBlockStoreEventListeners) {
-          listener.onRemoveBlockByWorker(sessionId, blockInfo.getFirst());
-        }
-      }
+      mEventDispatcher.onRemoveBlockByWorker(sessionId, blockInfo.getFirst());
     }
     // 2. transfer blocks among tiers.
     // 2.1. group blocks move plan by the destination tier.
@@ -624,40 +637,122 @@ public final class TieredBlockStore implements BlockStore {
       }
       blocksGroupedByDestTier.get(alias).add(entry);
     }
-    // 2.2. move blocks in the order of their dst tiers, from bottom to top
+    // 2.2. move blocks in the order of their dst tiers, from bottom to top, and the blocks to the
+    // same tier concurrently
     for (int tierOrdinal = mStorageTierAssoc.size() - 1; tierOrdinal >= 0; --tierOrdinal) {
       Set<BlockTransferInfo> toMove =
           blocksGroupedByDestTier.get(mStorageTierAssoc.getAlias(tierOrdinal));
-      if (toMove == null) {
-        toMove = new HashSet<>();
+      if (toMove != null) {
+        moveBlocksConcurrently(sessionId, toMove);
       }
-      for (BlockTransferInfo entry : toMove) {
-        long blockId = entry.getBlockId();
-        BlockStoreLocation oldLocation = entry.getSrcLocation();
-        BlockStoreLocation newLocation = entry.getDstLocation();
-        MoveBlockResult moveResult;
-        try {
-          moveResult = moveBlockInternal(sessionId, blockId, oldLocation, newLocation);
-        } catch (InvalidWorkerStateException e) {
+    }
+  }
+
+  /**
+   * Moves blocks concurrently on {@link #mMoveExecutor}, and waits for all of them to be moved. At
+   * most {@link #mMoveDirConcurrency} blocks are moved from or to each storage dir at the same
+   * time, so that the moves are spread over the devices instead of all hitting the same one.
+   *
+   * @param sessionId the session Id
+   * @param transfers the blocks to move
+   * @throws IOException if I/O errors occur when moving block files
+   */
+  private void moveBlocksConcurrently(final long sessionId, Collection<BlockTransferInfo> transfers)
+      throws IOException {
+    List<BlockTransferInfo> toMove = new ArrayList<>(transfers);
+    List<Future<MoveBlockResult>> moveResults = new ArrayList<>(toMove.size());
+    for (final BlockTransferInfo entry : toMove) {
+      moveResults.add(mMoveExecutor.submit(new Callable<MoveBlockResult>() {
+        @Override
+        public MoveBlockResult call() throws Exception {
+          return moveBlockWithDirPermits(sessionId, entry);
+        }
+      }));
+    }
+    IOException ioException = null;
+    for (int i = 0; i < toMove.size(); i++) {
+      long blockId = toMove.get(i).getBlockId();
+      MoveBlockResult moveResult;
+      try {
+        moveResult = Uninterruptibles.getUninterruptibly(moveResults.get(i));
+      } catch (ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof InvalidWorkerStateException) {
           // Evictor is not working properly
           LOG.error("Failed to evict blockId {}, this is temp block", blockId);
-          continue;
-        } catch (BlockAlreadyExistsException e) {
-          continue;
-        } catch (BlockDoesNotExistException e) {
+        } else if (cause instanceof BlockDoesNotExistException) {
           LOG.info("Failed to move blockId {}, it could be already deleted", blockId);
-          continue;
-        }
-        if (moveResult.getSuccess()) {
-          synchronized (mBlockStoreEventListeners) {
-            for (BlockStoreEventListener listener : mBlockStoreEventListeners) {
-              listener.onMoveBlockByWorker(sessionId, blockId, moveResult.getSrcLocation(),
-                  newLocation);
-            }
+        } else if (cause instanceof IOException) {
+          // Keep waiting for the other moves, so that none is left running after returning.
+          if (ioException == null) {
+            ioException = (IOException) cause;
           }
+        } else if (!(cause instanceof BlockAlreadyExistsException)) {
+          throw Throwables.propagate(cause);
         }
+        continue;
+      }
+      if (moveResult.getSuccess()) {
+        mEventDispatcher.onMoveBlockByWorker(sessionId, blockId, moveResult.getSrcLocation(),
+            toMove.get(i).getDstLocation());
       }
     }
+    if (ioException != null) {
+      throw ioException;
+    }
+  }
+
+  /**
+   * Moves a block once there are permits to move a block from its source dir and to its
+   * destination dir. The permits are acquired in the order of the dirs, so that concurrent moves
+   * between the same dirs in opposite directions do not deadlock.
+   *
+   * @param sessionId the session Id
+   * @param transfer the block to move
+   * @return the resulting information about the move operation
+   * @throws BlockDoesNotExistException if block is not found
+   * @throws BlockAlreadyExistsException if a block with same Id already exists in new location
+   * @throws InvalidWorkerStateException if the block to move is a temp block
+   * @throws IOException if I/O errors occur when moving block file
+   */
+  private MoveBlockResult moveBlockWithDirPermits(long sessionId, BlockTransferInfo transfer)
+      throws BlockDoesNotExistException, BlockAlreadyExistsException,
+      InvalidWorkerStateException, IOException {
+    BlockStoreLocation srcLocation = transfer.getSrcLocation();
+    BlockStoreLocation dstLocation = transfer.getDstLocation();
+    boolean srcFirst = srcLocation.tierAlias().compareTo(dstLocation.tierAlias()) < 0
+        || (srcLocation.tierAlias().equals(dstLocation.tierAlias())
+            && srcLocation.dir() <= dstLocation.dir());
+    Semaphore first = getMoveDirPermits(srcFirst ? srcLocation : dstLocation);
+    Semaphore second = getMoveDirPermits(srcFirst ? dstLocation : srcLocation);
+    first.acquireUninterruptibly();
+    try {
+      if (second != first) {
+        second.acquireUninterruptibly();
+      }
+      try {
+        return moveBlockInternal(sessionId, transfer.getBlockId(), srcLocation, dstLocation);
+      } finally {
+        if (second != first) {
+          second.release();
+        }
+      }
+    } finally {
+      first.release();
+    }
+  }
+
+  /**
+   * @param location the location of a storage dir
+   * @return the permits to move blocks from or to the storage dir
+   */
+  private Semaphore getMoveDirPermits(BlockStoreLocation location) {
+    Semaphore permits = mMoveDirPermits.get(location);
+    if (permits == null) {
+      mMoveDirPermits.putIfAbsent(location, new Semaphore(mMoveDirConcurrency));
+      permits = mMoveDirPermits.get(location);
+    }
+    return permits;
   }
 
   /**
@@ -701,15 +796,13 @@ public final class TieredBlockStore implements BlockStore {
       BlockStoreLocation srcLocation;
       BlockStoreLocation dstLocation;
 
-      try (LockResource r = new LockResource(mMetadataReadLock)) {
-        if (mMetaManager.hasTempBlockMeta(blockId)) {
-          throw new InvalidWorkerStateException(ExceptionMessage.MOVE_UNCOMMITTED_BLOCK, blockId);
-        }
-        srcBlockMeta = mMetaManager.getBlockMeta(blockId);
-        srcLocation = srcBlockMeta.getBlockLocation();
-        srcFilePath = srcBlockMeta.getPath();
-        blockSize = srcBlockMeta.getBlockSize();
+      if (mMetaManager.hasTempBlockMeta(blockId)) {
+        throw new InvalidWorkerStateException(ExceptionMessage.MOVE_UNCOMMITTED_BLOCK, blockId);
       }
+      srcBlockMeta = mMetaManager.getBlockMeta(blockId);
+      srcLocation = srcBlockMeta.getBlockLocation();
+      srcFilePath = srcBlockMeta.getPath();
+      blockSize = srcBlockMeta.getBlockSize();
 
       if (!srcLocation.belongsTo(oldLocation)) {
         throw new BlockDoesNotExistException(ExceptionMessage.BLOCK_NOT_FOUND_AT_LOCATION, blockId,
@@ -734,10 +827,13 @@ public final class TieredBlockStore implements BlockStore {
       }
       dstFilePath = dstTempBlock.getCommitPath();
 
-      // Heavy IO is guarded by block lock but not metadata lock. This may throw IOException.
+      // Heavy IO is guarded by block lock only. This may throw IOException.
+      Timer.Context timer = Metrics.BLOCK_MOVE_TIMER.time();
       FileUtils.move(srcFilePath, dstFilePath);
+      timer.stop();
+      Metrics.BYTES_MOVED.inc(blockSize);
 
-      try (LockResource r = new LockResource(mMetadataWriteLock)) {
+      try {
         // If this metadata update fails, we panic for now.
         // TODO(bin): Implement rollback scheme to recover from IO failures.
         mMetaManager.moveBlockMeta(srcBlockMeta, dstTempBlock);
@@ -770,22 +866,20 @@ public final class TieredBlockStore implements BlockStore {
     try {
       String filePath;
       BlockMeta blockMeta;
-      try (LockResource r = new LockResource(mMetadataReadLock)) {
-        if (mMetaManager.hasTempBlockMeta(blockId)) {
-          throw new InvalidWorkerStateException(ExceptionMessage.REMOVE_UNCOMMITTED_BLOCK, blockId);
-        }
-        blockMeta = mMetaManager.getBlockMeta(blockId);
-        filePath = blockMeta.getPath();
+      if (mMetaManager.hasTempBlockMeta(blockId)) {
+        throw new InvalidWorkerStateException(ExceptionMessage.REMOVE_UNCOMMITTED_BLOCK, blockId);
       }
+      blockMeta = mMetaManager.getBlockMeta(blockId);
+      filePath = blockMeta.getPath();
 
       if (!blockMeta.getBlockLocation().belongsTo(location)) {
         throw new BlockDoesNotExistException(ExceptionMessage.BLOCK_NOT_FOUND_AT_LOCATION, blockId,
             location);
       }
-      // Heavy IO is guarded by block lock but not metadata lock. This may throw IOException.
+      // Heavy IO is guarded by block lock only. This may throw IOException.
       Files.delete(Paths.get(filePath));
 
-      try (LockResource r = new LockResource(mMetadataWriteLock)) {
+      try {
         mMetaManager.removeBlockMeta(blockMeta);
       } catch (BlockDoesNotExistException e) {
         throw Throwables.propagate(e); // we shall never reach here
@@ -865,4 +959,22 @@ public final class TieredBlockStore implements BlockStore {
       return mDstLocation;
     }
   }
+
+  /**
+   * Class that contains metrics about the {@link TieredBlockStore}.
+   */
+  private static final class Metrics {
+    /** Number of writes which waited for space to be freed. */
+    private static final Counter FOREGROUND_EVICTIONS =
+        MetricsSystem.workerCounter("ForegroundEvictions");
+    /** Time the writes waited for space to be freed. */
+    private static final Timer FOREGROUND_EVICTION_TIMER =
+        MetricsSystem.workerTimer("ForegroundEvictionTimer");
+    /** Number of bytes of the blocks moved between storage dirs. */
+    private static final Counter BYTES_MOVED = MetricsSystem.workerCounter("BytesMovedBetweenDirs");
+    /** Latency of the moves of block files between storage dirs. */
+    private static final Timer BLOCK_MOVE_TIMER = MetricsSystem.workerTimer("BlockMoveTimer");
+
+    private Metrics() {} // prevent instantiation
+  }
 }
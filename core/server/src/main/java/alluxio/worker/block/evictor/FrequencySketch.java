@@ -0,0 +1,154 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block.evictor;
+
+import com.google.common.base.Preconditions;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A count-min sketch estimating how often block ids were accessed recently, in a fixed amount of
+ * memory which does not depend on how many distinct blocks were accessed.
+ *
+ * Each block id maps to four 4-bit counters, one in each of four rows, and its frequency is the
+ * minimum of them, so it can be over-estimated by collisions but never under-estimated. Counters
+ * saturate at 15. Once the number of increments reaches ten times the capacity of the sketch, all
+ * the counters are halved, so that the frequencies reflect recent accesses more than old ones.
+ */
+@NotThreadSafe
+final class FrequencySketch {
+  /** The maximum value of a counter. */
+  static final int MAX_FREQUENCY = 15;
+  private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L,
+      0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+  /** The mask keeping the lower three bits of each counter when they are shifted to halve them. */
+  private static final long RESET_MASK = 0x7777777777777777L;
+  private static final int SAMPLE_SIZE_FACTOR = 10;
+
+  /** Sixteen counters in each long, four consecutive ones for each row. */
+  private long[] mTable;
+  private int mTableMask;
+  /** The number of increments after which the counters are halved. */
+  private int mSampleSize;
+  /** The number of increments since the counters were halved. */
+  private int mSize;
+
+  /**
+   * Creates a new instance of {@link FrequencySketch}.
+   *
+   * @param capacity the expected number of distinct blocks
+   */
+  public FrequencySketch(int capacity) {
+    ensureCapacity(capacity);
+  }
+
+  /**
+   * Grows the sketch to track at least the given number of distinct blocks with few collisions.
+   * Growing the sketch drops the frequencies it has recorded.
+   *
+   * @param capacity the expected number of distinct blocks
+   */
+  public void ensureCapacity(int capacity) {
+    Preconditions.checkArgument(capacity >= 0, "capacity must be non-negative");
+    int length = Integer.highestOneBit(Math.max(1, Math.min(capacity, 1 << 30) - 1)) << 1;
+    if (mTable != null && mTable.length >= length) {
+      return;
+    }
+    mTable = new long[length];
+    mTableMask = length - 1;
+    mSampleSize = (int) Math.min((long) SAMPLE_SIZE_FACTOR * length, Integer.MAX_VALUE);
+    mSize = 0;
+  }
+
+  /**
+   * @param blockId the block id
+   * @return the estimated number of recent accesses of the block, at most {@link #MAX_FREQUENCY}
+   */
+  public int frequency(long blockId) {
+    int hash = spread(blockId);
+    int start = (hash & 3) << 2;
+    int frequency = Integer.MAX_VALUE;
+    for (int row = 0; row < 4; row++) {
+      int index = indexOf(hash, row);
+      int count = (int) ((mTable[index] >>> ((start + row) << 2)) & 0xfL);
+      frequency = Math.min(frequency, count);
+    }
+    return frequency;
+  }
+
+  /**
+   * Records an access of a block.
+   *
+   * @param blockId the block id
+   */
+  public void increment(long blockId) {
+    int hash = spread(blockId);
+    int start = (hash & 3) << 2;
+    boolean added = false;
+    for (int row = 0; row < 4; row++) {
+      added |= incrementAt(indexOf(hash, row), start + row);
+    }
+    if (added && ++mSize == mSampleSize) {
+      reset();
+    }
+  }
+
+  /**
+   * Increments a counter unless it is saturated.
+   *
+   * @param index the index of the long holding the counter
+   * @param counter the index of the counter in the long
+   * @return whether the counter was incremented
+   */
+  private boolean incrementAt(int index, int counter) {
+    int offset = counter << 2;
+    long mask = 0xfL << offset;
+    if ((mTable[index] & mask) != mask) {
+      mTable[index] += 1L << offset;
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Halves all the counters.
+   */
+  private void reset() {
+    for (int i = 0; i < mTable.length; i++) {
+      mTable[i] = (mTable[i] >>> 1) & RESET_MASK;
+    }
+    mSize >>>= 1;
+  }
+
+  /**
+   * @param hash the spread hash of a block id
+   * @param row the row of the counter
+   * @return the index of the long holding the counter of the row
+   */
+  private int indexOf(int hash, int row) {
+    long h = (hash + SEEDS[row]) * SEEDS[row];
+    h += h >>> 32;
+    return ((int) h) & mTableMask;
+  }
+
+  /**
+   * @param blockId the block id
+   * @return a hash of the block id with its bits spread, since block ids of a file only differ
+   *         in their lower bits
+   */
+  private static int spread(long blockId) {
+    int x = (int) (blockId ^ (blockId >>> 32));
+    x = ((x >>> 16) ^ x) * 0x45d9f3b;
+    x = ((x >>> 16) ^ x) * 0x45d9f3b;
+    return (x >>> 16) ^ x;
+  }
+}
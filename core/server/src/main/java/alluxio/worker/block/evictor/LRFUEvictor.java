@@ -13,7 +13,7 @@ package alluxio.worker.block.evictor;
 
 import alluxio.Configuration;
 import alluxio.PropertyKey;
-import alluxio.collections.Pair;
+import alluxio.collections.LongLinkedHashMap;
 import alluxio.worker.block.BlockMetadataManagerView;
 import alluxio.worker.block.BlockStoreLocation;
 import alluxio.worker.block.allocator.Allocator;
@@ -24,18 +24,12 @@ import alluxio.worker.block.meta.StorageTierView;
 import com.google.common.base.Function;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Iterators;
-import io.netty.util.internal.chmv8.ConcurrentHashMapV8;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.Iterator;
-import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.TreeSet;
 
 import javax.annotation.concurrent.NotThreadSafe;
+import javax.annotation.concurrent.ThreadSafe;
 
 /**
  * This class is used to evict blocks by LRFU. LRFU evict blocks with minimum CRF, where CRF of a
@@ -47,20 +41,30 @@ import javax.annotation.concurrent.NotThreadSafe;
  * combines LRU and LFU, it evicts blocks with small frequency or large recency. When
  * {@link #mStepFactor} is close to 0, LRFU is close to LFU. Conversely, LRFU is close to LRU
  * when {@link #mStepFactor} is close to 1.
+ *
+ * Since the CRFs of all the blocks decay by the same factor as time passes, the order of the
+ * blocks by CRF only changes when a block is accessed. The blocks are kept sorted by the log of
+ * their CRF at logic time 0, which does not depend on the current time, and only the accessed
+ * block is re-sorted on an access.
  */
 @NotThreadSafe
 public final class LRFUEvictor extends AbstractEvictor {
-  // Map from block id to the last updated logic time count
-  private final Map<Long, Long> mBlockIdToLastUpdateTime = new ConcurrentHashMapV8<>();
-  // Map from block id to the CRF value of the block
-  private final Map<Long, Double> mBlockIdToCRFValue = new ConcurrentHashMapV8<>();
+  private static final int BLOCK_MAP_INIT_CAPACITY = 200;
+
+  /** Map from block id to the CRF of the block. Accesses are synchronized on the map. */
+  private final LongLinkedHashMap<BlockCRF> mBlockIdToCRF =
+      new LongLinkedHashMap<>(BLOCK_MAP_INIT_CAPACITY);
+  /** The CRFs of the blocks in ascending order. */
+  private final TreeSet<BlockCRF> mSortedCRF = new TreeSet<>();
   // In the range of [0, 1]. Closer to 0, LRFU closer to LFU. Closer to 1, LRFU closer to LRU
   private final double mStepFactor;
   // In the range of [2, INF]
   private final double mAttenuationFactor;
+  /** The decrease of the log of a CRF in a logic time unit. */
+  private final double mLogDecayPerTime;
 
   //logic time count
-  private AtomicLong mLogicTimeCount = new AtomicLong(0L);
+  private long mLogicTimeCount = 0L;
 
   /**
    * Creates a new instance of {@link LRFUEvictor}.
@@ -77,13 +81,13 @@ public final class LRFUEvictor extends AbstractEvictor {
         "Step factor should be in the range of [0.0, 1.0]");
     Preconditions.checkArgument(mAttenuationFactor >= 2.0,
         "Attenuation factor should be no less than 2.0");
+    mLogDecayPerTime = mStepFactor * Math.log(mAttenuationFactor);
 
     // Preloading blocks
     for (StorageTierView tier : mManagerView.getTierViews()) {
       for (StorageDirView dir : tier.getDirViews()) {
         for (BlockMeta block : dir.getEvictableBlocks()) {
-          mBlockIdToLastUpdateTime.put(block.getBlockId(), 0L);
-          mBlockIdToCRFValue.put(block.getBlockId(), 0.0);
+          updateCRF(new BlockCRF(block.getBlockId(), 0.0, 0L));
         }
       }
     }
@@ -100,52 +104,34 @@ public final class LRFUEvictor extends AbstractEvictor {
     return Math.pow(1.0 / mAttenuationFactor, logicTimeInterval * mStepFactor);
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * The blocks are locked while the plan is made, so that they can be iterated in CRF order in
+   * place.
+   */
   @Override
   public EvictionPlan freeSpaceWithView(long bytesToBeAvailable, BlockStoreLocation location,
       BlockMetadataManagerView view) {
-    synchronized (mBlockIdToLastUpdateTime) {
-      updateCRFValue();
-      mManagerView = view;
-
-      List<BlockTransferInfo> toMove = new ArrayList<>();
-      List<Pair<Long, BlockStoreLocation>> toEvict = new ArrayList<>();
-      EvictionPlan plan = new EvictionPlan(toMove, toEvict);
-      StorageDirView candidateDir = cascadingEvict(bytesToBeAvailable, location, plan);
-
-      mManagerView.clearBlockMarks();
-      if (candidateDir == null) {
-        return null;
-      }
-
-      return plan;
+    synchronized (mBlockIdToCRF) {
+      return super.freeSpaceWithView(bytesToBeAvailable, location, view);
     }
   }
 
-  @Override
-  protected Iterator<Long> getBlockIterator() {
-    return Iterators.transform(getSortedCRF().iterator(),
-        new Function<Map.Entry<Long, Double>, Long>() {
-          @Override
-          public Long apply(Entry<Long, Double> input) {
-            return input.getKey();
-          }
-        });
-  }
-
   /**
-   * Sorts all blocks in ascending order of CRF.
+   * {@inheritDoc}
    *
-   * @return the sorted CRF of all blocks
+   * The iterator goes through the sorted CRFs in place, so it must only be used while holding the
+   * lock of {@link #mBlockIdToCRF}.
    */
-  private List<Map.Entry<Long, Double>> getSortedCRF() {
-    List<Map.Entry<Long, Double>> sortedCRF = new ArrayList<>(mBlockIdToCRFValue.entrySet());
-    Collections.sort(sortedCRF, new Comparator<Map.Entry<Long, Double>>() {
+  @Override
+  protected Iterator<Long> getBlockIterator() {
+    return Iterators.transform(mSortedCRF.iterator(), new Function<BlockCRF, Long>() {
       @Override
-      public int compare(Entry<Long, Double> o1, Entry<Long, Double> o2) {
-        return Double.compare(o1.getValue(), o2.getValue());
+      public Long apply(BlockCRF input) {
+        return input.mBlockId;
       }
     });
-    return sortedCRF;
   }
 
   @Override
@@ -170,67 +156,109 @@ public final class LRFUEvictor extends AbstractEvictor {
 
   @Override
   protected void onRemoveBlockFromIterator(long blockId) {
-    mBlockIdToLastUpdateTime.remove(blockId);
-    mBlockIdToCRFValue.remove(blockId);
-  }
-
-  /**
-   * This function is used to update CRF of all the blocks according to current logic time. When
-   * some block is accessed in some time, only CRF of that block itself will be updated to current
-   * time, other blocks who are not accessed recently will only be updated until
-   * {@link #freeSpaceWithView(long, BlockStoreLocation, BlockMetadataManagerView)} is called
-   * because blocks need to be sorted in the increasing order of CRF. When this function is called,
-   * {@link #mBlockIdToLastUpdateTime} and {@link #mBlockIdToCRFValue} need to be locked in case
-   * of the changing of values.
-   */
-  private void updateCRFValue() {
-    long currentLogicTime = mLogicTimeCount.get();
-    for (Entry<Long, Double> entry : mBlockIdToCRFValue.entrySet()) {
-      long blockId = entry.getKey();
-      double crfValue = entry.getValue();
-      mBlockIdToCRFValue.put(blockId, crfValue
-          * calculateAccessWeight(currentLogicTime - mBlockIdToLastUpdateTime.get(blockId)));
-      mBlockIdToLastUpdateTime.put(blockId, currentLogicTime);
-    }
+    // The iterator has already removed the block from the sorted CRFs.
+    mBlockIdToCRF.remove(blockId);
   }
 
   /**
-   * Updates {@link #mBlockIdToLastUpdateTime} and {@link #mBlockIdToCRFValue} when block is
-   * accessed or committed. Only CRF of the accessed or committed block will be updated, CRF
-   * of other blocks will be lazily updated (only when {@link #updateCRFValue()} is called).
-   * If the block is updated at the first time, CRF of the block will be set to 1.0, otherwise
-   * the CRF of the block will be set to {1.0 + old CRF * F(current time - last update time)}.
+   * Updates the CRF of the block when it is accessed or committed. Only CRF of the accessed or
+   * committed block is updated, since the order of the other blocks does not change. If the block
+   * is updated at the first time, CRF of the block will be set to 1.0, otherwise the CRF of the
+   * block will be set to {1.0 + old CRF * F(current time - last update time)}.
    *
    * @param blockId id of the block to be accessed or committed
    */
   private void updateOnAccessAndCommit(long blockId) {
-    synchronized (mBlockIdToLastUpdateTime) {
-      long currentLogicTime = mLogicTimeCount.incrementAndGet();
+    synchronized (mBlockIdToCRF) {
+      long currentLogicTime = ++mLogicTimeCount;
       // update CRF value
       // CRF(currentLogicTime)=CRF(lastUpdateTime)*F(currentLogicTime-lastUpdateTime)+F(0)
-      if (mBlockIdToCRFValue.containsKey(blockId)) {
-        mBlockIdToCRFValue.put(blockId, mBlockIdToCRFValue.get(blockId)
-            * calculateAccessWeight(currentLogicTime - mBlockIdToLastUpdateTime.get(blockId))
-            + 1.0);
-      } else {
-        mBlockIdToCRFValue.put(blockId, 1.0);
+      BlockCRF crf = mBlockIdToCRF.get(blockId);
+      double crfValue = 1.0;
+      if (crf != null) {
+        crfValue = crf.mCRF * calculateAccessWeight(currentLogicTime - crf.mLastUpdateTime) + 1.0;
       }
-      // update currentLogicTime to lastUpdateTime
-      mBlockIdToLastUpdateTime.put(blockId, currentLogicTime);
+      updateCRF(new BlockCRF(blockId, crfValue, currentLogicTime));
     }
   }
 
   /**
-   * Updates {@link #mBlockIdToLastUpdateTime} and {@link #mBlockIdToCRFValue} when block is
-   * removed.
+   * Removes the CRF of the block when it is removed.
    *
    * @param blockId id of the block to be removed
    */
   private void updateOnRemoveBlock(long blockId) {
-    synchronized (mBlockIdToLastUpdateTime) {
-      mLogicTimeCount.incrementAndGet();
-      mBlockIdToCRFValue.remove(blockId);
-      mBlockIdToLastUpdateTime.remove(blockId);
+    synchronized (mBlockIdToCRF) {
+      mLogicTimeCount++;
+      BlockCRF crf = mBlockIdToCRF.remove(blockId);
+      if (crf != null) {
+        mSortedCRF.remove(crf);
+      }
+    }
+  }
+
+  /**
+   * Replaces the CRF of a block, re-sorting the block.
+   *
+   * @param crf the new CRF of the block
+   */
+  private void updateCRF(BlockCRF crf) {
+    BlockCRF previous = mBlockIdToCRF.put(crf.mBlockId, crf);
+    if (previous != null) {
+      mSortedCRF.remove(previous);
+    }
+    mSortedCRF.add(crf);
+  }
+
+  /**
+   * The CRF of a block at the last time it was updated, ordered by the CRF at any given time.
+   */
+  @ThreadSafe
+  private final class BlockCRF implements Comparable<BlockCRF> {
+    private final long mBlockId;
+    /** The CRF of the block at the last update time. */
+    private final double mCRF;
+    private final long mLastUpdateTime;
+    /**
+     * The log of the CRF of the block at logic time 0, i.e.
+     * log(CRF(t)) + t * {@link #mLogDecayPerTime} at the last update time t.
+     */
+    private final double mSortKey;
+
+    /**
+     * Creates a new instance of {@link BlockCRF}.
+     *
+     * @param blockId the id of the block
+     * @param crf the CRF of the block at the update time
+     * @param updateTime the logic update time
+     */
+    BlockCRF(long blockId, double crf, long updateTime) {
+      mBlockId = blockId;
+      mCRF = crf;
+      mLastUpdateTime = updateTime;
+      mSortKey = Math.log(crf) + updateTime * mLogDecayPerTime;
+    }
+
+    @Override
+    public int compareTo(BlockCRF other) {
+      int result = Double.compare(mSortKey, other.mSortKey);
+      return result != 0 ? result : Long.compare(mBlockId, other.mBlockId);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof BlockCRF)) {
+        return false;
+      }
+      return compareTo((BlockCRF) o) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+      return Long.valueOf(mBlockId).hashCode();
     }
   }
 }
@@ -11,6 +11,7 @@
 
 package alluxio.worker.block.evictor;
 
+import alluxio.collections.LongLinkedHashMap;
 import alluxio.worker.block.BlockMetadataManagerView;
 import alluxio.worker.block.BlockStoreLocation;
 import alluxio.worker.block.allocator.Allocator;
@@ -18,12 +19,7 @@ import alluxio.worker.block.meta.BlockMeta;
 import alluxio.worker.block.meta.StorageDirView;
 import alluxio.worker.block.meta.StorageTierView;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
-import java.util.List;
-import java.util.Map;
 
 import javax.annotation.concurrent.NotThreadSafe;
 
@@ -34,18 +30,16 @@ import javax.annotation.concurrent.NotThreadSafe;
 @NotThreadSafe
 public class LRUEvictor extends AbstractEvictor {
   private static final int LINKED_HASH_MAP_INIT_CAPACITY = 200;
-  private static final float LINKED_HASH_MAP_INIT_LOAD_FACTOR = 0.75f;
-  private static final boolean LINKED_HASH_MAP_ACCESS_ORDERED = true;
-  private static final boolean UNUSED_MAP_VALUE = true;
+  private static final Boolean UNUSED_MAP_VALUE = Boolean.TRUE;
 
   /**
-   * Access-ordered {@link java.util.LinkedHashMap} from blockId to {@link #UNUSED_MAP_VALUE}(just a
-   * placeholder to occupy the value), acts as a LRU double linked list where most recently accessed
-   * element is put at the tail while least recently accessed element is put at the head.
+   * Map from blockId to {@link #UNUSED_MAP_VALUE}(just a placeholder to occupy the value), kept in
+   * access order, which acts as a LRU double linked list where most recently accessed element is
+   * put at the tail while least recently accessed element is put at the head. Accesses to the map
+   * are synchronized on the map.
    */
-  protected Map<Long, Boolean> mLRUCache =
-      Collections.synchronizedMap(new LinkedHashMap<Long, Boolean>(LINKED_HASH_MAP_INIT_CAPACITY,
-          LINKED_HASH_MAP_INIT_LOAD_FACTOR, LINKED_HASH_MAP_ACCESS_ORDERED));
+  protected final LongLinkedHashMap<Boolean> mLRUCache =
+      new LongLinkedHashMap<>(LINKED_HASH_MAP_INIT_CAPACITY);
 
   /**
    * Creates a new instance of {@link LRUEvictor}.
@@ -60,41 +54,63 @@ public class LRUEvictor extends AbstractEvictor {
     for (StorageTierView tierView : mManagerView.getTierViews()) {
       for (StorageDirView dirView : tierView.getDirViews()) {
         for (BlockMeta blockMeta : dirView.getEvictableBlocks()) { // all blocks with initial view
-          mLRUCache.put(blockMeta.getBlockId(), UNUSED_MAP_VALUE);
+          mLRUCache.putLast(blockMeta.getBlockId(), UNUSED_MAP_VALUE);
         }
       }
     }
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * The LRU list is locked while the plan is made, so that the blocks can be iterated in place
+   * instead of copying the list.
+   */
+  @Override
+  public EvictionPlan freeSpaceWithView(long bytesToBeAvailable, BlockStoreLocation location,
+      BlockMetadataManagerView view) {
+    synchronized (mLRUCache) {
+      return super.freeSpaceWithView(bytesToBeAvailable, location, view);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * The iterator goes through the LRU list in place, so it must only be used while holding the
+   * lock of {@link #mLRUCache}.
+   */
   @Override
   protected Iterator<Long> getBlockIterator() {
-    List<Long> blocks = new ArrayList<>(mLRUCache.keySet());
-    return blocks.iterator();
+    return mLRUCache.keyIterator();
   }
 
   @Override
   public void onAccessBlock(long sessionId, long blockId) {
-    mLRUCache.put(blockId, UNUSED_MAP_VALUE);
+    synchronized (mLRUCache) {
+      mLRUCache.putLast(blockId, UNUSED_MAP_VALUE);
+    }
   }
 
   @Override
   public void onCommitBlock(long sessionId, long blockId, BlockStoreLocation location) {
     // Since the temp block has been committed, update Evictor about the new added blocks
-    mLRUCache.put(blockId, UNUSED_MAP_VALUE);
+    synchronized (mLRUCache) {
+      mLRUCache.putLast(blockId, UNUSED_MAP_VALUE);
+    }
   }
 
   @Override
   public void onRemoveBlockByClient(long sessionId, long blockId) {
-    mLRUCache.remove(blockId);
+    synchronized (mLRUCache) {
+      mLRUCache.remove(blockId);
+    }
   }
 
   @Override
   public void onRemoveBlockByWorker(long sessionId, long blockId) {
-    mLRUCache.remove(blockId);
-  }
-
-  @Override
-  protected void onRemoveBlockFromIterator(long blockId) {
-    mLRUCache.remove(blockId);
+    synchronized (mLRUCache) {
+      mLRUCache.remove(blockId);
+    }
   }
 }
@@ -0,0 +1,294 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block.evictor;
+
+import alluxio.Configuration;
+import alluxio.PropertyKey;
+import alluxio.collections.LongLinkedHashMap;
+import alluxio.worker.block.BlockMetadataManagerView;
+import alluxio.worker.block.BlockStoreLocation;
+import alluxio.worker.block.allocator.Allocator;
+import alluxio.worker.block.meta.BlockMeta;
+import alluxio.worker.block.meta.StorageDirView;
+import alluxio.worker.block.meta.StorageTierView;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Iterators;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Implementation of an evictor which follows the W-TinyLFU policy, so that a scan over many blocks
+ * which are accessed once does not evict the blocks which are accessed frequently.
+ *
+ * New blocks enter a small LRU window, which holds a fraction
+ * {@link PropertyKey#WORKER_EVICTOR_TINYLFU_WINDOW_RATIO} of the blocks. A block leaving the window
+ * is admitted to the main space if it was accessed at least as often as the least recently used
+ * block of the probation segment of the main space, as estimated by a {@link FrequencySketch} of
+ * the recent accesses, including the accesses to blocks which are no longer stored. Otherwise it
+ * becomes a candidate, which is admitted to the main space if it is accessed again. The main
+ * space is a segmented LRU: a block accessed in the probation segment moves to the protected
+ * segment, which holds most of the main space, and the least recently used blocks of the protected
+ * segment move back to the probation segment.
+ *
+ * Since the worker only evicts blocks when it runs out of space, the competition between the
+ * candidates, the probation segment and the window is decided when blocks are evicted: the least
+ * frequently accessed of their least recently used blocks is evicted first, and on a tie the
+ * candidate, then the block of the probation segment. The blocks of the protected segment are
+ * evicted last.
+ */
+@NotThreadSafe
+public final class TinyLFUEvictor extends AbstractEvictor {
+  private static final int BLOCK_MAP_INIT_CAPACITY = 200;
+  /** The fraction of the main space held by the protected segment. */
+  private static final double PROTECTED_RATIO = 0.8;
+  private static final Boolean UNUSED_MAP_VALUE = Boolean.TRUE;
+
+  private final double mWindowRatio;
+  /** Accesses to the segments and the sketch are synchronized on the lock. */
+  private final Object mLock = new Object();
+  private final FrequencySketch mSketch = new FrequencySketch(BLOCK_MAP_INIT_CAPACITY);
+  /** The blocks of the window in LRU order. */
+  private final LongLinkedHashMap<Boolean> mWindow = newSegment();
+  /** The blocks which left the window without being admitted to the main space, in LRU order. */
+  private final LongLinkedHashMap<Boolean> mCandidates = newSegment();
+  /** The blocks of the probation segment of the main space in LRU order. */
+  private final LongLinkedHashMap<Boolean> mProbation = newSegment();
+  /** The blocks of the protected segment of the main space in LRU order. */
+  private final LongLinkedHashMap<Boolean> mProtected = newSegment();
+
+  /**
+   * Creates a new instance of {@link TinyLFUEvictor}.
+   *
+   * @param view a view of block metadata information
+   * @param allocator an allocation policy
+   */
+  public TinyLFUEvictor(BlockMetadataManagerView view, Allocator allocator) {
+    super(view, allocator);
+    mWindowRatio = Configuration.getDouble(PropertyKey.WORKER_EVICTOR_TINYLFU_WINDOW_RATIO);
+    Preconditions.checkArgument(mWindowRatio > 0.0 && mWindowRatio < 1.0,
+        "Window ratio should be in the range of (0.0, 1.0)");
+
+    // Preload existing blocks, with no history of accesses, in the probation segment.
+    for (StorageTierView tierView : mManagerView.getTierViews()) {
+      for (StorageDirView dirView : tierView.getDirViews()) {
+        for (BlockMeta blockMeta : dirView.getEvictableBlocks()) {
+          mProbation.putLast(blockMeta.getBlockId(), UNUSED_MAP_VALUE);
+        }
+      }
+    }
+    mSketch.ensureCapacity(mProbation.size());
+  }
+
+  private static LongLinkedHashMap<Boolean> newSegment() {
+    return new LongLinkedHashMap<>(BLOCK_MAP_INIT_CAPACITY);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * The segments are locked while the plan is made, so that they can be iterated in place.
+   */
+  @Override
+  public EvictionPlan freeSpaceWithView(long bytesToBeAvailable, BlockStoreLocation location,
+      BlockMetadataManagerView view) {
+    synchronized (mLock) {
+      return super.freeSpaceWithView(bytesToBeAvailable, location, view);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * The iterator goes through the segments in place, so it must only be used while holding
+   * {@link #mLock}.
+   */
+  @Override
+  protected Iterator<Long> getBlockIterator() {
+    return Iterators.concat(new FrequencyMergingIterator(Arrays.asList(mCandidates.keyIterator(),
+        mProbation.keyIterator(), mWindow.keyIterator())), mProtected.keyIterator());
+  }
+
+  @Override
+  public void onAccessBlock(long sessionId, long blockId) {
+    synchronized (mLock) {
+      mSketch.increment(blockId);
+      if (mWindow.moveToTail(blockId) || mProtected.moveToTail(blockId)) {
+        return;
+      }
+      if (mProbation.remove(blockId) != null) {
+        mProtected.putLast(blockId, UNUSED_MAP_VALUE);
+        balanceMainSpace();
+      } else if (mCandidates.remove(blockId) != null) {
+        mProbation.putLast(blockId, UNUSED_MAP_VALUE);
+      } else {
+        // The evictor has missed the block.
+        addToWindow(blockId);
+      }
+    }
+  }
+
+  @Override
+  public void onCommitBlock(long sessionId, long blockId, BlockStoreLocation location) {
+    synchronized (mLock) {
+      mSketch.increment(blockId);
+      removeBlock(blockId);
+      addToWindow(blockId);
+    }
+  }
+
+  @Override
+  public void onRemoveBlockByClient(long sessionId, long blockId) {
+    synchronized (mLock) {
+      removeBlock(blockId);
+    }
+  }
+
+  @Override
+  public void onRemoveBlockByWorker(long sessionId, long blockId) {
+    synchronized (mLock) {
+      removeBlock(blockId);
+    }
+  }
+
+  /**
+   * Removes a block from all the segments. The frequency of the block is kept in the sketch, so
+   * that a block which is cached again soon after it is evicted can be admitted to the main space.
+   *
+   * @param blockId the block id
+   */
+  private void removeBlock(long blockId) {
+    if (mWindow.remove(blockId) == null && mCandidates.remove(blockId) == null
+        && mProbation.remove(blockId) == null) {
+      mProtected.remove(blockId);
+    }
+  }
+
+  /**
+   * Adds a block to the tail of the window, and lets the blocks which overflow the window try to
+   * be admitted to the main space.
+   *
+   * @param blockId the block id
+   */
+  private void addToWindow(long blockId) {
+    mWindow.putLast(blockId, UNUSED_MAP_VALUE);
+    int numBlocks = mWindow.size() + mCandidates.size() + mProbation.size() + mProtected.size();
+    mSketch.ensureCapacity(numBlocks);
+    int maxWindowSize = Math.max(1, (int) (mWindowRatio * numBlocks));
+    while (mWindow.size() > maxWindowSize) {
+      long candidate = mWindow.firstKey();
+      mWindow.remove(candidate);
+      admit(candidate);
+    }
+  }
+
+  /**
+   * Admits a block leaving the window to the probation segment if it was accessed at least as
+   * often as the least recently used block of the probation segment, or makes it a candidate.
+   *
+   * @param blockId the id of the block leaving the window
+   */
+  private void admit(long blockId) {
+    if (mProbation.isEmpty()
+        || mSketch.frequency(blockId) >= mSketch.frequency(mProbation.firstKey())) {
+      mProbation.putLast(blockId, UNUSED_MAP_VALUE);
+    } else {
+      mCandidates.putLast(blockId, UNUSED_MAP_VALUE);
+    }
+  }
+
+  /**
+   * Moves the least recently used blocks of the protected segment to the probation segment, until
+   * the protected segment holds at most {@link #PROTECTED_RATIO} of the main space.
+   */
+  private void balanceMainSpace() {
+    int maxProtectedSize =
+        Math.max(1, (int) (PROTECTED_RATIO * (mProbation.size() + mProtected.size())));
+    while (mProtected.size() > maxProtectedSize) {
+      long blockId = mProtected.firstKey();
+      mProtected.remove(blockId);
+      mProbation.putLast(blockId, UNUSED_MAP_VALUE);
+    }
+  }
+
+  /**
+   * Iterates over several segments, each in LRU order, by picking the least frequently accessed of
+   * the next blocks of the segments at every step, and the block of the first of them on a tie.
+   * {@link #remove()} removes the last block from its segment.
+   */
+  private final class FrequencyMergingIterator implements Iterator<Long> {
+    private final List<Iterator<Long>> mIterators;
+    /** The next block of each segment, null if it is not taken from the iterator yet. */
+    private final Long[] mNextBlocks;
+    /** The iterator of the segment of the last block, to remove it. */
+    private Iterator<Long> mLastIterator;
+
+    /**
+     * Creates a new instance of {@link FrequencyMergingIterator}.
+     *
+     * @param iterators the iterators over the segments, in the order to break ties
+     */
+    FrequencyMergingIterator(List<Iterator<Long>> iterators) {
+      mIterators = iterators;
+      mNextBlocks = new Long[iterators.size()];
+    }
+
+    @Override
+    public boolean hasNext() {
+      for (int i = 0; i < mNextBlocks.length; i++) {
+        if (mNextBlocks[i] != null || mIterators.get(i).hasNext()) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    @Override
+    public Long next() {
+      int min = -1;
+      int minFrequency = Integer.MAX_VALUE;
+      for (int i = 0; i < mNextBlocks.length; i++) {
+        if (mNextBlocks[i] == null && mIterators.get(i).hasNext()) {
+          mNextBlocks[i] = mIterators.get(i).next();
+        }
+        if (mNextBlocks[i] != null) {
+          int frequency = mSketch.frequency(mNextBlocks[i]);
+          if (frequency < minFrequency) {
+            min = i;
+            minFrequency = frequency;
+          }
+        }
+      }
+      if (min < 0) {
+        throw new NoSuchElementException();
+      }
+      Long next = mNextBlocks[min];
+      mNextBlocks[min] = null;
+      mLastIterator = mIterators.get(min);
+      return next;
+    }
+
+    @Override
+    public void remove() {
+      Preconditions.checkState(mLastIterator != null, "next() has not been called");
+      // The iterator of the segment of the last block has not moved past it, since the next block
+      // of a segment is only taken when it is needed.
+      mLastIterator.remove();
+      mLastIterator = null;
+    }
+  }
+}
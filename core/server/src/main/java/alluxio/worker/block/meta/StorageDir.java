@@ -33,15 +33,21 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 
-import javax.annotation.concurrent.NotThreadSafe;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
 
 /**
  * Represents a directory in a storage tier. It has a fixed capacity allocated to it on
  * instantiation. It contains the set of blocks currently in the storage directory.
+ *
+ * This class is thread-safe: blocks are looked up without locking, and updates are synchronized
+ * on the dir. A sequence of updates which must not interleave with the updates of other threads,
+ * e.g. checking the available space and then reserving it, synchronizes on the dir as well.
  */
-@NotThreadSafe
+@ThreadSafe
 public final class StorageDir {
   private static final Logger LOG = LoggerFactory.getLogger(Constants.LOGGER_TYPE);
   private final long mCapacityBytes;
@@ -50,6 +56,7 @@ public final class StorageDir {
   /** A map from block id to temp block metadata. */
   private Map<Long, TempBlockMeta> mBlockIdToTempBlockMap;
   /** A map from session id to the set of temp blocks created by this session. */
+  @GuardedBy("this")
   private Map<Long, Set<Long>> mSessionIdToTempBlockIdsMap;
   private AtomicLong mAvailableBytes;
   private AtomicLong mCommittedBytes;
@@ -64,8 +71,8 @@ public final class StorageDir {
     mAvailableBytes = new AtomicLong(capacityBytes);
     mCommittedBytes = new AtomicLong(0);
     mDirPath = dirPath;
-    mBlockIdToBlockMap = new HashMap<>(200);
-    mBlockIdToTempBlockMap = new HashMap<>(200);
+    mBlockIdToBlockMap = new ConcurrentHashMap<>(200);
+    mBlockIdToTempBlockMap = new ConcurrentHashMap<>(200);
     mSessionIdToTempBlockIdsMap = new HashMap<>(200);
   }
 
@@ -270,7 +277,7 @@ public final class StorageDir {
    * @throws BlockAlreadyExistsException if blockId already exists
    * @throws WorkerOutOfSpaceException when not enough space to hold block
    */
-  public void addBlockMeta(BlockMeta blockMeta) throws WorkerOutOfSpaceException,
+  public synchronized void addBlockMeta(BlockMeta blockMeta) throws WorkerOutOfSpaceException,
       BlockAlreadyExistsException {
     Preconditions.checkNotNull(blockMeta);
     long blockId = blockMeta.getBlockId();
@@ -295,8 +302,8 @@ public final class StorageDir {
    * @throws BlockAlreadyExistsException if blockId already exists
    * @throws WorkerOutOfSpaceException when not enough space to hold block
    */
-  public void addTempBlockMeta(TempBlockMeta tempBlockMeta) throws WorkerOutOfSpaceException,
-      BlockAlreadyExistsException {
+  public synchronized void addTempBlockMeta(TempBlockMeta tempBlockMeta)
+      throws WorkerOutOfSpaceException, BlockAlreadyExistsException {
     Preconditions.checkNotNull(tempBlockMeta);
     long sessionId = tempBlockMeta.getSessionId();
     long blockId = tempBlockMeta.getBlockId();
@@ -327,7 +334,8 @@ public final class StorageDir {
    * @param blockMeta the metadata of the block
    * @throws BlockDoesNotExistException if no block is found
    */
-  public void removeBlockMeta(BlockMeta blockMeta) throws BlockDoesNotExistException {
+  public synchronized void removeBlockMeta(BlockMeta blockMeta)
+      throws BlockDoesNotExistException {
     Preconditions.checkNotNull(blockMeta);
     long blockId = blockMeta.getBlockId();
     BlockMeta deletedBlockMeta = mBlockIdToBlockMap.remove(blockId);
@@ -343,7 +351,8 @@ public final class StorageDir {
    * @param tempBlockMeta the metadata of the temp block to remove
    * @throws BlockDoesNotExistException if no temp block is found
    */
-  public void removeTempBlockMeta(TempBlockMeta tempBlockMeta) throws BlockDoesNotExistException {
+  public synchronized void removeTempBlockMeta(TempBlockMeta tempBlockMeta)
+      throws BlockDoesNotExistException {
     Preconditions.checkNotNull(tempBlockMeta);
     final long blockId = tempBlockMeta.getBlockId();
     final long sessionId = tempBlockMeta.getSessionId();
@@ -370,7 +379,7 @@ public final class StorageDir {
    * @param newSize the new size after change in bytes
    * @throws InvalidWorkerStateException when newSize is smaller than oldSize
    */
-  public void resizeTempBlockMeta(TempBlockMeta tempBlockMeta, long newSize)
+  public synchronized void resizeTempBlockMeta(TempBlockMeta tempBlockMeta, long newSize)
       throws InvalidWorkerStateException {
     long oldSize = tempBlockMeta.getBlockSize();
     if (newSize > oldSize) {
@@ -388,7 +397,7 @@ public final class StorageDir {
    * @param tempBlockIds the list of temporary blocks to clean up, non temporary blocks or
    *        nonexistent blocks will be ignored
    */
-  public void cleanupSessionTempBlocks(long sessionId, List<Long> tempBlockIds) {
+  public synchronized void cleanupSessionTempBlocks(long sessionId, List<Long> tempBlockIds) {
     Set<Long> sessionTempBlocks = mSessionIdToTempBlockIdsMap.get(sessionId);
     // The session's temporary blocks have already been removed.
     if (sessionTempBlocks == null) {
@@ -424,7 +433,7 @@ public final class StorageDir {
    * @param sessionId the id of the session
    * @return A list of temporary blocks the session is associated with in this {@link StorageDir}
    */
-  public List<TempBlockMeta> getSessionTempBlocks(long sessionId) {
+  public synchronized List<TempBlockMeta> getSessionTempBlocks(long sessionId) {
     Set<Long> sessionTempBlockIds = mSessionIdToTempBlockIdsMap.get(sessionId);
 
     if (sessionTempBlockIds == null || sessionTempBlockIds.isEmpty()) {
@@ -20,6 +20,7 @@ import alluxio.exception.BlockDoesNotExistException;
 import alluxio.metrics.MetricsSystem;
 import alluxio.network.protocol.RPCBlockReadRequest;
 import alluxio.network.protocol.RPCBlockReadResponse;
+import alluxio.network.protocol.RPCBlockReadStreamRequest;
 import alluxio.network.protocol.RPCBlockWriteRequest;
 import alluxio.network.protocol.RPCBlockWriteResponse;
 import alluxio.network.protocol.RPCResponse;
@@ -40,16 +41,20 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
 import java.nio.channels.FileChannel;
 
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
- * This class handles {@link RPCBlockReadRequest}s and {@link RPCBlockWriteRequest}s.
+ * This class handles {@link RPCBlockReadRequest}s, {@link RPCBlockReadStreamRequest}s and
+ * {@link RPCBlockWriteRequest}s.
  */
 @NotThreadSafe
 final class BlockDataServerHandler {
   private static final Logger LOG = LoggerFactory.getLogger(Constants.LOGGER_TYPE);
+  /** The maximum number of chunks of a streaming read being written to the channel at once. */
+  private static final int STREAM_CHUNKS_IN_FLIGHT_MAX = 4;
 
   /** The Block Worker which handles blocks stored in the Alluxio storage of the worker. */
   private final BlockWorker mWorker;
@@ -88,9 +93,9 @@ final class BlockDataServerHandler {
       req.validate();
       reader = mWorker.readBlockRemote(sessionId, blockId, lockId);
       final long fileLength = reader.getLength();
-      validateBounds(req, fileLength);
+      validateBounds(offset, len, fileLength);
       final long readLength = returnLength(offset, len, fileLength);
-      buffer = getDataBuffer(req, reader, readLength);
+      buffer = getDataBuffer(reader, offset, readLength);
       Metrics.BYTES_READ_REMOTE.inc(buffer.getLength());
       RPCBlockReadResponse resp =
           new RPCBlockReadResponse(blockId, offset, readLength, buffer, RPCResponse.Status.SUCCESS);
@@ -115,6 +120,53 @@ final class BlockDataServerHandler {
     }
   }
 
+  /**
+   * Handles a {@link RPCBlockReadStreamRequest} by streaming the requested range of the block in
+   * chunks of the requested size, read through a {@link BlockReader} provided by the block worker.
+   * The chunks are written as the channel accepts them, without waiting for requests from the
+   * client, so a slow client slows down the stream through TCP flow control.
+   *
+   * @param ctx The context of this request which handles the result of this operation
+   * @param req The initiating {@link RPCBlockReadStreamRequest}
+   * @throws IOException if an I/O error occurs when reading the data requested
+   */
+  void handleBlockReadStreamRequest(final ChannelHandlerContext ctx,
+      final RPCBlockReadStreamRequest req) throws IOException {
+    final long blockId = req.getBlockId();
+    final long offset = req.getOffset();
+    final long sessionId = req.getSessionId();
+
+    BlockReader reader = null;
+    try {
+      req.validate();
+      reader = mWorker.readBlockRemote(sessionId, blockId, req.getLockId());
+      final long fileLength = reader.getLength();
+      validateBounds(offset, req.getLength(), fileLength);
+      final long readLength = returnLength(offset, req.getLength(), fileLength);
+      mWorker.accessBlock(sessionId, blockId);
+      if (readLength == 0) {
+        // Respond with a single empty chunk, so the stream is not empty.
+        ChannelFuture future = ctx.writeAndFlush(
+            new RPCBlockReadResponse(blockId, offset, 0, null, RPCResponse.Status.SUCCESS));
+        future.addListener(new ClosableResourceChannelListener(reader));
+      } else {
+        new BlockReadStream(ctx, blockId, reader, offset, readLength, req.getChunkSize())
+            .writeChunks();
+      }
+      LOG.debug("Started streaming block {} at offset {}.", blockId, offset);
+    } catch (Exception e) {
+      LOG.error("Exception streaming block {}", blockId, e);
+      RPCResponse.Status status = e instanceof BlockDoesNotExistException
+          ? RPCResponse.Status.FILE_DNE : RPCResponse.Status.UFS_READ_FAILED;
+      ChannelFuture future =
+          ctx.writeAndFlush(new RPCBlockReadResponse(blockId, offset, 0, null, status));
+      future.addListener(ChannelFutureListener.CLOSE);
+      if (reader != null) {
+        reader.close();
+      }
+    }
+  }
+
   /**
    * Handles a {@link RPCBlockWriteRequest} by writing the data through a {@link BlockWriter}
    * provided by the block worker. This method takes care of requesting space and creating the
@@ -181,45 +233,177 @@ final class BlockDataServerHandler {
    * Validates the bounds of the request. An uncaught exception will be thrown if an
    * inconsistency occurs.
    *
-   * @param req The initiating {@link RPCBlockReadRequest}
+   * @param offset The offset of the read request
+   * @param length The length of the read request, or -1 to read to the end of the block
    * @param fileLength The length of the block being read
    */
-  private void validateBounds(final RPCBlockReadRequest req, final long fileLength) {
-    Preconditions.checkArgument(req.getOffset() <= fileLength,
-        "Offset(%s) is larger than file length(%s)", req.getOffset(), fileLength);
-    Preconditions.checkArgument(
-        req.getLength() == -1 || req.getOffset() + req.getLength() <= fileLength,
-        "Offset(%s) plus length(%s) is larger than file length(%s)", req.getOffset(),
-        req.getLength(), fileLength);
+  private void validateBounds(final long offset, final long length, final long fileLength) {
+    Preconditions.checkArgument(offset <= fileLength,
+        "Offset(%s) is larger than file length(%s)", offset, fileLength);
+    Preconditions.checkArgument(length == -1 || offset + length <= fileLength,
+        "Offset(%s) plus length(%s) is larger than file length(%s)", offset, length, fileLength);
   }
 
   /**
    * Returns the appropriate {@link DataBuffer} representing the data to send, depending on the
    * configurable transfer type.
    *
-   * @param req The initiating {@link RPCBlockReadRequest}
    * @param reader The {@link BlockReader} for the block to read
+   * @param offset The offset, in bytes, of the data to read from the block
    * @param readLength The length, in bytes, of the data to read from the block
    * @return a {@link DataBuffer} representing the data
    * @throws IOException if an I/O error occurs when reading the data
    */
-  private DataBuffer getDataBuffer(RPCBlockReadRequest req, BlockReader reader, long readLength)
+  private DataBuffer getDataBuffer(BlockReader reader, long offset, long readLength)
       throws IOException, IllegalArgumentException {
     switch (mTransferType) {
       case MAPPED:
-        ByteBuffer data = reader.read(req.getOffset(), (int) readLength);
+        ByteBuffer data = reader.read(offset, (int) readLength);
         return new DataByteBuffer(data, readLength);
       case TRANSFER: // intend to fall through as TRANSFER is the default type.
       default:
         if (reader.getChannel() instanceof FileChannel) {
-          return new DataFileChannel((FileChannel) reader.getChannel(), req.getOffset(),
-              readLength);
+          return new DataFileChannel((FileChannel) reader.getChannel(), offset, readLength);
         }
         reader.close();
         throw new IllegalArgumentException("Only FileChannel is supported!");
     }
   }
 
+  /**
+   * Writes the chunks of a streaming block read to a channel. At most
+   * {@link #STREAM_CHUNKS_IN_FLIGHT_MAX} chunks are being written at once, and the next chunks are
+   * written as the writes complete, so the stream is paced by the client. The block reader is
+   * closed when the stream ends. All the methods run on the event loop of the channel.
+   */
+  private final class BlockReadStream implements ChannelFutureListener {
+    private final ChannelHandlerContext mCtx;
+    private final long mBlockId;
+    private final BlockReader mReader;
+    /** The end offset of the stream. */
+    private final long mEnd;
+    private final long mChunkSize;
+
+    /** The offset of the next chunk to write. */
+    private long mNextOffset;
+    /** The number of chunks being written. */
+    private int mChunksInFlight = 0;
+    /** True while chunks are written by {@link #writeChunks()}. */
+    private boolean mWriting = false;
+    /** True once the stream is done, or has failed. */
+    private boolean mDone = false;
+    /** True once the client closed the channel before the stream was done. */
+    private boolean mCancelled = false;
+
+    /**
+     * @param ctx the context of the streaming read request
+     * @param blockId the id of the block
+     * @param reader the reader of the block
+     * @param offset the offset of the stream
+     * @param length the length of the stream, must be positive
+     * @param chunkSize the maximum size of each chunk
+     */
+    BlockReadStream(ChannelHandlerContext ctx, long blockId, BlockReader reader, long offset,
+        long length, long chunkSize) {
+      mCtx = ctx;
+      mBlockId = blockId;
+      mReader = reader;
+      mNextOffset = offset;
+      mEnd = offset + length;
+      mChunkSize = chunkSize;
+    }
+
+    /**
+     * Writes chunks until the maximum number of chunks is being written, or all the chunks are
+     * written.
+     */
+    void writeChunks() {
+      mWriting = true;
+      try {
+        while (!mDone && mChunksInFlight < STREAM_CHUNKS_IN_FLIGHT_MAX && mNextOffset < mEnd) {
+          long length = Math.min(mChunkSize, mEnd - mNextOffset);
+          DataBuffer buffer = getDataBuffer(mReader, mNextOffset, length);
+          ChannelFuture future = mCtx.writeAndFlush(new RPCBlockReadResponse(mBlockId,
+              mNextOffset, length, buffer, RPCResponse.Status.SUCCESS));
+          mChunksInFlight++;
+          mNextOffset += length;
+          Metrics.BYTES_READ_REMOTE.inc(length);
+          future.addListener(new ReleasableResourceChannelListener(buffer));
+          // The listener runs right away if the write already completed.
+          future.addListener(this);
+        }
+      } catch (Exception e) {
+        fail(e);
+      } finally {
+        mWriting = false;
+      }
+      if (!mDone && mNextOffset >= mEnd && mChunksInFlight == 0) {
+        finish();
+      }
+    }
+
+    @Override
+    public void operationComplete(ChannelFuture future) {
+      mChunksInFlight--;
+      if (mDone) {
+        if (mCancelled && mChunksInFlight == 0) {
+          closeReader();
+        }
+        return;
+      }
+      if (!future.isSuccess()) {
+        if (future.cause() instanceof ClosedChannelException || !future.channel().isActive()) {
+          cancel(future.cause());
+        } else {
+          fail(future.cause());
+        }
+        return;
+      }
+      if (!mWriting) {
+        writeChunks();
+      }
+    }
+
+    private void finish() {
+      mDone = true;
+      closeReader();
+    }
+
+    /**
+     * Stops the stream when the client closed the channel, e.g. on a seek or an early close.
+     * The reader is closed once the chunks being written are done.
+     *
+     * @param cause the cause of the failed write
+     */
+    private void cancel(Throwable cause) {
+      mDone = true;
+      mCancelled = true;
+      LOG.debug("Streaming block {} is cancelled by the client", mBlockId, cause);
+      if (mChunksInFlight == 0) {
+        closeReader();
+      }
+    }
+
+    private void closeReader() {
+      try {
+        mReader.close();
+      } catch (IOException e) {
+        LOG.warn("Failed to close the reader of block {}", mBlockId, e);
+      }
+    }
+
+    private void fail(Throwable cause) {
+      mDone = true;
+      LOG.error("Exception streaming block {}", mBlockId, cause);
+      // Close the reader after the chunks being written, and the channel, since the client cannot
+      // tell how many chunks of the stream are left.
+      ChannelFuture future = mCtx.writeAndFlush(new RPCBlockReadResponse(mBlockId, mNextOffset,
+          0, null, RPCResponse.Status.UFS_READ_FAILED));
+      future.addListener(new ClosableResourceChannelListener(mReader));
+      future.addListener(ChannelFutureListener.CLOSE);
+    }
+  }
+
   /**
    * Class that contains metrics for BlockDataServerHandler.
    */
@@ -13,6 +13,7 @@ package alluxio.worker.netty;
 
 import alluxio.Constants;
 import alluxio.network.protocol.RPCBlockReadRequest;
+import alluxio.network.protocol.RPCBlockReadStreamRequest;
 import alluxio.network.protocol.RPCBlockWriteRequest;
 import alluxio.network.protocol.RPCErrorResponse;
 import alluxio.network.protocol.RPCFileReadRequest;
@@ -68,6 +69,10 @@ final class DataServerHandler extends SimpleChannelInboundHandler<RPCMessage> {
         assert msg instanceof RPCBlockReadRequest;
         mBlockHandler.handleBlockReadRequest(ctx, (RPCBlockReadRequest) msg);
         break;
+      case RPC_BLOCK_READ_STREAM_REQUEST:
+        assert msg instanceof RPCBlockReadStreamRequest;
+        mBlockHandler.handleBlockReadStreamRequest(ctx, (RPCBlockReadStreamRequest) msg);
+        break;
       case RPC_BLOCK_WRITE_REQUEST:
         assert msg instanceof RPCBlockWriteRequest;
         mBlockHandler.handleBlockWriteRequest(ctx, (RPCBlockWriteRequest) msg);
@@ -11,7 +11,10 @@
 
 package alluxio.master.block;
 
+import alluxio.Configuration;
+import alluxio.ConfigurationTestUtils;
 import alluxio.Constants;
+import alluxio.PropertyKey;
 import alluxio.clock.ManualClock;
 import alluxio.heartbeat.HeartbeatContext;
 import alluxio.heartbeat.HeartbeatScheduler;
@@ -20,6 +23,7 @@ import alluxio.master.journal.Journal;
 import alluxio.master.journal.ReadWriteJournal;
 import alluxio.thrift.Command;
 import alluxio.thrift.CommandType;
+import alluxio.util.CommonUtils;
 import alluxio.util.ThreadFactoryUtils;
 import alluxio.util.executor.ExecutorServiceFactories;
 import alluxio.wire.BlockInfo;
@@ -27,6 +31,7 @@ import alluxio.wire.BlockLocation;
 import alluxio.wire.WorkerInfo;
 import alluxio.wire.WorkerNetAddress;
 
+import com.google.common.base.Function;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
@@ -38,6 +43,7 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.rules.TemporaryFolder;
+import org.powermock.reflect.Whitebox;
 
 import java.util.Arrays;
 import java.util.List;
@@ -94,6 +100,7 @@ public class BlockMasterTest {
   @After
   public void after() throws Exception {
     mMaster.stop();
+    ConfigurationTestUtils.resetConfiguration();
   }
 
   @Test
@@ -242,6 +249,81 @@ public class BlockMasterTest {
     Assert.assertEquals(2, mMaster.getBlockInfo(blockId).getLocations().size());
   }
 
+  @Test
+  public void workerRegisterProcessesBlockReportInBackground() throws Exception {
+    Configuration.set(PropertyKey.MASTER_WORKER_BLOCK_REPORT_THREADS, "2");
+    Configuration.set(PropertyKey.MASTER_WORKER_BLOCK_REPORT_BATCH_SIZE, "2");
+    mMaster.stop();
+    mMaster = new BlockMaster(new ReadWriteJournal(mTestFolder.newFolder().getAbsolutePath()),
+        mClock, ExecutorServiceFactories.fixedThreadPoolExecutorServiceFactory("TestBlockMaster",
+            2));
+    mMaster.start(true);
+    final List<Long> blockIds = ImmutableList.of(1L, 2L, 3L, 4L, 5L);
+    for (long blockId : blockIds) {
+      mMaster.commitBlockInUFS(blockId, 20L);
+    }
+    long worker = mMaster.getWorkerId(NET_ADDRESS_1);
+    mMaster.workerRegister(worker, Arrays.asList("MEM"), ImmutableMap.of("MEM", 100L),
+        ImmutableMap.of("MEM", 0L), ImmutableMap.of("MEM", blockIds));
+    // The removal of block 1 is applied after the full report, even if it is still pending.
+    mMaster.workerHeartbeat(worker, ImmutableMap.of("MEM", 0L), ImmutableList.of(1L),
+        NO_BLOCKS_ON_TIERS);
+
+    CommonUtils.waitFor("the block report to be processed", new Function<Void, Boolean>() {
+      @Override
+      public Boolean apply(Void input) {
+        for (BlockInfo blockInfo : mMaster.getBlockInfoList(blockIds)) {
+          if (blockInfo.getLocations().size() != (blockInfo.getBlockId() == 1L ? 0 : 1)) {
+            return false;
+          }
+        }
+        return true;
+      }
+    }, 10 * Constants.SECOND_MS);
+  }
+
+  @Test
+  public void lostWorkerDropsPendingBlockReport() throws Exception {
+    Configuration.set(PropertyKey.MASTER_WORKER_BLOCK_REPORT_THREADS, "1");
+    Configuration.set(PropertyKey.MASTER_WORKER_BLOCK_REPORT_BATCH_SIZE, "1");
+    mMaster.stop();
+    mMaster = new BlockMaster(new ReadWriteJournal(mTestFolder.newFolder().getAbsolutePath()),
+        mClock, ExecutorServiceFactories.fixedThreadPoolExecutorServiceFactory("TestBlockMaster",
+            2));
+    mMaster.start(true);
+    final List<Long> blockIds = ImmutableList.of(1L, 2L, 3L);
+    for (long blockId : blockIds) {
+      mMaster.commitBlockInUFS(blockId, 20L);
+    }
+    final BlockReportProcessor processor =
+        Whitebox.getInternalState(mMaster, "mBlockReportProcessor");
+    long worker = mMaster.getWorkerId(NET_ADDRESS_1);
+    // Holding the processor keeps the batches of the first report pending.
+    synchronized (processor) {
+      mMaster.workerRegister(worker, Arrays.asList("MEM"), ImmutableMap.of("MEM", 100L),
+          ImmutableMap.of("MEM", 0L), ImmutableMap.of("MEM", blockIds));
+      Assert.assertEquals(blockIds.size(), processor.getNumPendingBatches());
+
+      // The worker is lost, and comes back without any blocks.
+      mClock.setTimeMs(System.currentTimeMillis() + Constants.HOUR_MS);
+      HeartbeatScheduler.execute(HeartbeatContext.MASTER_LOST_WORKER_DETECTION);
+      Assert.assertEquals(worker, mMaster.getWorkerId(NET_ADDRESS_1));
+      mMaster.workerRegister(worker, Arrays.asList("MEM"), ImmutableMap.of("MEM", 100L),
+          ImmutableMap.of("MEM", 0L), NO_BLOCKS_ON_TIERS);
+    }
+
+    CommonUtils.waitFor("the block report to be processed", new Function<Void, Boolean>() {
+      @Override
+      public Boolean apply(Void input) {
+        return processor.getNumPendingBatches() == 0;
+      }
+    }, 10 * Constants.SECOND_MS);
+    // The batches of the report from before the worker was lost are not applied.
+    for (BlockInfo blockInfo : mMaster.getBlockInfoList(blockIds)) {
+      Assert.assertEquals(0, blockInfo.getLocations().size());
+    }
+  }
+
   @Test
   public void unknownWorkerHeartbeatTriggersRegisterRequest() {
     Command heartBeat = mMaster.workerHeartbeat(0, null, null, null);
@@ -0,0 +1,105 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.block;
+
+import alluxio.util.CommonUtils;
+
+import com.google.common.base.Function;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.Uninterruptibles;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Unit tests for {@link BlockReportProcessor}.
+ */
+public final class BlockReportProcessorTest {
+  private static final long WORKER_ID1 = 1;
+  private static final long WORKER_ID2 = 2;
+  private static final int WAIT_TIMEOUT_MS = 10000;
+
+  private final List<String> mEvents = Collections.synchronizedList(new ArrayList<String>());
+  private BlockReportProcessor mProcessor;
+
+  /**
+   * Closes the processor after a test ran.
+   */
+  @After
+  public void after() {
+    if (mProcessor != null) {
+      mProcessor.close();
+    }
+  }
+
+  /**
+   * Tests that the reports are processed on the calling thread without background threads.
+   */
+  @Test
+  public void noThreads() {
+    mProcessor = new BlockReportProcessor(0);
+    mProcessor.processFullReport(WORKER_ID1, ImmutableList.of(record("full")));
+    mProcessor.processIncrementalReport(WORKER_ID1, ImmutableList.of(record("incremental")));
+    Assert.assertEquals(ImmutableList.of("full on caller", "incremental on caller"), mEvents);
+  }
+
+  /**
+   * Tests that an incremental report waits behind the pending full report of its worker, while
+   * the report of another worker is processed on the calling thread.
+   */
+  @Test
+  public void incrementalReportWaitsBehindFullReport() {
+    mProcessor = new BlockReportProcessor(1);
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch latch = new CountDownLatch(1);
+    Runnable blocked = new Runnable() {
+      @Override
+      public void run() {
+        started.countDown();
+        Uninterruptibles.awaitUninterruptibly(latch);
+      }
+    };
+    mProcessor.processFullReport(WORKER_ID1,
+        ImmutableList.of(blocked, record("full1"), record("full2")));
+    Uninterruptibles.awaitUninterruptibly(started);
+    mProcessor.processIncrementalReport(WORKER_ID1, ImmutableList.of(record("incremental1")));
+    mProcessor.processIncrementalReport(WORKER_ID2, ImmutableList.of(record("incremental2")));
+    Assert.assertEquals(ImmutableList.of("incremental2 on caller"), mEvents);
+    Assert.assertEquals(3, mProcessor.getNumPendingBatches());
+
+    latch.countDown();
+    CommonUtils.waitFor("the pending batches to be processed", new Function<Void, Boolean>() {
+      @Override
+      public Boolean apply(Void input) {
+        return mEvents.size() == 4;
+      }
+    }, WAIT_TIMEOUT_MS);
+    Assert.assertEquals(ImmutableList.of("incremental2 on caller", "full1 in background",
+        "full2 in background", "incremental1 in background"), mEvents);
+    Assert.assertEquals(0, mProcessor.getNumPendingBatches());
+  }
+
+  private Runnable record(final String name) {
+    final Thread caller = Thread.currentThread();
+    return new Runnable() {
+      @Override
+      public void run() {
+        mEvents.add(name + (Thread.currentThread() == caller ? " on caller" : " in background"));
+      }
+    };
+  }
+}
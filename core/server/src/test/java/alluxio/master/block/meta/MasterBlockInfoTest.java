@@ -45,6 +45,27 @@ public final class MasterBlockInfoTest {
     Assert.assertEquals(0, mInfo.getWorkers().size());
   }
 
+  @Test
+  public void removeWorkerKeepsOtherLocations() {
+    mInfo.addWorker(1, "MEM");
+    mInfo.addWorker(2, "SSD");
+    mInfo.addWorker(3, "HDD");
+    mInfo.removeWorker(1);
+    Assert.assertEquals(ImmutableSet.of(new MasterBlockLocation(2, "SSD"),
+        new MasterBlockLocation(3, "HDD")), ImmutableSet.copyOf(mInfo.getBlockLocations()));
+    mInfo.addWorker(1, "MEM");
+    Assert.assertEquals(ImmutableSet.of(1L, 2L, 3L), mInfo.getWorkers());
+  }
+
+  @Test
+  public void addWorkerAgainUpdatesTier() {
+    mInfo.addWorker(1, "MEM");
+    mInfo.addWorker(1, "HDD");
+    Assert.assertEquals(1, mInfo.getNumLocations());
+    Assert.assertTrue(mInfo.isInTier("HDD"));
+    Assert.assertFalse(mInfo.isInTier("MEM"));
+  }
+
   @Test
   public void removeNonexistingWorkerIsOk() {
     mInfo.removeWorker(1);
@@ -144,6 +144,88 @@ public final class InodeFileTest extends AbstractInodeTest {
     }
   }
 
+  /**
+   * Tests that {@link InodeFile#complete(long)} assigns one block per block size of the length.
+   */
+  @Test
+  public void completeBlockIds() throws Exception {
+    InodeFile inodeFile = createInodeFile(1);
+    inodeFile.getNewBlockId();
+    inodeFile.complete(2 * Constants.KB + 1);
+    List<Long> blockIds = inodeFile.getBlockIds();
+    Assert.assertEquals(3, blockIds.size());
+    for (int i = 0; i < blockIds.size(); i++) {
+      Assert.assertEquals((Long) inodeFile.getBlockIdByIndex(i), blockIds.get(i));
+    }
+    Assert.assertEquals(blockIds,
+        InodeFile.fromJournalEntry(inodeFile.toJournalEntry().getInodeFile()).getBlockIds());
+  }
+
+  /**
+   * Tests that the owners and groups of inodes share the same string instances.
+   */
+  @Test
+  public void sharedUserNames() {
+    InodeFile inode1 = createInodeFile(1);
+    InodeFile inode2 = createInodeFile(2)
+        .setOwner(new String(TEST_USER_NAME)).setGroup(new String(TEST_GROUP_NAME));
+    Assert.assertSame(inode1.getOwner(), inode2.getOwner());
+    Assert.assertSame(inode1.getGroup(), inode2.getGroup());
+  }
+
+  /**
+   * Tests locking an inode which has never been locked before.
+   */
+  @Test
+  public void lock() {
+    InodeFile inode1 = createInodeFile(1);
+    Assert.assertFalse(inode1.isReadLocked());
+    Assert.assertFalse(inode1.isWriteLocked());
+    inode1.lockRead();
+    Assert.assertTrue(inode1.isReadLocked());
+    inode1.unlockRead();
+    inode1.lockWrite();
+    Assert.assertTrue(inode1.isWriteLocked());
+    inode1.unlockWrite();
+    Assert.assertFalse(inode1.isWriteLocked());
+  }
+
+  /**
+   * Tests that the write lock of an inode excludes other threads while the lock is repeatedly
+   * allocated and freed.
+   */
+  @Test
+  public void lockConcurrently() throws Exception {
+    final InodeFile inode = createInodeFile(1);
+    final int numThreads = 8;
+    final int numLocks = 10000;
+    // Only updated with the write lock held, so it is not atomic.
+    final long[] count = new long[1];
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < numThreads; i++) {
+      Thread thread = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          for (int j = 0; j < numLocks; j++) {
+            inode.lockWrite();
+            try {
+              count[0]++;
+            } finally {
+              inode.unlockWrite();
+            }
+          }
+        }
+      });
+      thread.start();
+      threads.add(thread);
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    Assert.assertEquals(numThreads * numLocks, count[0]);
+    Assert.assertFalse(inode.isWriteLocked());
+  }
+
   /**
    * Tests the {@link InodeFile#setCompleted(boolean)} method.
    */
@@ -44,9 +44,15 @@ import org.junit.rules.TemporaryFolder;
 import org.mockito.Mockito;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Unit tests for {@link InodeTree}.
@@ -319,6 +325,134 @@ public final class InodeTreeTest {
     createPath(mTree, NESTED_URI, sNestedFileOptions);
   }
 
+  /**
+   * Tests that {@link InodeTree.LockMode#WRITE_CREATE} only read locks the parent of a missing
+   * target, so that another child can be created in the same directory concurrently.
+   */
+  @Test
+  public void createChildrenConcurrently() throws Exception {
+    createPath(mTree, TEST_URI, sDirectoryOptions);
+    final AlluxioURI otherUri = TEST_URI.join("other");
+    try (LockedInodePath inodePath =
+        mTree.lockInodePath(TEST_URI.join("file"), InodeTree.LockMode.WRITE_CREATE)) {
+      Inode<?> parent = inodePath.getParentInodeDirectory();
+      Assert.assertTrue(parent.isReadLocked());
+      Assert.assertFalse(parent.isWriteLocked());
+
+      // Creating a child with a different name would block if the parent was write locked.
+      ExecutorService executor = Executors.newSingleThreadExecutor();
+      try {
+        executor.submit(new Callable<Void>() {
+          @Override
+          public Void call() throws Exception {
+            try (LockedInodePath otherPath =
+                mTree.lockInodePath(otherUri, InodeTree.LockMode.WRITE_CREATE)) {
+              mTree.createPath(otherPath, sFileOptions);
+            }
+            return null;
+          }
+        }).get(Constants.MINUTE_MS, TimeUnit.MILLISECONDS);
+      } finally {
+        executor.shutdownNow();
+      }
+      mTree.createPath(inodePath, sFileOptions);
+    }
+    InodeDirectory parent = (InodeDirectory) getInodeByPath(mTree, TEST_URI);
+    Assert.assertEquals(Sets.newHashSet("file", "other"),
+        Sets.newHashSet(parent.getChild("file").getName(), parent.getChild("other").getName()));
+  }
+
+  /**
+   * Tests that an exception is thrown when a file is created concurrently with the same name in
+   * a read locked directory.
+   */
+  @Test
+  public void createFileTwiceConcurrently() throws Exception {
+    createPath(mTree, TEST_URI, sDirectoryOptions);
+    final AlluxioURI uri = TEST_URI.join("file");
+    mThrown.expect(FileAlreadyExistsException.class);
+    mThrown.expectMessage(uri.getPath());
+
+    try (LockedInodePath inodePath = mTree.lockInodePath(uri, InodeTree.LockMode.WRITE_CREATE)) {
+      ExecutorService executor = Executors.newSingleThreadExecutor();
+      try {
+        executor.submit(new Callable<Void>() {
+          @Override
+          public Void call() throws Exception {
+            try (LockedInodePath otherPath =
+                mTree.lockInodePath(uri, InodeTree.LockMode.WRITE_CREATE)) {
+              mTree.createPath(otherPath, sFileOptions);
+            }
+            return null;
+          }
+        }).get(Constants.MINUTE_MS, TimeUnit.MILLISECONDS);
+      } finally {
+        executor.shutdownNow();
+      }
+      mTree.createPath(inodePath, sFileOptions);
+    }
+  }
+
+  /**
+   * Tests that a directory created concurrently with deletes of the same name is either created or
+   * reused, but never a deleted inode, while its parent is only read locked.
+   */
+  @Test
+  public void createAndDeleteConcurrently() throws Exception {
+    createPath(mTree, TEST_URI, sDirectoryOptions);
+    final AlluxioURI uri = TEST_URI.join("dir");
+    final CreateDirectoryOptions options =
+        CreateDirectoryOptions.defaults().setPermission(TEST_PERMISSION).setAllowExists(true);
+    final int iterations = 1000;
+    List<Callable<Void>> tasks = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      tasks.add(new Callable<Void>() {
+        @Override
+        public Void call() throws Exception {
+          for (int j = 0; j < iterations; j++) {
+            try (LockedInodePath inodePath =
+                mTree.lockInodePath(uri, InodeTree.LockMode.WRITE_CREATE)) {
+              mTree.createPath(inodePath, options);
+              Inode<?> inode = inodePath.getInode();
+              Assert.assertFalse(inode.isDeleted());
+              Assert.assertSame(inode, inodePath.getParentInodeDirectory().getChild("dir"));
+            }
+          }
+          return null;
+        }
+      });
+      tasks.add(new Callable<Void>() {
+        @Override
+        public Void call() throws Exception {
+          for (int j = 0; j < iterations; j++) {
+            try {
+              deleteInodeByPath(mTree, uri);
+            } catch (FileDoesNotExistException e) {
+              // The directory is not created yet.
+            }
+          }
+          return null;
+        }
+      });
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+    try {
+      for (Future<Void> future : executor.invokeAll(tasks)) {
+        future.get(Constants.MINUTE_MS, TimeUnit.MILLISECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    InodeDirectory parent = (InodeDirectory) getInodeByPath(mTree, TEST_URI);
+    Inode<?> child = parent.getChild("dir");
+    // The root, the test directory and the remaining child, if any.
+    Assert.assertEquals(child == null ? 2 : 3, mTree.getSize());
+    if (child != null) {
+      Assert.assertFalse(child.isDeleted());
+      Assert.assertTrue(mTree.inodeIdExists(child.getId()));
+    }
+  }
+
   /**
    * Tests that an exception is thrown when trying to create a file under a file path.
    */
@@ -0,0 +1,182 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.journal;
+
+import alluxio.Configuration;
+import alluxio.ConfigurationTestUtils;
+import alluxio.PropertyKey;
+import alluxio.proto.journal.Journal.JournalEntry;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for {@link AsyncJournalWriter}.
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({JournalWriter.class})
+public final class AsyncJournalWriterTest {
+  private static final int NUM_THREADS = 10;
+
+  private JournalWriter mJournalWriter;
+  private JournalOutputStream mOutputStream;
+  private AsyncJournalWriter mAsyncJournalWriter;
+
+  /**
+   * Sets up a journal writer which writes to a mocked output stream.
+   */
+  @Before
+  public void before() throws Exception {
+    mJournalWriter = Mockito.mock(JournalWriter.class);
+    mOutputStream = Mockito.mock(JournalOutputStream.class);
+    Mockito.when(mJournalWriter.getEntryOutputStream()).thenReturn(mOutputStream);
+  }
+
+  @After
+  public void after() {
+    if (mAsyncJournalWriter != null) {
+      mAsyncJournalWriter.close();
+    }
+    ConfigurationTestUtils.resetConfiguration();
+  }
+
+  /**
+   * Tests that flushing writes and flushes the appended entries.
+   */
+  @Test
+  public void flush() throws Exception {
+    mAsyncJournalWriter = new AsyncJournalWriter(mJournalWriter);
+    appendAndFlush();
+  }
+
+  /**
+   * Tests that flushing writes and flushes the appended entries with group commit.
+   */
+  @Test
+  public void flushGroupCommit() throws Exception {
+    Configuration.set(PropertyKey.MASTER_JOURNAL_FLUSH_GROUP_COMMIT_ENABLED, "true");
+    mAsyncJournalWriter = new AsyncJournalWriter(mJournalWriter);
+    appendAndFlush();
+  }
+
+  /**
+   * Tests that the entries of concurrent flushes are committed with a single flush, while the
+   * flusher thread is flushing an earlier entry.
+   */
+  @Test
+  public void groupCommitConcurrentFlushes() throws Exception {
+    Configuration.set(PropertyKey.MASTER_JOURNAL_FLUSH_GROUP_COMMIT_ENABLED, "true");
+    // Do not cut batches short while the entries are written to the mocked stream.
+    Configuration.set(PropertyKey.MASTER_JOURNAL_FLUSH_BATCH_TIME_MS, "10000");
+    mAsyncJournalWriter = new AsyncJournalWriter(mJournalWriter);
+    final CountDownLatch appended = new CountDownLatch(NUM_THREADS);
+    // Block the first flush until all the entries are appended.
+    Mockito.doAnswer(new Answer<Void>() {
+      @Override
+      public Void answer(InvocationOnMock invocation) throws Throwable {
+        appended.await();
+        return null;
+      }
+    }).when(mOutputStream).flush();
+
+    ExecutorService executor = Executors.newFixedThreadPool(NUM_THREADS);
+    try {
+      List<Future<Void>> futures = new ArrayList<>();
+      for (int i = 0; i < NUM_THREADS; i++) {
+        futures.add(executor.submit(new Callable<Void>() {
+          @Override
+          public Void call() throws Exception {
+            long counter = mAsyncJournalWriter.appendEntry(JournalEntry.getDefaultInstance());
+            appended.countDown();
+            mAsyncJournalWriter.flush(counter);
+            return null;
+          }
+        }));
+      }
+      for (Future<Void> future : futures) {
+        future.get(10, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    Mockito.verify(mOutputStream, Mockito.times(NUM_THREADS))
+        .writeEntry(JournalEntry.getDefaultInstance());
+    Mockito.verify(mOutputStream, Mockito.atMost(2)).flush();
+  }
+
+  /**
+   * Tests that a failure of the flusher thread fails the current and later flushes.
+   */
+  @Test
+  public void groupCommitFailure() throws Exception {
+    Configuration.set(PropertyKey.MASTER_JOURNAL_FLUSH_GROUP_COMMIT_ENABLED, "true");
+    mAsyncJournalWriter = new AsyncJournalWriter(mJournalWriter);
+    Mockito.doThrow(new IOException("flush failed")).when(mOutputStream).flush();
+    for (int i = 0; i < 2; i++) {
+      long counter = mAsyncJournalWriter.appendEntry(JournalEntry.getDefaultInstance());
+      try {
+        mAsyncJournalWriter.flush(counter);
+        Assert.fail("Flushing should fail after the flusher thread failed");
+      } catch (IOException e) {
+        Assert.assertEquals("flush failed", e.getCause().getMessage());
+      }
+    }
+  }
+
+  /**
+   * Tests that flushing new entries fails after the writer is closed.
+   */
+  @Test
+  public void groupCommitClose() throws Exception {
+    Configuration.set(PropertyKey.MASTER_JOURNAL_FLUSH_GROUP_COMMIT_ENABLED, "true");
+    mAsyncJournalWriter = new AsyncJournalWriter(mJournalWriter);
+    mAsyncJournalWriter.close();
+    long counter = mAsyncJournalWriter.appendEntry(JournalEntry.getDefaultInstance());
+    try {
+      mAsyncJournalWriter.flush(counter);
+      Assert.fail("Flushing should fail after the writer is closed");
+    } catch (IOException e) {
+      // expected
+    }
+  }
+
+  private void appendAndFlush() throws Exception {
+    long counter1 = mAsyncJournalWriter.appendEntry(JournalEntry.getDefaultInstance());
+    long counter2 = mAsyncJournalWriter.appendEntry(JournalEntry.getDefaultInstance());
+    Assert.assertEquals(2, AsyncJournalWriter.getFlushCounter(counter1, counter2));
+    mAsyncJournalWriter.flush(counter2);
+    Mockito.verify(mOutputStream, Mockito.times(2)).writeEntry(JournalEntry.getDefaultInstance());
+    Mockito.verify(mOutputStream, Mockito.atLeastOnce()).flush();
+    // Flushing a counter which is already flushed is a no-op.
+    Mockito.reset(mOutputStream);
+    mAsyncJournalWriter.flush(counter1);
+    Mockito.verify(mOutputStream, Mockito.never()).flush();
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.journal;
+
+import alluxio.Configuration;
+import alluxio.ConfigurationTestUtils;
+import alluxio.PropertyKey;
+import alluxio.master.block.BlockMaster;
+import alluxio.underfs.UnderFileSystem;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.List;
+
+/**
+ * Unit tests for {@link JournalTailer}.
+ */
+public final class JournalTailerTest {
+  private static final long LENGTH = 100L;
+
+  @Rule
+  public TemporaryFolder mTestFolder = new TemporaryFolder();
+
+  private String mJournalFolder;
+  private BlockMaster mLeader;
+
+  /**
+   * Starts a leader block master, which completes a log file for each flushed entry.
+   */
+  @Before
+  public void before() throws Exception {
+    Configuration.set(PropertyKey.MASTER_JOURNAL_LOG_SIZE_BYTES_MAX, "1");
+    mJournalFolder = mTestFolder.newFolder().getAbsolutePath();
+    mLeader = new BlockMaster(new ReadWriteJournal(mJournalFolder));
+    mLeader.start(true);
+  }
+
+  @After
+  public void after() throws Exception {
+    mLeader.stop();
+    ConfigurationTestUtils.resetConfiguration();
+  }
+
+  /**
+   * Tests that a secondary checkpoint is read instead of the checkpoint and the log files it
+   * includes.
+   */
+  @Test
+  public void secondaryCheckpoint() throws Exception {
+    mLeader.commitBlockInUFS(1L, LENGTH);
+    mLeader.commitBlockInUFS(2L, LENGTH);
+
+    BlockMaster standby = new BlockMaster(new ReadOnlyJournal(mJournalFolder));
+    JournalTailer tailer = new JournalTailer(standby, new ReadOnlyJournal(mJournalFolder));
+    tailer.processJournalCheckpoint(true);
+    Assert.assertEquals(2, tailer.processNextJournalLogFiles());
+    Assert.assertEquals(2, tailer.getEntriesSinceCheckpoint());
+    long sequenceNumber = tailer.getLatestSequenceNumber();
+    tailer.writeSecondaryCheckpoint();
+    Assert.assertEquals(0, tailer.getEntriesSinceCheckpoint());
+
+    Journal journal = new ReadOnlyJournal(mJournalFolder);
+    List<SecondaryCheckpoint> checkpoints =
+        SecondaryCheckpoint.list(UnderFileSystem.get(mJournalFolder), journal);
+    Assert.assertEquals(1, checkpoints.size());
+    Assert.assertEquals(2, checkpoints.get(0).getLogNumber());
+    Assert.assertEquals(sequenceNumber, checkpoints.get(0).getSequenceNumber());
+
+    mLeader.commitBlockInUFS(3L, LENGTH);
+
+    // A new standby reads the secondary checkpoint, and only the log file written after it.
+    BlockMaster restarted = new BlockMaster(new ReadOnlyJournal(mJournalFolder));
+    JournalTailer restartedTailer = new JournalTailer(restarted, journal);
+    restartedTailer.processJournalCheckpoint(true);
+    Assert.assertEquals(sequenceNumber, restartedTailer.getLatestSequenceNumber());
+    Assert.assertEquals(1, restartedTailer.processNextJournalLogFiles());
+    for (long blockId = 1; blockId <= 3; blockId++) {
+      Assert.assertEquals(LENGTH, restarted.getBlockInfo(blockId).getLength());
+    }
+  }
+
+  /**
+   * Tests that the leader deletes the secondary checkpoints when it writes a new checkpoint.
+   */
+  @Test
+  public void leaderDeletesSecondaryCheckpoints() throws Exception {
+    mLeader.commitBlockInUFS(1L, LENGTH);
+    BlockMaster standby = new BlockMaster(new ReadOnlyJournal(mJournalFolder));
+    JournalTailer tailer = new JournalTailer(standby, new ReadOnlyJournal(mJournalFolder));
+    tailer.processJournalCheckpoint(true);
+    tailer.processNextJournalLogFiles();
+    tailer.writeSecondaryCheckpoint();
+
+    mLeader.stop();
+    mLeader = new BlockMaster(new ReadWriteJournal(mJournalFolder));
+    mLeader.start(true);
+    Assert.assertEquals(LENGTH, mLeader.getBlockInfo(1L).getLength());
+    Assert.assertTrue(SecondaryCheckpoint
+        .list(UnderFileSystem.get(mJournalFolder), new ReadOnlyJournal(mJournalFolder)).isEmpty());
+  }
+}
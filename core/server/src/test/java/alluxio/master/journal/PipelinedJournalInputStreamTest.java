@@ -0,0 +1,109 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.journal;
+
+import alluxio.proto.journal.Block.BlockInfoEntry;
+import alluxio.proto.journal.Journal.JournalEntry;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Unit tests for {@link PipelinedJournalInputStream}.
+ */
+public final class PipelinedJournalInputStreamTest {
+  private static final int NUM_ENTRIES = 10 * PipelinedJournalInputStream.BATCH_ENTRIES + 1;
+
+  private ExecutorService mExecutor;
+
+  @Before
+  public void before() {
+    mExecutor = Executors.newFixedThreadPool(4);
+  }
+
+  @After
+  public void after() {
+    mExecutor.shutdownNow();
+  }
+
+  /**
+   * Tests that the entries of many batches are returned in the order of the stream.
+   */
+  @Test
+  public void readInOrder() throws Exception {
+    PipelinedJournalInputStream inputStream = new PipelinedJournalInputStream(
+        new ByteArrayInputStream(serialize(NUM_ENTRIES)), mExecutor, 2);
+    for (long sequenceNumber = 1; sequenceNumber <= NUM_ENTRIES; sequenceNumber++) {
+      JournalEntry entry = inputStream.getNextEntry();
+      Assert.assertEquals(sequenceNumber, entry.getSequenceNumber());
+      Assert.assertEquals(sequenceNumber, entry.getBlockInfo().getBlockId());
+      Assert.assertEquals(sequenceNumber, inputStream.getLatestSequenceNumber());
+    }
+    Assert.assertNull(inputStream.getNextEntry());
+    Assert.assertEquals(NUM_ENTRIES, inputStream.getLatestSequenceNumber());
+    inputStream.close();
+  }
+
+  /**
+   * Tests that an empty stream has no entries.
+   */
+  @Test
+  public void empty() throws Exception {
+    PipelinedJournalInputStream inputStream =
+        new PipelinedJournalInputStream(new ByteArrayInputStream(new byte[0]), mExecutor, 2);
+    Assert.assertNull(inputStream.getNextEntry());
+    inputStream.close();
+  }
+
+  /**
+   * Tests that reading a truncated entry fails.
+   */
+  @Test
+  public void truncated() throws Exception {
+    byte[] serialized = serialize(NUM_ENTRIES);
+    PipelinedJournalInputStream inputStream = new PipelinedJournalInputStream(
+        new ByteArrayInputStream(Arrays.copyOf(serialized, serialized.length - 1)), mExecutor, 2);
+    try {
+      while (inputStream.getNextEntry() != null) {
+        continue;
+      }
+      Assert.fail("Reading a truncated entry should fail");
+    } catch (IOException e) {
+      // expected
+    }
+    inputStream.close();
+  }
+
+  /**
+   * @param numEntries the number of entries to serialize
+   * @return the serialized block info entries, with the block ids and sequence numbers from 1
+   */
+  private static byte[] serialize(int numEntries) throws IOException {
+    JournalFormatter formatter = new ProtoBufJournalFormatter();
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    for (long sequenceNumber = 1; sequenceNumber <= numEntries; sequenceNumber++) {
+      formatter.serialize(JournalEntry.newBuilder().setSequenceNumber(sequenceNumber)
+          .setBlockInfo(BlockInfoEntry.newBuilder().setBlockId(sequenceNumber).setLength(1))
+          .build(), outputStream);
+    }
+    return outputStream.toByteArray();
+  }
+}
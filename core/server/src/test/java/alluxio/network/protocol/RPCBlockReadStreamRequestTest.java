@@ -0,0 +1,99 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.network.protocol;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link RPCBlockReadStreamRequest}.
+ */
+public class RPCBlockReadStreamRequestTest {
+  private static final long BLOCK_ID = 11;
+  private static final long OFFSET = 22;
+  private static final long LENGTH = 33;
+  private static final long LOCK_ID = 44;
+  private static final long SESSION_ID = 55;
+  private static final long CHUNK_SIZE = 66;
+
+  private ByteBuf mBuffer = null;
+
+  private void assertValid(RPCBlockReadStreamRequest req) {
+    Assert.assertEquals(RPCMessage.Type.RPC_BLOCK_READ_STREAM_REQUEST, req.getType());
+    Assert.assertEquals(BLOCK_ID, req.getBlockId());
+    Assert.assertEquals(OFFSET, req.getOffset());
+    Assert.assertEquals(LENGTH, req.getLength());
+    Assert.assertEquals(LOCK_ID, req.getLockId());
+    Assert.assertEquals(SESSION_ID, req.getSessionId());
+    Assert.assertEquals(CHUNK_SIZE, req.getChunkSize());
+  }
+
+  private void assertInvalid(RPCBlockReadStreamRequest req) {
+    try {
+      req.validate();
+      Assert.fail("request should be invalid.");
+    } catch (Exception e) {
+      return;
+    }
+  }
+
+  /**
+   * Sets up the buffer before a test runs.
+   */
+  @Before
+  public final void before() {
+    mBuffer = Unpooled.buffer();
+  }
+
+  /**
+   * Tests the {@link RPCBlockReadStreamRequest#getEncodedLength()} method.
+   */
+  @Test
+  public void encodedLength() {
+    RPCBlockReadStreamRequest req = new RPCBlockReadStreamRequest(BLOCK_ID, OFFSET, LENGTH,
+        LOCK_ID, SESSION_ID, CHUNK_SIZE);
+    int encodedLength = req.getEncodedLength();
+    req.encode(mBuffer);
+    Assert.assertEquals(encodedLength, mBuffer.readableBytes());
+  }
+
+  /**
+   * Tests the {@link RPCBlockReadStreamRequest#encode(ByteBuf)} and
+   * {@link RPCBlockReadStreamRequest#decode(ByteBuf)} methods.
+   */
+  @Test
+  public void encodeDecode() {
+    RPCBlockReadStreamRequest req = new RPCBlockReadStreamRequest(BLOCK_ID, OFFSET, LENGTH,
+        LOCK_ID, SESSION_ID, CHUNK_SIZE);
+    req.encode(mBuffer);
+    RPCBlockReadStreamRequest req2 = RPCBlockReadStreamRequest.decode(mBuffer);
+    assertValid(req);
+    assertValid(req2);
+    req2.validate();
+  }
+
+  /**
+   * Tests the {@link RPCBlockReadStreamRequest#validate()} method with invalid requests.
+   */
+  @Test
+  public void invalid() {
+    assertInvalid(new RPCBlockReadStreamRequest(BLOCK_ID, -1, LENGTH, LOCK_ID, SESSION_ID,
+        CHUNK_SIZE));
+    assertInvalid(new RPCBlockReadStreamRequest(BLOCK_ID, OFFSET, -100, LOCK_ID, SESSION_ID,
+        CHUNK_SIZE));
+    assertInvalid(new RPCBlockReadStreamRequest(BLOCK_ID, OFFSET, LENGTH, LOCK_ID, SESSION_ID,
+        0));
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block;
+
+import alluxio.Configuration;
+import alluxio.ConfigurationTestUtils;
+import alluxio.PropertyKey;
+import alluxio.util.CommonUtils;
+
+import com.google.common.base.Function;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit tests for {@link BlockStoreEventDispatcher}.
+ */
+public final class BlockStoreEventDispatcherTest {
+  private static final long SESSION_ID = 2;
+  private static final long BLOCK_ID1 = 10;
+  private static final long BLOCK_ID2 = 11;
+  private static final int WAIT_TIMEOUT_MS = 10000;
+
+  private final RecordingListener mListener = new RecordingListener();
+
+  /**
+   * Resets the configuration after a test ran.
+   */
+  @After
+  public void after() {
+    ConfigurationTestUtils.resetConfiguration();
+  }
+
+  private BlockStoreEventDispatcher createDispatcher(boolean async) {
+    Configuration.set(PropertyKey.WORKER_TIERED_STORE_ACCESS_EVENTS_ASYNC_ENABLED,
+        Boolean.toString(async));
+    BlockStoreEventDispatcher dispatcher = new BlockStoreEventDispatcher();
+    dispatcher.registerListener(mListener);
+    return dispatcher;
+  }
+
+  /**
+   * Tests that the access events are dispatched on the calling thread by default.
+   */
+  @Test
+  public void synchronousAccess() {
+    BlockStoreEventDispatcher dispatcher = createDispatcher(false);
+    dispatcher.onAccessBlock(SESSION_ID, BLOCK_ID1);
+    dispatcher.onAccessBlock(SESSION_ID, BLOCK_ID1);
+    Assert.assertEquals(2, mListener.getEvents().size());
+  }
+
+  /**
+   * Tests that the access events are dispatched by the background thread.
+   */
+  @Test
+  public void asynchronousAccess() {
+    BlockStoreEventDispatcher dispatcher = createDispatcher(true);
+    for (int i = 0; i < 100; i++) {
+      dispatcher.onAccessBlock(SESSION_ID, BLOCK_ID1);
+    }
+    CommonUtils.waitFor("the access event to be dispatched", new Function<Void, Boolean>() {
+      @Override
+      public Boolean apply(Void input) {
+        return !mListener.getEvents().isEmpty();
+      }
+    }, WAIT_TIMEOUT_MS);
+    for (String event : mListener.getEvents()) {
+      Assert.assertEquals("access " + BLOCK_ID1, event);
+    }
+  }
+
+  /**
+   * Tests that the access events buffered before another event are dispatched before it.
+   */
+  @Test
+  public void accessesDispatchedBeforeRemove() {
+    BlockStoreEventDispatcher dispatcher = createDispatcher(true);
+    dispatcher.onAccessBlock(SESSION_ID, BLOCK_ID1);
+    dispatcher.onAccessBlock(SESSION_ID, BLOCK_ID2);
+    dispatcher.onAccessBlock(SESSION_ID, BLOCK_ID1);
+    dispatcher.onRemoveBlockByClient(SESSION_ID, BLOCK_ID1);
+    List<String> events = mListener.getEvents();
+    Assert.assertEquals("remove " + BLOCK_ID1, events.get(events.size() - 1));
+    List<String> accesses = events.subList(0, events.size() - 1);
+    Assert.assertTrue(accesses.contains("access " + BLOCK_ID1));
+    Assert.assertTrue(accesses.contains("access " + BLOCK_ID2));
+    // The last access to block 1 is dispatched after the access to block 2.
+    Assert.assertEquals("access " + BLOCK_ID1, accesses.get(accesses.size() - 1));
+  }
+
+  /**
+   * Listener recording the events it receives.
+   */
+  private static final class RecordingListener extends AbstractBlockStoreEventListener {
+    private final List<String> mEvents = new ArrayList<>();
+
+    /**
+     * Creates a new instance of {@link RecordingListener}.
+     */
+    RecordingListener() {}
+
+    @Override
+    public synchronized void onAccessBlock(long sessionId, long blockId) {
+      mEvents.add("access " + blockId);
+    }
+
+    @Override
+    public synchronized void onRemoveBlockByClient(long sessionId, long blockId) {
+      mEvents.add("remove " + blockId);
+    }
+
+    synchronized List<String> getEvents() {
+      return new ArrayList<>(mEvents);
+    }
+  }
+}
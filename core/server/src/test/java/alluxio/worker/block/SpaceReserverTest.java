@@ -12,6 +12,8 @@
 package alluxio.worker.block;
 
 import alluxio.Configuration;
+import alluxio.ConfigurationTestUtils;
+import alluxio.Constants;
 import alluxio.PropertyKey;
 import alluxio.PropertyKeyFormat;
 import alluxio.Sessions;
@@ -23,6 +25,7 @@ import alluxio.util.ThreadFactoryUtils;
 
 import com.google.common.collect.ImmutableMap;
 import org.junit.After;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -62,15 +65,23 @@ public class SpaceReserverTest {
   @After
   public void after() {
     mExecutorService.shutdownNow();
+    ConfigurationTestUtils.resetConfiguration();
   }
 
-  @Test
-  public void reserveCorrectAmountsOfSpace() throws Exception {
+  /**
+   * Creates a mock of a block worker with two tiers, "MEM" of 400 bytes with 20% of reserved space,
+   * and "HDD" of 1000 bytes with 30% of reserved space.
+   *
+   * @param usedBytesOnTiers the used space of the tiers
+   * @return the block worker
+   */
+  private BlockWorker createBlockWorker(Map<String, Long> usedBytesOnTiers) throws Exception {
     BlockWorker blockWorker = PowerMockito.mock(BlockWorker.class);
     BlockStoreMeta storeMeta = PowerMockito.mock(BlockStoreMeta.class);
     Mockito.when(blockWorker.getStoreMeta()).thenReturn(storeMeta);
     Map<String, Long> capacityBytesOnTiers = ImmutableMap.of("MEM", 400L, "HDD", 1000L);
     Mockito.when(storeMeta.getCapacityBytesOnTiers()).thenReturn(capacityBytesOnTiers);
+    Mockito.when(storeMeta.getUsedBytesOnTiers()).thenReturn(usedBytesOnTiers);
 
     // Create two tiers named "MEM" and "HDD" with aliases 0 and 1.
     TieredBlockStoreTestUtils.setupConfWithMultiTier("/",
@@ -84,6 +95,12 @@ public class SpaceReserverTest {
     reserveRatioProp =
         PropertyKeyFormat.WORKER_TIERED_STORE_LEVEL_RESERVED_RATIO_FORMAT.format(1);
     Configuration.set(reserveRatioProp, "0.3");
+    return blockWorker;
+  }
+
+  @Test
+  public void reserveCorrectAmountsOfSpace() throws Exception {
+    BlockWorker blockWorker = createBlockWorker(ImmutableMap.of("MEM", 400L, "HDD", 1000L));
     SpaceReserver spaceReserver = new SpaceReserver(blockWorker);
 
     mExecutorService.submit(
@@ -97,4 +114,73 @@ public class SpaceReserverTest {
     // 400 * 0.2 + 1000 * 0.3 = 380
     Mockito.verify(blockWorker).freeSpace(Sessions.MIGRATE_DATA_SESSION_ID, 380L, "HDD");
   }
+
+  @Test
+  public void noSpaceReservedBelowHighWatermark() throws Exception {
+    BlockWorker blockWorker = createBlockWorker(ImmutableMap.of("MEM", 300L, "HDD", 800L));
+    // The high watermark of "MEM" is 95% by default.
+    Configuration.set(
+        PropertyKeyFormat.WORKER_TIERED_STORE_LEVEL_WATERMARK_HIGH_RATIO_FORMAT.format(1), "0.9");
+    SpaceReserver spaceReserver = new SpaceReserver(blockWorker);
+
+    mExecutorService.submit(
+        new HeartbeatThread(HeartbeatContext.WORKER_SPACE_RESERVER, spaceReserver, 0));
+
+    // Run the space reserver once.
+    HeartbeatScheduler.execute(HeartbeatContext.WORKER_SPACE_RESERVER);
+
+    Mockito.verify(blockWorker, Mockito.never()).freeSpace(Mockito.anyLong(), Mockito.anyLong(),
+        Mockito.anyString());
+  }
+
+  @Test
+  public void highWatermarkBelowLowWatermarkIsRejected() throws Exception {
+    BlockWorker blockWorker = createBlockWorker(ImmutableMap.of("MEM", 0L, "HDD", 0L));
+    // The low watermark of "HDD" is 1.0 - 0.3 = 70%, above the high watermark.
+    Configuration.set(
+        PropertyKeyFormat.WORKER_TIERED_STORE_LEVEL_WATERMARK_HIGH_RATIO_FORMAT.format(1), "0.6");
+    try {
+      new SpaceReserver(blockWorker).close();
+      Assert.fail("A high watermark below the low watermark should be rejected");
+    } catch (IllegalArgumentException e) {
+      Assert.assertTrue(e.getMessage().contains("HDD"));
+    }
+  }
+
+  @Test
+  public void defaultHighWatermarkBelowLowWatermarkIsIgnored() throws Exception {
+    BlockWorker blockWorker = createBlockWorker(ImmutableMap.of("MEM", 0L, "HDD", 0L));
+    // The low watermark of "MEM" is 1.0 - 0.02 = 98%, above the default high watermark of 95%.
+    Configuration.set(
+        PropertyKeyFormat.WORKER_TIERED_STORE_LEVEL_RESERVED_RATIO_FORMAT.format(0), "0.02");
+    SpaceReserver spaceReserver = new SpaceReserver(blockWorker);
+
+    mExecutorService.submit(
+        new HeartbeatThread(HeartbeatContext.WORKER_SPACE_RESERVER, spaceReserver, 0));
+
+    // Run the space reserver once.
+    HeartbeatScheduler.execute(HeartbeatContext.WORKER_SPACE_RESERVER);
+
+    // Without a high watermark, the reserved space is freed on every check. 400 * 0.02 = 8
+    Mockito.verify(blockWorker).freeSpace(Sessions.MIGRATE_DATA_SESSION_ID, 8L, "MEM");
+  }
+
+  @Test
+  public void commitAboveHighWatermarkReservesSpace() throws Exception {
+    BlockWorker blockWorker = createBlockWorker(ImmutableMap.of("MEM", 390L, "HDD", 0L));
+    Configuration.set(
+        PropertyKeyFormat.WORKER_TIERED_STORE_LEVEL_WATERMARK_HIGH_RATIO_FORMAT.format(1), "0.9");
+    SpaceReserver spaceReserver = new SpaceReserver(blockWorker);
+    try {
+      spaceReserver.onCommitBlock(Sessions.MIGRATE_DATA_SESSION_ID, 1L,
+          BlockStoreLocation.anyDirInTier("MEM"));
+
+      Mockito.verify(blockWorker, Mockito.timeout(10 * Constants.SECOND_MS))
+          .freeSpace(Sessions.MIGRATE_DATA_SESSION_ID, 80L, "MEM");
+      Mockito.verify(blockWorker, Mockito.never()).freeSpace(Mockito.anyLong(), Mockito.anyLong(),
+          Mockito.eq("HDD"));
+    } finally {
+      spaceReserver.close();
+    }
+  }
 }
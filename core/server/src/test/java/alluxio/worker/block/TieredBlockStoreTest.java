@@ -298,6 +298,28 @@ public final class TieredBlockStoreTest {
     Assert.assertFalse(FileUtils.exists(BlockMeta.commitPath(mTestDir1, BLOCK_ID1)));
   }
 
+  /**
+   * Tests that the {@link TieredBlockStore#freeSpace(long, long, BlockStoreLocation)} method moves
+   * all the blocks of an eviction plan to the next tier.
+   */
+  @Test
+  public void freeSpaceMovesSeveralBlocks() throws Exception {
+    TieredBlockStoreTestUtils.cache(SESSION_ID1, BLOCK_ID1, BLOCK_SIZE, mTestDir1, mMetaManager,
+        mEvictor);
+    TieredBlockStoreTestUtils.cache(SESSION_ID1, BLOCK_ID2, BLOCK_SIZE, mTestDir1, mMetaManager,
+        mEvictor);
+    mBlockStore.freeSpace(SESSION_ID1, mTestDir1.getCapacityBytes(),
+        mTestDir1.toBlockStoreLocation());
+    // Expect both blocks to be moved out of mTestDir1 to the second tier
+    Assert.assertEquals(mTestDir1.getCapacityBytes(), mTestDir1.getAvailableBytes());
+    for (long blockId : new long[] {BLOCK_ID1, BLOCK_ID2}) {
+      Assert.assertFalse(FileUtils.exists(BlockMeta.commitPath(mTestDir1, blockId)));
+      BlockMeta blockMeta = mMetaManager.getBlockMeta(blockId);
+      Assert.assertEquals(SECOND_TIER_ALIAS, blockMeta.getBlockLocation().tierAlias());
+      Assert.assertTrue(FileUtils.exists(blockMeta.getPath()));
+    }
+  }
+
   /**
    * Tests the {@link TieredBlockStore#requestSpace(long, long, long)} method.
    */
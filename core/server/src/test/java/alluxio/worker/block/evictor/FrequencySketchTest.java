@@ -0,0 +1,53 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block.evictor;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link FrequencySketch}.
+ */
+public final class FrequencySketchTest {
+
+  /**
+   * Tests that frequencies are counted up to the maximum frequency.
+   */
+  @Test
+  public void increment() {
+    FrequencySketch sketch = new FrequencySketch(1024);
+    Assert.assertEquals(0, sketch.frequency(1L));
+    for (int i = 1; i <= FrequencySketch.MAX_FREQUENCY + 5; i++) {
+      sketch.increment(1L);
+      Assert.assertEquals(Math.min(i, FrequencySketch.MAX_FREQUENCY), sketch.frequency(1L));
+    }
+    Assert.assertEquals(0, sketch.frequency(2L));
+  }
+
+  /**
+   * Tests that the frequencies are halved once enough increments are recorded.
+   */
+  @Test
+  public void reset() {
+    FrequencySketch sketch = new FrequencySketch(64);
+    for (int i = 0; i < 8; i++) {
+      sketch.increment(1L);
+    }
+    // Record accesses of other blocks until the counters are halved.
+    long blockId = 2;
+    while (sketch.frequency(1L) >= 8 && blockId < 64 * 10 + 2) {
+      sketch.increment(blockId++);
+    }
+    // Other blocks may collide with the counters of the block, but not with all of them.
+    Assert.assertTrue(sketch.frequency(1L) >= 4 && sketch.frequency(1L) < 8);
+  }
+}
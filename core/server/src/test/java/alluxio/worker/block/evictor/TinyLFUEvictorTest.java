@@ -0,0 +1,120 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block.evictor;
+
+import alluxio.ConfigurationTestUtils;
+import alluxio.collections.Pair;
+import alluxio.worker.block.BlockStoreEventListener;
+import alluxio.worker.block.BlockStoreLocation;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Unit tests for specific behavior of {@link TinyLFUEvictor} such as keeping frequently accessed
+ * blocks over blocks of a scan.
+ */
+public class TinyLFUEvictorTest extends EvictorTestBase {
+  private static final int BOTTOM_TIER = 1;
+  private static final int BLOCK_SIZE = 100;
+  /** The capacity of the first dir of the bottom tier, in blocks. */
+  private static final int DIR_BLOCKS = 100;
+  private static final int HOT_BLOCKS = 10;
+  private static final long SCAN_BLOCK_ID = 1000;
+
+  /**
+   * Sets up all dependencies before a test runs.
+   */
+  @Before
+  public final void before() throws Exception {
+    init(TinyLFUEvictor.class.getName());
+  }
+
+  /**
+   * Resets the context of the worker after a test ran.
+   */
+  @After
+  public void after() {
+    ConfigurationTestUtils.resetConfiguration();
+  }
+
+  // access the block to update evictor
+  private void access(long blockId) {
+    ((BlockStoreEventListener) mEvictor).onAccessBlock(SESSION_ID, blockId);
+  }
+
+  /**
+   * Caches hot blocks which are accessed several times, then fills the dir with a scan of blocks.
+   */
+  private void cacheHotBlocksAndScan() throws Exception {
+    for (int i = 0; i < HOT_BLOCKS; i++) {
+      cache(SESSION_ID, BLOCK_ID + i, BLOCK_SIZE, BOTTOM_TIER, 0);
+    }
+    for (int round = 0; round < 3; round++) {
+      for (int i = 0; i < HOT_BLOCKS; i++) {
+        access(BLOCK_ID + i);
+      }
+    }
+    for (int i = 0; i < DIR_BLOCKS - HOT_BLOCKS; i++) {
+      cache(SESSION_ID, SCAN_BLOCK_ID + i, BLOCK_SIZE, BOTTOM_TIER, 0);
+    }
+  }
+
+  /**
+   * @param numBlocks the number of blocks to free the space of
+   * @return the ids of the blocks evicted from the first dir of the bottom tier
+   */
+  private Set<Long> evict(int numBlocks) {
+    EvictionPlan plan = mEvictor.freeSpaceWithView(numBlocks * BLOCK_SIZE,
+        new BlockStoreLocation("SSD", 0), mManagerView);
+    Assert.assertNotNull(plan);
+    Assert.assertTrue(plan.toMove().isEmpty());
+    Set<Long> evicted = new HashSet<>();
+    for (Pair<Long, BlockStoreLocation> block : plan.toEvict()) {
+      evicted.add(block.getFirst());
+    }
+    Assert.assertEquals(numBlocks, evicted.size());
+    return evicted;
+  }
+
+  /**
+   * Tests that the blocks of a scan are evicted before older blocks which are accessed frequently.
+   */
+  @Test
+  public void scanDoesNotEvictHotBlocks() throws Exception {
+    cacheHotBlocksAndScan();
+    Set<Long> evicted = evict(DIR_BLOCKS - HOT_BLOCKS);
+    for (int i = 0; i < HOT_BLOCKS; i++) {
+      Assert.assertFalse(evicted.contains(BLOCK_ID + i));
+    }
+  }
+
+  /**
+   * Tests that a block of a scan which is accessed again is admitted to the main space, and
+   * evicted after the rest of the scan.
+   */
+  @Test
+  public void accessedScanBlockIsAdmitted() throws Exception {
+    cacheHotBlocksAndScan();
+    access(SCAN_BLOCK_ID);
+    Set<Long> evicted = evict(DIR_BLOCKS - HOT_BLOCKS - 2);
+    Assert.assertFalse(evicted.contains(SCAN_BLOCK_ID));
+    for (int i = 0; i < HOT_BLOCKS; i++) {
+      Assert.assertFalse(evicted.contains(BLOCK_ID + i));
+    }
+  }
+}
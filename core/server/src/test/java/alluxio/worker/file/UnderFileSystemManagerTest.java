@@ -20,7 +20,7 @@ import alluxio.security.authorization.Mode;
 import alluxio.security.authorization.Permission;
 import alluxio.underfs.UnderFileSystem;
 import alluxio.underfs.options.CreateOptions;
-import alluxio.underfs.s3a.S3AUnderFileSystem;
+import alluxio.underfs.options.OpenOptions;
 import alluxio.util.io.PathUtils;
 
 import org.junit.Assert;
@@ -78,7 +78,8 @@ public final class UnderFileSystemManagerTest {
     Mockito.when(mMockUfs.create(Mockito.anyString())).thenReturn(mMockOutputStream);
     Mockito.when(mMockUfs.create(Mockito.anyString(),
         Mockito.any(CreateOptions.class))).thenReturn(mMockOutputStream);
-    Mockito.when(mMockUfs.open(Mockito.anyString())).thenReturn(mMockInputStream);
+    Mockito.when(mMockUfs.open(Mockito.anyString(), Mockito.any(OpenOptions.class)))
+        .thenReturn(mMockInputStream);
     Mockito.when(mMockUfs.rename(Mockito.anyString(), Mockito.anyString())).thenReturn(true);
     Mockito.when(mMockUfs.getFileSize(Mockito.anyString())).thenReturn(FILE_LENGTH);
     PowerMockito.mockStatic(UnderFileSystem.class);
@@ -277,7 +278,8 @@ public final class UnderFileSystemManagerTest {
   }
 
   /**
-   * Tests getting an input stream to a valid file at a position returns the correct input stream.
+   * Tests getting an input stream to a valid file at a position opens the file at that position
+   * rather than skipping to it.
    */
   @Test
   public void getInputStreamAtPosition() throws Exception {
@@ -287,33 +289,7 @@ public final class UnderFileSystemManagerTest {
     Mockito.when(mMockInputStream.read()).thenReturn(5);
     InputStream in = mManager.getInputStreamAtPosition(id, position);
     Assert.assertEquals(5, in.read());
-    Mockito.verify(mMockInputStream).skip(position);
-    in.close();
-  }
-
-  /**
-   * Tests getting an input stream to a valid file at a position returns the correct input stream
-   * when using a UFS which supports opening at a position.
-   */
-  // TODO(calvin): Generalize this when openAtPosition is part of an interface
-  @Test
-  public void getInputStreamAtPositionOptimized() throws Exception {
-    // Specifically testing S3A to validate the code path taken if the UFS implements the
-    // openAtPosition api.
-    S3AUnderFileSystem ufs = Mockito.mock(S3AUnderFileSystem.class);
-    Mockito.when(ufs.openAtPosition(Mockito.anyString(), Mockito.anyLong())).thenReturn(
-        mMockInputStream);
-    Mockito.when(ufs.getFileSize(Mockito.anyString())).thenReturn(FILE_LENGTH);
-    PowerMockito.mockStatic(UnderFileSystem.class);
-    Mockito.when(UnderFileSystem.get(Mockito.anyString())).thenReturn(ufs);
-
-    long position = FILE_LENGTH - 1;
-    Mockito.when(ufs.exists(mUri.toString())).thenReturn(true);
-    long id = mManager.openFile(SESSION_ID, mUri);
-    Mockito.when(mMockInputStream.read()).thenReturn(5);
-    InputStream in = mManager.getInputStreamAtPosition(id, position);
-    Assert.assertEquals(5, in.read());
-    // Due to the optimization, we should not need to skip
+    Mockito.verify(mMockUfs).open(mUri.toString(), new OpenOptions().setOffset(position));
     Mockito.verify(mMockInputStream, Mockito.never()).skip(position);
     in.close();
   }
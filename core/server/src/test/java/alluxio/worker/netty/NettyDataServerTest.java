@@ -14,6 +14,7 @@ package alluxio.worker.netty;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -21,9 +22,12 @@ import alluxio.ConfigurationRule;
 import alluxio.PropertyKey;
 import alluxio.client.netty.ClientHandler;
 import alluxio.client.netty.NettyClient;
+import alluxio.client.netty.NettyRemoteBlockWriter;
 import alluxio.client.netty.SingleResponseListener;
 import alluxio.exception.BlockDoesNotExistException;
 import alluxio.network.protocol.RPCBlockReadRequest;
+import alluxio.network.protocol.RPCBlockReadResponse;
+import alluxio.network.protocol.RPCBlockReadStreamRequest;
 import alluxio.network.protocol.RPCBlockWriteRequest;
 import alluxio.network.protocol.RPCFileReadRequest;
 import alluxio.network.protocol.RPCFileWriteRequest;
@@ -50,6 +54,10 @@ import org.mockito.Mockito;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -108,6 +116,39 @@ public final class NettyDataServerTest {
         Charsets.UTF_8.decode(response.getPayloadDataBuffer().getReadOnlyByteBuffer()).toString());
   }
 
+  @Test
+  public void readBlockStream() throws Exception {
+    long sessionId = 0;
+    long blockId = 1;
+    long lockId = 4;
+    when(mBlockWorker.readBlockRemote(sessionId, blockId, lockId)).thenReturn(
+        new MockBlockReader("abcdefg".getBytes(Charsets.UTF_8)));
+    List<RPCResponse> responses =
+        requestStream(new RPCBlockReadStreamRequest(blockId, 1, 5, lockId, sessionId, 2), 3);
+
+    // Verify that the 5 bytes at offset 1 were streamed in chunks of at most 2 bytes.
+    String[] chunks = {"bc", "de", "f"};
+    for (int i = 0; i < chunks.length; i++) {
+      RPCBlockReadResponse response = (RPCBlockReadResponse) responses.get(i);
+      assertEquals(RPCResponse.Status.SUCCESS, response.getStatus());
+      assertEquals(1 + 2 * i, response.getOffset());
+      assertEquals(chunks[i], Charsets.UTF_8
+          .decode(response.getPayloadDataBuffer().getReadOnlyByteBuffer()).toString());
+    }
+    verify(mBlockWorker).accessBlock(sessionId, blockId);
+  }
+
+  @Test
+  public void blockWorkerExceptionCausesReadFailedStatusOnStream() throws Exception {
+    when(mBlockWorker.readBlockRemote(anyLong(), anyLong(), anyLong()))
+        .thenThrow(new RuntimeException());
+    List<RPCResponse> responses =
+        requestStream(new RPCBlockReadStreamRequest(1, 2, 3, 4, 0, 1), 1);
+
+    // Verify that the stream failed with UFS_READ_FAILED status.
+    assertEquals(RPCResponse.Status.UFS_READ_FAILED, responses.get(0).getStatus());
+  }
+
   @Test
   public void blockWorkerExceptionCausesReadFailedStatus() throws Exception {
     when(mBlockWorker.readBlockRemote(anyLong(), anyLong(), anyLong()))
@@ -178,6 +219,30 @@ public final class NettyDataServerTest {
     assertEquals("ab", new String(blockWriter.getBytes(), Charsets.UTF_8));
   }
 
+  @Test
+  public void writeBlockPipelined() throws Exception {
+    long sessionId = 0;
+    long blockId = 1;
+    MockBlockWriter blockWriter = new MockBlockWriter();
+    when(mBlockWorker.getTempBlockWriterRemote(sessionId, blockId)).thenReturn(blockWriter);
+    NettyRemoteBlockWriter writer = new NettyRemoteBlockWriter();
+    writer.open(new InetSocketAddress(mNettyDataServer.getBindHost(), mNettyDataServer.getPort()),
+        blockId, sessionId);
+    try {
+      // The writes are sent without waiting for each other, and acknowledged in order.
+      for (String chunk : new String[] {"ab", "cd", "ef"}) {
+        writer.write(chunk.getBytes(Charsets.UTF_8), 0, 2);
+      }
+      writer.flush();
+      assertEquals(6, writer.getAckedBytes());
+    } finally {
+      writer.close();
+    }
+    verify(mBlockWorker).createBlockRemote(sessionId, blockId, "MEM", 2);
+    verify(mBlockWorker, times(2)).requestSpace(sessionId, blockId, 2);
+    assertEquals("abcdef", new String(blockWriter.getBytes(), Charsets.UTF_8));
+  }
+
   @Test
   public void blockWorkerExceptionCausesFailStatusOnWrite() throws Exception {
     long sessionId = 0;
@@ -243,6 +308,35 @@ public final class NettyDataServerTest {
     assertEquals(RPCResponse.Status.UFS_WRITE_FAILED, response.getStatus());
   }
 
+  private List<RPCResponse> requestStream(RPCRequest request, int numResponses)
+      throws Exception {
+    InetSocketAddress address =
+        new InetSocketAddress(mNettyDataServer.getBindHost(), mNettyDataServer.getPort());
+    Bootstrap clientBootstrap = NettyClient.createClientBootstrap();
+    ChannelFuture f = clientBootstrap.connect(address).sync();
+    Channel channel = f.channel();
+    try {
+      final BlockingQueue<RPCResponse> queue = new LinkedBlockingQueue<>();
+      channel.pipeline().get(ClientHandler.class).addListener(new ClientHandler.ResponseListener() {
+        @Override
+        public void onResponseReceived(RPCResponse response) {
+          queue.add(response);
+        }
+
+        @Override
+        public void onExceptionCaught(Throwable cause) {}
+      });
+      channel.writeAndFlush(request);
+      List<RPCResponse> responses = new ArrayList<>();
+      for (int i = 0; i < numResponses; i++) {
+        responses.add(queue.poll(NettyClient.TIMEOUT_MS, TimeUnit.MILLISECONDS));
+      }
+      return responses;
+    } finally {
+      channel.close().sync();
+    }
+  }
+
   private RPCResponse request(RPCRequest rpcBlockWriteRequest) throws Exception {
     InetSocketAddress address =
         new InetSocketAddress(mNettyDataServer.getBindHost(), mNettyDataServer.getPort());
@@ -0,0 +1,170 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file;
+
+import alluxio.AlluxioURI;
+import alluxio.client.WriteType;
+import alluxio.client.file.options.CreateDirectoryOptions;
+import alluxio.client.file.options.CreateFileOptions;
+import alluxio.metrics.MetricsSystem;
+import alluxio.util.ThreadFactoryUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Generates the metadata lookups of query planning on a running cluster. It creates a table
+ * directory with partition directories of empty files, then each thread plans queries over the
+ * table in a loop: it lists the table and its partitions and looks up every file, as the split
+ * computation of Hive or Spark does through the Hadoop file system. Comparing the results with and
+ * without the client metadata cache, e.g. with
+ * {@code -Dalluxio.user.file.metadata.cache.max.size=100000}, shows the round trips to the master
+ * the cache saves.
+ *
+ * <pre>
+ * java -cp microbench/target/benchmarks.jar alluxio.client.file.StatStormGenerator \
+ *   tablePath [partitions] [filesPerPartition] [threads] [durationSeconds]
+ * </pre>
+ */
+@NotThreadSafe
+public final class StatStormGenerator {
+  private static final int DEFAULT_PARTITIONS = 10;
+  private static final int DEFAULT_FILES_PER_PARTITION = 100;
+  private static final int DEFAULT_THREADS = 8;
+  private static final int DEFAULT_DURATION_SECONDS = 30;
+
+  private StatStormGenerator() {} // prevent instantiation
+
+  /**
+   * Runs the generator.
+   *
+   * @param args the path of the table, then the optional numbers of partitions, files per
+   *        partition and threads, and duration in seconds
+   * @throws Exception if the table cannot be created or a lookup fails
+   */
+  public static void main(String[] args) throws Exception {
+    if (args.length < 1) {
+      System.err.println("Usage: StatStormGenerator tablePath [partitions] [filesPerPartition] "
+          + "[threads] [durationSeconds]");
+      System.exit(-1);
+    }
+    AlluxioURI table = new AlluxioURI(args[0]);
+    int partitions = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_PARTITIONS;
+    int filesPerPartition =
+        args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_FILES_PER_PARTITION;
+    int threads = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_THREADS;
+    int durationSeconds = args.length > 4 ? Integer.parseInt(args[4]) : DEFAULT_DURATION_SECONDS;
+    FileSystem fs = FileSystem.Factory.get();
+    createTable(fs, table, partitions, filesPerPartition);
+    run(fs, table, threads, durationSeconds);
+    System.exit(0);
+  }
+
+  private static void createTable(FileSystem fs, AlluxioURI table, int partitions,
+      int filesPerPartition) throws Exception {
+    if (fs.exists(table)) {
+      return;
+    }
+    fs.createDirectory(table, CreateDirectoryOptions.defaults().setRecursive(true));
+    CreateFileOptions options = CreateFileOptions.defaults().setWriteType(WriteType.MUST_CACHE);
+    for (int i = 0; i < partitions; i++) {
+      AlluxioURI partition = new AlluxioURI(table, new AlluxioURI("part-" + i));
+      fs.createDirectory(partition);
+      for (int j = 0; j < filesPerPartition; j++) {
+        fs.createFile(new AlluxioURI(partition, new AlluxioURI("file-" + j)), options).close();
+      }
+    }
+  }
+
+  private static void run(FileSystem fs, AlluxioURI table, int threads, int durationSeconds)
+      throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(threads,
+        ThreadFactoryUtils.build("stat-storm-%d", true));
+    try {
+      long deadlineNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(durationSeconds);
+      List<Future<long[]>> futures = new ArrayList<>(threads);
+      for (int i = 0; i < threads; i++) {
+        futures.add(executor.submit(new Planner(fs, table, deadlineNanos)));
+      }
+      long plans = 0;
+      long lookups = 0;
+      for (Future<long[]> future : futures) {
+        long[] counts = future.get();
+        plans += counts[0];
+        lookups += counts[1];
+      }
+      System.out.printf("%d threads, %d plans (%.1f/s), %d lookups (%.0f/s) in %d s%n", threads,
+          plans, (double) plans / durationSeconds, lookups, (double) lookups / durationSeconds,
+          durationSeconds);
+      long hits = MetricsSystem.clientCounter("MetadataCacheHits").getCount();
+      long misses = MetricsSystem.clientCounter("MetadataCacheMisses").getCount();
+      System.out.printf("metadata cache: %d hits, %d misses%n", hits, misses);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * A thread planning queries over the table until a deadline.
+   */
+  private static final class Planner implements Callable<long[]> {
+    private final FileSystem mFileSystem;
+    private final AlluxioURI mTable;
+    private final long mDeadlineNanos;
+
+    /**
+     * Creates a new instance of {@link Planner}.
+     *
+     * @param fs the file system
+     * @param table the path of the table
+     * @param deadlineNanos the {@link System#nanoTime()} to stop planning at
+     */
+    Planner(FileSystem fs, AlluxioURI table, long deadlineNanos) {
+      mFileSystem = fs;
+      mTable = table;
+      mDeadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * @return the number of plans and the number of lookups
+     */
+    @Override
+    public long[] call() throws Exception {
+      long plans = 0;
+      long lookups = 0;
+      while (System.nanoTime() < mDeadlineNanos) {
+        mFileSystem.getStatus(mTable);
+        List<URIStatus> partitions = mFileSystem.listStatus(mTable);
+        lookups += 2;
+        for (URIStatus partition : partitions) {
+          AlluxioURI partitionPath = new AlluxioURI(partition.getPath());
+          mFileSystem.getStatus(partitionPath);
+          List<URIStatus> files = mFileSystem.listStatus(partitionPath);
+          lookups += 2;
+          for (URIStatus file : files) {
+            mFileSystem.getStatus(new AlluxioURI(file.getPath()));
+            lookups++;
+          }
+        }
+        plans++;
+      }
+      return new long[] {plans, lookups};
+    }
+  }
+}
@@ -0,0 +1,172 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master;
+
+import alluxio.Constants;
+import alluxio.security.authentication.TransportProvider;
+import alluxio.thrift.FileSystemMasterClientService;
+import alluxio.util.ThreadFactoryUtils;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.UniformReservoir;
+import org.apache.thrift.protocol.TBinaryProtocol;
+import org.apache.thrift.protocol.TMultiplexedProtocol;
+import org.apache.thrift.transport.TTransport;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Generates RPC load on a running master. It opens idle connections, which send no request, and
+ * active connections, each of which sends requests in a loop from its own thread, then prints
+ * the throughput and the latency percentiles of the requests. Comparing the results of the
+ * {@link RpcServerType}s of the master shows how they cope with many open connections.
+ *
+ * The connections use the configured authentication type, e.g. with
+ * {@code -Dalluxio.security.authentication.type=NOSASL}.
+ *
+ * <pre>
+ * java -cp microbench/target/benchmarks.jar alluxio.master.MasterRpcLoadGenerator \
+ *   host port [idleConnections] [activeConnections] [durationSeconds]
+ * </pre>
+ */
+@NotThreadSafe
+public final class MasterRpcLoadGenerator {
+  private static final int DEFAULT_IDLE_CONNECTIONS = 1000;
+  private static final int DEFAULT_ACTIVE_CONNECTIONS = 16;
+  private static final int DEFAULT_DURATION_SECONDS = 30;
+  private static final double[] PERCENTILES = {0.5, 0.9, 0.99, 0.999};
+  private static final int LATENCY_SAMPLES = 1 << 16;
+
+  private MasterRpcLoadGenerator() {} // prevent instantiation
+
+  /**
+   * Runs the load generator.
+   *
+   * @param args the host and port of the master, then the optional numbers of idle and active
+   *        connections and duration in seconds
+   * @throws Exception if a connection cannot be opened or a request fails
+   */
+  public static void main(String[] args) throws Exception {
+    if (args.length < 2) {
+      System.err.println("Usage: MasterRpcLoadGenerator host port [idleConnections] "
+          + "[activeConnections] [durationSeconds]");
+      System.exit(-1);
+    }
+    InetSocketAddress address = new InetSocketAddress(args[0], Integer.parseInt(args[1]));
+    int idleConnections = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_IDLE_CONNECTIONS;
+    int activeConnections =
+        args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_ACTIVE_CONNECTIONS;
+    int durationSeconds = args.length > 4 ? Integer.parseInt(args[4]) : DEFAULT_DURATION_SECONDS;
+    run(address, idleConnections, activeConnections, durationSeconds);
+  }
+
+  private static void run(InetSocketAddress address, int idleConnections, int activeConnections,
+      int durationSeconds) throws Exception {
+    TransportProvider transportProvider = TransportProvider.Factory.create();
+    List<TTransport> idleTransports = new ArrayList<>(idleConnections);
+    ExecutorService executor = Executors.newFixedThreadPool(activeConnections,
+        ThreadFactoryUtils.build("master-rpc-load-%d", true));
+    try {
+      for (int i = 0; i < idleConnections; i++) {
+        TTransport transport = transportProvider.getClientTransport(address);
+        transport.open();
+        idleTransports.add(transport);
+      }
+      Histogram latencyMicros = new Histogram(new UniformReservoir(LATENCY_SAMPLES));
+      long deadlineNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(durationSeconds);
+      List<Future<Long>> futures = new ArrayList<>(activeConnections);
+      for (int i = 0; i < activeConnections; i++) {
+        futures.add(executor.submit(
+            new ActiveConnection(transportProvider, address, deadlineNanos, latencyMicros)));
+      }
+      long requests = 0;
+      for (Future<Long> future : futures) {
+        requests += future.get();
+      }
+      System.out.printf("%d idle and %d active connections, %d requests in %d s (%.0f/s)%n",
+          idleConnections, activeConnections, requests, durationSeconds,
+          (double) requests / durationSeconds);
+      Snapshot snapshot = latencyMicros.getSnapshot();
+      StringBuilder percentiles = new StringBuilder("latency (us):");
+      for (double percentile : PERCENTILES) {
+        percentiles.append(String.format(" p%s %.0f", percentile * 100,
+            snapshot.getValue(percentile)));
+      }
+      percentiles.append(" max ").append(snapshot.getMax());
+      System.out.println(percentiles);
+    } finally {
+      executor.shutdownNow();
+      for (TTransport transport : idleTransports) {
+        transport.close();
+      }
+    }
+  }
+
+  /**
+   * A connection sending requests until a deadline.
+   */
+  private static final class ActiveConnection implements Callable<Long> {
+    private final TransportProvider mTransportProvider;
+    private final InetSocketAddress mAddress;
+    private final long mDeadlineNanos;
+    private final Histogram mLatencyMicros;
+
+    /**
+     * Creates a new instance of {@link ActiveConnection}.
+     *
+     * @param transportProvider the provider of the transport of the connection
+     * @param address the address of the master
+     * @param deadlineNanos the {@link System#nanoTime()} to stop sending requests at
+     * @param latencyMicros the histogram to record the latencies of the requests in
+     */
+    ActiveConnection(TransportProvider transportProvider, InetSocketAddress address,
+        long deadlineNanos, Histogram latencyMicros) {
+      mTransportProvider = transportProvider;
+      mAddress = address;
+      mDeadlineNanos = deadlineNanos;
+      mLatencyMicros = latencyMicros;
+    }
+
+    @Override
+    public Long call() throws Exception {
+      TTransport transport = mTransportProvider.getClientTransport(mAddress);
+      transport.open();
+      try {
+        FileSystemMasterClientService.Client client =
+            new FileSystemMasterClientService.Client(new TMultiplexedProtocol(
+                new TBinaryProtocol(transport), Constants.FILE_SYSTEM_MASTER_CLIENT_SERVICE_NAME));
+        long requests = 0;
+        long startNanos = System.nanoTime();
+        while (startNanos < mDeadlineNanos) {
+          client.getServiceVersion();
+          long endNanos = System.nanoTime();
+          mLatencyMicros.update(TimeUnit.NANOSECONDS.toMicros(endNanos - startNanos));
+          requests++;
+          startNanos = endNanos;
+        }
+        return requests;
+      } finally {
+        transport.close();
+      }
+    }
+  }
+}
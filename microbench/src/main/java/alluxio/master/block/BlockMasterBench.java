@@ -0,0 +1,183 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.block;
+
+import alluxio.master.journal.ReadWriteJournal;
+import alluxio.proto.journal.Block.BlockInfoEntry;
+import alluxio.proto.journal.Journal.JournalEntry;
+import alluxio.thrift.Command;
+import alluxio.wire.WorkerNetAddress;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures the throughput of {@link BlockMaster} processing worker heartbeats. Each thread plays
+ * a worker which reports a batch of its blocks removed, e.g. evicted, in a heartbeat and reports
+ * them added back in the next one, while the master tracks {@link #NUM_BLOCKS} blocks.
+ *
+ * Run with {@code java -jar microbench/target/benchmarks.jar BlockMasterBench}. To compare
+ * against another implementation, build and run the same benchmark on that revision.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class BlockMasterBench {
+  private static final int NUM_BLOCKS = 1000000;
+  private static final int NUM_WORKERS = 4;
+  /** The number of blocks removed or added in a heartbeat. */
+  private static final int BATCH_SIZE = 100;
+  private static final String TIER_ALIAS = "MEM";
+  private static final Map<String, Long> USED_BYTES_ON_TIERS = ImmutableMap.of(TIER_ALIAS, 0L);
+
+  /**
+   * Constructs a new {@link BlockMasterBench}.
+   */
+  public BlockMasterBench() {}
+
+  /**
+   * Block master shared by all benchmark threads, with the blocks spread over the workers.
+   */
+  @State(Scope.Benchmark)
+  public static class MasterState {
+    private final AtomicInteger mNextWorker = new AtomicInteger();
+    private final long[] mWorkerIds = new long[NUM_WORKERS];
+    private final List<List<Long>> mWorkerBlocks = new ArrayList<>(NUM_WORKERS);
+    private File mJournalFolder;
+    private BlockMaster mMaster;
+
+    /**
+     * Constructs a new {@link MasterState}.
+     */
+    public MasterState() {}
+
+    /**
+     * Starts the master, adds the blocks and registers the workers.
+     *
+     * @throws Exception if the master cannot be started
+     */
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+      mJournalFolder = Files.createTempDirectory("block-master-bench").toFile();
+      mMaster = new BlockMaster(new ReadWriteJournal(mJournalFolder.getAbsolutePath()));
+      mMaster.start(true);
+      for (int i = 0; i < NUM_WORKERS; i++) {
+        mWorkerBlocks.add(new ArrayList<Long>(NUM_BLOCKS / NUM_WORKERS));
+      }
+      for (long blockId = 0; blockId < NUM_BLOCKS; blockId++) {
+        mMaster.processJournalEntry(JournalEntry.newBuilder()
+            .setBlockInfo(BlockInfoEntry.newBuilder().setBlockId(blockId).setLength(1)).build());
+        mWorkerBlocks.get((int) (blockId % NUM_WORKERS)).add(blockId);
+      }
+      for (int i = 0; i < NUM_WORKERS; i++) {
+        mWorkerIds[i] = mMaster.getWorkerId(new WorkerNetAddress().setHost("worker" + i)
+            .setRpcPort(29998).setDataPort(29999).setWebPort(30000));
+        mMaster.workerRegister(mWorkerIds[i], ImmutableList.of(TIER_ALIAS),
+            ImmutableMap.of(TIER_ALIAS, Long.MAX_VALUE), USED_BYTES_ON_TIERS,
+            ImmutableMap.of(TIER_ALIAS, mWorkerBlocks.get(i)));
+      }
+    }
+
+    /**
+     * Stops the master.
+     *
+     * @throws Exception if the master cannot be stopped
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+      mMaster.stop();
+      FileUtils.deleteDirectory(mJournalFolder);
+    }
+  }
+
+  /**
+   * The worker played by a benchmark thread.
+   */
+  @State(Scope.Thread)
+  public static class WorkerState {
+    private long mWorkerId;
+    private List<Long> mBlocks;
+    private int mNextBatch;
+
+    /**
+     * Constructs a new {@link WorkerState}.
+     */
+    public WorkerState() {}
+
+    /**
+     * Picks the worker of the thread.
+     *
+     * @param master the master state
+     */
+    @Setup(Level.Trial)
+    public void setup(MasterState master) {
+      int worker = master.mNextWorker.getAndIncrement() % NUM_WORKERS;
+      mWorkerId = master.mWorkerIds[worker];
+      mBlocks = master.mWorkerBlocks.get(worker);
+    }
+
+    /**
+     * @return the next batch of blocks of the worker
+     */
+    List<Long> nextBatch() {
+      int from = mNextBatch * BATCH_SIZE;
+      if (from + BATCH_SIZE > mBlocks.size()) {
+        from = 0;
+        mNextBatch = 0;
+      }
+      mNextBatch++;
+      return mBlocks.subList(from, from + BATCH_SIZE);
+    }
+  }
+
+  /**
+   * Sends a heartbeat removing a batch of blocks, and a heartbeat adding them back.
+   *
+   * @param master the master state
+   * @param worker the worker state
+   * @return the command of the last heartbeat
+   */
+  @Benchmark
+  public Command removeAndAddBlocks(MasterState master, WorkerState worker) {
+    List<Long> batch = worker.nextBatch();
+    master.mMaster.workerHeartbeat(worker.mWorkerId, USED_BYTES_ON_TIERS, batch,
+        Collections.<String, List<Long>>emptyMap());
+    return master.mMaster.workerHeartbeat(worker.mWorkerId, USED_BYTES_ON_TIERS,
+        Collections.<Long>emptyList(), ImmutableMap.of(TIER_ALIAS, batch));
+  }
+}
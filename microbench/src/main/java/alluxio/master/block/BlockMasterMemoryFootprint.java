@@ -0,0 +1,114 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.block;
+
+import alluxio.master.journal.ReadWriteJournal;
+import alluxio.proto.journal.Block.BlockInfoEntry;
+import alluxio.proto.journal.Journal.JournalEntry;
+import alluxio.wire.WorkerNetAddress;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Measures the heap used by the block metadata of {@link BlockMaster}. It adds blocks to a master
+ * as the replay of a journal does, registers workers holding replicas of the blocks, and prints the
+ * growth of the used heap per block and per replica.
+ *
+ * Run with a fixed heap size, so that the garbage collections do not resize the heap, e.g.
+ *
+ * <pre>
+ * java -Xms4g -Xmx4g -cp microbench/target/benchmarks.jar \
+ *   alluxio.master.block.BlockMasterMemoryFootprint [numBlocks] [numWorkers] [replication]
+ * </pre>
+ */
+@NotThreadSafe
+public final class BlockMasterMemoryFootprint {
+  private static final int DEFAULT_NUM_BLOCKS = 1000000;
+  private static final int DEFAULT_NUM_WORKERS = 10;
+  private static final int DEFAULT_REPLICATION = 3;
+  private static final String TIER_ALIAS = "MEM";
+
+  private BlockMasterMemoryFootprint() {} // prevent instantiation
+
+  /**
+   * Runs the measurement.
+   *
+   * @param args the optional numbers of blocks, workers and replicas of each block
+   * @throws Exception if the master cannot be started
+   */
+  public static void main(String[] args) throws Exception {
+    int numBlocks = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_NUM_BLOCKS;
+    int numWorkers = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_NUM_WORKERS;
+    int replication = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_REPLICATION;
+    if (replication > numWorkers) {
+      System.err.println("The replication cannot exceed the number of workers");
+      System.exit(-1);
+    }
+    File journalFolder = Files.createTempDirectory("block-master-memory").toFile();
+    BlockMaster master = new BlockMaster(new ReadWriteJournal(journalFolder.getAbsolutePath()));
+    try {
+      master.start(true);
+      long baseBytes = usedHeapBytes();
+      for (long blockId = 0; blockId < numBlocks; blockId++) {
+        master.processJournalEntry(JournalEntry.newBuilder()
+            .setBlockInfo(BlockInfoEntry.newBuilder().setBlockId(blockId).setLength(1)).build());
+      }
+      long blocksBytes = usedHeapBytes();
+      for (int i = 0; i < numWorkers; i++) {
+        // The replicas of a block are on the workers following the block id modulo the number of
+        // workers.
+        List<Long> blocks = new ArrayList<>();
+        for (long blockId = 0; blockId < numBlocks; blockId++) {
+          if ((i - blockId % numWorkers + numWorkers) % numWorkers < replication) {
+            blocks.add(blockId);
+          }
+        }
+        long workerId = master.getWorkerId(new WorkerNetAddress().setHost("worker" + i)
+            .setRpcPort(29998).setDataPort(29999).setWebPort(30000));
+        master.workerRegister(workerId, ImmutableList.of(TIER_ALIAS),
+            ImmutableMap.of(TIER_ALIAS, Long.MAX_VALUE), ImmutableMap.of(TIER_ALIAS, 0L),
+            ImmutableMap.of(TIER_ALIAS, blocks));
+      }
+      long replicasBytes = usedHeapBytes();
+      long numReplicas = (long) numBlocks * replication;
+      System.out.printf("%d blocks: %.1f bytes per block without locations%n", numBlocks,
+          (double) (blocksBytes - baseBytes) / numBlocks);
+      System.out.printf("%d replicas on %d workers: %.1f bytes per replica, "
+          + "%.1f bytes per block in total%n", numReplicas, numWorkers,
+          (double) (replicasBytes - blocksBytes) / numReplicas,
+          (double) (replicasBytes - baseBytes) / numBlocks);
+    } finally {
+      master.stop();
+      FileUtils.deleteDirectory(journalFolder);
+    }
+  }
+
+  /**
+   * @return the used heap in bytes after collecting the garbage
+   */
+  private static long usedHeapBytes() {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
@@ -0,0 +1,184 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.file.meta;
+
+import alluxio.AlluxioURI;
+import alluxio.Constants;
+import alluxio.master.block.BlockMaster;
+import alluxio.master.file.options.CreateDirectoryOptions;
+import alluxio.master.file.options.CreateFileOptions;
+import alluxio.master.journal.ReadWriteJournal;
+import alluxio.security.authorization.Permission;
+import alluxio.wire.FileInfo;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the throughput of creating files in, and getting the status of files in, a single
+ * directory of an {@link InodeTree}.
+ *
+ * Run {@link #main(String[])} to measure with 1 to 64 threads, or run a single thread count with
+ * {@code java -jar microbench/target/benchmarks.jar InodeTreeBench -t <threads>}. The
+ * {@code WRITE} lock mode write locks the directory for each create, as all creates did before
+ * {@link InodeTree.LockMode#WRITE_CREATE} was added.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InodeTreeBench {
+  private static final int[] THREAD_COUNTS = {1, 2, 4, 8, 16, 32, 64};
+  private static final AlluxioURI DIRECTORY = new AlluxioURI("/dir");
+  private static final Permission PERMISSION = new Permission("user", "group", (short) 0755);
+
+  /**
+   * Constructs a new {@link InodeTreeBench}.
+   */
+  public InodeTreeBench() {}
+
+  /**
+   * Inode tree shared by all benchmark threads, with one directory holding the files.
+   */
+  @State(Scope.Benchmark)
+  public static class TreeState {
+    /** The lock mode to create files with. */
+    @Param({"WRITE", "WRITE_CREATE"})
+    public InodeTree.LockMode mCreateLockMode;
+
+    /** The number of files in the directory before each iteration. */
+    @Param({"1000"})
+    public int mNumFiles;
+
+    private final AtomicLong mNextFile = new AtomicLong();
+    private File mJournalFolder;
+    private BlockMaster mBlockMaster;
+    private InodeTree mTree;
+    private CreateFileOptions mFileOptions;
+
+    /**
+     * Constructs a new {@link TreeState}.
+     */
+    public TreeState() {}
+
+    /**
+     * Creates a fresh tree for each iteration, so that the directory does not grow unbounded.
+     *
+     * @throws Exception if the tree cannot be created
+     */
+    @Setup(Level.Iteration)
+    public void setup() throws Exception {
+      mJournalFolder = Files.createTempDirectory("inode-tree-bench").toFile();
+      mBlockMaster = new BlockMaster(new ReadWriteJournal(mJournalFolder.getAbsolutePath()));
+      mBlockMaster.start(true);
+      mTree = new InodeTree(mBlockMaster, new InodeDirectoryIdGenerator(mBlockMaster),
+          new MountTable());
+      mTree.initializeRoot(PERMISSION);
+      mFileOptions = CreateFileOptions.defaults().setBlockSizeBytes(Constants.KB)
+          .setPermission(PERMISSION);
+      try (LockedInodePath inodePath =
+          mTree.lockInodePath(DIRECTORY, InodeTree.LockMode.WRITE)) {
+        mTree.createPath(inodePath, CreateDirectoryOptions.defaults().setPermission(PERMISSION));
+      }
+      mNextFile.set(0);
+      for (int i = 0; i < mNumFiles; i++) {
+        createFile(InodeTree.LockMode.WRITE);
+      }
+    }
+
+    /**
+     * Stops the block master and removes its journal.
+     *
+     * @throws Exception if the block master cannot be stopped
+     */
+    @TearDown(Level.Iteration)
+    public void tearDown() throws Exception {
+      mBlockMaster.stop();
+      FileUtils.deleteDirectory(mJournalFolder);
+    }
+
+    private long createFile(InodeTree.LockMode lockMode) throws Exception {
+      AlluxioURI uri = DIRECTORY.join("file" + mNextFile.getAndIncrement());
+      try (LockedInodePath inodePath = mTree.lockInodePath(uri, lockMode)) {
+        mTree.createPath(inodePath, mFileOptions);
+        return inodePath.getInode().getId();
+      }
+    }
+  }
+
+  /**
+   * Creates a new file in the directory.
+   *
+   * @param treeState the shared tree state
+   * @return the id of the created file
+   * @throws Exception if the file cannot be created
+   */
+  @Benchmark
+  public long createFile(TreeState treeState) throws Exception {
+    return treeState.createFile(treeState.mCreateLockMode);
+  }
+
+  /**
+   * Gets the status of a random file which existed before the iteration.
+   *
+   * @param treeState the shared tree state
+   * @return the status of the file
+   * @throws Exception if the status cannot be retrieved
+   */
+  @Benchmark
+  public FileInfo getStatus(TreeState treeState) throws Exception {
+    AlluxioURI uri =
+        DIRECTORY.join("file" + ThreadLocalRandom.current().nextInt(treeState.mNumFiles));
+    try (LockedInodePath inodePath =
+        treeState.mTree.lockFullInodePath(uri, InodeTree.LockMode.READ)) {
+      return inodePath.getInode().generateClientFileInfo(uri.getPath());
+    }
+  }
+
+  /**
+   * Runs the benchmarks with an increasing number of threads.
+   *
+   * @param args unused
+   * @throws Exception if the benchmarks fail to run
+   */
+  public static void main(String[] args) throws Exception {
+    for (int threads : THREAD_COUNTS) {
+      Options options = new OptionsBuilder()
+          .include(InodeTreeBench.class.getSimpleName())
+          .threads(threads)
+          .build();
+      new Runner(options).run();
+    }
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.file.meta;
+
+import alluxio.AlluxioURI;
+import alluxio.Constants;
+import alluxio.master.block.BlockMaster;
+import alluxio.master.file.options.CreateDirectoryOptions;
+import alluxio.master.file.options.CreateFileOptions;
+import alluxio.master.journal.ReadWriteJournal;
+import alluxio.security.authorization.Permission;
+
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+
+/**
+ * Measures the heap used per inode by an {@link InodeTree}. The tree is built with directories of
+ * {@link #FILES_PER_DIRECTORY} completed single block files each, and the heap used by the tree is
+ * reported in bytes per inode.
+ *
+ * Run with the number of inodes in millions as the only argument, for example
+ * {@code java -Xmx8g -cp microbench/target/benchmarks.jar
+ * alluxio.master.file.meta.InodeTreeMemoryBench 10}.
+ */
+public final class InodeTreeMemoryBench {
+  private static final int FILES_PER_DIRECTORY = 1000;
+  private static final Permission PERMISSION = new Permission("user", "group", (short) 0755);
+
+  private InodeTreeMemoryBench() {} // prevent instantiation
+
+  /**
+   * Builds the tree and prints the heap used per inode.
+   *
+   * @param args the number of inodes to create, in millions, defaults to 1
+   * @throws Exception if the tree cannot be built
+   */
+  public static void main(String[] args) throws Exception {
+    long numInodes = (long) ((args.length > 0 ? Double.parseDouble(args[0]) : 1) * 1000000);
+    File journalFolder = Files.createTempDirectory("inode-tree-memory-bench").toFile();
+    BlockMaster blockMaster =
+        new BlockMaster(new ReadWriteJournal(journalFolder.getAbsolutePath()));
+    try {
+      blockMaster.start(true);
+      long heapBefore = usedHeap();
+      InodeTree tree = new InodeTree(blockMaster, new InodeDirectoryIdGenerator(blockMaster),
+          new MountTable());
+      tree.initializeRoot(PERMISSION);
+      CreateDirectoryOptions directoryOptions =
+          CreateDirectoryOptions.defaults().setPermission(PERMISSION);
+      CreateFileOptions fileOptions =
+          CreateFileOptions.defaults().setBlockSizeBytes(Constants.MB).setPermission(PERMISSION);
+
+      long created = 1;
+      AlluxioURI directory = null;
+      while (created < numInodes) {
+        if (directory == null || created % (FILES_PER_DIRECTORY + 1) == 1) {
+          directory = new AlluxioURI("/dir" + created);
+          try (LockedInodePath inodePath =
+              tree.lockInodePath(directory, InodeTree.LockMode.WRITE)) {
+            tree.createPath(inodePath, directoryOptions);
+          }
+        } else {
+          try (LockedInodePath inodePath = tree.lockInodePath(directory.join("file" + created),
+              InodeTree.LockMode.WRITE)) {
+            tree.createPath(inodePath, fileOptions);
+            inodePath.getInodeFile().complete(Constants.MB);
+          }
+        }
+        created++;
+      }
+
+      long heapAfter = usedHeap();
+      System.out.printf("Inodes: %d%n", tree.getSize());
+      System.out.printf("Heap used by the tree: %d MB%n", (heapAfter - heapBefore) / Constants.MB);
+      System.out.printf("Bytes per inode: %d%n", (heapAfter - heapBefore) / tree.getSize());
+    } finally {
+      blockMaster.stop();
+      FileUtils.deleteDirectory(journalFolder);
+    }
+  }
+
+  /**
+   * @return the heap in use after garbage collection, in bytes
+   */
+  private static long usedHeap() throws InterruptedException {
+    MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    for (int i = 0; i < 3; i++) {
+      memory.gc();
+      Thread.sleep(100);
+    }
+    return memory.getHeapMemoryUsage().getUsed();
+  }
+}
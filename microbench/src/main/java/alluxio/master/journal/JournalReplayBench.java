@@ -0,0 +1,137 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.journal;
+
+import alluxio.Configuration;
+import alluxio.PropertyKey;
+import alluxio.master.block.BlockMaster;
+import alluxio.proto.journal.Block.BlockInfoEntry;
+import alluxio.proto.journal.Journal.JournalEntry;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time to replay a synthetic log of {@link #NUM_ENTRIES} block info entries to a
+ * {@link BlockMaster}, with the entries parsed by the replaying thread or by parser threads ahead
+ * of it.
+ *
+ * Run with {@code java -jar microbench/target/benchmarks.jar JournalReplayBench}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class JournalReplayBench {
+  private static final int NUM_ENTRIES = 1000000;
+
+  /**
+   * Constructs a new {@link JournalReplayBench}.
+   */
+  public JournalReplayBench() {}
+
+  /**
+   * The synthetic log, shared by all the invocations.
+   */
+  @State(Scope.Benchmark)
+  public static class LogState {
+    /** The number of parser threads, 0 to parse the entries on the replaying thread. */
+    @Param({"0", "1", "2", "4"})
+    public int mParserThreads;
+
+    private File mJournalFolder;
+    private File mLogFile;
+
+    /**
+     * Constructs a new {@link LogState}.
+     */
+    public LogState() {}
+
+    /**
+     * Writes the log.
+     *
+     * @throws Exception if the log cannot be written
+     */
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+      Configuration.set(PropertyKey.MASTER_JOURNAL_TAILER_PARSER_THREADS,
+          Integer.toString(mParserThreads));
+      mJournalFolder = Files.createTempDirectory("journal-replay-bench").toFile();
+      mLogFile = new File(mJournalFolder, "log.out");
+      JournalFormatter formatter = new ProtoBufJournalFormatter();
+      try (OutputStream outputStream =
+          new BufferedOutputStream(new FileOutputStream(mLogFile))) {
+        for (long i = 1; i <= NUM_ENTRIES; i++) {
+          formatter.serialize(JournalEntry.newBuilder().setSequenceNumber(i)
+              .setBlockInfo(BlockInfoEntry.newBuilder().setBlockId(i).setLength(i)).build(),
+              outputStream);
+        }
+      }
+    }
+
+    /**
+     * Deletes the log.
+     *
+     * @throws Exception if the log cannot be deleted
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+      FileUtils.deleteDirectory(mJournalFolder);
+    }
+  }
+
+  /**
+   * Replays the log to a new block master.
+   *
+   * @param state the log state
+   * @return the sequence number of the last entry
+   * @throws Exception if the log cannot be replayed
+   */
+  @Benchmark
+  public long replay(LogState state) throws Exception {
+    BlockMaster master =
+        new BlockMaster(new ReadOnlyJournal(state.mJournalFolder.getAbsolutePath()));
+    JournalInputStream inputStream = new ProtoBufJournalFormatter()
+        .deserialize(new BufferedInputStream(new FileInputStream(state.mLogFile)));
+    try {
+      JournalEntry entry;
+      while ((entry = inputStream.getNextEntry()) != null) {
+        master.processJournalEntry(entry);
+      }
+    } finally {
+      inputStream.close();
+    }
+    return inputStream.getLatestSequenceNumber();
+  }
+}
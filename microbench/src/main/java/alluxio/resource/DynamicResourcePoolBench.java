@@ -0,0 +1,172 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.resource;
+
+import alluxio.util.ThreadFactoryUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of acquiring a resource from a {@link DynamicResourcePool} and
+ * releasing it, with 1, 8 and 64 threads, as the clients of the pools of connections do. With a
+ * capacity below the number of threads, some threads wait for a resource to be released.
+ *
+ * Run with {@code java -jar microbench/target/benchmarks.jar DynamicResourcePoolBench}. To compare
+ * against another implementation, build and run the same benchmark on that revision.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DynamicResourcePoolBench {
+
+  /**
+   * Constructs a new {@link DynamicResourcePoolBench}.
+   */
+  public DynamicResourcePoolBench() {}
+
+  /**
+   * Pool shared by all benchmark threads.
+   */
+  @State(Scope.Benchmark)
+  public static class PoolState {
+    /** The max capacity of the pool. */
+    @Param({"4", "1024"})
+    public int mMaxCapacity;
+
+    private ScheduledExecutorService mGcExecutor;
+    private BenchPool mPool;
+
+    /**
+     * Constructs a new {@link PoolState}.
+     */
+    public PoolState() {}
+
+    /**
+     * Creates the pool.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+      mGcExecutor = Executors.newSingleThreadScheduledExecutor(
+          ThreadFactoryUtils.build("resource-pool-bench-gc-%d", true));
+      mPool = new BenchPool(DynamicResourcePool.Options.defaultOptions()
+          .setMaxCapacity(mMaxCapacity).setGcExecutor(mGcExecutor));
+    }
+
+    /**
+     * Closes the pool.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+      mPool.close();
+      mGcExecutor.shutdownNow();
+    }
+  }
+
+  /**
+   * A pool of resources which are always healthy and never garbage collected.
+   */
+  private static final class BenchPool extends DynamicResourcePool<Object> {
+    /**
+     * Creates a new instance of {@link BenchPool}.
+     *
+     * @param options the options of the pool
+     */
+    BenchPool(Options options) {
+      super(options);
+    }
+
+    @Override
+    protected boolean shouldGc(ResourceInternal<Object> resourceInternal) {
+      return false;
+    }
+
+    @Override
+    protected boolean isHealthy(Object resource) {
+      return true;
+    }
+
+    @Override
+    protected void closeResource(Object resource) {}
+
+    @Override
+    protected void closeResourceSync(Object resource) {}
+
+    @Override
+    protected Object createNewResource() {
+      return new Object();
+    }
+  }
+
+  private static Object acquireRelease(PoolState state) throws Exception {
+    Object resource = state.mPool.acquire();
+    state.mPool.release(resource);
+    return resource;
+  }
+
+  /**
+   * Acquires and releases a resource from one thread.
+   *
+   * @param state the pool state
+   * @return the resource
+   * @throws Exception if the resource cannot be acquired
+   */
+  @Benchmark
+  @Threads(1)
+  public Object acquireRelease1(PoolState state) throws Exception {
+    return acquireRelease(state);
+  }
+
+  /**
+   * Acquires and releases a resource from 8 threads.
+   *
+   * @param state the pool state
+   * @return the resource
+   * @throws Exception if the resource cannot be acquired
+   */
+  @Benchmark
+  @Threads(8)
+  public Object acquireRelease8(PoolState state) throws Exception {
+    return acquireRelease(state);
+  }
+
+  /**
+   * Acquires and releases a resource from 64 threads.
+   *
+   * @param state the pool state
+   * @return the resource
+   * @throws Exception if the resource cannot be acquired
+   */
+  @Benchmark
+  @Threads(64)
+  public Object acquireRelease64(PoolState state) throws Exception {
+    return acquireRelease(state);
+  }
+}
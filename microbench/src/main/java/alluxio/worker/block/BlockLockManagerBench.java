@@ -0,0 +1,141 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block;
+
+import alluxio.exception.BlockDoesNotExistException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the throughput of locking and unlocking blocks through {@link BlockLockManager}.
+ *
+ * Run {@link #main(String[])} to measure with 1 to 64 threads, or run a single thread count with
+ * {@code java -jar microbench/target/benchmarks.jar BlockLockManagerBench -t <threads>}. To compare
+ * against another implementation, build and run the same benchmark on that revision.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BlockLockManagerBench {
+  private static final int[] THREAD_COUNTS = {1, 2, 4, 8, 16, 32, 64};
+
+  /**
+   * Constructs a new {@link BlockLockManagerBench}.
+   */
+  public BlockLockManagerBench() {}
+
+  /**
+   * Lock manager shared by all benchmark threads.
+   */
+  @State(Scope.Benchmark)
+  public static class LockManagerState {
+    /** The number of distinct blocks which are locked. */
+    @Param({"1", "1000"})
+    public int mNumBlocks;
+
+    /** The type of lock to take. */
+    @Param({"READ", "WRITE"})
+    public BlockLockType mLockType;
+
+    private final AtomicLong mSessionIdGen = new AtomicLong();
+    private BlockLockManager mLockManager;
+
+    /**
+     * Constructs a new {@link LockManagerState}.
+     */
+    public LockManagerState() {}
+
+    /**
+     * Creates a fresh lock manager for each trial.
+     */
+    @Setup
+    public void setup() {
+      mLockManager = new BlockLockManager();
+    }
+  }
+
+  /**
+   * Per-thread session which takes the locks.
+   */
+  @State(Scope.Thread)
+  public static class SessionState {
+    private long mSessionId;
+
+    /**
+     * Constructs a new {@link SessionState}.
+     */
+    public SessionState() {}
+
+    /**
+     * Assigns a distinct session id to each thread.
+     *
+     * @param lockManagerState the shared lock manager state
+     */
+    @Setup
+    public void setup(LockManagerState lockManagerState) {
+      mSessionId = lockManagerState.mSessionIdGen.incrementAndGet();
+    }
+  }
+
+  /**
+   * Locks a random block and then releases the lock.
+   *
+   * @param lockManagerState the shared lock manager state
+   * @param sessionState the session of the calling thread
+   * @return the id of the lock which was taken
+   * @throws BlockDoesNotExistException if the lock record cannot be found
+   */
+  @Benchmark
+  public long lockUnlock(LockManagerState lockManagerState, SessionState sessionState)
+      throws BlockDoesNotExistException {
+    long blockId = ThreadLocalRandom.current().nextInt(lockManagerState.mNumBlocks);
+    long lockId = lockManagerState.mLockManager.lockBlock(sessionState.mSessionId, blockId,
+        lockManagerState.mLockType);
+    lockManagerState.mLockManager.unlockBlock(lockId);
+    return lockId;
+  }
+
+  /**
+   * Runs the benchmark with an increasing number of threads.
+   *
+   * @param args unused
+   * @throws Exception if the benchmark fails to run
+   */
+  public static void main(String[] args) throws Exception {
+    for (int threads : THREAD_COUNTS) {
+      Options options = new OptionsBuilder()
+          .include(BlockLockManagerBench.class.getSimpleName())
+          .threads(threads)
+          .build();
+      new Runner(options).run();
+    }
+  }
+}
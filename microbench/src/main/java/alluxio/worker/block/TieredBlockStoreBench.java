@@ -0,0 +1,194 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block;
+
+import alluxio.Configuration;
+import alluxio.PropertyKey;
+import alluxio.PropertyKeyFormat;
+import alluxio.util.io.FileUtils;
+import alluxio.worker.block.meta.BlockMeta;
+import alluxio.worker.block.meta.TempBlockMeta;
+
+import com.google.common.base.Joiner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the throughput of {@link TieredBlockStore} when some threads commit new blocks while
+ * the other threads read the metadata of existing blocks, as a worker does while clients write
+ * and read blocks. The blocks are empty, so that the metadata operations dominate.
+ *
+ * Run with {@code java -jar microbench/target/benchmarks.jar TieredBlockStoreBench}. To compare
+ * against another implementation, build and run the same benchmark on that revision.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TieredBlockStoreBench {
+  /** The number of blocks in the store which are read. */
+  private static final int NUM_BLOCKS = 1000;
+  private static final long DIR_CAPACITY_BYTES = 1L << 30;
+
+  /**
+   * Constructs a new {@link TieredBlockStoreBench}.
+   */
+  public TieredBlockStoreBench() {}
+
+  /**
+   * Block store shared by all benchmark threads.
+   */
+  @State(Scope.Benchmark)
+  public static class StoreState {
+    /** The number of dirs of the single tier of the store. */
+    @Param({"1", "4"})
+    public int mNumDirs;
+
+    private final AtomicLong mSessionIdGen = new AtomicLong();
+    private File mTierFolder;
+    private TieredBlockStore mBlockStore;
+
+    /**
+     * Constructs a new {@link StoreState}.
+     */
+    public StoreState() {}
+
+    /**
+     * Creates a store with a single tier and commits the blocks to read.
+     *
+     * @throws Exception if the store cannot be created
+     */
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+      mTierFolder = Files.createTempDirectory("tiered-block-store-bench").toFile();
+      List<String> paths = new ArrayList<>();
+      List<String> quotas = new ArrayList<>();
+      for (int i = 0; i < mNumDirs; i++) {
+        paths.add(new File(mTierFolder, "dir" + i).getAbsolutePath());
+        quotas.add(Long.toString(DIR_CAPACITY_BYTES));
+      }
+      Configuration.set(PropertyKey.WORKER_TIERED_STORE_LEVELS, "1");
+      Configuration.set(PropertyKeyFormat.WORKER_TIERED_STORE_LEVEL_ALIAS_FORMAT.format(0), "MEM");
+      Configuration.set(PropertyKeyFormat.WORKER_TIERED_STORE_LEVEL_DIRS_PATH_FORMAT.format(0),
+          Joiner.on(',').join(paths));
+      Configuration.set(PropertyKeyFormat.WORKER_TIERED_STORE_LEVEL_DIRS_QUOTA_FORMAT.format(0),
+          Joiner.on(',').join(quotas));
+      mBlockStore = new TieredBlockStore();
+      long sessionId = mSessionIdGen.incrementAndGet();
+      for (long blockId = 0; blockId < NUM_BLOCKS; blockId++) {
+        commitEmptyBlock(mBlockStore, sessionId, blockId);
+      }
+    }
+
+    /**
+     * Deletes the tier folder.
+     *
+     * @throws Exception if the folder cannot be deleted
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+      org.apache.commons.io.FileUtils.deleteDirectory(mTierFolder);
+    }
+  }
+
+  /**
+   * Per-thread session which writes or reads the blocks.
+   */
+  @State(Scope.Thread)
+  public static class SessionState {
+    private long mSessionId;
+    private long mNextBlockId;
+
+    /**
+     * Constructs a new {@link SessionState}.
+     */
+    public SessionState() {}
+
+    /**
+     * Assigns a distinct session id, and a distinct range of new block ids, to each thread.
+     *
+     * @param storeState the shared store state
+     */
+    @Setup
+    public void setup(StoreState storeState) {
+      mSessionId = storeState.mSessionIdGen.incrementAndGet();
+      mNextBlockId = mSessionId << 32;
+    }
+  }
+
+  /**
+   * Creates, commits and removes a new empty block.
+   *
+   * @param storeState the shared store state
+   * @param sessionState the session of the calling thread
+   * @throws Exception if the block store fails
+   */
+  @Benchmark
+  @Group("commitRead")
+  @GroupThreads(2)
+  public void commit(StoreState storeState, SessionState sessionState) throws Exception {
+    long blockId = sessionState.mNextBlockId++;
+    commitEmptyBlock(storeState.mBlockStore, sessionState.mSessionId, blockId);
+    storeState.mBlockStore.removeBlock(sessionState.mSessionId, blockId);
+  }
+
+  /**
+   * Locks a random block, reads its metadata and unlocks it.
+   *
+   * @param storeState the shared store state
+   * @param sessionState the session of the calling thread
+   * @return the metadata of the block
+   * @throws Exception if the block store fails
+   */
+  @Benchmark
+  @Group("commitRead")
+  @GroupThreads(6)
+  public BlockMeta read(StoreState storeState, SessionState sessionState) throws Exception {
+    long blockId = ThreadLocalRandom.current().nextInt(NUM_BLOCKS);
+    long lockId = storeState.mBlockStore.lockBlock(sessionState.mSessionId, blockId);
+    try {
+      return storeState.mBlockStore.getBlockMeta(sessionState.mSessionId, blockId, lockId);
+    } finally {
+      storeState.mBlockStore.unlockBlock(lockId);
+    }
+  }
+
+  private static void commitEmptyBlock(BlockStore blockStore, long sessionId, long blockId)
+      throws Exception {
+    TempBlockMeta tempBlockMeta =
+        blockStore.createBlockMeta(sessionId, blockId, BlockStoreLocation.anyTier(), 0);
+    FileUtils.createFile(tempBlockMeta.getPath());
+    blockStore.commitBlock(sessionId, blockId);
+  }
+}
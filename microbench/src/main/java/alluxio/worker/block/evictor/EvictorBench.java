@@ -0,0 +1,141 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block.evictor;
+
+import alluxio.Configuration;
+import alluxio.PropertyKey;
+import alluxio.PropertyKeyFormat;
+import alluxio.worker.block.BlockMetadataManager;
+import alluxio.worker.block.BlockMetadataManagerView;
+import alluxio.worker.block.BlockStoreEventListener;
+import alluxio.worker.block.BlockStoreLocation;
+import alluxio.worker.block.allocator.Allocator;
+import alluxio.worker.block.meta.BlockMeta;
+import alluxio.worker.block.meta.StorageDir;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time for an evictor to plan freeing the space of a few blocks from a full tier of
+ * many blocks, which should not depend on the number of blocks in the tier.
+ *
+ * Run with {@code java -jar microbench/target/benchmarks.jar EvictorBench}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class EvictorBench {
+  private static final long BLOCK_SIZE = 1024;
+  /** The number of blocks to free the space of in each plan. */
+  private static final int BLOCKS_TO_FREE = 16;
+
+  /**
+   * Constructs a new {@link EvictorBench}.
+   */
+  public EvictorBench() {}
+
+  /**
+   * A full tier and an evictor of its blocks, shared by all the invocations.
+   */
+  @State(Scope.Benchmark)
+  public static class EvictorState {
+    @Param({"10000", "100000", "1000000"})
+    public int mNumBlocks;
+
+    @Param({"alluxio.worker.block.evictor.LRUEvictor",
+        "alluxio.worker.block.evictor.LRFUEvictor"})
+    public String mEvictorClass;
+
+    private File mTierFolder;
+    private BlockMetadataManagerView mView;
+    private Evictor mEvictor;
+
+    /**
+     * Constructs a new {@link EvictorState}.
+     */
+    public EvictorState() {}
+
+    /**
+     * Fills a single tier with blocks, and accesses them in a random order.
+     *
+     * @throws Exception if the tier cannot be created
+     */
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+      mTierFolder = Files.createTempDirectory("evictor-bench").toFile();
+      Configuration.set(PropertyKey.WORKER_TIERED_STORE_LEVELS, "1");
+      Configuration.set(PropertyKeyFormat.WORKER_TIERED_STORE_LEVEL_ALIAS_FORMAT.format(0), "MEM");
+      Configuration.set(PropertyKeyFormat.WORKER_TIERED_STORE_LEVEL_DIRS_PATH_FORMAT.format(0),
+          mTierFolder.getAbsolutePath());
+      Configuration.set(PropertyKeyFormat.WORKER_TIERED_STORE_LEVEL_DIRS_QUOTA_FORMAT.format(0),
+          Long.toString(mNumBlocks * BLOCK_SIZE));
+      Configuration.set(PropertyKey.WORKER_EVICTOR_CLASS, mEvictorClass);
+
+      BlockMetadataManager manager = BlockMetadataManager.createBlockMetadataManager();
+      StorageDir dir = manager.getTiers().get(0).getDir(0);
+      for (long blockId = 0; blockId < mNumBlocks; blockId++) {
+        dir.addBlockMeta(new BlockMeta(blockId, BLOCK_SIZE, dir));
+      }
+      mView = new BlockMetadataManagerView(manager, Collections.<Long>emptySet(),
+          Collections.<Long>emptySet());
+      mEvictor = Evictor.Factory.create(mView, Allocator.Factory.create(mView));
+      BlockStoreEventListener listener = (BlockStoreEventListener) mEvictor;
+      Random random = new Random(0);
+      for (int i = 0; i < mNumBlocks; i++) {
+        listener.onAccessBlock(1, random.nextInt(mNumBlocks));
+      }
+    }
+
+    /**
+     * Deletes the tier folder.
+     *
+     * @throws Exception if the folder cannot be deleted
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+      FileUtils.deleteDirectory(mTierFolder);
+    }
+  }
+
+  /**
+   * Plans freeing the space of {@link #BLOCKS_TO_FREE} blocks.
+   *
+   * @param state the evictor state
+   * @return the plan
+   */
+  @Benchmark
+  public EvictionPlan freeSpace(EvictorState state) {
+    return state.mEvictor.freeSpaceWithView(BLOCKS_TO_FREE * BLOCK_SIZE,
+        BlockStoreLocation.anyTier(), state.mView);
+  }
+}
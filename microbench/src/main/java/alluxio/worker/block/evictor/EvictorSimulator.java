@@ -0,0 +1,192 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block.evictor;
+
+import alluxio.Configuration;
+import alluxio.PropertyKey;
+import alluxio.PropertyKeyFormat;
+import alluxio.collections.Pair;
+import alluxio.worker.block.AbstractBlockStoreEventListener;
+import alluxio.worker.block.BlockMetadataManager;
+import alluxio.worker.block.BlockMetadataManagerView;
+import alluxio.worker.block.BlockStoreEventListener;
+import alluxio.worker.block.BlockStoreLocation;
+import alluxio.worker.block.allocator.Allocator;
+import alluxio.worker.block.meta.BlockMeta;
+import alluxio.worker.block.meta.StorageDir;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.Files;
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Replays a trace of block accesses against every evictor, with a single tier holding a fixed
+ * number of blocks of the same size, and prints the hit ratio of each evictor. A missed block is
+ * cached after the evictor frees space for it, as a worker caches a block read from the under
+ * storage.
+ *
+ * The trace is a file with a block id on each line. Without a trace file, a synthetic trace is
+ * generated, in which a Zipf distributed set of hot blocks is interrupted by scans over blocks
+ * which are never accessed again.
+ *
+ * <pre>
+ * java -cp microbench/target/benchmarks.jar alluxio.worker.block.evictor.EvictorSimulator \
+ *   [capacityBlocks] [traceFile]
+ * </pre>
+ */
+@NotThreadSafe
+public final class EvictorSimulator {
+  private static final long BLOCK_SIZE = 1024;
+  private static final long SESSION_ID = 1;
+  private static final int DEFAULT_CAPACITY_BLOCKS = 1000;
+  private static final List<Class<? extends Evictor>> EVICTORS = Arrays.asList(
+      GreedyEvictor.class, LRUEvictor.class, PartialLRUEvictor.class, LRFUEvictor.class,
+      TinyLFUEvictor.class);
+
+  /** The number of hot blocks of the synthetic trace. */
+  private static final int HOT_BLOCKS = 5000;
+  private static final double ZIPF_EXPONENT = 0.9;
+  private static final int NUM_ACCESSES = 1000000;
+  /** The number of accesses between the starts of two scans of the synthetic trace. */
+  private static final int SCAN_INTERVAL = 50000;
+  private static final int SCAN_BLOCKS = 5000;
+
+  private EvictorSimulator() {} // prevent instantiation
+
+  /**
+   * Runs the simulation.
+   *
+   * @param args the optional number of blocks of the tier, and the optional trace file
+   * @throws Exception if the trace cannot be read or the tier cannot be created
+   */
+  public static void main(String[] args) throws Exception {
+    int capacityBlocks = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_CAPACITY_BLOCKS;
+    long[] trace = args.length > 1 ? readTrace(new File(args[1])) : syntheticTrace();
+    System.out.printf("%d accesses, tier of %d blocks%n", trace.length, capacityBlocks);
+    for (Class<? extends Evictor> evictor : EVICTORS) {
+      double hitRatio = simulate(evictor, capacityBlocks, trace);
+      System.out.printf("%-20s hit ratio %.4f%n", evictor.getSimpleName(), hitRatio);
+    }
+  }
+
+  /**
+   * @param file a file with a block id on each line
+   * @return the block ids of the file
+   */
+  private static long[] readTrace(File file) throws Exception {
+    List<String> lines = Files.readLines(file, Charsets.UTF_8);
+    List<Long> blockIds = new ArrayList<>(lines.size());
+    for (String line : lines) {
+      if (!line.trim().isEmpty()) {
+        blockIds.add(Long.parseLong(line.trim()));
+      }
+    }
+    long[] trace = new long[blockIds.size()];
+    for (int i = 0; i < trace.length; i++) {
+      trace[i] = blockIds.get(i);
+    }
+    return trace;
+  }
+
+  /**
+   * @return a trace of accesses to Zipf distributed hot blocks, interrupted every
+   *         {@link #SCAN_INTERVAL} accesses by a scan of {@link #SCAN_BLOCKS} new blocks
+   */
+  private static long[] syntheticTrace() {
+    double[] cumulative = new double[HOT_BLOCKS];
+    double sum = 0;
+    for (int i = 0; i < HOT_BLOCKS; i++) {
+      sum += 1.0 / Math.pow(i + 1, ZIPF_EXPONENT);
+      cumulative[i] = sum;
+    }
+    Random random = new Random(0);
+    long[] trace = new long[NUM_ACCESSES];
+    long nextScanBlock = HOT_BLOCKS;
+    for (int i = 0; i < NUM_ACCESSES; i++) {
+      if (i % SCAN_INTERVAL < SCAN_BLOCKS) {
+        trace[i] = nextScanBlock++;
+      } else {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+        trace[i] = Math.min(index < 0 ? -index - 1 : index, HOT_BLOCKS - 1);
+      }
+    }
+    return trace;
+  }
+
+  /**
+   * @param evictorClass the class of the evictor
+   * @param capacityBlocks the number of blocks the tier holds
+   * @param trace the block ids to access
+   * @return the fraction of the accesses to a cached block
+   */
+  private static double simulate(Class<? extends Evictor> evictorClass, int capacityBlocks,
+      long[] trace) throws Exception {
+    File tierFolder = java.nio.file.Files.createTempDirectory("evictor-simulator").toFile();
+    try {
+      Configuration.set(PropertyKey.WORKER_TIERED_STORE_LEVELS, "1");
+      Configuration.set(PropertyKeyFormat.WORKER_TIERED_STORE_LEVEL_ALIAS_FORMAT.format(0), "MEM");
+      Configuration.set(PropertyKeyFormat.WORKER_TIERED_STORE_LEVEL_DIRS_PATH_FORMAT.format(0),
+          tierFolder.getAbsolutePath());
+      Configuration.set(PropertyKeyFormat.WORKER_TIERED_STORE_LEVEL_DIRS_QUOTA_FORMAT.format(0),
+          Long.toString(capacityBlocks * BLOCK_SIZE));
+      Configuration.set(PropertyKey.WORKER_EVICTOR_CLASS, evictorClass.getName());
+
+      BlockMetadataManager manager = BlockMetadataManager.createBlockMetadataManager();
+      StorageDir dir = manager.getTiers().get(0).getDir(0);
+      BlockStoreLocation location = BlockStoreLocation.anyDirInTier("MEM");
+      BlockMetadataManagerView view = newView(manager);
+      Evictor evictor = Evictor.Factory.create(view, Allocator.Factory.create(view));
+      // Some evictors, e.g. GreedyEvictor, do not track the events of the blocks.
+      BlockStoreEventListener listener = evictor instanceof BlockStoreEventListener
+          ? (BlockStoreEventListener) evictor : new AbstractBlockStoreEventListener() {};
+
+      long hits = 0;
+      for (long blockId : trace) {
+        if (dir.hasBlockMeta(blockId)) {
+          hits++;
+          listener.onAccessBlock(SESSION_ID, blockId);
+          continue;
+        }
+        if (dir.getAvailableBytes() < BLOCK_SIZE) {
+          EvictionPlan plan =
+              evictor.freeSpaceWithView(BLOCK_SIZE, location, newView(manager));
+          if (plan == null) {
+            continue;
+          }
+          for (Pair<Long, BlockStoreLocation> block : plan.toEvict()) {
+            dir.removeBlockMeta(dir.getBlockMeta(block.getFirst()));
+            listener.onRemoveBlockByWorker(SESSION_ID, block.getFirst());
+          }
+        }
+        dir.addBlockMeta(new BlockMeta(blockId, BLOCK_SIZE, dir));
+        listener.onCommitBlock(SESSION_ID, blockId, location);
+      }
+      return (double) hits / trace.length;
+    } finally {
+      FileUtils.deleteDirectory(tierFolder);
+    }
+  }
+
+  private static BlockMetadataManagerView newView(BlockMetadataManager manager) {
+    return new BlockMetadataManagerView(manager, Collections.<Long>emptySet(),
+        Collections.<Long>emptySet());
+  }
+}
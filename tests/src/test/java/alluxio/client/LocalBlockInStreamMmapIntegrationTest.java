@@ -0,0 +1,132 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client;
+
+import alluxio.AlluxioURI;
+import alluxio.LocalAlluxioClusterResource;
+import alluxio.PropertyKey;
+import alluxio.client.file.FileInStream;
+import alluxio.client.file.FileSystem;
+import alluxio.client.file.options.OpenFileOptions;
+import alluxio.metrics.MetricsSystem;
+import alluxio.util.io.BufferUtils;
+import alluxio.util.io.PathUtils;
+
+import com.codahale.metrics.Counter;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+/**
+ * Integration tests for {@link alluxio.client.block.LocalBlockInStream} with
+ * {@link PropertyKey#USER_BLOCK_LOCAL_READ_MMAP_ENABLED} set.
+ */
+public final class LocalBlockInStreamMmapIntegrationTest {
+  private static final int MIN_LEN = 0;
+  private static final int MAX_LEN = 255;
+  private static final int DELTA = 33;
+  private static final int BUFFER_SIZE = 64;
+  private static final int LARGE_LEN = BUFFER_SIZE * 4;
+
+  @ClassRule
+  public static LocalAlluxioClusterResource sLocalAlluxioClusterResource =
+      new LocalAlluxioClusterResource.Builder()
+          .setProperty(PropertyKey.USER_BLOCK_LOCAL_READ_MMAP_ENABLED, true)
+          .setProperty(PropertyKey.USER_BLOCK_REMOTE_READ_BUFFER_SIZE_BYTES, BUFFER_SIZE)
+          .build();
+  private static FileSystem sFileSystem = null;
+  private static OpenFileOptions sReadNoCache;
+  private static String sTestPath;
+
+  @BeforeClass
+  public static final void beforeClass() throws Exception {
+    sFileSystem = sLocalAlluxioClusterResource.get().getClient();
+    sReadNoCache = OpenFileOptions.defaults().setReadType(ReadType.NO_CACHE);
+    sTestPath = PathUtils.uniqPath();
+
+    for (int k = MIN_LEN; k <= MAX_LEN; k += DELTA) {
+      FileSystemTestUtils.createByteFile(sFileSystem, sTestPath + "/file_" + k,
+          WriteType.MUST_CACHE, k);
+    }
+    FileSystemTestUtils.createByteFile(sFileSystem, sTestPath + "/file_large",
+        WriteType.MUST_CACHE, LARGE_LEN);
+  }
+
+  /**
+   * Tests {@link alluxio.client.block.LocalBlockInStream#read()} and
+   * {@link alluxio.client.block.LocalBlockInStream#read(byte[], int, int)} from a mapped block.
+   */
+  @Test
+  public void read() throws Exception {
+    for (int k = MIN_LEN; k <= MAX_LEN; k += DELTA) {
+      AlluxioURI uri = new AlluxioURI(sTestPath + "/file_" + k);
+
+      FileInStream is = sFileSystem.openFile(uri, sReadNoCache);
+      byte[] ret = new byte[k];
+      int cnt = 0;
+      int value = is.read();
+      while (value != -1) {
+        ret[cnt++] = (byte) value;
+        value = is.read();
+      }
+      Assert.assertEquals(k, cnt);
+      Assert.assertTrue(BufferUtils.equalIncreasingByteArray(k, ret));
+      is.close();
+
+      is = sFileSystem.openFile(uri, sReadNoCache);
+      ret = new byte[k];
+      cnt = 0;
+      while (cnt < k) {
+        cnt += is.read(ret, cnt, Math.min(DELTA, k - cnt));
+      }
+      Assert.assertTrue(BufferUtils.equalIncreasingByteArray(k, ret));
+      Assert.assertEquals(-1, is.read());
+      is.close();
+    }
+  }
+
+  /**
+   * Tests {@link alluxio.client.block.LocalBlockInStream#seek(long)} on a mapped block.
+   */
+  @Test
+  public void seek() throws Exception {
+    for (int k = MIN_LEN + DELTA; k <= MAX_LEN; k += DELTA) {
+      AlluxioURI uri = new AlluxioURI(sTestPath + "/file_" + k);
+
+      FileInStream is = sFileSystem.openFile(uri, sReadNoCache);
+      is.seek(k / 3);
+      Assert.assertEquals(k / 3, is.read());
+      is.seek(k / 2);
+      Assert.assertEquals(k / 2, is.read());
+      is.seek(k / 4);
+      Assert.assertEquals(k / 4, is.read());
+      is.close();
+    }
+  }
+
+  /**
+   * Tests that a read after a seek only buffers, and counts, up to the read buffer size of a
+   * mapped block.
+   */
+  @Test
+  public void bytesReadAfterSeek() throws Exception {
+    Counter bytesReadLocal = MetricsSystem.clientCounter("BytesReadLocal");
+    FileInStream is =
+        sFileSystem.openFile(new AlluxioURI(sTestPath + "/file_large"), sReadNoCache);
+    is.seek(BUFFER_SIZE);
+    long bytesRead = bytesReadLocal.getCount();
+    Assert.assertEquals(BUFFER_SIZE, is.read());
+    Assert.assertEquals(BUFFER_SIZE, bytesReadLocal.getCount() - bytesRead);
+    is.close();
+  }
+}
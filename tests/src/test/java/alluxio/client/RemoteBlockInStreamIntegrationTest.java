@@ -73,20 +73,26 @@ public class RemoteBlockInStreamIntegrationTest {
   public static Collection<Object[]> data() {
     // creates a new instance of RemoteBlockInStreamTest for each network type
     List<Object[]> list = new ArrayList<>();
-    list.add(new Object[] {IntegrationTestConstants.NETTY_DATA_SERVER,
-        IntegrationTestConstants.MAPPED_TRANSFER, IntegrationTestConstants.NETTY_BLOCK_READER});
-    list.add(new Object[] {IntegrationTestConstants.NETTY_DATA_SERVER,
-        IntegrationTestConstants.FILE_CHANNEL_TRANSFER,
-        IntegrationTestConstants.NETTY_BLOCK_READER});
+    // and with and without streaming block reads
+    for (boolean streaming : new boolean[] {false, true}) {
+      list.add(new Object[] {IntegrationTestConstants.NETTY_DATA_SERVER,
+          IntegrationTestConstants.MAPPED_TRANSFER, IntegrationTestConstants.NETTY_BLOCK_READER,
+          streaming});
+      list.add(new Object[] {IntegrationTestConstants.NETTY_DATA_SERVER,
+          IntegrationTestConstants.FILE_CHANNEL_TRANSFER,
+          IntegrationTestConstants.NETTY_BLOCK_READER, streaming});
+    }
     return list;
   }
 
-  public RemoteBlockInStreamIntegrationTest(String dataServer, String transferType, String reader) {
+  public RemoteBlockInStreamIntegrationTest(String dataServer, String transferType, String reader,
+      boolean streaming) {
     mLocalAlluxioClusterResource = new LocalAlluxioClusterResource.Builder()
         .setProperty(PropertyKey.WORKER_DATA_SERVER_CLASS, dataServer)
         .setProperty(PropertyKey.WORKER_NETWORK_NETTY_FILE_TRANSFER_TYPE, transferType)
         .setProperty(PropertyKey.USER_BLOCK_REMOTE_READER_CLASS, reader)
         .setProperty(PropertyKey.USER_BLOCK_REMOTE_READ_BUFFER_SIZE_BYTES, "100")
+        .setProperty(PropertyKey.USER_BLOCK_REMOTE_READ_STREAMING_ENABLED, streaming)
         .build();
   }
 
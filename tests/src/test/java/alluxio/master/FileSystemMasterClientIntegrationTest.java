@@ -13,6 +13,7 @@ package alluxio.master;
 
 import alluxio.AlluxioURI;
 import alluxio.LocalAlluxioClusterResource;
+import alluxio.PropertyKey;
 import alluxio.client.file.FileSystemMasterClient;
 import alluxio.client.file.options.CreateFileOptions;
 import alluxio.exception.AlluxioException;
@@ -52,6 +53,15 @@ public final class FileSystemMasterClientIntegrationTest {
     fsMasterClient.close();
   }
 
+  @Test
+  @LocalAlluxioClusterResource.Config(
+      confParams = {PropertyKey.Name.MASTER_RPC_SERVER_TYPE, "THREADED_SELECTOR",
+          PropertyKey.Name.SECURITY_AUTHENTICATION_TYPE, "NOSASL",
+          PropertyKey.Name.SECURITY_AUTHORIZATION_PERMISSION_ENABLED, "false"})
+  public void openCloseThreadedSelectorServer() throws AlluxioException, IOException {
+    openClose();
+  }
+
   @Test(timeout = 3000, expected = AlluxioException.class)
   public void getFileInfoReturnsOnError() throws IOException, AlluxioException {
     // This test was created to show that an infinite loop occurs.
@@ -22,6 +22,7 @@ import alluxio.client.file.options.CreateFileOptions;
 import alluxio.client.file.options.ListStatusOptions;
 import alluxio.exception.ExceptionMessage;
 import alluxio.exception.FileAlreadyExistsException;
+import alluxio.underfs.options.OpenOptions;
 import alluxio.util.CommonUtils;
 import alluxio.util.io.PathUtils;
 import alluxio.wire.LoadMetadataType;
@@ -80,6 +81,21 @@ public final class UnderStorageSystemInterfaceIntegrationTest {
     Assert.assertTrue(Arrays.equals(buf, TEST_BYTES));
   }
 
+  /**
+   * Tests that a file can be opened at an offset and validates the data read from it.
+   */
+  @Test
+  public void createOpenAtPosition() throws IOException {
+    String testFile = PathUtils.concatPath(mUnderfsAddress, "testFile");
+    createTestBytesFile(testFile);
+    int offset = TEST_BYTES.length / 2;
+    byte[] buf = new byte[TEST_BYTES.length - offset];
+    int bytesRead = mUfs.open(testFile, new OpenOptions().setOffset(offset)).read(buf);
+    Assert.assertEquals(buf.length, bytesRead);
+    Assert.assertTrue(
+        Arrays.equals(buf, Arrays.copyOfRange(TEST_BYTES, offset, TEST_BYTES.length)));
+  }
+
   /**
    * Tests a file can be deleted.
    */
@@ -194,6 +210,36 @@ public final class UnderStorageSystemInterfaceIntegrationTest {
     Assert.assertTrue(modTime <= end + slack);
   }
 
+  /**
+   * Tests {@link UnderFileSystem#getStatus(String)} returns all attributes of files and
+   * directories, and null for paths which do not exist.
+   */
+  @Test
+  public void getStatus() throws IOException {
+    String testFile = PathUtils.concatPath(mUnderfsAddress, "testFile");
+    String testDir = PathUtils.concatPath(mUnderfsAddress, "testDir");
+    Assert.assertNull(mUfs.getStatus(testFile));
+    createTestBytesFile(testFile);
+    mUfs.mkdirs(testDir, false);
+
+    UfsStatus fileStatus = mUfs.getStatus(testFile);
+    Assert.assertEquals("testFile", fileStatus.getName());
+    Assert.assertTrue(fileStatus.isFile());
+    Assert.assertEquals(TEST_BYTES.length, fileStatus.getContentLength());
+    Assert.assertEquals(mUfs.getBlockSizeByte(testFile), fileStatus.getBlockSizeBytes());
+    Assert.assertEquals(mUfs.getModificationTimeMs(testFile), fileStatus.getLastModifiedTimeMs());
+    Assert.assertEquals(mUfs.getOwner(testFile), fileStatus.getOwner());
+    Assert.assertEquals(mUfs.getGroup(testFile), fileStatus.getGroup());
+    Assert.assertEquals(mUfs.getMode(testFile), fileStatus.getMode());
+
+    UfsStatus dirStatus = mUfs.getStatus(testDir);
+    Assert.assertEquals("testDir", dirStatus.getName());
+    Assert.assertTrue(dirStatus.isDirectory());
+    Assert.assertEquals(mUfs.getOwner(testDir), dirStatus.getOwner());
+    Assert.assertEquals(mUfs.getGroup(testDir), dirStatus.getGroup());
+    Assert.assertEquals(mUfs.getMode(testDir), dirStatus.getMode());
+  }
+
   /**
    * Tests if {@link UnderFileSystem#isFile(String)} correctly returns true for files and false
    * otherwise.
@@ -236,6 +282,37 @@ public final class UnderStorageSystemInterfaceIntegrationTest {
         || mUfs.list(testDirNonEmptyChildDir)[0].equals("/testDirNonEmptyChildDirF"));
   }
 
+  /**
+   * Tests if {@link UnderFileSystem#listStatus(String)} correctly returns the names and attributes
+   * of the children.
+   */
+  @Test
+  public void listStatus() throws IOException {
+    String testDir = PathUtils.concatPath(mUnderfsAddress, "testDir");
+    String testDirChildDir = PathUtils.concatPath(testDir, "testChildDir");
+    String testDirChildFile = PathUtils.concatPath(testDir, "testChildFile");
+    mUfs.mkdirs(testDir, false);
+    mUfs.mkdirs(testDirChildDir, false);
+    createTestBytesFile(testDirChildFile);
+    Assert.assertNull(mUfs.listStatus(testDirChildFile));
+
+    UfsStatus[] statuses = mUfs.listStatus(testDir);
+    Assert.assertEquals(2, statuses.length);
+    for (UfsStatus status : statuses) {
+      // Some file systems may prefix with a slash
+      String name = CommonUtils.stripPrefixIfPresent(status.getName(), "/");
+      if (name.equals("testChildDir")) {
+        Assert.assertTrue(status.isDirectory());
+      } else {
+        Assert.assertEquals("testChildFile", name);
+        Assert.assertTrue(status.isFile());
+        Assert.assertEquals(TEST_BYTES.length, status.getContentLength());
+        Assert.assertEquals(mUfs.getOwner(testDirChildFile), status.getOwner());
+        Assert.assertEquals(mUfs.getMode(testDirChildFile), status.getMode());
+      }
+    }
+  }
+
   /**
    * Tests if list correctly returns file or folder names for a large directory.
    */
@@ -265,6 +342,39 @@ public final class UnderStorageSystemInterfaceIntegrationTest {
     }
   }
 
+  /**
+   * Tests if listStatus correctly returns the statuses of a large directory, which has more
+   * children than status calls which may be in flight at once.
+   */
+  @Test
+  public void listStatusLargeDirectory() throws IOException {
+    LargeDirectoryConfig config = prepareLargeDirectoryTest();
+    String[] children = config.getChildren();
+
+    // Retry for some time to allow list operation eventual consistency for S3 and GCS.
+    UfsStatus[] results = new UfsStatus[] {};
+    for (int i = 0; i < 20; i++) {
+      results = mUfs.listStatus(config.getTopLevelDirectory());
+      if (children.length == results.length) {
+        break;
+      }
+      CommonUtils.sleepMs(500);
+    }
+    Assert.assertEquals(children.length, results.length);
+
+    String[] names = new String[results.length];
+    for (int i = 0; i < results.length; ++i) {
+      names[i] = results[i].getName();
+      // Files are prefixed with "a_" and folders with "b_"
+      Assert.assertEquals(names[i].startsWith("b_"), results[i].isDirectory());
+    }
+    Arrays.sort(names);
+    for (int i = 0; i < children.length; ++i) {
+      Assert.assertEquals(CommonUtils.stripPrefixIfPresent(children[i],
+          PathUtils.normalizePath(config.getTopLevelDirectory(), "/")), names[i]);
+    }
+  }
+
   /**
    * Tests if list recursive correctly returns all file names in all subdirectories.
    */
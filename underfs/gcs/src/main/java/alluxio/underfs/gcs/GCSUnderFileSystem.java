@@ -18,6 +18,7 @@ import alluxio.PropertyKey;
 import alluxio.underfs.UnderFileSystem;
 import alluxio.underfs.options.CreateOptions;
 import alluxio.underfs.options.MkdirsOptions;
+import alluxio.underfs.options.OpenOptions;
 import alluxio.util.CommonUtils;
 import alluxio.util.io.PathUtils;
 
@@ -341,20 +342,13 @@ public final class GCSUnderFileSystem extends UnderFileSystem {
     }
   }
 
-  /**
-   * Opens a GCS object at given position and returns the opened input stream.
-   *
-   * @param path the GCS object path
-   * @param pos the position to open at
-   * @return the opened input stream
-   * @throws IOException if failed to open file at position
-   */
-  public InputStream openAtPosition(String path, long pos) throws IOException {
+  @Override
+  public InputStream open(String path, OpenOptions options) throws IOException {
     try {
       path = stripPrefixIfPresent(path);
-      return new GCSInputStream(mBucketName, path, mClient, pos);
+      return new GCSInputStream(mBucketName, path, mClient, options.getOffset());
     } catch (ServiceException e) {
-      LOG.error("Failed to open file {} at position {}:", path, pos, e);
+      LOG.error("Failed to open file {} at position {}:", path, options.getOffset(), e);
       return null;
     }
   }
@@ -18,9 +18,11 @@ import alluxio.PropertyKey;
 import alluxio.retry.CountingRetry;
 import alluxio.retry.RetryPolicy;
 import alluxio.security.authorization.Permission;
+import alluxio.underfs.UfsStatus;
 import alluxio.underfs.UnderFileSystem;
 import alluxio.underfs.options.CreateOptions;
 import alluxio.underfs.options.MkdirsOptions;
+import alluxio.underfs.options.OpenOptions;
 
 import com.google.common.base.Throwables;
 import org.apache.commons.lang3.StringUtils;
@@ -272,6 +274,16 @@ public class HdfsUnderFileSystem extends UnderFileSystem {
     return -1;
   }
 
+  @Override
+  public UfsStatus getStatus(String path) throws IOException {
+    try {
+      FileStatus status = mFileSystem.getFileStatus(new Path(path));
+      return toUfsStatus(status);
+    } catch (FileNotFoundException e) {
+      return null;
+    }
+  }
+
   @Override
   public boolean isFile(String path) throws IOException {
     return mFileSystem.isFile(new Path(path));
@@ -298,6 +310,26 @@ public class HdfsUnderFileSystem extends UnderFileSystem {
     }
   }
 
+  @Override
+  public UfsStatus[] listStatus(String path) throws IOException {
+    FileStatus[] files;
+    try {
+      files = mFileSystem.listStatus(new Path(path));
+    } catch (FileNotFoundException e) {
+      return null;
+    }
+    if (files != null && !isFile(path)) {
+      UfsStatus[] rtn = new UfsStatus[files.length];
+      int i = 0;
+      for (FileStatus status : files) {
+        rtn[i++] = toUfsStatus(status);
+      }
+      return rtn;
+    } else {
+      return null;
+    }
+  }
+
   @Override
   public void connectFromMaster(String host) throws IOException {
     if (!Configuration.containsKey(PropertyKey.MASTER_KEYTAB_KEY_FILE)
@@ -388,6 +420,29 @@ public class HdfsUnderFileSystem extends UnderFileSystem {
     throw te;
   }
 
+  @Override
+  public FSDataInputStream open(String path, OpenOptions options) throws IOException {
+    IOException te = null;
+    RetryPolicy retryPolicy = new CountingRetry(MAX_TRY);
+    while (retryPolicy.attemptRetry()) {
+      try {
+        FSDataInputStream inputStream = mFileSystem.open(new Path(path));
+        try {
+          inputStream.seek(options.getOffset());
+        } catch (IOException e) {
+          inputStream.close();
+          throw e;
+        }
+        return inputStream;
+      } catch (IOException e) {
+        LOG.error("{} try to open {} at position {} : {}", retryPolicy.getRetryCount(), path,
+            options.getOffset(), e.getMessage(), e);
+        te = e;
+      }
+    }
+    throw te;
+  }
+
   @Override
   public boolean rename(String src, String dst) throws IOException {
     LOG.debug("Renaming from {} to {}", src, dst);
@@ -478,4 +533,20 @@ public class HdfsUnderFileSystem extends UnderFileSystem {
     }
   }
 
+  /**
+   * @param status the HDFS file status to convert
+   * @return the {@link UfsStatus} with the relative name of the path and all of its attributes
+   */
+  @SuppressWarnings("deprecation")
+  private static UfsStatus toUfsStatus(FileStatus status) {
+    // only use the relative path, to keep consistent with list(); isDir() is used rather than
+    // isDirectory() so that this compiles against Hadoop 1 as well
+    if (status.isDir()) {
+      return new UfsStatus(status.getPath().getName(), true, 0, status.getModificationTime(), 0,
+          status.getOwner(), status.getGroup(), status.getPermission().toShort());
+    }
+    return new UfsStatus(status.getPath().getName(), false, status.getLen(),
+        status.getModificationTime(), status.getBlockSize(), status.getOwner(), status.getGroup(),
+        status.getPermission().toShort());
+  }
 }
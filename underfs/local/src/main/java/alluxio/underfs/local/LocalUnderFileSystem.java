@@ -19,6 +19,7 @@ import alluxio.security.authorization.Permission;
 import alluxio.underfs.UnderFileSystem;
 import alluxio.underfs.options.CreateOptions;
 import alluxio.underfs.options.MkdirsOptions;
+import alluxio.underfs.options.OpenOptions;
 import alluxio.util.io.FileUtils;
 import alluxio.util.io.PathUtils;
 import alluxio.util.network.NetworkAddressUtils;
@@ -236,6 +237,19 @@ public class LocalUnderFileSystem extends UnderFileSystem {
     return new FileInputStream(path);
   }
 
+  @Override
+  public InputStream open(String path, OpenOptions options) throws IOException {
+    path = stripPath(path);
+    FileInputStream inputStream = new FileInputStream(path);
+    try {
+      inputStream.getChannel().position(options.getOffset());
+    } catch (IOException e) {
+      inputStream.close();
+      throw e;
+    }
+    return inputStream;
+  }
+
   @Override
   public boolean rename(String src, String dst) throws IOException {
     src = stripPath(src);
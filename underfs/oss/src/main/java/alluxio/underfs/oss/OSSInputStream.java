@@ -12,6 +12,7 @@
 package alluxio.underfs.oss;
 
 import com.aliyun.oss.OSSClient;
+import com.aliyun.oss.model.GetObjectRequest;
 import com.aliyun.oss.model.OSSObject;
 
 import java.io.BufferedInputStream;
@@ -51,10 +52,32 @@ public class OSSInputStream extends InputStream {
    * @throws IOException if an I/O error occurs
    */
   OSSInputStream(String bucketName, String key, OSSClient client) throws IOException {
+    this(bucketName, key, client, 0L);
+  }
+
+  /**
+   * Creates a new instance of {@link OSSInputStream} positioned at the given offset. Only the range
+   * of the object starting at the offset is requested from OSS.
+   *
+   * @param bucketName the name of the bucket
+   * @param key the key of the file
+   * @param client the client for OSS
+   * @param position the position to begin reading from
+   * @throws IOException if an I/O error occurs
+   */
+  OSSInputStream(String bucketName, String key, OSSClient client, long position)
+      throws IOException {
     mBucketName = bucketName;
     mKey = key;
     mOssClient = client;
-    mObject = mOssClient.getObject(mBucketName, mKey);
+    if (position > 0) {
+      GetObjectRequest request = new GetObjectRequest(mBucketName, mKey);
+      // An end of -1 requests the object up to its last byte.
+      request.setRange(position, -1);
+      mObject = mOssClient.getObject(request);
+    } else {
+      mObject = mOssClient.getObject(mBucketName, mKey);
+    }
     mInputStream = new BufferedInputStream(mObject.getObjectContent());
   }
 
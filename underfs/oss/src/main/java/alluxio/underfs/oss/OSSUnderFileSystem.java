@@ -18,6 +18,7 @@ import alluxio.PropertyKey;
 import alluxio.underfs.UnderFileSystem;
 import alluxio.underfs.options.CreateOptions;
 import alluxio.underfs.options.MkdirsOptions;
+import alluxio.underfs.options.OpenOptions;
 import alluxio.util.CommonUtils;
 import alluxio.util.io.PathUtils;
 
@@ -304,6 +305,17 @@ public final class OSSUnderFileSystem extends UnderFileSystem {
     }
   }
 
+  @Override
+  public InputStream open(String path, OpenOptions options) throws IOException {
+    try {
+      path = stripPrefixIfPresent(path);
+      return new OSSInputStream(mBucketName, path, mClient, options.getOffset());
+    } catch (ServiceException e) {
+      LOG.error("Failed to open file {} at position {}:", path, options.getOffset(), e);
+      return null;
+    }
+  }
+
   @Override
   public boolean rename(String src, String dst) throws IOException {
     if (!exists(src)) {
@@ -15,9 +15,11 @@ import alluxio.AlluxioURI;
 import alluxio.Configuration;
 import alluxio.Constants;
 import alluxio.PropertyKey;
+import alluxio.underfs.UfsStatus;
 import alluxio.underfs.UnderFileSystem;
 import alluxio.underfs.options.CreateOptions;
 import alluxio.underfs.options.MkdirsOptions;
+import alluxio.underfs.options.OpenOptions;
 import alluxio.util.CommonUtils;
 import alluxio.util.io.PathUtils;
 
@@ -52,9 +54,9 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.util.HashSet;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
 
 import javax.annotation.concurrent.ThreadSafe;
 
@@ -353,6 +355,28 @@ public class S3AUnderFileSystem extends UnderFileSystem {
     return -1;
   }
 
+  @Override
+  public UfsStatus getStatus(String path) throws IOException {
+    String name = new AlluxioURI(path).getName();
+    if (isRoot(path)) {
+      return new UfsStatus(name, true, 0, -1, 0, mAccountOwner, mAccountOwner, mBucketMode);
+    }
+    // Try the key as a file first, a single call is enough for the common case
+    try {
+      ObjectMetadata meta = mClient.getObjectMetadata(mBucketName, stripPrefixIfPresent(path));
+      return new UfsStatus(name, false, meta.getContentLength(), meta.getLastModified().getTime(),
+          getBlockSizeByte(path), mAccountOwner, mAccountOwner, mBucketMode);
+    } catch (AmazonClientException e) {
+      // It is possible that the object is not a file but a folder
+      ObjectMetadata meta = getFolderMetadata(stripPrefixIfPresent(path));
+      if (meta == null) {
+        return null;
+      }
+      return new UfsStatus(name, true, 0, meta.getLastModified().getTime(), 0, mAccountOwner,
+          mAccountOwner, mBucketMode);
+    }
+  }
+
   @Override
   public boolean isFile(String path) throws IOException {
     // Directly try to get the file metadata, if we fail it either is a folder or does not exist
@@ -375,6 +399,17 @@ public class S3AUnderFileSystem extends UnderFileSystem {
     return listInternal(path, false);
   }
 
+  @Override
+  public UfsStatus[] listStatus(String path) throws IOException {
+    // if the path not exists, or it is a file, then should return null
+    if (!exists(path) || isFile(path)) {
+      return null;
+    }
+    // Non recursive list
+    path = PathUtils.normalizePath(path, PATH_SEPARATOR);
+    return listStatusInternal(path, false);
+  }
+
   @Override
   public boolean mkdirs(String path, boolean createParent) throws IOException {
     return mkdirs(path, new MkdirsOptions().setCreateParent(createParent));
@@ -423,20 +458,13 @@ public class S3AUnderFileSystem extends UnderFileSystem {
     }
   }
 
-  /**
-   * Opens a S3 object at given position and returns the opened input stream.
-   *
-   * @param path the S3 object path
-   * @param pos the position to open at
-   * @return the opened input stream
-   * @throws java.io.IOException if failed to open file at position
-   */
-  public InputStream openAtPosition(String path, long pos) throws IOException {
+  @Override
+  public InputStream open(String path, OpenOptions options) throws IOException {
     try {
       path = stripPrefixIfPresent(path);
-      return new S3AInputStream(mBucketName, path, mClient, pos);
+      return new S3AInputStream(mBucketName, path, mClient, options.getOffset());
     } catch (AmazonClientException e) {
-      LOG.error("Failed to open file {} at position {}:", path, pos, e);
+      LOG.error("Failed to open file {} at position {}:", path, options.getOffset(), e);
       return null;
     }
   }
@@ -718,11 +746,35 @@ public class S3AUnderFileSystem extends UnderFileSystem {
    * @throws IOException if an I/O error occurs
    */
   private String[] listInternal(String path, boolean recursive) throws IOException {
+    UfsStatus[] statuses = listStatusInternal(path, recursive);
+    if (statuses == null) {
+      return null;
+    }
+    String[] children = new String[statuses.length];
+    for (int i = 0; i < statuses.length; i++) {
+      children[i] = statuses[i].getName();
+    }
+    return children;
+  }
+
+  /**
+   * Lists the statuses of the files in the given path, the names will be their logical names and
+   * not contain the folder suffix. The size and modification time of files are taken from the
+   * listing itself, so no additional calls to S3 are made per child. Note that, the list results
+   * are unsorted.
+   *
+   * @param path the key to list
+   * @param recursive if true will list children directories as well
+   * @return an array of the file and folder statuses in this directory
+   * @throws IOException if an I/O error occurs
+   */
+  private UfsStatus[] listStatusInternal(String path, boolean recursive) throws IOException {
     path = stripPrefixIfPresent(path);
     path = PathUtils.normalizePath(path, PATH_SEPARATOR);
     path = path.equals(PATH_SEPARATOR) ? "" : path;
     String delimiter = recursive ? "" : PATH_SEPARATOR;
-    Set<String> children = new HashSet<>();
+    long blockSizeBytes = Configuration.getBytes(PropertyKey.USER_BLOCK_SIZE_BYTES_DEFAULT);
+    Map<String, UfsStatus> children = new HashMap<>();
     try {
       ListObjectsV2Request request =
           new ListObjectsV2Request().withBucketName(mBucketName).withPrefix(path)
@@ -753,11 +805,16 @@ public class S3AUnderFileSystem extends UnderFileSystem {
         for (S3ObjectSummary obj : result.getObjectSummaries()) {
           // Remove parent portion of the key
           String child = getChildName(obj.getKey(), path);
+          boolean isDirectory = child.endsWith(FOLDER_SUFFIX);
           // Prune the special folder suffix
           child = CommonUtils.stripSuffixIfPresent(child, FOLDER_SUFFIX);
           // Only add if the path is not empty (removes results equal to the path)
           if (!child.isEmpty()) {
-            children.add(child);
+            children.put(child, isDirectory
+                ? new UfsStatus(child, true, 0, obj.getLastModified().getTime(), 0,
+                    mAccountOwner, mAccountOwner, mBucketMode)
+                : new UfsStatus(child, false, obj.getSize(), obj.getLastModified().getTime(),
+                    blockSizeBytes, mAccountOwner, mAccountOwner, mBucketMode));
           }
         }
         // Handle case (2)
@@ -769,15 +826,16 @@ public class S3AUnderFileSystem extends UnderFileSystem {
             // Remove any portion after the last path delimiter
             int childNameIndex = child.lastIndexOf(PATH_SEPARATOR);
             child = childNameIndex != -1 ? child.substring(0, childNameIndex) : child;
-            if (!child.isEmpty() && !children.contains(child)) {
+            if (!child.isEmpty() && !children.containsKey(child)) {
               // This directory has not been created through Alluxio.
               mkdirsInternal(commonPrefix);
-              children.add(child);
+              children.put(child,
+                  new UfsStatus(child, true, 0, -1, 0, mAccountOwner, mAccountOwner, mBucketMode));
             }
           }
         }
       }
-      return children.toArray(new String[children.size()]);
+      return children.values().toArray(new UfsStatus[children.size()]);
     } catch (AmazonClientException e) {
       LOG.error("Failed to list path {}", path, e);
       return null;
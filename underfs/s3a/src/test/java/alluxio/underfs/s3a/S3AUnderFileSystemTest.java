@@ -12,10 +12,14 @@
 package alluxio.underfs.s3a;
 
 import alluxio.AlluxioURI;
+import alluxio.underfs.UfsStatus;
 
 import com.amazonaws.AmazonClientException;
 import com.amazonaws.services.s3.AmazonS3Client;
 import com.amazonaws.services.s3.model.ListObjectsV2Request;
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
 import com.amazonaws.services.s3.transfer.TransferManager;
 import org.junit.Assert;
 import org.junit.Before;
@@ -24,6 +28,8 @@ import org.mockito.Matchers;
 import org.mockito.Mockito;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Date;
 
 /**
  * Unit tests for the {@link S3AUnderFileSystem}.
@@ -88,4 +94,42 @@ public class S3AUnderFileSystemTest {
     boolean result = mS3UnderFileSystem.rename(SRC, DST);
     Assert.assertFalse(result);
   }
+
+  /**
+   * Test case for {@link S3AUnderFileSystem#listStatus(String)}, the attributes of the children
+   * should be taken from the listing without any further calls.
+   */
+  @Test
+  public void listStatus() throws IOException {
+    // The path is a folder and not a file
+    Mockito.when(mClient.getObjectMetadata(BUCKET_NAME, PATH))
+        .thenThrow(AmazonClientException.class);
+    Mockito.when(mClient.getObjectMetadata(BUCKET_NAME, PATH + "_$folder$"))
+        .thenReturn(new ObjectMetadata());
+    S3ObjectSummary file = new S3ObjectSummary();
+    file.setKey(PATH + "/file");
+    file.setSize(10L);
+    file.setLastModified(new Date(20L));
+    ListObjectsV2Result result = new ListObjectsV2Result();
+    result.getObjectSummaries().add(file);
+    result.setCommonPrefixes(Arrays.asList(PATH + "/dir/"));
+    Mockito.when(mClient.listObjectsV2(Matchers.any(ListObjectsV2Request.class)))
+        .thenReturn(result);
+
+    UfsStatus[] statuses = mS3UnderFileSystem.listStatus(PATH);
+    Assert.assertEquals(2, statuses.length);
+    for (UfsStatus status : statuses) {
+      if (status.isFile()) {
+        Assert.assertEquals("file", status.getName());
+        Assert.assertEquals(10L, status.getContentLength());
+        Assert.assertEquals(20L, status.getLastModifiedTimeMs());
+      } else {
+        Assert.assertEquals("dir", status.getName());
+      }
+      Assert.assertEquals(ACCOUNT_OWNER, status.getOwner());
+      Assert.assertEquals(BUCKET_MODE, status.getMode());
+    }
+    // Only the file metadata of the listed path itself is fetched
+    Mockito.verify(mClient, Mockito.never()).getObjectMetadata(BUCKET_NAME, PATH + "/file");
+  }
 }
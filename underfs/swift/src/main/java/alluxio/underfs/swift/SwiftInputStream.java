@@ -54,9 +54,23 @@ public class SwiftInputStream extends InputStream {
    * @param object path of the object in the container
    */
   public SwiftInputStream(Account account, String container, String object) {
+    this(account, container, object, 0L);
+  }
+
+  /**
+   * Constructor for an input stream to an object in a Swift API based store, positioned at the
+   * given offset. The first range request issued will start at that offset.
+   *
+   * @param account JOSS account with authentication credentials
+   * @param container the name of container where the object resides
+   * @param object path of the object in the container
+   * @param position the position to begin reading from
+   */
+  public SwiftInputStream(Account account, String container, String object, long position) {
     mAccount = account;
     mContainerName = container;
     mObjectPath = object;
+    mPos = position;
   }
 
   @Override
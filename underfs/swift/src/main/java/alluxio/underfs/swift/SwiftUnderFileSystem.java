@@ -18,6 +18,7 @@ import alluxio.PropertyKey;
 import alluxio.underfs.UnderFileSystem;
 import alluxio.underfs.options.CreateOptions;
 import alluxio.underfs.options.MkdirsOptions;
+import alluxio.underfs.options.OpenOptions;
 import alluxio.underfs.swift.http.SwiftDirectClient;
 import alluxio.util.CommonUtils;
 import alluxio.util.io.PathUtils;
@@ -465,6 +466,12 @@ public class SwiftUnderFileSystem extends UnderFileSystem {
     return new SwiftInputStream(mAccount, mContainerName, stripContainerPrefixIfPresent(path));
   }
 
+  @Override
+  public InputStream open(String path, OpenOptions options) throws IOException {
+    return new SwiftInputStream(mAccount, mContainerName, stripContainerPrefixIfPresent(path),
+        options.getOffset());
+  }
+
   /**
    * A trailing {@link SwiftUnderFileSystem#FOLDER_SUFFIX} is added if not present.
    *